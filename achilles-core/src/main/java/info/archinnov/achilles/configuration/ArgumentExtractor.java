@@ -22,6 +22,7 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_LEVEL;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_CF_CREATION_PARAM;
@@ -126,6 +127,21 @@ public abstract class ArgumentExtractor {
 		return parseConsistencyLevelMap(writeConsistencyMap);
 	}
 
+	/**
+	 * Entity caches by table name, each one described by a Guava cache
+	 * specification like "maximumSize=1000,expireAfterWrite=60s"
+	 */
+	public Map<String, String> initEntityCacheMap(Map<String, Object> configMap) {
+		@SuppressWarnings("unchecked")
+		Map<String, String> entityCacheMap = (Map<String, String>) configMap.get(ENTITY_CACHE_MAP_PARAM);
+
+		Map<String, String> map = new HashMap<String, String>();
+		if (entityCacheMap != null) {
+			map.putAll(entityCacheMap);
+		}
+		return map;
+	}
+
 	private Map<String, ConsistencyLevel> parseConsistencyLevelMap(
 			Map<String, String> consistencyLevelMap) {
 		Map<String, ConsistencyLevel> map = new HashMap<String, ConsistencyLevel>();
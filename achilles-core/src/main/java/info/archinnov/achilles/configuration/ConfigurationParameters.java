@@ -31,6 +31,8 @@ public interface ConfigurationParameters {
 	String CONSISTENCY_LEVEL_WRITE_MAP_PARAM = "achilles.consistency.write.map";
 	String EVENT_INTERCEPTORS = "achilles.interceptors";
 
+	String ENTITY_CACHE_MAP_PARAM = "achilles.entity.cache.map";
+
 	String FORCE_CF_CREATION_PARAM = "achilles.ddl.force.column.family.creation";
 
 	ConsistencyLevel DEFAULT_LEVEL = ConsistencyLevel.ONE;
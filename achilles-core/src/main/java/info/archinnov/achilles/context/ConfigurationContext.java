@@ -19,6 +19,9 @@ package info.archinnov.achilles.context;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.json.ObjectMapperFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class ConfigurationContext {
 	private boolean forceColumnFamilyCreation;
 
@@ -28,6 +31,8 @@ public class ConfigurationContext {
 
 	private Impl impl;
 
+	private Map<String, String> entityCacheMap = new HashMap<String, String>();
+
 	public boolean isForceColumnFamilyCreation() {
 		return forceColumnFamilyCreation;
 	}
@@ -52,6 +57,14 @@ public class ConfigurationContext {
 		this.objectMapperFactory = objectMapperFactory;
 	}
 
+	public Map<String, String> getEntityCacheMap() {
+		return entityCacheMap;
+	}
+
+	public void setEntityCacheMap(Map<String, String> entityCacheMap) {
+		this.entityCacheMap = entityCacheMap;
+	}
+
 	public Impl getImpl() {
 		return impl;
 	}
@@ -205,6 +205,10 @@ public abstract class PersistenceContext {
 		return options.getTimestamp();
 	}
 
+	public boolean isSkipNullColumns() {
+		return options.isSkipNullColumns();
+	}
+
 	public Optional<ConsistencyLevel> getConsistencyLevel() {
 		return Optional.fromNullable(flushContext.getConsistencyLevel());
 	}
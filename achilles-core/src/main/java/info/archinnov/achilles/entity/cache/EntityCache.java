@@ -0,0 +1,230 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.cache;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Read cache of one entity class, keyed by primary key.
+ * 
+ * Entries are snapshots of the eager properties, encoded as column values by
+ * the property transcoders. A new entity is decoded from the snapshot on each
+ * hit, so nested or JSON-mapped values are never shared between the cache and
+ * its callers. Mutable native values such as dates and blobs are copied.
+ * 
+ * A read may complete after the invalidation following a write of the same
+ * key and would cache the state before the write. Each invalidation bumps the
+ * generation of the key, the generation is captured before the read and the
+ * snapshot is only cached if it did not change in between. Generations are
+ * striped by primary key hash, a collision only skips a put
+ */
+public class EntityCache {
+	private static final int GENERATION_STRIPES = 64;
+
+	private final Cache<Object, Object[]> snapshots;
+	private final long[] generations = new long[GENERATION_STRIPES];
+	private final Object[] generationLocks = new Object[GENERATION_STRIPES];
+
+	public EntityCache(String cacheSpec) {
+		this.snapshots = CacheBuilder.from(cacheSpec).recordStats().build();
+		for (int i = 0; i < GENERATION_STRIPES; i++) {
+			generationLocks[i] = new Object();
+		}
+	}
+
+	public static String cacheSpec(long maxSize, long ttl) {
+		StringBuilder spec = new StringBuilder("maximumSize=").append(maxSize);
+		if (ttl > 0) {
+			spec.append(",expireAfterWrite=").append(ttl).append("s");
+		}
+		return spec.toString();
+	}
+
+	public <T> T get(EntityMeta entityMeta, Object primaryKey) {
+		Object[] snapshot = snapshots.getIfPresent(primaryKey);
+		return snapshot == null ? null : this.<T> decode(entityMeta, snapshot);
+	}
+
+	/**
+	 * To be captured before reading the entity from Cassandra
+	 */
+	public long generation(Object primaryKey) {
+		int stripe = stripe(primaryKey);
+		synchronized (generationLocks[stripe]) {
+			return generations[stripe];
+		}
+	}
+
+	/**
+	 * Cache the entity unless the key was invalidated since the generation
+	 * was captured
+	 * 
+	 * @return true if the entity is cached
+	 */
+	public boolean put(EntityMeta entityMeta, Object primaryKey, Object entity, long generation) {
+		Object[] snapshot = encode(entityMeta, entity);
+		int stripe = stripe(primaryKey);
+		synchronized (generationLocks[stripe]) {
+			if (generations[stripe] != generation) {
+				return false;
+			}
+			snapshots.put(primaryKey, snapshot);
+			return true;
+		}
+	}
+
+	public void invalidate(Object primaryKey) {
+		int stripe = stripe(primaryKey);
+		synchronized (generationLocks[stripe]) {
+			generations[stripe]++;
+			snapshots.invalidate(primaryKey);
+		}
+	}
+
+	public void invalidateAll() {
+		for (int i = 0; i < GENERATION_STRIPES; i++) {
+			synchronized (generationLocks[i]) {
+				generations[i]++;
+			}
+		}
+		snapshots.invalidateAll();
+	}
+
+	public long size() {
+		return snapshots.size();
+	}
+
+	/**
+	 * Hit, miss and eviction counts since the cache creation. Explicit
+	 * invalidations are not counted as evictions
+	 */
+	public CacheStats stats() {
+		return snapshots.stats();
+	}
+
+	private int stripe(Object primaryKey) {
+		return (primaryKey.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+	}
+
+	private Object[] encode(EntityMeta entityMeta, Object entity) {
+		List<PropertyMeta> eagerMetas = entityMeta.getEagerMetas();
+		Object[] snapshot = new Object[eagerMetas.size()];
+		for (int i = 0; i < snapshot.length; i++) {
+			PropertyMeta pm = eagerMetas.get(i);
+			Object value = pm.getValueFromField(entity);
+			if (value != null) {
+				snapshot[i] = copyNatives(encodeValue(pm, value));
+			}
+		}
+		return snapshot;
+	}
+
+	private <T> T decode(EntityMeta entityMeta, Object[] snapshot) {
+		List<PropertyMeta> eagerMetas = entityMeta.getEagerMetas();
+		T entity = entityMeta.<T> instanciate();
+		for (int i = 0; i < snapshot.length; i++) {
+			if (snapshot[i] != null) {
+				PropertyMeta pm = eagerMetas.get(i);
+				pm.setValueToField(entity, decodeValue(pm, copyNatives(snapshot[i])));
+			}
+		}
+		return entity;
+	}
+
+	private Object encodeValue(PropertyMeta pm, Object value) {
+		switch (pm.type()) {
+		case EMBEDDED_ID:
+			return pm.encodeToComponents(value);
+		case LIST:
+			return pm.encode((List<?>) value);
+		case SET:
+			return pm.encode((Set<?>) value);
+		case MAP:
+			return pm.encode((Map<?, ?>) value);
+		default:
+			return pm.encode(value);
+		}
+	}
+
+	private Object decodeValue(PropertyMeta pm, Object encoded) {
+		switch (pm.type()) {
+		case EMBEDDED_ID:
+			return pm.decodeFromComponents((List<?>) encoded);
+		case LIST:
+			return pm.decode((List<?>) encoded);
+		case SET:
+			return pm.decode((Set<?>) encoded);
+		case MAP:
+			return pm.decode((Map<?, ?>) encoded);
+		default:
+			return pm.decode(encoded);
+		}
+	}
+
+	/**
+	 * Encoded values are native Cassandra types, only dates and blobs among
+	 * them are mutable
+	 */
+	private Object copyNatives(Object encoded) {
+		if (encoded instanceof List) {
+			List<Object> copy = new ArrayList<Object>();
+			for (Object element : (List<?>) encoded) {
+				copy.add(copyNatives(element));
+			}
+			return copy;
+		} else if (encoded instanceof Set) {
+			Set<Object> copy = new LinkedHashSet<Object>();
+			for (Object element : (Set<?>) encoded) {
+				copy.add(copyNatives(element));
+			}
+			return copy;
+		} else if (encoded instanceof Map) {
+			Map<Object, Object> copy = new LinkedHashMap<Object, Object>();
+			for (Entry<?, ?> entry : ((Map<?, ?>) encoded).entrySet()) {
+				copy.put(copyNatives(entry.getKey()), copyNatives(entry.getValue()));
+			}
+			return copy;
+		} else if (encoded instanceof Date) {
+			return new Date(((Date) encoded).getTime());
+		} else if (encoded instanceof ByteBuffer) {
+			ByteBuffer buffer = (ByteBuffer) encoded;
+			ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+			copy.put(buffer.duplicate());
+			copy.flip();
+			return copy;
+		} else if (encoded instanceof byte[]) {
+			return ((byte[]) encoded).clone();
+		} else {
+			return encoded;
+		}
+	}
+}
@@ -16,6 +16,10 @@
  */
 package info.archinnov.achilles.entity.manager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -92,17 +96,7 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 			log.debug("Persisting entity '{}' with options {} ", entity,
 					options);
 
-		entityValidator.validateEntity(entity, entityMetaMap);
-
-		if (options.getTtl().isPresent()) {
-			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
-		}
-		if (proxifier.isProxy(entity)) {
-			throw new IllegalStateException(
-					"Then entity is already in 'managed' state. Please use the merge() method instead of persist()");
-		}
-
-		CONTEXT context = initPersistenceContext(entity, options);
+		CONTEXT context = initPersistenceContextForPersist(entity, options);
 		context.persist();
 	}
 
@@ -165,11 +159,7 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 			log.debug("Merging entity '{}' with options {} ",
 					proxifier.unwrap(entity), options);
 		}
-		entityValidator.validateEntity(entity, entityMetaMap);
-		if (options.getTtl().isPresent()) {
-			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
-		}
-		CONTEXT context = initPersistenceContext(entity, options);
+		CONTEXT context = initPersistenceContextForMerge(entity, options);
 		return context.<T> merge(entity);
 
 	}
@@ -226,10 +216,7 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 			log.debug("Removing entity '{}' with write consistency level {}",
 					proxifier.unwrap(entity), writeLevel);
 
-		entityValidator.validateEntity(entity, entityMetaMap);
-		proxifier.ensureProxy(entity);
-		CONTEXT context = initPersistenceContext(entity,
-				OptionsBuilder.withConsistency(writeLevel));
+		CONTEXT context = initPersistenceContextForRemove(entity, writeLevel);
 		context.remove();
 	}
 
@@ -291,16 +278,67 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 		log.debug(
 				"Find entity class '{}' with primary key {} and read consistency level {}",
 				entityClass, primaryKey, readLevel);
-		Validator.validateNotNull(entityClass,
-				"Entity class should not be null for find by id");
-		Validator.validateNotNull(primaryKey,
-				"Entity primaryKey should not be null for find by id");
-		CONTEXT context = initPersistenceContext(entityClass, primaryKey,
-				OptionsBuilder.withConsistency(readLevel));
-		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		CONTEXT context = initPersistenceContextForFind(entityClass,
+				primaryKey, readLevel);
 		return context.<T> find(entityClass);
 	}
 
+	/**
+	 * Find several entities of the same type by their primary keys
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKeys
+	 *            Primary keys of the entities to load
+	 * @return found entities by primary key, in the order of the given keys.
+	 *         Keys with no matching entity are absent from the map
+	 */
+	public <K, T> Map<K, T> findAll(Class<T> entityClass,
+			Collection<K> primaryKeys) {
+		return findAll(entityClass, primaryKeys, null);
+	}
+
+	/**
+	 * Find several entities of the same type by their primary keys with the
+	 * given Consistency Level for read
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKeys
+	 *            Primary keys of the entities to load
+	 * @param readLevel
+	 *            Consistency Level for read
+	 * @return found entities by primary key, in the order of the given keys.
+	 *         Keys with no matching entity are absent from the map
+	 */
+	public <K, T> Map<K, T> findAll(Class<T> entityClass,
+			Collection<K> primaryKeys, ConsistencyLevel readLevel) {
+		log.debug(
+				"Find entities of class '{}' with primary keys {} and read consistency level {}",
+				entityClass, primaryKeys, readLevel);
+		Validator.validateNotNull(primaryKeys,
+				"Entity primaryKeys should not be null for find by ids");
+
+		List<K> distinctKeys = new ArrayList<K>(new LinkedHashSet<K>(
+				primaryKeys));
+		List<CONTEXT> contexts = new ArrayList<CONTEXT>(distinctKeys.size());
+		for (K primaryKey : distinctKeys) {
+			contexts.add(initPersistenceContextForFind(entityClass,
+					primaryKey, readLevel));
+		}
+
+		Map<K, T> entities = new LinkedHashMap<K, T>();
+		if (!contexts.isEmpty()) {
+			List<T> found = findEntities(entityClass, contexts);
+			for (int i = 0; i < distinctKeys.size(); i++) {
+				if (found.get(i) != null) {
+					entities.put(distinctKeys.get(i), found.get(i));
+				}
+			}
+		}
+		return entities;
+	}
+
 	/**
 	 * Find an entity. Works exactly as find(Class<T> entityClass, Object
 	 * primaryKey) except that the database will not be hit. This method never
@@ -526,6 +564,64 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	protected abstract CONTEXT initPersistenceContext(Class<?> entityClass,
 			Object primaryKey, Options options);
 
+	protected CONTEXT initPersistenceContextForPersist(Object entity,
+			Options options) {
+		entityValidator.validateEntity(entity, entityMetaMap);
+
+		if (options.getTtl().isPresent()) {
+			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
+		}
+		if (proxifier.isProxy(entity)) {
+			throw new IllegalStateException(
+					"Then entity is already in 'managed' state. Please use the merge() method instead of persist()");
+		}
+		return initPersistenceContext(entity, options);
+	}
+
+	protected CONTEXT initPersistenceContextForMerge(Object entity,
+			Options options) {
+		entityValidator.validateEntity(entity, entityMetaMap);
+		if (options.getTtl().isPresent()) {
+			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
+		}
+		return initPersistenceContext(entity, options);
+	}
+
+	protected CONTEXT initPersistenceContextForRemove(Object entity,
+			ConsistencyLevel writeLevel) {
+		entityValidator.validateEntity(entity, entityMetaMap);
+		proxifier.ensureProxy(entity);
+		return initPersistenceContext(entity,
+				OptionsBuilder.withConsistency(writeLevel));
+	}
+
+	protected CONTEXT initPersistenceContextForFind(Class<?> entityClass,
+			Object primaryKey, ConsistencyLevel readLevel) {
+		Validator.validateNotNull(entityClass,
+				"Entity class should not be null for find by id");
+		Validator.validateNotNull(primaryKey,
+				"Entity primaryKey should not be null for find by id");
+		CONTEXT context = initPersistenceContext(entityClass, primaryKey,
+				OptionsBuilder.withConsistency(readLevel));
+		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		return context;
+	}
+
+	/**
+	 * Load the entities of the given contexts. Implementations can override it
+	 * to fetch all of them in fewer round trips
+	 * 
+	 * @return found entities or null, in the order of the contexts
+	 */
+	protected <T> List<T> findEntities(Class<T> entityClass,
+			List<CONTEXT> contexts) {
+		List<T> entities = new ArrayList<T>(contexts.size());
+		for (CONTEXT context : contexts) {
+			entities.add(context.<T> find(entityClass));
+		}
+		return entities;
+	}
+
 	protected Map<Class<?>, EntityMeta> getEntityMetaMap() {
 		return entityMetaMap;
 	}
@@ -159,6 +159,8 @@ public abstract class PersistenceManagerFactory {
 				configurationMap, argumentExtractor));
 		configContext.setObjectMapperFactory(argumentExtractor
 				.initObjectMapperFactory(configurationMap));
+		configContext.setEntityCacheMap(argumentExtractor
+				.initEntityCacheMap(configurationMap));
 
 		return configContext;
 	}
@@ -18,9 +18,13 @@ package info.archinnov.achilles.entity.metadata;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import net.sf.cglib.proxy.Factory;
+
 import org.apache.cassandra.utils.Pair;
 import org.apache.commons.lang.StringUtils;
 
@@ -28,6 +32,7 @@ import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.EventInterceptor;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
@@ -65,8 +70,11 @@ public class EntityMeta {
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private PropertyMeta firstMeta;
 	private List<PropertyMeta> allMetasExceptIdMeta;
+	private Map<String, List<PropertyMeta>> fetchGroups = Collections.emptyMap();
 	private boolean clusteredCounter = false;
 	private List<EventInterceptor<?>> eventsInterceptor;
+	private Factory proxyFactory;
+	private EntityCache entityCache;
 
 	public EntityMeta() {
 		eventsInterceptor = new ArrayList<EventInterceptor<?>>();
@@ -254,6 +262,27 @@ public class EntityMeta {
 		this.allMetasExceptIdMeta = allMetasExceptIdMeta;
 	}
 
+	public Map<String, List<PropertyMeta>> getFetchGroups() {
+		return fetchGroups;
+	}
+
+	public void setFetchGroups(Map<String, List<PropertyMeta>> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+	}
+
+	/**
+	 * Lazy properties loaded together with the given one, the property itself
+	 * when it does not belong to any fetch group
+	 */
+	public List<PropertyMeta> getFetchGroupMetas(PropertyMeta pm) {
+		String fetchGroup = pm.getFetchGroup();
+		if (fetchGroup != null && fetchGroups.containsKey(fetchGroup)) {
+			return fetchGroups.get(fetchGroup);
+		} else {
+			return Arrays.asList(pm);
+		}
+	}
+
 	public boolean isClusteredCounter() {
 		return this.clusteredCounter;
 	}
@@ -262,6 +291,25 @@ public class EntityMeta {
 		this.clusteredCounter = clusteredCounter;
 	}
 
+	/**
+	 * Read cache of the entity, null when the entity is not cached
+	 */
+	public EntityCache getEntityCache() {
+		return entityCache;
+	}
+
+	public void setEntityCache(EntityCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	public Factory getProxyFactory() {
+		return proxyFactory;
+	}
+
+	public void setProxyFactory(Factory proxyFactory) {
+		this.proxyFactory = proxyFactory;
+	}
+
 	public boolean isValueless() {
 		return propertyMetas.size() == 1;
 	}
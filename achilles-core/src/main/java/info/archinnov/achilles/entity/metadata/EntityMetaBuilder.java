@@ -67,6 +67,8 @@ public class EntityMetaBuilder {
 		Validator.validateNotEmpty(propertyMetas, "propertyMetas map should not be empty for entity meta creation");
 		Validator.validateRegExp(columnFamilyName, TABLE_PATTERN, "columnFamilyName for entity meta creation");
 
+		assignOrdinals(propertyMetas);
+
 		EntityMeta meta = new EntityMeta();
 
 		meta.setIdMeta(idMeta);
@@ -87,6 +89,7 @@ public class EntityMetaBuilder {
 		List<PropertyMeta> allMetasExceptIdMeta = FluentIterable.from(propertyMetas.values()).filter(excludeIdType)
 				.toImmutableList();
 		meta.setAllMetasExceptIdMeta(allMetasExceptIdMeta);
+		meta.setFetchGroups(Collections.unmodifiableMap(extractFetchGroups(allMetasExceptIdMeta)));
 
 		PropertyMeta firstMeta = allMetasExceptIdMeta.isEmpty() ? null : allMetasExceptIdMeta.get(0);
 		meta.setFirstMeta(firstMeta);
@@ -99,6 +102,14 @@ public class EntityMetaBuilder {
 		return meta;
 	}
 
+	private void assignOrdinals(Map<String, PropertyMeta> propertyMetas) {
+		List<String> propertyNames = new ArrayList<String>(propertyMetas.keySet());
+		Collections.sort(propertyNames);
+		for (int i = 0; i < propertyNames.size(); i++) {
+			propertyMetas.get(propertyNames.get(i)).setOrdinal(i);
+		}
+	}
+
 	private Map<Method, PropertyMeta> extractGetterMetas(Map<String, PropertyMeta> propertyMetas) {
 		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
 		for (PropertyMeta propertyMeta : propertyMetas.values()) {
@@ -115,6 +126,20 @@ public class EntityMetaBuilder {
 		return setterMetas;
 	}
 
+	private Map<String, List<PropertyMeta>> extractFetchGroups(List<PropertyMeta> metas) {
+		Map<String, List<PropertyMeta>> fetchGroups = new HashMap<String, List<PropertyMeta>>();
+		for (PropertyMeta propertyMeta : metas) {
+			String fetchGroup = propertyMeta.getFetchGroup();
+			if (fetchGroup != null) {
+				if (!fetchGroups.containsKey(fetchGroup)) {
+					fetchGroups.put(fetchGroup, new ArrayList<PropertyMeta>());
+				}
+				fetchGroups.get(fetchGroup).add(propertyMeta);
+			}
+		}
+		return fetchGroups;
+	}
+
 	private List<Method> extractEagerGetters(List<PropertyMeta> eagerMetas) {
 		List<Method> eagerMethods = new ArrayList<Method>();
 		for (PropertyMeta propertyMeta : eagerMetas) {
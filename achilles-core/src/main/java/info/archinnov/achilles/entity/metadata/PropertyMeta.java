@@ -17,6 +17,7 @@
 package info.archinnov.achilles.entity.metadata;
 
 import info.archinnov.achilles.entity.metadata.transcoding.DataTranscoder;
+import info.archinnov.achilles.proxy.PropertyAccessor;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
@@ -61,8 +62,11 @@ public class PropertyMeta {
 	private Class<?> idClass;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
+	private int ordinal = -1;
+	private String fetchGroup;
 	private DataTranscoder transcoder;
 	private ReflectionInvoker invoker = new ReflectionInvoker();
+	private PropertyAccessor accessor;
 
 	public List<Method> getComponentGetters() {
 		List<Method> compGetters = new ArrayList<Method>();
@@ -268,6 +272,9 @@ public class PropertyMeta {
 
 	public Object getPrimaryKey(Object entity) {
 		if (type.isId()) {
+			if (accessor != null) {
+				return accessor.getValue(entity);
+			}
 			return invoker.getPrimaryKey(entity, this);
 		} else {
 			throw new IllegalStateException("Cannot get primary key on a non id field '" + propertyName + "'");
@@ -298,23 +305,39 @@ public class PropertyMeta {
 	}
 
 	public Object getValueFromField(Object target) {
+		if (accessor != null) {
+			return accessor.getValue(target);
+		}
 		return invoker.getValueFromField(target, getter);
 	}
 
 	public List<?> getListValueFromField(Object target) {
+		if (accessor != null) {
+			return (List<?>) accessor.getValue(target);
+		}
 		return invoker.getListValueFromField(target, getter);
 	}
 
 	public Set<?> getSetValueFromField(Object target) {
+		if (accessor != null) {
+			return (Set<?>) accessor.getValue(target);
+		}
 		return invoker.getSetValueFromField(target, getter);
 	}
 
 	public Map<?, ?> getMapValueFromField(Object target) {
+		if (accessor != null) {
+			return (Map<?, ?>) accessor.getValue(target);
+		}
 		return invoker.getMapValueFromField(target, getter);
 	}
 
 	public void setValueToField(Object target, Object args) {
-		invoker.setValueToField(target, setter, args);
+		if (accessor != null) {
+			accessor.setValue(target, args);
+		} else {
+			invoker.setValueToField(target, setter, args);
+		}
 	}
 
 	public Class<?> getValueClassForTableCreation() {
@@ -438,6 +461,14 @@ public class PropertyMeta {
 		this.invoker = invoker;
 	}
 
+	public PropertyAccessor getAccessor() {
+		return accessor;
+	}
+
+	public void setAccessor(PropertyAccessor accessor) {
+		this.accessor = accessor;
+	}
+
 	public boolean isTimeUUID() {
 		return timeUUID;
 	}
@@ -446,6 +477,29 @@ public class PropertyMeta {
 		this.timeUUID = timeUUID;
 	}
 
+	/**
+	 * Stable position of this property inside its entity, -1 until the entity
+	 * meta is built
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
+	public void setOrdinal(int ordinal) {
+		this.ordinal = ordinal;
+	}
+
+	/**
+	 * Fetch group of a lazy property, null when the property is loaded alone
+	 */
+	public String getFetchGroup() {
+		return fetchGroup;
+	}
+
+	public void setFetchGroup(String fetchGroup) {
+		this.fetchGroup = fetchGroup;
+	}
+
 	@Override
 	public String toString() {
 		return Objects.toStringHelper(this.getClass()).add("type", type).add("entityClassName", entityClassName)
@@ -59,6 +59,10 @@ public class EntityInitializer {
 
 		Set<PropertyMeta> toBeLoadedMetas = Sets.difference(allLazyMetas, alreadyLoadedMetas);
 
+		// One query for all remaining lazy properties, the getters below then
+		// only build the counter wrappers
+		interceptor.loadLazyProperties(toBeLoadedMetas);
+
 		for (PropertyMeta propertyMeta : toBeLoadedMetas) {
 			Object value = propertyMeta.getValueFromField(entity);
 			if (propertyMeta.isCounter()) {
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.entity.operations;
 
 import java.util.Collection;
+import java.util.List;
 
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
@@ -27,4 +28,10 @@ public interface EntityLoader<CONTEXT extends PersistenceContext> {
 	public <T> T load(CONTEXT context, Class<T> entityClass);
 	
 	public <V> void loadPropertyIntoObject(CONTEXT context, Object realObject, PropertyMeta propertyMeta);
+
+	/**
+	 * Loads several lazy properties at once, with a single query when the
+	 * implementation allows it
+	 */
+	public void loadPropertiesIntoObject(CONTEXT context, Object realObject, List<PropertyMeta> propertyMetas);
 }
@@ -55,7 +55,7 @@ public abstract class EntityMerger<CONTEXT extends PersistenceContext> {
 
 			EntityInterceptor<CONTEXT, T> interceptor = proxifier.getInterceptor(entity);
 			Map<Method, PropertyMeta> dirtyMap = interceptor.getDirtyMap();
-			merger.merge(context, dirtyMap);
+			merger.merge(context, dirtyMap, interceptor.getMutationsMap());
 			interceptor.setContext(context);
 			interceptor.setTarget(realObject);
 			proxy = entity;
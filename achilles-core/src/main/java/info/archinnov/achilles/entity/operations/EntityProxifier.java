@@ -16,7 +16,10 @@
  */
 package info.archinnov.achilles.entity.operations;
 
+import static info.archinnov.achilles.proxy.ProxyClassFactory.DISPATCH;
+import static info.archinnov.achilles.proxy.ProxyClassFactory.INTERCEPT;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 
 import java.lang.reflect.Method;
@@ -27,6 +30,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
 
@@ -61,13 +65,30 @@ public abstract class EntityProxifier<CONTEXT extends PersistenceContext> {
 
 		log.debug("Build Cglib proxy for entity {} ", entity);
 
+		EntityInterceptor<CONTEXT, T> interceptor = buildInterceptor(context, entity, alreadyLoaded);
+		Factory proxyFactory = getProxyFactory(entity, context);
+		if (proxyFactory != null) {
+			Callback[] callbacks = proxyFactory.getCallbacks();
+			callbacks[INTERCEPT] = interceptor;
+			callbacks[DISPATCH] = interceptor.buildTargetDispatcher();
+			return (T) proxyFactory.newInstance(callbacks);
+		}
+
 		Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(entity.getClass());
-		enhancer.setCallback(buildInterceptor(context, entity, alreadyLoaded));
+		enhancer.setCallback(interceptor);
 
 		return (T) enhancer.create();
 	}
 
+	private Factory getProxyFactory(Object entity, CONTEXT context) {
+		EntityMeta meta = context.getEntityMeta();
+		if (meta != null && meta.getEntityClass() == entity.getClass()) {
+			return meta.getProxyFactory();
+		}
+		return null;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> T getRealObject(T proxy) {
 		log.debug("Get real entity from proxy {} ", proxy);
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.entity.operations;
 
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 
@@ -50,10 +51,18 @@ public class EntityRefresher<CONTEXT extends PersistenceContext> {
 		EntityInterceptor<CONTEXT, Object> interceptor = proxifier.getInterceptor(entity);
 
 		interceptor.getDirtyMap().clear();
+		if (interceptor.getMutationsMap() != null) {
+			interceptor.getMutationsMap().clear();
+		}
 		Set<Method> alreadyLoaded = interceptor.getAlreadyLoaded();
 		alreadyLoaded.clear();
 		alreadyLoaded.addAll(context.getEntityMeta().getEagerGetters());
 
+		// Refresh always reads from Cassandra and renews the cached snapshot
+		EntityCache entityCache = context.getEntityMeta().getEntityCache();
+		if (entityCache != null) {
+			entityCache.invalidate(primaryKey);
+		}
 		Object freshEntity = loader.load(context, context.getEntityClass());
 
 		if (freshEntity == null) {
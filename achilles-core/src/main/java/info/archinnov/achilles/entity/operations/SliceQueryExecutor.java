@@ -27,6 +27,8 @@ import java.util.List;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public abstract class SliceQueryExecutor<CONTEXT extends PersistenceContext> {
 
@@ -42,6 +44,14 @@ public abstract class SliceQueryExecutor<CONTEXT extends PersistenceContext> {
 
 	public abstract <T> List<T> get(SliceQuery<T> sliceQuery);
 
+	/**
+	 * Asynchronous version of get(). Implementations without asynchronous
+	 * support execute the query synchronously and return a completed future
+	 */
+	public <T> ListenableFuture<List<T>> getAsync(SliceQuery<T> sliceQuery) {
+		return Futures.immediateFuture(get(sliceQuery));
+	}
+
 	public abstract <T> Iterator<T> iterator(SliceQuery<T> sliceQuery);
 
 	public abstract <T> void remove(SliceQuery<T> sliceQuery);
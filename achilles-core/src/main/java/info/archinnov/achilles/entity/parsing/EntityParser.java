@@ -17,20 +17,24 @@
 package info.archinnov.achilles.entity.parsing;
 
 import static info.archinnov.achilles.entity.metadata.EntityMetaBuilder.entityMetaBuilder;
+import info.archinnov.achilles.annotations.Cached;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.entity.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.entity.parsing.validator.EntityParsingValidator;
 import info.archinnov.achilles.helper.EntityIntrospector;
+import info.archinnov.achilles.proxy.ProxyClassFactory;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.cassandra.utils.Pair;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -44,6 +48,7 @@ public class EntityParser {
 	private PropertyParser parser = new PropertyParser();
 	private PropertyFilter filter = new PropertyFilter();
 	private EntityIntrospector introspector = new EntityIntrospector();
+	private ProxyClassFactory proxyClassFactory = new ProxyClassFactory();
 
 	public EntityMeta parseEntity(EntityParsingContext context) {
 		log.debug("Parsing entity class {}", context.getCurrentEntityClass().getCanonicalName());
@@ -91,6 +96,8 @@ public class EntityParser {
 				.className(entityClass.getCanonicalName()).columnFamilyName(columnFamilyName)
 				.propertyMetas(context.getPropertyMetas()).consistencyLevels(context.getCurrentConsistencyLevels())
 				.build();
+		entityMeta.setProxyFactory(proxyClassFactory.createProxyFactory(entityMeta));
+		entityMeta.setEntityCache(buildEntityCache(context, entityMeta));
 
 		saveConsistencyLevel(context, columnFamilyName, consistencyLevels);
 
@@ -115,6 +122,31 @@ public class EntityParser {
 		context.setCurrentObjectMapper(objectMapper);
 	}
 
+	/**
+	 * The configuration map takes precedence over the @Cached annotation. Only
+	 * the CQL implementation reads through the cache
+	 */
+	private EntityCache buildEntityCache(EntityParsingContext context, EntityMeta entityMeta) {
+		Class<?> entityClass = entityMeta.getEntityClass();
+		String cacheSpec = null;
+		Map<String, String> entityCacheMap = context.getEntityCacheMap();
+		if (entityCacheMap != null && entityCacheMap.containsKey(entityMeta.getTableName())) {
+			cacheSpec = entityCacheMap.get(entityMeta.getTableName());
+		} else if (entityClass.getAnnotation(Cached.class) != null) {
+			Cached cached = entityClass.getAnnotation(Cached.class);
+			cacheSpec = EntityCache.cacheSpec(cached.maxSize(), cached.ttl());
+		}
+
+		if (cacheSpec == null || context.isThriftImpl()) {
+			return null;
+		}
+		Validator.validateBeanMappingFalse(entityMeta.isClusteredCounter(),
+				"The clustered counter entity '%s' cannot be cached", entityMeta.getClassName());
+
+		log.debug("Set read cache '{}' for entity {}", cacheSpec, entityMeta.getClassName());
+		return new EntityCache(cacheSpec);
+	}
+
 	private void completeCounterPropertyMeta(EntityParsingContext context, PropertyMeta idMeta) {
 		for (PropertyMeta counterMeta : context.getCounterMetas()) {
 
@@ -31,6 +31,7 @@ import info.archinnov.achilles.entity.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.entity.parsing.validator.PropertyParsingValidator;
 import info.archinnov.achilles.helper.EntityIntrospector;
 import info.archinnov.achilles.helper.PropertyHelper;
+import info.archinnov.achilles.proxy.PropertyAccessorFactory;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
 import info.archinnov.achilles.validation.Validator;
@@ -57,6 +58,7 @@ public class PropertyParser {
 	private EntityIntrospector entityIntrospector = new EntityIntrospector();
 	private PropertyParsingValidator validator = new PropertyParsingValidator();
 	private PropertyFilter filter = new PropertyFilter();
+	private PropertyAccessorFactory accessorFactory = new PropertyAccessorFactory();
 
 	public PropertyMeta parse(PropertyParsingContext context) {
 		log.debug("Parsing property {} of entity class {}", context.getCurrentPropertyName(), context
@@ -91,6 +93,10 @@ public class PropertyParser {
 				propertyMeta.setIndexProperties(new IndexProperties(indexName));
 			}
 		}
+		if (propertyMeta.isLazy() && !propertyMeta.isCounter()) {
+			propertyMeta.setFetchGroup(propertyHelper.getFetchGroup(field));
+		}
+		propertyMeta.setAccessor(accessorFactory.createAccessor(propertyMeta.getGetter(), propertyMeta.getSetter()));
 		context.getPropertyMetas().put(context.getCurrentPropertyName(), propertyMeta);
 		return propertyMeta;
 	}
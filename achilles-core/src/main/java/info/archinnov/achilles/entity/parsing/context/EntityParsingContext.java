@@ -127,4 +127,8 @@ public class EntityParsingContext {
 	public AchillesConsistencyLevelPolicy getConfigurableCLPolicy() {
 		return configContext.getConsistencyPolicy();
 	}
+
+	public Map<String, String> getEntityCacheMap() {
+		return configContext.getEntityCacheMap();
+	}
 }
@@ -34,6 +34,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.cassandra.utils.Pair;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -126,6 +127,15 @@ public class PropertyHelper {
 		return lazy;
 	}
 
+	public String getFetchGroup(Field field) {
+		String fetchGroup = null;
+		Lazy lazy = field.getAnnotation(Lazy.class);
+		if (lazy != null && StringUtils.isNotBlank(lazy.fetchGroup())) {
+			fetchGroup = lazy.fetchGroup();
+		}
+		return fetchGroup;
+	}
+
 	public String getIndexName(Field field) {
 		log.debug("Check @Index annotation on field {} of class {}", field.getName(), field.getDeclaringClass()
 				.getCanonicalName());
@@ -15,6 +15,7 @@ public class EntityLifeCycleListener<CONTEXT extends PersistenceContext> {
 
 	public EntityLifeCycleListener(EntityProxifier<CONTEXT> proxifier2,
 			Map<Class<?>, EntityMeta> entityMetaMap) {
+		this.proxifier = proxifier2;
 		this.entityMetaMap = entityMetaMap;
 	}
 
@@ -0,0 +1,134 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Dirty flags of an entity proxy, one bit per property ordinal. Seen by the
+ * mergers and the collection wrappers as a map of setter to property meta
+ */
+public class DirtyPropertyMap extends AbstractMap<Method, PropertyMeta> {
+	private final BitSet dirtySlots = new BitSet();
+	private PropertyMeta[] slotMetas;
+
+	public DirtyPropertyMap(int slotCount) {
+		this.slotMetas = new PropertyMeta[slotCount];
+	}
+
+	@Override
+	public PropertyMeta put(Method setter, PropertyMeta propertyMeta) {
+		int slot = propertyMeta.getOrdinal();
+		boolean wasDirty = dirtySlots.get(slot);
+		if (slot >= slotMetas.length) {
+			slotMetas = Arrays.copyOf(slotMetas, slot + 1);
+		}
+		slotMetas[slot] = propertyMeta;
+		dirtySlots.set(slot);
+		return wasDirty ? propertyMeta : null;
+	}
+
+	public boolean isDirty(PropertyMeta propertyMeta) {
+		return dirtySlots.get(propertyMeta.getOrdinal());
+	}
+
+	public BitSet getDirtySlots() {
+		return dirtySlots;
+	}
+
+	@Override
+	public int size() {
+		return dirtySlots.cardinality();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return dirtySlots.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		dirtySlots.clear();
+	}
+
+	@Override
+	public Set<Entry<Method, PropertyMeta>> entrySet() {
+		return new AbstractSet<Entry<Method, PropertyMeta>>() {
+			@Override
+			public Iterator<Entry<Method, PropertyMeta>> iterator() {
+				return new SlotIterator<Entry<Method, PropertyMeta>>(dirtySlots) {
+					@Override
+					protected Entry<Method, PropertyMeta> valueAt(int slot) {
+						PropertyMeta propertyMeta = slotMetas[slot];
+						return new SimpleImmutableEntry<Method, PropertyMeta>(propertyMeta.getSetter(), propertyMeta);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return dirtySlots.cardinality();
+			}
+		};
+	}
+
+	abstract static class SlotIterator<E> implements Iterator<E> {
+		private final BitSet slots;
+		private int next;
+		private int current = -1;
+
+		SlotIterator(BitSet slots) {
+			this.slots = slots;
+			this.next = slots.nextSetBit(0);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next >= 0;
+		}
+
+		@Override
+		public E next() {
+			if (next < 0) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = slots.nextSetBit(current + 1);
+			return valueAt(current);
+		}
+
+		@Override
+		public void remove() {
+			if (current < 0) {
+				throw new IllegalStateException();
+			}
+			slots.clear(current);
+			current = -1;
+		}
+
+		protected abstract E valueAt(int slot);
+	}
+}
@@ -16,21 +16,26 @@
  */
 package info.archinnov.achilles.proxy;
 
+import static info.archinnov.achilles.entity.metadata.PropertyType.multiValuesNonProxyTypes;
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.EntityLoader;
 import info.archinnov.achilles.entity.operations.EntityPersister;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 import info.archinnov.achilles.proxy.wrapper.builder.ListWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.MapWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.SetWrapperBuilder;
 import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
@@ -50,14 +55,19 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 	protected Method idSetter;
 	protected Map<Method, PropertyMeta> getterMetas;
 	protected Map<Method, PropertyMeta> setterMetas;
-	protected Map<Method, PropertyMeta> dirtyMap;
-	protected Set<Method> alreadyLoaded;
+	protected DirtyPropertyMap dirtyMap;
+	protected Map<Method, CollectionMutations> mutationsMap;
+	protected LoadedPropertySet alreadyLoaded;
 	protected CONTEXT context;
 
 	public Object getTarget() {
 		return this.target;
 	}
 
+	/**
+	 * Fallback for proxies whose accessors are not routed to their slot
+	 * callbacks, see {@link ProxyClassFactory}
+	 */
 	@Override
 	public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
 		log.trace("Method {} called for entity of class {}", method.getName(), target.getClass().getCanonicalName());
@@ -69,26 +79,52 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		}
 
 		Object result = null;
-		if (this.getterMetas.containsKey(method)) {
-			result = interceptGetter(method, args, proxy);
-		} else if (this.setterMetas.containsKey(method)) {
-			result = interceptSetter(method, args, proxy);
+		PropertyMeta propertyMeta = this.getterMetas.get(method);
+		if (propertyMeta != null) {
+			result = invokeGetter(propertyMeta, method, args, proxy);
+		} else if ((propertyMeta = this.setterMetas.get(method)) != null) {
+			result = invokeSetter(propertyMeta, method, args, proxy);
 		} else {
 			result = proxy.invoke(target, args);
 		}
 		return result;
 	}
 
-	private <K, V> Object interceptGetter(Method method, Object[] args, MethodProxy proxy) throws Throwable {
+	/**
+	 * Called by the getter callback of the property slot, the property is
+	 * already resolved
+	 */
+	public Object interceptGetter(PropertyMeta propertyMeta, Method method, Object[] args, MethodProxy proxy)
+			throws Throwable {
+		return invokeGetter(propertyMeta, method, args, proxy);
+	}
+
+	/**
+	 * Called by the setter callback of the property slot, the property is
+	 * already resolved
+	 */
+	public Object interceptSetter(PropertyMeta propertyMeta, Method method, Object[] args, MethodProxy proxy)
+			throws Throwable {
+		return invokeSetter(propertyMeta, method, args, proxy);
+	}
+
+	private <K, V> Object invokeGetter(PropertyMeta propertyMeta, Method method, Object[] args, MethodProxy proxy)
+			throws Throwable {
 		Object result = null;
-		PropertyMeta propertyMeta = this.getterMetas.get(method);
 
 		// Load fields into target object
-		if (!propertyMeta.isCounter() && !this.alreadyLoaded.contains(method)) {
-			log.trace("Loading property {}", propertyMeta.getPropertyName());
+		if (!propertyMeta.isCounter() && !this.alreadyLoaded.contains(propertyMeta)) {
+			if (propertyMeta.getFetchGroup() == null) {
+				log.trace("Loading property {}", propertyMeta.getPropertyName());
+
+				loader.loadPropertyIntoObject(context, target, propertyMeta);
+				alreadyLoaded.add(propertyMeta);
+			} else {
+				log.trace("Loading fetch group {} of property {}", propertyMeta.getFetchGroup(),
+						propertyMeta.getPropertyName());
 
-			loader.loadPropertyIntoObject(context, target, propertyMeta);
-			alreadyLoaded.add(method);
+				loadLazyProperties(context.getEntityMeta().getFetchGroupMetas(propertyMeta));
+			}
 		}
 
 		log.trace("Invoking getter {} on real object", method.getName());
@@ -109,8 +145,8 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 
 				@SuppressWarnings("unchecked")
 				List<Object> list = (List<Object>) rawValue;
-				result = ListWrapperBuilder.builder(context, list).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+				result = ListWrapperBuilder.builder(context, list).dirtyMap(dirtyMap).mutationsMap(mutationsMap)
+						.setter(propertyMeta.getSetter()).propertyMeta(propertyMeta).proxifier(proxifier).build();
 			}
 			break;
 		case SET:
@@ -121,8 +157,8 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 
 				@SuppressWarnings("unchecked")
 				Set<Object> set = (Set<Object>) rawValue;
-				result = SetWrapperBuilder.builder(context, set).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+				result = SetWrapperBuilder.builder(context, set).dirtyMap(dirtyMap).mutationsMap(mutationsMap)
+						.setter(propertyMeta.getSetter()).propertyMeta(propertyMeta).proxifier(proxifier).build();
 			}
 			break;
 		case MAP:
@@ -135,8 +171,8 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 				Map<Object, Object> map = (Map<Object, Object>) rawValue;
 				result = MapWrapperBuilder
 						//
-						.builder(context, map).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+						.builder(context, map).dirtyMap(dirtyMap).mutationsMap(mutationsMap)
+						.setter(propertyMeta.getSetter()).propertyMeta(propertyMeta).proxifier(proxifier).build();
 			}
 			break;
 		default:
@@ -151,8 +187,31 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 
 	protected abstract Counter buildCounterWrapper(PropertyMeta propertyMeta);
 
-	private Object interceptSetter(Method method, Object[] args, MethodProxy proxy) throws Throwable {
-		PropertyMeta propertyMeta = this.setterMetas.get(method);
+	/**
+	 * Loads with a single query the given properties which are neither loaded
+	 * nor set yet. Counters are skipped, they are read through their wrapper
+	 */
+	public void loadLazyProperties(Collection<PropertyMeta> propertyMetas) {
+		List<PropertyMeta> toBeLoaded = new ArrayList<PropertyMeta>();
+		for (PropertyMeta propertyMeta : propertyMetas) {
+			if (!propertyMeta.isCounter() && !alreadyLoaded.contains(propertyMeta)) {
+				toBeLoaded.add(propertyMeta);
+			}
+		}
+
+		if (toBeLoaded.size() == 1) {
+			loader.loadPropertyIntoObject(context, target, toBeLoaded.get(0));
+		} else if (toBeLoaded.size() > 1) {
+			loader.loadPropertiesIntoObject(context, target, toBeLoaded);
+		}
+
+		for (PropertyMeta propertyMeta : toBeLoaded) {
+			alreadyLoaded.add(propertyMeta);
+		}
+	}
+
+	private Object invokeSetter(PropertyMeta propertyMeta, Method method, Object[] args, MethodProxy proxy)
+			throws Throwable {
 		Object result = null;
 
 		switch (propertyMeta.type()) {
@@ -164,19 +223,46 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		}
 
 		if (propertyMeta.type().isLazy()) {
-			this.alreadyLoaded.add(propertyMeta.getGetter());
+			this.alreadyLoaded.add(propertyMeta);
 		}
 		log.trace("Flaging property {}", propertyMeta.getPropertyName());
 
 		dirtyMap.put(method, propertyMeta);
+		if (mutationsMap != null && multiValuesNonProxyTypes.contains(propertyMeta.type())) {
+			CollectionMutations mutations = new CollectionMutations();
+			mutations.overwrite();
+			mutationsMap.put(method, mutations);
+		}
 		result = proxy.invoke(target, args);
 		return result;
 	}
 
+	/**
+	 * Callback for the methods which are neither getters nor setters of mapped
+	 * properties, they are dispatched to the target without interception
+	 */
+	public Dispatcher buildTargetDispatcher() {
+		return new Dispatcher() {
+			@Override
+			public Object loadObject() {
+				return target;
+			}
+		};
+	}
+
 	public Map<Method, PropertyMeta> getDirtyMap() {
 		return dirtyMap;
 	}
 
+	/**
+	 * Element-level mutations recorded by the collection wrappers, keyed by
+	 * setter like the dirty map. A dirty collection without entry is merged as
+	 * a full overwrite
+	 */
+	public Map<Method, CollectionMutations> getMutationsMap() {
+		return mutationsMap;
+	}
+
 	public Set<Method> getAlreadyLoaded() {
 		return alreadyLoaded;
 	}
@@ -209,11 +295,15 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		this.setterMetas = setterMetas;
 	}
 
-	void setDirtyMap(Map<Method, PropertyMeta> dirtyMap) {
+	void setDirtyMap(DirtyPropertyMap dirtyMap) {
 		this.dirtyMap = dirtyMap;
 	}
 
-	void setAlreadyLoaded(Set<Method> lazyLoaded) {
+	void setMutationsMap(Map<Method, CollectionMutations> mutationsMap) {
+		this.mutationsMap = mutationsMap;
+	}
+
+	void setAlreadyLoaded(LoadedPropertySet lazyLoaded) {
 		this.alreadyLoaded = lazyLoaded;
 	}
 
@@ -225,10 +315,6 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		this.context = context;
 	}
 
-	private PropertyMeta getPropertyMetaByProperty(Method method) {
-		return getterMetas.get(method);
-	}
-
 	protected void setLoader(EntityLoader<CONTEXT> loader) {
 		this.loader = loader;
 	}
@@ -0,0 +1,70 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.validation.Validator;
+
+import java.lang.reflect.Method;
+
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+
+public class FastClassPropertyAccessor implements PropertyAccessor {
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private final FastMethod getter;
+	private final FastMethod setter;
+	private final boolean primitive;
+
+	public FastClassPropertyAccessor(Method getter, Method setter) {
+		this.getter = FastClass.create(getter.getDeclaringClass()).getMethod(getter);
+		this.setter = FastClass.create(setter.getDeclaringClass()).getMethod(setter);
+		this.primitive = setter.getParameterTypes()[0].isPrimitive();
+	}
+
+	@Override
+	public Object getValue(Object target) {
+		if (target == null) {
+			return null;
+		}
+		try {
+			return getter.invoke(target, NO_ARGS);
+		} catch (Exception e) {
+			throw new AchillesException("Cannot invoke '" + getter.getName() + "' of type '"
+					+ getter.getDeclaringClass().getCanonicalName() + "' on instance '" + target + "'", e);
+		}
+	}
+
+	@Override
+	public void setValue(Object target, Object value) {
+		if (primitive) {
+			Validator.validateNotNull(value,
+					"Cannot set null value to primitive type '%s' when invoking '%s' on instance of class'%s'",
+					setter.getParameterTypes()[0].getCanonicalName(), setter.getName(), setter.getDeclaringClass()
+							.getCanonicalName());
+		}
+		if (target != null) {
+			try {
+				setter.invoke(target, new Object[] { value });
+			} catch (Exception e) {
+				throw new AchillesException("Cannot invoke '" + setter.getName() + "' of type '"
+						+ setter.getDeclaringClass().getCanonicalName() + "' on instance '" + target + "'", e);
+			}
+		}
+	}
+}
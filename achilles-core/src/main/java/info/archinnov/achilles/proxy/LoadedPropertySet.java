@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.DirtyPropertyMap.SlotIterator;
+import info.archinnov.achilles.validation.Validator;
+
+import java.lang.reflect.Method;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Loaded flags of an entity proxy, one bit per property ordinal. Seen by the
+ * initializer, the refresher and the proxy builders as a set of getters,
+ * which are resolved to their property when added
+ */
+public class LoadedPropertySet extends AbstractSet<Method> {
+	private final BitSet loadedSlots = new BitSet();
+	private final Map<Method, PropertyMeta> getterMetas;
+	private PropertyMeta[] slotMetas;
+
+	public LoadedPropertySet(Map<Method, PropertyMeta> getterMetas) {
+		this.getterMetas = getterMetas;
+		this.slotMetas = new PropertyMeta[getterMetas.size()];
+	}
+
+	@Override
+	public boolean add(Method getter) {
+		PropertyMeta propertyMeta = getterMetas.get(getter);
+		Validator.validateNotNull(propertyMeta, "Cannot find property meta for getter '%s'", getter);
+		return add(propertyMeta);
+	}
+
+	public boolean add(PropertyMeta propertyMeta) {
+		int slot = propertyMeta.getOrdinal();
+		if (slot >= slotMetas.length) {
+			slotMetas = Arrays.copyOf(slotMetas, slot + 1);
+		}
+		slotMetas[slot] = propertyMeta;
+		boolean wasLoaded = loadedSlots.get(slot);
+		loadedSlots.set(slot);
+		return !wasLoaded;
+	}
+
+	public boolean contains(PropertyMeta propertyMeta) {
+		return loadedSlots.get(propertyMeta.getOrdinal());
+	}
+
+	@Override
+	public boolean contains(Object getter) {
+		PropertyMeta propertyMeta = getterMetas.get(getter);
+		return propertyMeta != null && contains(propertyMeta);
+	}
+
+	public BitSet getLoadedSlots() {
+		return loadedSlots;
+	}
+
+	@Override
+	public Iterator<Method> iterator() {
+		return new SlotIterator<Method>(loadedSlots) {
+			@Override
+			protected Method valueAt(int slot) {
+				return slotMetas[slot].getGetter();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return loadedSlots.cardinality();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return loadedSlots.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		loadedSlots.clear();
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PropertyAccessorFactory {
+	private static final Logger log = LoggerFactory.getLogger(PropertyAccessorFactory.class);
+
+	/**
+	 * Create a generated {@link FastClassPropertyAccessor}, fall back to a
+	 * {@link ReflectionPropertyAccessor} when the accessors are not public or
+	 * cannot be generated
+	 */
+	public PropertyAccessor createAccessor(Method getter, Method setter) {
+		if (isPublic(getter) && isPublic(setter)) {
+			try {
+				return new FastClassPropertyAccessor(getter, setter);
+			} catch (Throwable throwable) {
+				log.debug("Cannot generate fast accessors for getter {} and setter {} : {}", getter, setter,
+						throwable.getMessage());
+			}
+		}
+		log.debug("Use reflection accessors for getter {} and setter {}", getter, setter);
+		return new ReflectionPropertyAccessor(getter, setter);
+	}
+
+	private boolean isPublic(Method method) {
+		return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+	}
+}
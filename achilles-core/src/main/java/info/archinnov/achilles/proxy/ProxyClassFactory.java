@@ -0,0 +1,192 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ProxyClassFactory {
+	private static final Logger log = LoggerFactory.getLogger(ProxyClassFactory.class);
+
+	public static final int INTERCEPT = 0;
+	public static final int DISPATCH = 1;
+	static final int FIRST_SLOT = 2;
+
+	private static final MethodInterceptor PASS_THROUGH = new MethodInterceptor() {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			return proxy.invokeSuper(obj, args);
+		}
+	};
+
+	/**
+	 * Generate the proxy class of the entity once and return a prototype
+	 * instance, new proxies are then created with
+	 * {@link Factory#newInstance(Callback[])} from a copy of the prototype
+	 * callbacks where {@link #INTERCEPT} and {@link #DISPATCH} are replaced.
+	 * 
+	 * The getter and setter of each property are routed to their own callback,
+	 * at {@link #getterIndex(int)} and {@link #setterIndex(int)} of the
+	 * property ordinal. These callbacks are shared by all proxies of the class
+	 * and hand the already resolved property to the {@link EntityInterceptor}
+	 * of the proxy. All other methods go to the {@link #DISPATCH} callback
+	 */
+	public Factory createProxyFactory(final EntityMeta meta) {
+		log.debug("Generate Cglib proxy class for entity class {}", meta.getClassName());
+
+		Callback[] callbacks = new Callback[FIRST_SLOT + 2 * meta.getPropertyMetas().size()];
+		callbacks[INTERCEPT] = PASS_THROUGH;
+		callbacks[DISPATCH] = new Dispatcher() {
+			@Override
+			public Object loadObject() throws Exception {
+				return meta.instanciate();
+			}
+		};
+		for (PropertyMeta propertyMeta : meta.getPropertyMetas().values()) {
+			int slot = propertyMeta.getOrdinal();
+			if (propertyMeta.type().isId()) {
+				callbacks[getterIndex(slot)] = ID_GETTER;
+				callbacks[setterIndex(slot)] = ID_SETTER;
+			} else {
+				callbacks[getterIndex(slot)] = new GetterCallback(propertyMeta);
+				callbacks[setterIndex(slot)] = new SetterCallback(propertyMeta);
+			}
+		}
+
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(meta.getEntityClass());
+		enhancer.setCallbackFilter(new EntityCallbackFilter(meta));
+		enhancer.setCallbacks(callbacks);
+		return (Factory) enhancer.create();
+	}
+
+	public static int getterIndex(int slot) {
+		return FIRST_SLOT + 2 * slot;
+	}
+
+	public static int setterIndex(int slot) {
+		return FIRST_SLOT + 2 * slot + 1;
+	}
+
+	/**
+	 * The prototype and the proxies under construction have no interceptor yet
+	 */
+	private static EntityInterceptor<?, ?> interceptorOf(Object obj) {
+		Callback callback = ((Factory) obj).getCallback(INTERCEPT);
+		return callback instanceof EntityInterceptor ? (EntityInterceptor<?, ?>) callback : null;
+	}
+
+	private static final MethodInterceptor ID_GETTER = new MethodInterceptor() {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			EntityInterceptor<?, ?> interceptor = interceptorOf(obj);
+			return interceptor != null ? interceptor.getPrimaryKey() : proxy.invokeSuper(obj, args);
+		}
+	};
+
+	private static final MethodInterceptor ID_SETTER = new MethodInterceptor() {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			if (interceptorOf(obj) != null) {
+				throw new IllegalAccessException("Cannot change primary key value for existing entity ");
+			}
+			return proxy.invokeSuper(obj, args);
+		}
+	};
+
+	private static class GetterCallback implements MethodInterceptor {
+		private final PropertyMeta propertyMeta;
+
+		private GetterCallback(PropertyMeta propertyMeta) {
+			this.propertyMeta = propertyMeta;
+		}
+
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			EntityInterceptor<?, ?> interceptor = interceptorOf(obj);
+			if (interceptor != null) {
+				return interceptor.interceptGetter(propertyMeta, method, args, proxy);
+			}
+			return proxy.invokeSuper(obj, args);
+		}
+	}
+
+	private static class SetterCallback implements MethodInterceptor {
+		private final PropertyMeta propertyMeta;
+
+		private SetterCallback(PropertyMeta propertyMeta) {
+			this.propertyMeta = propertyMeta;
+		}
+
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			EntityInterceptor<?, ?> interceptor = interceptorOf(obj);
+			if (interceptor != null) {
+				return interceptor.interceptSetter(propertyMeta, method, args, proxy);
+			}
+			return proxy.invokeSuper(obj, args);
+		}
+	}
+
+	/**
+	 * Resolve once, at class generation, the callback index of each method
+	 */
+	static class EntityCallbackFilter implements CallbackFilter {
+		private final Class<?> entityClass;
+		private final Map<Method, Integer> callbackIndexes = new HashMap<Method, Integer>();
+
+		EntityCallbackFilter(EntityMeta meta) {
+			this.entityClass = meta.getEntityClass();
+			for (PropertyMeta propertyMeta : meta.getPropertyMetas().values()) {
+				callbackIndexes.put(propertyMeta.getGetter(), getterIndex(propertyMeta.getOrdinal()));
+				callbackIndexes.put(propertyMeta.getSetter(), setterIndex(propertyMeta.getOrdinal()));
+			}
+		}
+
+		@Override
+		public int accept(Method method) {
+			Integer index = callbackIndexes.get(method);
+			return index != null ? index : DISPATCH;
+		}
+
+		@Override
+		public int hashCode() {
+			return entityClass.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof EntityCallbackFilter && ((EntityCallbackFilter) obj).entityClass == entityClass
+					&& ((EntityCallbackFilter) obj).callbackIndexes.equals(callbackIndexes);
+		}
+	}
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 
 public abstract class AbstractWrapper {
 	protected Map<Method, PropertyMeta> dirtyMap;
+	protected Map<Method, CollectionMutations> mutationsMap;
 	protected Method setter;
 	protected PropertyMeta propertyMeta;
 	protected EntityProxifier<PersistenceContext> proxifier;
@@ -38,6 +39,10 @@ public abstract class AbstractWrapper {
 		this.dirtyMap = dirtyMap;
 	}
 
+	public void setMutationsMap(Map<Method, CollectionMutations> mutationsMap) {
+		this.mutationsMap = mutationsMap;
+	}
+
 	public void setSetter(Method setter) {
 		this.setter = setter;
 	}
@@ -47,9 +52,25 @@ public abstract class AbstractWrapper {
 	}
 
 	protected void markDirty() {
-		if (!dirtyMap.containsKey(setter)) {
-			dirtyMap.put(setter, propertyMeta);
+		markDirtyForMutation().overwrite();
+	}
+
+	/**
+	 * Mark the property dirty and return the recorder of its element-level
+	 * mutations. Without a mutations map the recorder is not shared and the
+	 * property is merged as a full overwrite
+	 */
+	protected CollectionMutations markDirtyForMutation() {
+		dirtyMap.put(setter, propertyMeta);
+		if (mutationsMap == null) {
+			return new CollectionMutations();
+		}
+		CollectionMutations mutations = mutationsMap.get(setter);
+		if (mutations == null) {
+			mutations = new CollectionMutations();
+			mutationsMap.put(setter, mutations);
 		}
+		return mutations;
 	}
 
 	public void setProxifier(EntityProxifier<PersistenceContext> proxifier) {
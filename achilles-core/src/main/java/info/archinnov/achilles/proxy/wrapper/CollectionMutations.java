@@ -0,0 +1,232 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Element-level changes applied to a collection property through its
+ * wrappers since the last merge, already reduced to their net effect.
+ * Changes which cannot be expressed as CQL collection operations, or which
+ * cannot be combined with the changes already recorded, switch the property
+ * back to a full overwrite
+ */
+public class CollectionMutations {
+	private boolean overwrite;
+
+	private List<Object> appendedElements;
+	private List<Object> prependedElements;
+	private Map<Integer, Object> elementsAtIndex;
+	private List<Object> discardedElements;
+
+	private Set<Object> addedElements;
+	private Set<Object> removedElements;
+
+	private Map<Object, Object> putEntries;
+	private Set<Object> removedKeys;
+
+	public void overwrite() {
+		overwrite = true;
+		appendedElements = null;
+		prependedElements = null;
+		elementsAtIndex = null;
+		discardedElements = null;
+		addedElements = null;
+		removedElements = null;
+		putEntries = null;
+		removedKeys = null;
+	}
+
+	public void append(Collection<?> elements) {
+		if (canRecord(elements) && elementsAtIndex == null && discardedElements == null) {
+			if (appendedElements == null) {
+				appendedElements = new ArrayList<Object>();
+			}
+			appendedElements.addAll(elements);
+		} else {
+			overwrite();
+		}
+	}
+
+	public void prepend(Collection<?> elements) {
+		if (canRecord(elements) && elementsAtIndex == null && discardedElements == null) {
+			List<Object> prepended = new ArrayList<Object>(elements);
+			if (prependedElements != null) {
+				prepended.addAll(prependedElements);
+			}
+			prependedElements = prepended;
+		} else {
+			overwrite();
+		}
+	}
+
+	public void setElementAt(int index, Object element) {
+		if (!overwrite && element != null && appendedElements == null && prependedElements == null
+				&& discardedElements == null) {
+			if (elementsAtIndex == null) {
+				elementsAtIndex = new LinkedHashMap<Integer, Object>();
+			}
+			elementsAtIndex.put(index, element);
+		} else {
+			overwrite();
+		}
+	}
+
+	public void discard(Collection<?> elements) {
+		if (canRecord(elements) && appendedElements == null && prependedElements == null && elementsAtIndex == null) {
+			if (discardedElements == null) {
+				discardedElements = new ArrayList<Object>();
+			}
+			discardedElements.addAll(elements);
+		} else {
+			overwrite();
+		}
+	}
+
+	public void addToSet(Collection<?> elements) {
+		if (canRecord(elements)) {
+			if (addedElements == null) {
+				addedElements = new LinkedHashSet<Object>();
+			}
+			addedElements.addAll(elements);
+			if (removedElements != null) {
+				removedElements.removeAll(elements);
+			}
+		} else {
+			overwrite();
+		}
+	}
+
+	public void removeFromSet(Collection<?> elements) {
+		if (canRecord(elements)) {
+			if (removedElements == null) {
+				removedElements = new LinkedHashSet<Object>();
+			}
+			removedElements.addAll(elements);
+			if (addedElements != null) {
+				addedElements.removeAll(elements);
+			}
+		} else {
+			overwrite();
+		}
+	}
+
+	public void putToMap(Map<?, ?> entries) {
+		if (canRecord(entries.keySet()) && canRecord(entries.values())) {
+			if (putEntries == null) {
+				putEntries = new LinkedHashMap<Object, Object>();
+			}
+			for (Entry<?, ?> entry : entries.entrySet()) {
+				putEntries.put(entry.getKey(), entry.getValue());
+				if (removedKeys != null) {
+					removedKeys.remove(entry.getKey());
+				}
+			}
+		} else {
+			overwrite();
+		}
+	}
+
+	public void removeFromMap(Collection<?> keys) {
+		if (canRecord(keys)) {
+			if (removedKeys == null) {
+				removedKeys = new LinkedHashSet<Object>();
+			}
+			removedKeys.addAll(keys);
+			if (putEntries != null) {
+				putEntries.keySet().removeAll(keys);
+			}
+		} else {
+			overwrite();
+		}
+	}
+
+	private boolean canRecord(Collection<?> elements) {
+		if (overwrite) {
+			return false;
+		}
+		for (Object element : elements) {
+			if (element == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean isOverwrite() {
+		return overwrite;
+	}
+
+	/**
+	 * True when some element-level change has been recorded and no full
+	 * overwrite is required
+	 */
+	public boolean isIncremental() {
+		return !overwrite
+				&& (isNotEmpty(appendedElements) || isNotEmpty(prependedElements) || isNotEmpty(discardedElements)
+						|| isNotEmpty(addedElements) || isNotEmpty(removedElements) || isNotEmpty(removedKeys)
+						|| (elementsAtIndex != null && !elementsAtIndex.isEmpty()) || (putEntries != null && !putEntries
+						.isEmpty()));
+	}
+
+	private boolean isNotEmpty(Collection<?> elements) {
+		return elements != null && !elements.isEmpty();
+	}
+
+	public List<Object> getAppendedElements() {
+		return appendedElements == null ? Collections.emptyList() : appendedElements;
+	}
+
+	/**
+	 * Elements to add in front of the list, in their final order
+	 */
+	public List<Object> getPrependedElements() {
+		return prependedElements == null ? Collections.emptyList() : prependedElements;
+	}
+
+	public Map<Integer, Object> getElementsAtIndex() {
+		return elementsAtIndex == null ? Collections.<Integer, Object> emptyMap() : elementsAtIndex;
+	}
+
+	public List<Object> getDiscardedElements() {
+		return discardedElements == null ? Collections.emptyList() : discardedElements;
+	}
+
+	public Set<Object> getAddedElements() {
+		return addedElements == null ? Collections.emptySet() : addedElements;
+	}
+
+	public Set<Object> getRemovedElements() {
+		return removedElements == null ? Collections.emptySet() : removedElements;
+	}
+
+	public Map<Object, Object> getPutEntries() {
+		return putEntries == null ? Collections.emptyMap() : putEntries;
+	}
+
+	public Set<Object> getRemovedKeys() {
+		return removedKeys == null ? Collections.emptySet() : removedKeys;
+	}
+}
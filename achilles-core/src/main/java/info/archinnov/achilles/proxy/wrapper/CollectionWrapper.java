@@ -19,6 +19,7 @@ package info.archinnov.achilles.proxy.wrapper;
 import info.archinnov.achilles.proxy.wrapper.builder.IteratorWrapperBuilder;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 import org.slf4j.Logger;
@@ -37,8 +38,9 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	public boolean add(Object arg0) {
 		log.trace("Mark collection property {} of entity class {} dirty upon element addition",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-		this.markDirty();
-		boolean result = target.add(proxifier.unwrap(arg0));
+		Object element = proxifier.unwrap(arg0);
+		recordAddition(Collections.singletonList(element));
+		boolean result = target.add(element);
 
 		return result;
 	}
@@ -46,11 +48,12 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	@Override
 	public boolean addAll(Collection<?> arg0) {
 		boolean result = false;
-		result = target.addAll(proxifier.unwrap(arg0));
+		Collection<?> elements = proxifier.unwrap(arg0);
+		result = target.addAll(elements);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon elements addition",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			recordAddition(elements);
 		}
 		return result;
 	}
@@ -87,17 +90,19 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 
 		return IteratorWrapperBuilder.builder(context, this.target.iterator())
 		//
-				.dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
+				.dirtyMap(dirtyMap).mutationsMap(mutationsMap).setter(setter).propertyMeta(propertyMeta)
+				.proxifier(proxifier).build();
 	}
 
 	@Override
 	public boolean remove(Object arg0) {
 		boolean result = false;
-		result = this.target.remove(proxifier.unwrap(arg0));
+		Object element = proxifier.unwrap(arg0);
+		result = this.target.remove(element);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon element removal",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			recordRemoval(Collections.singletonList(element), false);
 		}
 		return result;
 	}
@@ -105,11 +110,12 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	@Override
 	public boolean removeAll(Collection<?> arg0) {
 		boolean result = false;
-		result = this.target.removeAll(proxifier.unwrap(arg0));
+		Collection<?> elements = proxifier.unwrap(arg0);
+		result = this.target.removeAll(elements);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon elements removal",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			recordRemoval(elements, true);
 		}
 		return result;
 	}
@@ -144,4 +150,46 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	public Collection<Object> getTarget() {
 		return this.target;
 	}
+
+	protected void recordAddition(Collection<?> elements) {
+		CollectionMutations mutations = markDirtyForMutation();
+		switch (propertyMeta.type()) {
+		case LIST:
+		case LAZY_LIST:
+			mutations.append(elements);
+			break;
+		case SET:
+		case LAZY_SET:
+			mutations.addToSet(elements);
+			break;
+		default:
+			mutations.overwrite();
+			break;
+		}
+	}
+
+	/**
+	 * A list removal can only be sent as a CQL discard when every occurrence of
+	 * the elements is removed
+	 */
+	protected void recordRemoval(Collection<?> elements, boolean allOccurrences) {
+		CollectionMutations mutations = markDirtyForMutation();
+		switch (propertyMeta.type()) {
+		case LIST:
+		case LAZY_LIST:
+			if (allOccurrences) {
+				mutations.discard(elements);
+			} else {
+				mutations.overwrite();
+			}
+			break;
+		case SET:
+		case LAZY_SET:
+			mutations.removeFromSet(elements);
+			break;
+		default:
+			mutations.overwrite();
+			break;
+		}
+	}
 }
@@ -74,8 +74,8 @@ public class EntrySetWrapper extends AbstractWrapper implements Set<Entry<Object
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 		return EntryIteratorWrapperBuilder
 				//
-				.builder(context, this.target.iterator()).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+				.builder(context, this.target.iterator()).dirtyMap(dirtyMap).mutationsMap(mutationsMap)
+				.setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
 	}
 
 	@Override
@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
+import java.util.Collections;
 import java.util.Iterator;
 
 import org.slf4j.Logger;
@@ -25,6 +26,7 @@ public class IteratorWrapper extends AbstractWrapper implements Iterator<Object>
 	private static final Logger log = LoggerFactory.getLogger(IteratorWrapper.class);
 
 	protected Iterator<Object> target;
+	private Object current;
 
 	public IteratorWrapper(Iterator<Object> target) {
 		this.target = target;
@@ -37,7 +39,8 @@ public class IteratorWrapper extends AbstractWrapper implements Iterator<Object>
 
 	@Override
 	public Object next() {
-		return this.target.next();
+		current = this.target.next();
+		return current;
 	}
 
 	@Override
@@ -45,6 +48,15 @@ public class IteratorWrapper extends AbstractWrapper implements Iterator<Object>
 		log.trace("Mark property {} of entity class {} as dirty upon element removal", propertyMeta.getPropertyName(),
 				propertyMeta.getEntityClassName());
 		this.target.remove();
-		this.markDirty();
+		CollectionMutations mutations = this.markDirtyForMutation();
+		switch (propertyMeta.type()) {
+		case SET:
+		case LAZY_SET:
+			mutations.removeFromSet(Collections.singleton(current));
+			break;
+		default:
+			mutations.overwrite();
+			break;
+		}
 	}
 }
@@ -33,4 +33,9 @@ public class KeySetWrapper extends SetWrapper {
 	public boolean addAll(Collection<?> arg0) {
 		throw new UnsupportedOperationException("This method is not supported for a key set");
 	}
+
+	@Override
+	protected void recordRemoval(Collection<?> keys, boolean allOccurrences) {
+		markDirtyForMutation().removeFromMap(keys);
+	}
 }
@@ -20,6 +20,7 @@ import info.archinnov.achilles.proxy.wrapper.builder.ListIteratorWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.ListWrapperBuilder;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
 
@@ -29,6 +30,8 @@ import org.slf4j.LoggerFactory;
 public class ListWrapper extends CollectionWrapper implements List<Object> {
 	private static final Logger log = LoggerFactory.getLogger(ListWrapper.class);
 
+	private boolean subList;
+
 	public ListWrapper(List<Object> target) {
 		super(target);
 	}
@@ -37,17 +40,23 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 	public void add(int index, Object arg1) {
 		log.trace("Mark list property {} of entity class {} dirty upon element addition at index {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), index);
-		((List<Object>) super.target).add(index, proxifier.unwrap(arg1));
-		super.markDirty();
+		List<Object> list = (List<Object>) super.target;
+		int size = list.size();
+		Object element = proxifier.unwrap(arg1);
+		list.add(index, element);
+		recordInsertion(index, size, Collections.singletonList(element));
 	}
 
 	@Override
 	public boolean addAll(int arg0, Collection<? extends Object> arg1) {
-		boolean result = ((List<Object>) super.target).addAll(arg0, proxifier.unwrap(arg1));
+		List<Object> list = (List<Object>) super.target;
+		int size = list.size();
+		Collection<? extends Object> elements = proxifier.unwrap(arg1);
+		boolean result = list.addAll(arg0, elements);
 		if (result) {
 			log.trace("Mark list property {} of entity class {} dirty upon elements addition",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			super.markDirty();
+			recordInsertion(arg0, size, elements);
 		}
 		return result;
 	}
@@ -78,8 +87,8 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 
 		return ListIteratorWrapperBuilder
 				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+				.builder(context, target).dirtyMap(dirtyMap).mutationsMap(mutationsMap).setter(setter)
+				.propertyMeta(propertyMeta).proxifier(proxifier).build();
 	}
 
 	@Override
@@ -91,8 +100,8 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 
 		return ListIteratorWrapperBuilder
 				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+				.builder(context, target).dirtyMap(dirtyMap).mutationsMap(mutationsMap).setter(setter)
+				.propertyMeta(propertyMeta).proxifier(proxifier).build();
 	}
 
 	@Override
@@ -110,8 +119,13 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Mark list property {} of entity class {} dirty upon element set at index {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
-		Object result = ((List<Object>) super.target).set(index, proxifier.unwrap(arg1));
-		super.markDirty();
+		Object element = proxifier.unwrap(arg1);
+		Object result = ((List<Object>) super.target).set(index, element);
+		if (subList) {
+			super.markDirty();
+		} else {
+			super.markDirtyForMutation().setElementAt(index, element);
+		}
 		return result;
 	}
 
@@ -122,10 +136,12 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Build sublist wrapper for list property {} of entity class {} between index {} and {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), from, to);
 
-		return ListWrapperBuilder
+		ListWrapper subListWrapper = ListWrapperBuilder
 				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+				.builder(context, target).dirtyMap(dirtyMap).mutationsMap(mutationsMap).setter(setter)
+				.propertyMeta(propertyMeta).proxifier(proxifier).build();
+		subListWrapper.setSubList(true);
+		return subListWrapper;
 	}
 
 	@Override
@@ -133,4 +149,40 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		return ((List<Object>) super.target);
 	}
 
+	/**
+	 * Changes through a sub list are relative to a window of the list and are
+	 * always merged as a full overwrite
+	 */
+	public void setSubList(boolean subList) {
+		this.subList = subList;
+	}
+
+	@Override
+	protected void recordAddition(Collection<?> elements) {
+		if (subList) {
+			super.markDirty();
+		} else {
+			super.recordAddition(elements);
+		}
+	}
+
+	@Override
+	protected void recordRemoval(Collection<?> elements, boolean allOccurrences) {
+		if (subList) {
+			super.markDirty();
+		} else {
+			super.recordRemoval(elements, allOccurrences);
+		}
+	}
+
+	private void recordInsertion(int index, int sizeBeforeInsertion, Collection<?> elements) {
+		if (!subList && index == sizeBeforeInsertion) {
+			super.markDirtyForMutation().append(elements);
+		} else if (!subList && index == 0) {
+			super.markDirtyForMutation().prepend(elements);
+		} else {
+			super.markDirty();
+		}
+	}
+
 }
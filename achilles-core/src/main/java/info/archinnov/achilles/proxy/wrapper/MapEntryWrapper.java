@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -45,8 +46,9 @@ public class MapEntryWrapper extends AbstractWrapper implements Map.Entry<Object
 	public Object setValue(Object value) {
 		log.trace("Mark map entry property {} of entity class {} dirty upon element set",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-		Object result = this.target.setValue(proxifier.unwrap(value));
-		this.markDirty();
+		Object element = proxifier.unwrap(value);
+		Object result = this.target.setValue(element);
+		this.markDirtyForMutation().putToMap(Collections.singletonMap(this.target.getKey(), element));
 		return result;
 	}
 
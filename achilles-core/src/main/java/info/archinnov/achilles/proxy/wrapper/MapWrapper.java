@@ -21,6 +21,7 @@ import info.archinnov.achilles.proxy.wrapper.builder.KeySetWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.ValueCollectionWrapperBuilder;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -66,7 +67,7 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 					propertyMeta.getEntityClassName());
 
 			EntrySetWrapper wrapperSet = EntrySetWrapperBuilder.builder(context, targetEntrySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
+					.mutationsMap(mutationsMap).setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
 			targetEntrySet = wrapperSet;
 		}
 		return targetEntrySet;
@@ -92,7 +93,7 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 					propertyMeta.getEntityClassName());
 
 			KeySetWrapper keySetWrapper = KeySetWrapperBuilder.builder(context, keySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
+					.mutationsMap(mutationsMap).setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
 			keySet = keySetWrapper;
 		}
 		return keySet;
@@ -103,8 +104,9 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 		log.trace("Mark map property {} of entity class {} dirty upon new value {} addition for key {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), value, key);
 
-		Object result = this.target.put(key, proxifier.unwrap(value));
-		this.markDirty();
+		Object element = proxifier.unwrap(value);
+		Object result = this.target.put(key, element);
+		this.markDirtyForMutation().putToMap(Collections.singletonMap(key, element));
 		return result;
 	}
 
@@ -119,7 +121,7 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
 		this.target.putAll(map);
-		this.markDirty();
+		this.markDirtyForMutation().putToMap(map);
 	}
 
 	@Override
@@ -128,7 +130,7 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 		if (this.target.containsKey(unproxy)) {
 			log.trace("Mark map property {} of entity class {} dirty upon removal of value havo,g key {}",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), key);
-			this.markDirty();
+			this.markDirtyForMutation().removeFromMap(Collections.singleton(unproxy));
 		}
 		return this.target.remove(unproxy);
 	}
@@ -148,8 +150,8 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 
 			ValueCollectionWrapper collectionWrapper = ValueCollectionWrapperBuilder
 					//
-					.builder(context, values).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-					.proxifier(proxifier).build();
+					.builder(context, values).dirtyMap(dirtyMap).mutationsMap(mutationsMap).setter(setter)
+					.propertyMeta(propertyMeta).proxifier(proxifier).build();
 			values = collectionWrapper;
 		}
 		return values;
@@ -31,6 +31,7 @@ import com.google.common.collect.ImmutableList;
 public class SliceQuery<T> {
 	public static final int DEFAULT_LIMIT = 100;
 	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final float NO_PREFETCH = 0f;
 
 	private Class<T> entityClass;
 	private EntityMeta meta;
@@ -44,10 +45,11 @@ public class SliceQuery<T> {
 	private int limit;
 	private boolean limitSet;
 	private boolean noComponent;
+	private float prefetchThreshold;
 
 	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
 			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
-			ConsistencyLevel consistencyLevel, int limit, int batchSize, boolean limitSet) {
+			ConsistencyLevel consistencyLevel, int limit, int batchSize, boolean limitSet, float prefetchThreshold) {
 
 		this.limitSet = limitSet;
 		Validator.validateNotNull(partitionComponents,
@@ -73,6 +75,7 @@ public class SliceQuery<T> {
 		this.consistencyLevel = consistencyLevel;
 		this.limit = limit;
 		this.batchSize = batchSize;
+		this.prefetchThreshold = prefetchThreshold;
 	}
 
 	public Class<T> getEntityClass() {
@@ -120,6 +123,18 @@ public class SliceQuery<T> {
 		return limitSet;
 	}
 
+	/**
+	 * Fraction of a page which should be consumed by an iterator before the
+	 * next page is fetched asynchronously. {@link #NO_PREFETCH} when disabled
+	 */
+	public float getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	public boolean isPrefetch() {
+		return prefetchThreshold > NO_PREFETCH;
+	}
+
 	public boolean hasNoComponent() {
 		return noComponent;
 	}
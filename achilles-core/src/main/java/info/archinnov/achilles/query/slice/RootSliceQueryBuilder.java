@@ -33,6 +33,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext, T> {
 
 	protected SliceQueryExecutor<CONTEXT> sliceQueryExecutor;
@@ -49,6 +51,7 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 	private ConsistencyLevel consistencyLevel;
 	private int limit = DEFAULT_LIMIT;
 	private int batchSize = DEFAULT_BATCH_SIZE;
+	private float prefetchThreshold = NO_PREFETCH;
 	private boolean limitHasBeenSet = false;
 	private boolean orderingHasBeenSet = false;
 
@@ -118,6 +121,13 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<CONTEXT, T> prefetchInternal(float prefetchThreshold) {
+		Validator.validateTrue(prefetchThreshold > 0 && prefetchThreshold <= 1,
+				"Prefetch threshold for slice query for entity '%s' should be in ]0,1]", meta.getClassName());
+		this.prefetchThreshold = prefetchThreshold;
+		return this;
+	}
+
 	protected RootSliceQueryBuilder<CONTEXT, T> limit(int limit) {
 		this.limit = limit;
 		limitHasBeenSet = true;
@@ -136,6 +146,18 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		return sliceQueryExecutor.get(clusteredQuery);
 	}
 
+	protected ListenableFuture<List<T>> getAsync() {
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		return sliceQueryExecutor.getAsync(clusteredQuery);
+	}
+
+	protected ListenableFuture<List<T>> getAsync(int n) {
+		limit = n;
+		limitHasBeenSet = true;
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		return sliceQueryExecutor.getAsync(clusteredQuery);
+	}
+
 	protected T getFirstOccurence(Object... clusteringComponents) {
 		fromClusteringsInternal(clusteringComponents);
 		toClusteringsInternal(clusteringComponents);
@@ -286,6 +308,6 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 
 	protected SliceQuery<T> buildClusterQuery() {
 		return new SliceQuery<T>(entityClass, meta, partitionComponents, fromClusterings, toClusterings, ordering,
-				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet);
+				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet, prefetchThreshold);
 	}
 }
@@ -29,6 +29,8 @@ import info.archinnov.achilles.validation.Validator;
 import java.util.Iterator;
 import java.util.List;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends RootSliceQueryBuilder<CONTEXT, T> {
 
 	public SliceQueryBuilder(SliceQueryExecutor<CONTEXT> sliceQueryExecutor, CompoundKeyValidator compoundKeyValidator,
@@ -117,6 +119,21 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return this;
 		}
 
+		/**
+		 * Prefetch the next batch of iterators asynchronously<br/>
+		 * <br/>
+		 * 
+		 * @param prefetchThreshold
+		 *            fraction of the current batch, in ]0,1], to consume
+		 *            before fetching the next one
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder prefetch(float prefetchThreshold) {
+			SliceQueryBuilder.super.prefetchInternal(prefetchThreshold);
+			return this;
+		}
+
 		/**
 		 * Set 'from' clustering component(s)<br/>
 		 * <br/>
@@ -174,6 +191,20 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return SliceQueryBuilder.super.get(n);
 		}
 
+		/**
+		 * Get first n matching entities asynchronously<br/>
+		 * <br/>
+		 * 
+		 * @param n
+		 *            first n matching entities
+		 * 
+		 * @return future of the list of found entities
+		 */
+		@Override
+		public ListenableFuture<List<T>> getAsync(int n) {
+			return SliceQueryBuilder.super.getAsync(n);
+		}
+
 		/**
 		 * Get first matching entity, using ASCENDING order<br/>
 		 * <br/>
@@ -468,6 +499,21 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return this;
 		}
 
+		/**
+		 * Prefetch the next batch of iterators asynchronously<br/>
+		 * <br/>
+		 * 
+		 * @param prefetchThreshold
+		 *            fraction of the current batch, in ]0,1], to consume
+		 *            before fetching the next one
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder prefetch(float prefetchThreshold) {
+			SliceQueryBuilder.super.prefetchInternal(prefetchThreshold);
+			return this;
+		}
+
 		/**
 		 * Get entities<br/>
 		 * <br/>
@@ -490,6 +536,28 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return SliceQueryBuilder.super.get(n);
 		}
 
+		/**
+		 * Get entities asynchronously<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return ListenableFuture<List<T>>
+		 */
+		public ListenableFuture<List<T>> getAsync() {
+			return SliceQueryBuilder.super.getAsync();
+		}
+
+		/**
+		 * Get first n entities asynchronously<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return ListenableFuture<List<T>>
+		 */
+		public ListenableFuture<List<T>> getAsync(int n) {
+			return SliceQueryBuilder.super.getAsync(n);
+		}
+
 		/**
 		 * Iterator on entities<br/>
 		 * <br/>
@@ -26,6 +26,8 @@ public class Options {
 
 	Long timestamp;
 
+	boolean skipNullColumns;
+
 	Options() {
 	}
 
@@ -41,16 +43,27 @@ public class Options {
 		return Optional.fromNullable(timestamp);
 	}
 
+	/**
+	 * When set, null properties and empty collections are left out of the
+	 * insert instead of being written as tombstones. Columns already stored
+	 * for the entity are then kept
+	 */
+	public boolean isSkipNullColumns() {
+		return skipNullColumns;
+	}
+
 	@Override
 	public String toString() {
-		return "Options [consistency=" + consistency + ", ttl=" + ttl + ", timestamp=" + timestamp + "]";
+		return "Options [consistency=" + consistency + ", ttl=" + ttl + ", timestamp=" + timestamp
+				+ ", skipNullColumns=" + skipNullColumns + "]";
 	}
 
 	public Options duplicateWithoutTtlAndTimestamp() {
-		return OptionsBuilder.withConsistency(consistency);
+		return OptionsBuilder.withConsistency(consistency).skipNullColumns(skipNullColumns);
 	}
 
 	public Options duplicateWithNewConsistencyLevel(ConsistencyLevel consistencyLevel) {
-		return OptionsBuilder.withConsistency(consistencyLevel).withTtl(ttl).withTimestamp(timestamp);
+		return OptionsBuilder.withConsistency(consistencyLevel).withTtl(ttl).withTimestamp(timestamp)
+				.skipNullColumns(skipNullColumns);
 	}
 }
@@ -36,6 +36,10 @@ public class OptionsBuilder {
 		return new InternalOptionsBuilder(timestamp);
 	}
 
+	public static InternalOptionsBuilder skipNullColumns() {
+		return new InternalOptionsBuilder(true);
+	}
+
 	public static class NoOptions extends Options {
 		protected NoOptions() {
 		}
@@ -59,6 +63,10 @@ public class OptionsBuilder {
 			super.timestamp = timestamp;
 		}
 
+		protected InternalOptionsBuilder(boolean skipNullColumns) {
+			super.skipNullColumns = skipNullColumns;
+		}
+
 		public InternalOptionsBuilder withConsistency(ConsistencyLevel consistencyLevel) {
 			super.consistency = consistencyLevel;
 			return this;
@@ -73,6 +81,15 @@ public class OptionsBuilder {
 			super.timestamp = timestamp;
 			return this;
 		}
+
+		public InternalOptionsBuilder skipNullColumns() {
+			return skipNullColumns(true);
+		}
+
+		InternalOptionsBuilder skipNullColumns(boolean skipNullColumns) {
+			super.skipNullColumns = skipNullColumns;
+			return this;
+		}
 	}
 
 }
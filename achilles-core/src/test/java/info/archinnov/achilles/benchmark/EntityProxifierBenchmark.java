@@ -0,0 +1,126 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.ProxyClassFactory;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+/**
+ * Compares the proxies built per second with a new Enhancer per entity and
+ * with the proxy class generated once per entity class, for 1, 8 and 32
+ * threads. Run the main method with the test classpath
+ */
+public class EntityProxifierBenchmark {
+	private static final int[] THREADS = { 1, 8, 32 };
+	private static final int WARMUP_PROXIES = 200000;
+	private static final int PROXIES_PER_THREAD = 200000;
+
+	private static final MethodInterceptor interceptor = new MethodInterceptor() {
+		@Override
+		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			return proxy.invokeSuper(obj, args);
+		}
+	};
+
+	private static final Dispatcher dispatcher = new Dispatcher() {
+		@Override
+		public Object loadObject() {
+			return target;
+		}
+	};
+
+	private static final CompleteBean target = new CompleteBean();
+
+	private static Factory proxyFactory;
+
+	public static void main(String[] args) throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setEntityClass(CompleteBean.class);
+		meta.setClassName(CompleteBean.class.getCanonicalName());
+		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
+		proxyFactory = new ProxyClassFactory().createProxyFactory(meta);
+
+		for (int threads : THREADS) {
+			run("enhancer per entity", threads, false);
+			run("cached proxy class", threads, true);
+		}
+	}
+
+	private static void run(String label, int threads, final boolean cached) throws Exception {
+		buildProxies(WARMUP_PROXIES, cached);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+		for (int i = 0; i < threads; i++) {
+			tasks.add(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					return buildProxies(PROXIES_PER_THREAD, cached);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		int proxies = 0;
+		for (Future<Integer> future : executor.invokeAll(tasks)) {
+			proxies += future.get();
+		}
+		long duration = System.nanoTime() - start;
+		executor.shutdown();
+
+		System.out.println(String.format("%-20s %2d threads %12.0f proxies/s", label, threads, proxies * 1e9
+				/ duration));
+	}
+
+	private static int buildProxies(int count, boolean cached) {
+		int built = 0;
+		for (int i = 0; i < count; i++) {
+			Object proxy;
+			if (cached) {
+				proxy = proxyFactory.newInstance(new Callback[] { interceptor, dispatcher });
+			} else {
+				Enhancer enhancer = new Enhancer();
+				enhancer.setSuperclass(CompleteBean.class);
+				enhancer.setCallback(interceptor);
+				proxy = enhancer.create();
+			}
+			if (proxy != null) {
+				built++;
+			}
+		}
+		return built;
+	}
+}
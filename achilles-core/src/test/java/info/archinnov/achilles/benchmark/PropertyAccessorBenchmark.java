@@ -0,0 +1,83 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import info.archinnov.achilles.proxy.FastClassPropertyAccessor;
+import info.archinnov.achilles.proxy.PropertyAccessor;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+
+/**
+ * Compares the property reads done when binding statements and the property
+ * writes done when mapping rows, with {@link ReflectionInvoker} and with the
+ * generated {@link FastClassPropertyAccessor}. Run the main method with the
+ * test classpath
+ */
+public class PropertyAccessorBenchmark {
+	private static final int WARMUP_ITERATIONS = 2000000;
+	private static final int ITERATIONS = 20000000;
+
+	public static void main(String[] args) throws Exception {
+		final Method getter = CompleteBean.class.getDeclaredMethod("getName");
+		final Method setter = CompleteBean.class.getDeclaredMethod("setName", String.class);
+		final ReflectionInvoker invoker = new ReflectionInvoker();
+		final PropertyAccessor accessor = new FastClassPropertyAccessor(getter, setter);
+		final CompleteBean bean = new CompleteBean();
+		bean.setName("name");
+
+		run("bind, reflection", new Runnable() {
+			@Override
+			public void run() {
+				invoker.getValueFromField(bean, getter);
+			}
+		});
+		run("bind, fast class", new Runnable() {
+			@Override
+			public void run() {
+				accessor.getValue(bean);
+			}
+		});
+		run("map, reflection", new Runnable() {
+			@Override
+			public void run() {
+				invoker.setValueToField(bean, setter, "name");
+			}
+		});
+		run("map, fast class", new Runnable() {
+			@Override
+			public void run() {
+				accessor.setValue(bean, "name");
+			}
+		});
+	}
+
+	private static void run(String label, Runnable access) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			access.run();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			access.run();
+		}
+		long duration = System.nanoTime() - start;
+
+		System.out.println(String.format("%-18s %8.1f ns/op", label, (double) duration / ITERATIONS));
+	}
+}
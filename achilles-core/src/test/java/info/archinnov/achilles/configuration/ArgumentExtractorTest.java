@@ -20,6 +20,7 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_CF_CREATION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
@@ -231,6 +232,24 @@ public class ArgumentExtractorTest {
 				ConsistencyLevel.LOCAL_QUORUM);
 	}
 
+	@Test
+	public void should_init_entity_cache_map() throws Exception {
+		configMap.put(ENTITY_CACHE_MAP_PARAM, ImmutableMap.of("cf1", "maximumSize=100"));
+
+		doCallRealMethod().when(extractor).initEntityCacheMap(configMap);
+		Map<String, String> cacheMap = extractor.initEntityCacheMap(configMap);
+
+		assertThat(cacheMap).hasSize(1);
+		assertThat(cacheMap.get("cf1")).isEqualTo("maximumSize=100");
+	}
+
+	@Test
+	public void should_init_empty_entity_cache_map_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initEntityCacheMap(configMap);
+
+		assertThat(extractor.initEntityCacheMap(configMap)).isEmpty();
+	}
+
 	@Test
 	public void should_init_write_consistency_level_map() throws Exception {
 		configMap.put(CONSISTENCY_LEVEL_WRITE_MAP_PARAM,
@@ -0,0 +1,191 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.cache;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.LIST;
+import static info.archinnov.achilles.entity.metadata.PropertyType.MAP;
+import static info.archinnov.achilles.entity.metadata.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.cache.CacheStats;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityCacheTest {
+
+	private EntityCache entityCache = new EntityCache("maximumSize=10");
+
+	private EntityMeta entityMeta = new EntityMeta();
+
+	private CompleteBean entity = new CompleteBean(11L);
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionInvoker invoker = new ReflectionInvoker();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().invoker(invoker).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().invoker(invoker).build();
+		PropertyMeta userMeta = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user")
+				.type(SIMPLE).accessors().invoker(invoker).build();
+		PropertyMeta usersMapMeta = PropertyMetaTestBuilder.completeBean(Integer.class, UserBean.class)
+				.field("usersMap").type(MAP).accessors().invoker(invoker).build();
+
+		entityMeta.setEntityClass(CompleteBean.class);
+		entityMeta.setEagerMetas(Arrays.asList(nameMeta, friendsMeta, userMeta, usersMapMeta));
+
+		entity.setName("name");
+		entity.setLabel("label");
+		entity.setFriends(new ArrayList<String>(Arrays.asList("foo", "bar")));
+	}
+
+	@Test
+	public void should_return_copy_of_eager_properties() throws Exception {
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+
+		CompleteBean cached = entityCache.get(entityMeta, 11L);
+
+		assertThat(cached).isNotSameAs(entity);
+		assertThat(cached.getName()).isEqualTo("name");
+		assertThat(cached.getFriends()).containsExactly("foo", "bar");
+		assertThat(cached.getFriends()).isNotSameAs(entity.getFriends());
+		assertThat(cached.getLabel()).isNull();
+	}
+
+	@Test
+	public void should_not_alter_cached_state_when_modifying_entities() throws Exception {
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+		entity.setName("modified");
+		entity.getFriends().add("qux");
+
+		CompleteBean cached = entityCache.get(entityMeta, 11L);
+		cached.getFriends().clear();
+
+		CompleteBean again = entityCache.get(entityMeta, 11L);
+		assertThat(again.getName()).isEqualTo("name");
+		assertThat(again.getFriends()).containsExactly("foo", "bar");
+	}
+
+	@Test
+	public void should_not_share_json_mapped_values_with_cache() throws Exception {
+		UserBean user = new UserBean();
+		user.setName("user");
+		Map<Integer, UserBean> usersMap = new HashMap<Integer, UserBean>();
+		UserBean mapUser = new UserBean();
+		mapUser.setName("map_user");
+		usersMap.put(1, mapUser);
+		entity.setUser(user);
+		entity.setUsersMap(usersMap);
+
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+		user.setName("modified");
+		mapUser.setName("modified");
+
+		CompleteBean cached = entityCache.get(entityMeta, 11L);
+		assertThat(cached.getUser()).isNotSameAs(user);
+		assertThat(cached.getUser().getName()).isEqualTo("user");
+		assertThat(cached.getUsersMap().get(1).getName()).isEqualTo("map_user");
+
+		cached.getUser().setName("modified");
+		cached.getUsersMap().get(1).setName("modified");
+
+		CompleteBean again = entityCache.get(entityMeta, 11L);
+		assertThat(again.getUser().getName()).isEqualTo("user");
+		assertThat(again.getUsersMap().get(1).getName()).isEqualTo("map_user");
+	}
+
+	@Test
+	public void should_invalidate_entry() throws Exception {
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+		entityCache.put(entityMeta, 12L, entity, entityCache.generation(12L));
+
+		entityCache.invalidate(11L);
+
+		assertThat(entityCache.<CompleteBean> get(entityMeta, 11L)).isNull();
+		assertThat(entityCache.<CompleteBean> get(entityMeta, 12L)).isNotNull();
+		assertThat(entityCache.size()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_invalidate_all_entries() throws Exception {
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+		entityCache.put(entityMeta, 12L, entity, entityCache.generation(12L));
+
+		entityCache.invalidateAll();
+
+		assertThat(entityCache.size()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_put_entity_when_generation_unchanged() throws Exception {
+		long generation = entityCache.generation(11L);
+
+		assertThat(entityCache.put(entityMeta, 11L, entity, generation)).isTrue();
+		assertThat(entityCache.<CompleteBean> get(entityMeta, 11L)).isNotNull();
+	}
+
+	@Test
+	public void should_not_put_entity_read_before_invalidation() throws Exception {
+		long generation = entityCache.generation(11L);
+		entityCache.invalidate(11L);
+
+		assertThat(entityCache.put(entityMeta, 11L, entity, generation)).isFalse();
+		assertThat(entityCache.<CompleteBean> get(entityMeta, 11L)).isNull();
+	}
+
+	@Test
+	public void should_not_put_entity_read_before_invalidate_all() throws Exception {
+		long generation = entityCache.generation(11L);
+		entityCache.invalidateAll();
+
+		assertThat(entityCache.put(entityMeta, 11L, entity, generation)).isFalse();
+		assertThat(entityCache.size()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_record_hits_and_misses() throws Exception {
+		entityCache.put(entityMeta, 11L, entity, entityCache.generation(11L));
+
+		entityCache.get(entityMeta, 11L);
+		entityCache.get(entityMeta, 12L);
+
+		CacheStats stats = entityCache.stats();
+		assertThat(stats.hitCount()).isEqualTo(1L);
+		assertThat(stats.missCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_build_cache_spec() throws Exception {
+		assertThat(EntityCache.cacheSpec(100, 0)).isEqualTo("maximumSize=100");
+		assertThat(EntityCache.cacheSpec(100, 60)).isEqualTo("maximumSize=100,expireAfterWrite=60s");
+	}
+}
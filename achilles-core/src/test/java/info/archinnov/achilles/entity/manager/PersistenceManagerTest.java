@@ -272,6 +272,35 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_find_all_in_keys_order() throws Exception {
+		doCallRealMethod().when(manager).findAll(eq(CompleteBean.class), anyCollection(), any(ConsistencyLevel.class));
+		doCallRealMethod().when(manager).findEntities(eq(CompleteBean.class), anyListOf(PersistenceContext.class));
+
+		Long otherKey = 20L;
+		Long missingKey = 30L;
+		CompleteBean otherEntity = CompleteBeanTestBuilder.builder().id(otherKey).buid();
+		PersistenceContext otherContext = mock(PersistenceContext.class);
+		PersistenceContext missingContext = mock(PersistenceContext.class);
+		when(manager.initPersistenceContext(eq(CompleteBean.class), eq(otherKey), any(Options.class))).thenReturn(
+				otherContext);
+		when(manager.initPersistenceContext(eq(CompleteBean.class), eq(missingKey), any(Options.class))).thenReturn(
+				missingContext);
+
+		when(context.find(CompleteBean.class)).thenReturn(entity);
+		when(otherContext.find(CompleteBean.class)).thenReturn(otherEntity);
+		when(missingContext.find(CompleteBean.class)).thenReturn(null);
+
+		Map<Long, CompleteBean> actual = manager.findAll(CompleteBean.class,
+				Arrays.asList(otherKey, missingKey, primaryKey, otherKey), EACH_QUORUM);
+
+		assertThat(actual.keySet()).containsExactly(otherKey, primaryKey);
+		assertThat(actual.get(otherKey)).isSameAs(otherEntity);
+		assertThat(actual.get(primaryKey)).isSameAs(entity);
+		verify(otherContext, times(1)).find(CompleteBean.class);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().get()).isEqualTo(EACH_QUORUM);
+	}
+
 	@Test
 	public void should_find_with_consistency() throws Exception {
 		doCallRealMethod().when(manager).find(CompleteBean.class, primaryKey, EACH_QUORUM);
@@ -489,5 +518,11 @@ public class PersistenceManagerTest {
 
 		doCallRealMethod().when(manager).setEntityMetaMap(entityMetaMap);
 		manager.setEntityMetaMap(entityMetaMap);
+
+		doCallRealMethod().when(manager).initPersistenceContextForPersist(any(), any(Options.class));
+		doCallRealMethod().when(manager).initPersistenceContextForMerge(any(), any(Options.class));
+		doCallRealMethod().when(manager).initPersistenceContextForRemove(any(), any(ConsistencyLevel.class));
+		doCallRealMethod().when(manager).initPersistenceContextForFind(any(Class.class), any(),
+				any(ConsistencyLevel.class));
 	}
 }
@@ -89,6 +89,56 @@ public class EntityMetaBuilderTest {
 		assertThat(meta.getFirstMeta()).isSameAs(simpleMeta);
 	}
 
+	@Test
+	public void should_assign_ordinals_in_property_name_order() throws Exception {
+		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
+		PropertyMeta nameMeta = new PropertyMeta();
+		nameMeta.setType(SIMPLE);
+		PropertyMeta ageMeta = new PropertyMeta();
+		ageMeta.setType(SIMPLE);
+		PropertyMeta friendsMeta = new PropertyMeta();
+		friendsMeta.setType(LAZY_LIST);
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("age", ageMeta);
+		propertyMetas.put("friends", friendsMeta);
+
+		when((Class) idMeta.getValueClass()).thenReturn(Long.class);
+
+		entityMetaBuilder(idMeta).className("Bean").propertyMetas(propertyMetas).columnFamilyName("toto").build();
+
+		assertThat(ageMeta.getOrdinal()).isEqualTo(0);
+		assertThat(friendsMeta.getOrdinal()).isEqualTo(1);
+		assertThat(nameMeta.getOrdinal()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_build_fetch_groups() throws Exception {
+		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
+		PropertyMeta nameMeta = new PropertyMeta();
+		nameMeta.setType(SIMPLE);
+		PropertyMeta labelMeta = new PropertyMeta();
+		labelMeta.setType(LAZY_SIMPLE);
+		labelMeta.setFetchGroup("details");
+		PropertyMeta friendsMeta = new PropertyMeta();
+		friendsMeta.setType(LAZY_LIST);
+		friendsMeta.setFetchGroup("details");
+		PropertyMeta followersMeta = new PropertyMeta();
+		followersMeta.setType(LAZY_SET);
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("label", labelMeta);
+		propertyMetas.put("friends", friendsMeta);
+		propertyMetas.put("followers", followersMeta);
+
+		when((Class) idMeta.getValueClass()).thenReturn(Long.class);
+
+		EntityMeta meta = entityMetaBuilder(idMeta).className("Bean").propertyMetas(propertyMetas)
+				.columnFamilyName("toto").build();
+
+		assertThat(meta.getFetchGroups().keySet()).containsOnly("details");
+		assertThat(meta.getFetchGroupMetas(labelMeta)).containsOnly(labelMeta, friendsMeta);
+		assertThat(meta.getFetchGroupMetas(followersMeta)).containsExactly(followersMeta);
+	}
+
 	@Test
 	public void should_build_meta_with_column_family_name() throws Exception {
 
@@ -22,6 +22,7 @@ import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.entity.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.entity.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.proxy.PropertyAccessor;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
@@ -65,6 +66,9 @@ public class PropertyMetaTest {
 	@Mock
 	private ReflectionInvoker invoker;
 
+	@Mock
+	private PropertyAccessor accessor;
+
 	@Test
 	public void should_get_counter_id_meta() throws Exception {
 		PropertyMeta idMeta = new PropertyMeta();
@@ -508,6 +512,23 @@ public class PropertyMetaTest {
 		assertThat(pm.getValueFromField(entity)).isEqualTo("name");
 	}
 
+	@Test
+	public void should_get_and_set_value_with_accessor() throws Exception {
+		CompleteBean entity = new CompleteBean();
+
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").accessors()
+				.type(SIMPLE).invoker(invoker).build();
+		pm.setAccessor(accessor);
+
+		when(accessor.getValue(entity)).thenReturn("name");
+
+		assertThat(pm.getValueFromField(entity)).isEqualTo("name");
+		pm.setValueToField(entity, "new_name");
+
+		verify(accessor).setValue(entity, "new_name");
+		verifyZeroInteractions(invoker);
+	}
+
 	@Test
 	public void should_get_list_value_from_field() throws Exception {
 
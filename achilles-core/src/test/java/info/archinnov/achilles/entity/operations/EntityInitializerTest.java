@@ -106,6 +106,7 @@ public class EntityInitializerTest {
 
 		initializer.initializeEntity(bean, entityMeta, interceptor);
 
+		verify(interceptor).loadLazyProperties(Sets.newHashSet(followersMeta));
 		verify(invoker).getValueFromField(bean, followersMeta.getGetter());
 	}
 
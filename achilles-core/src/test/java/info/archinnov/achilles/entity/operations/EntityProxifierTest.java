@@ -23,10 +23,12 @@ import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.proxy.EntityInterceptor;
+import info.archinnov.achilles.proxy.ProxyClassFactory;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -36,6 +38,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.NoOp;
@@ -54,6 +58,9 @@ public class EntityProxifierTest {
 	@Mock
 	private EntityInterceptor<PersistenceContext, CompleteBean> interceptor;
 
+	@Mock
+	private Dispatcher dispatcher;
+
 	@Mock
 	private PersistenceContext context;
 
@@ -113,6 +120,32 @@ public class EntityProxifierTest {
 		assertThat(factory.getCallback(0)).isInstanceOf(EntityInterceptor.class);
 	}
 
+	@Test
+	public void should_build_proxy_from_entity_meta_proxy_factory() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().id(1L).name("name").buid();
+		EntityMeta meta = new EntityMeta();
+		meta.setEntityClass(CompleteBean.class);
+		meta.setPropertyMetas(new HashMap<String, PropertyMeta>());
+		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
+		Factory proxyFactory = new ProxyClassFactory().createProxyFactory(meta);
+
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		when((Class) entityMeta.getEntityClass()).thenReturn(CompleteBean.class);
+		when(entityMeta.getProxyFactory()).thenReturn(proxyFactory);
+		when(proxifier.buildInterceptor(eq(context), eq(entity), any(HashSet.class))).thenReturn(interceptor);
+		when(interceptor.buildTargetDispatcher()).thenReturn(dispatcher);
+
+		doCallRealMethod().when(proxifier).buildProxy(entity, context);
+		doCallRealMethod().when(proxifier).buildProxy(eq(entity), eq(context), any(HashSet.class));
+
+		CompleteBean proxy = proxifier.buildProxy(entity, context);
+
+		assertThat((Object) proxy).isNotSameAs(proxyFactory);
+		assertThat((Object) proxy.getClass()).isSameAs(proxyFactory.getClass());
+		assertThat(((Factory) proxy).getCallbacks()).isEqualTo(new Callback[] { interceptor, dispatcher });
+	}
+
 	@Test
 	public void should_build_null_proxy() throws Exception {
 		doCallRealMethod().when(proxifier).buildProxy(null, context);
@@ -18,6 +18,7 @@ package info.archinnov.achilles.entity.operations;
 
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
@@ -34,6 +35,7 @@ import java.util.Set;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -94,6 +96,31 @@ public class EntityRefresherTest {
 		verify(jpaEntityInterceptor).setTarget(bean);
 	}
 
+	@Test
+	public void should_invalidate_cached_entity_before_refresh() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().id(12L).buid();
+		EntityCache entityCache = mock(EntityCache.class);
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getPrimaryKey()).thenReturn(bean.getId());
+		when(context.getEntity()).thenReturn(bean);
+
+		when(proxifier.getInterceptor(bean)).thenReturn(jpaEntityInterceptor);
+
+		when(jpaEntityInterceptor.getTarget()).thenReturn(bean);
+		when(jpaEntityInterceptor.getDirtyMap()).thenReturn(dirtyMap);
+		when(jpaEntityInterceptor.getAlreadyLoaded()).thenReturn(alreadyLoaded);
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		when(entityMeta.getEntityCache()).thenReturn(entityCache);
+		when(loader.load(context, CompleteBean.class)).thenReturn(bean);
+
+		entityRefresher.refresh(context);
+
+		InOrder inOrder = inOrder(entityCache, loader);
+		inOrder.verify(entityCache).invalidate(12L);
+		inOrder.verify(loader).load(context, CompleteBean.class);
+	}
+
 	@Test(expected = AchillesStaleObjectStateException.class)
 	public void should_throw_exception_when_object_staled() throws Exception {
 		CompleteBean bean = CompleteBeanTestBuilder.builder().id(12L).buid();
@@ -37,6 +37,7 @@ import info.archinnov.achilles.test.parser.entity.BeanWithDuplicatedColumnName;
 import info.archinnov.achilles.test.parser.entity.BeanWithIdAndColumnAnnotationsOnSameField;
 import info.archinnov.achilles.test.parser.entity.BeanWithNoId;
 import info.archinnov.achilles.test.parser.entity.BeanWithSimpleCounter;
+import info.archinnov.achilles.test.parser.entity.CachedBean;
 import info.archinnov.achilles.test.parser.entity.ChildBean;
 import info.archinnov.achilles.test.parser.entity.ClusteredEntity;
 import info.archinnov.achilles.test.parser.entity.ClusteredEntityWithNotSupportedPropertyType;
@@ -109,6 +110,7 @@ public class EntityParserTest {
 		assertThat(meta.getIdMeta().getPropertyName()).isEqualTo("id");
 		assertThat((Class<Long>) meta.getIdClass()).isEqualTo(Long.class);
 		assertThat(meta.getPropertyMetas()).hasSize(7);
+		assertThat(meta.getProxyFactory()).isInstanceOf(Bean.class);
 
 		PropertyMeta id = meta.getPropertyMetas().get("id");
 		PropertyMeta name = meta.getPropertyMetas().get("name");
@@ -207,6 +209,44 @@ public class EntityParserTest {
 		assertThat(meta.getTableName()).isEqualTo("myOwnCF");
 	}
 
+	@Test
+	public void should_parse_entity_with_cache() throws Exception {
+		initEntityParsingContext(CachedBean.class);
+
+		EntityMeta meta = parser.parseEntity(entityContext);
+
+		assertThat(meta.getEntityCache()).isNotNull();
+	}
+
+	@Test
+	public void should_parse_entity_with_cache_from_configuration() throws Exception {
+		configContext.getEntityCacheMap().put("Bean", "maximumSize=10");
+		initEntityParsingContext(Bean.class);
+
+		EntityMeta meta = parser.parseEntity(entityContext);
+
+		assertThat(meta.getEntityCache()).isNotNull();
+	}
+
+	@Test
+	public void should_not_cache_entity_by_default() throws Exception {
+		initEntityParsingContext(Bean.class);
+
+		EntityMeta meta = parser.parseEntity(entityContext);
+
+		assertThat(meta.getEntityCache()).isNull();
+	}
+
+	@Test
+	public void should_not_cache_entity_for_thrift_impl() throws Exception {
+		configContext.setImpl(Impl.THRIFT);
+		initEntityParsingContext(CachedBean.class);
+
+		EntityMeta meta = parser.parseEntity(entityContext);
+
+		assertThat(meta.getEntityCache()).isNull();
+	}
+
 	@Test
 	public void should_parse_inherited_bean() throws Exception {
 		initEntityParsingContext(ChildBean.class);
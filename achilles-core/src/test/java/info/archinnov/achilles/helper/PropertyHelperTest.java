@@ -112,6 +112,21 @@ public class PropertyHelperTest {
 		assertThat(helper.isLazy(field)).isTrue();
 	}
 
+	@Test
+	public void should_find_fetch_group() throws Exception {
+
+		class Test {
+			@Lazy(fetchGroup = "details")
+			private String name;
+
+			@Lazy
+			private String label;
+		}
+
+		assertThat(helper.getFetchGroup(Test.class.getDeclaredField("name"))).isEqualTo("details");
+		assertThat(helper.getFetchGroup(Test.class.getDeclaredField("label"))).isNull();
+	}
+
 	@Test
 	public void should_find_index() throws Exception {
 		class Test {
@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DirtyPropertyMapTest {
+
+	private PropertyMeta nameMeta;
+
+	private PropertyMeta labelMeta;
+
+	private DirtyPropertyMap dirtyMap = new DirtyPropertyMap(2);
+
+	@Before
+	public void setUp() throws Exception {
+		nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.accessors().type(PropertyType.SIMPLE).ordinal(0).build();
+		labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.accessors().type(PropertyType.SIMPLE).ordinal(3).build();
+	}
+
+	@Test
+	public void should_mark_slot_dirty_and_expose_setter() throws Exception {
+		assertThat(dirtyMap.put(labelMeta.getSetter(), labelMeta)).isNull();
+		assertThat(dirtyMap.put(labelMeta.getSetter(), labelMeta)).isSameAs(labelMeta);
+
+		assertThat(dirtyMap.isDirty(labelMeta)).isTrue();
+		assertThat(dirtyMap.isDirty(nameMeta)).isFalse();
+		assertThat(dirtyMap.getDirtySlots().get(3)).isTrue();
+		assertThat(dirtyMap).hasSize(1);
+		assertThat(dirtyMap.get(labelMeta.getSetter())).isSameAs(labelMeta);
+		assertThat(dirtyMap.containsKey(nameMeta.getSetter())).isFalse();
+	}
+
+	@Test
+	public void should_iterate_in_slot_order_and_remove() throws Exception {
+		dirtyMap.put(labelMeta.getSetter(), labelMeta);
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+
+		Iterator<Entry<Method, PropertyMeta>> iterator = dirtyMap.entrySet().iterator();
+		Entry<Method, PropertyMeta> first = iterator.next();
+		iterator.remove();
+
+		assertThat(first.getKey()).isEqualTo(CompleteBean.class.getDeclaredMethod("setName", String.class));
+		assertThat(first.getValue()).isSameAs(nameMeta);
+		assertThat(iterator.next().getValue()).isSameAs(labelMeta);
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(dirtyMap.keySet()).containsOnly(labelMeta.getSetter());
+	}
+
+	@Test
+	public void should_clear() throws Exception {
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+		dirtyMap.clear();
+
+		assertThat(dirtyMap).isEmpty();
+		assertThat(dirtyMap.isDirty(nameMeta)).isFalse();
+	}
+}
@@ -20,6 +20,7 @@ import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.EntityLoader;
@@ -35,6 +36,8 @@ import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -49,8 +52,11 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.collect.ImmutableMap;
+
 @RunWith(MockitoJUnitRunner.class)
 public class EntityInterceptorTest {
 	@Rule
@@ -78,8 +84,8 @@ public class EntityInterceptorTest {
 
 	private Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
 	private Map<Method, PropertyMeta> setterMetas = new HashMap<Method, PropertyMeta>();
-	private Set<Method> alreadyLoaded = new HashSet<Method>();
-	private Map<Method, PropertyMeta> dirtyMap = new HashMap<Method, PropertyMeta>();
+	private LoadedPropertySet alreadyLoaded = new LoadedPropertySet(getterMetas);
+	private DirtyPropertyMap dirtyMap = new DirtyPropertyMap(0);
 	private CompleteBean bean;
 	private Long key = RandomUtils.nextLong();
 	private Object rawValue = "raw";
@@ -125,7 +131,7 @@ public class EntityInterceptorTest {
 		doCallRealMethod().when(interceptor).setProxifier(proxifier);
 		interceptor.setProxifier(proxifier);
 
-		idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors().build();
+		idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors().ordinal(1).build();
 
 		doCallRealMethod().when(interceptor).setIdGetter(idMeta.getGetter());
 		doCallRealMethod().when(interceptor).setIdSetter(idMeta.getSetter());
@@ -135,7 +141,7 @@ public class EntityInterceptorTest {
 
 	@Test
 	public void should_return_key_when_invoking_id_getter() throws Throwable {
-		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors().ordinal(2)
 				.build();
 
 		doCallRealMethod().when(interceptor).setIdGetter(idMeta.getGetter());
@@ -158,7 +164,7 @@ public class EntityInterceptorTest {
 	public void should_load_lazy_property_and_return_it() throws Throwable {
 
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.accessors().type(PropertyType.LAZY_SIMPLE).build();
+				.accessors().ordinal(3).type(PropertyType.LAZY_SIMPLE).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(rawValue);
@@ -168,13 +174,59 @@ public class EntityInterceptorTest {
 		verify(loader).loadPropertyIntoObject(context, bean, propertyMeta);
 	}
 
+	@Test
+	public void should_load_fetch_group_at_first_access() throws Throwable {
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.accessors().ordinal(4).type(PropertyType.LAZY_SIMPLE).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().ordinal(5).type(PropertyType.LAZY_LIST).build();
+		labelMeta.setFetchGroup("details");
+		friendsMeta.setFetchGroup("details");
+
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setFetchGroups(ImmutableMap.of("details", Arrays.asList(labelMeta, friendsMeta)));
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		doCallRealMethod().when(interceptor).loadLazyProperties(Mockito.<Collection<PropertyMeta>> any());
+
+		getterMetas.put(labelMeta.getGetter(), labelMeta);
+		when(proxy.invoke(bean, args)).thenReturn(rawValue);
+		Object actual = interceptor.intercept(bean, labelMeta.getGetter(), args, proxy);
+
+		assertThat(actual).isEqualTo(rawValue);
+		verify(loader).loadPropertiesIntoObject(context, bean, Arrays.asList(labelMeta, friendsMeta));
+		assertThat(alreadyLoaded).containsOnly(labelMeta.getGetter(), friendsMeta.getGetter());
+	}
+
+	@Test
+	public void should_not_reload_fetch_group_property_already_set() throws Throwable {
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.accessors().ordinal(6).type(PropertyType.LAZY_SIMPLE).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().ordinal(7).type(PropertyType.LAZY_LIST).build();
+		labelMeta.setFetchGroup("details");
+		friendsMeta.setFetchGroup("details");
+
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setFetchGroups(ImmutableMap.of("details", Arrays.asList(labelMeta, friendsMeta)));
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		doCallRealMethod().when(interceptor).loadLazyProperties(Mockito.<Collection<PropertyMeta>> any());
+
+		alreadyLoaded.add(friendsMeta);
+		getterMetas.put(labelMeta.getGetter(), labelMeta);
+		when(proxy.invoke(bean, args)).thenReturn(rawValue);
+		interceptor.intercept(bean, labelMeta.getGetter(), args, proxy);
+
+		verify(loader).loadPropertyIntoObject(context, bean, labelMeta);
+		verify(loader, never()).loadPropertiesIntoObject(eq(context), eq(bean), anyListOf(PropertyMeta.class));
+	}
+
 	@Test
 	public void should_return_lazy_property_already_loaded() throws Throwable {
 
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.accessors().type(PropertyType.LAZY_SIMPLE).build();
+				.accessors().ordinal(8).type(PropertyType.LAZY_SIMPLE).build();
 
-		alreadyLoaded.add(propertyMeta.getGetter());
+		alreadyLoaded.add(propertyMeta);
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(rawValue);
 		Object actual = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
@@ -186,9 +238,9 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_simple_property() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.accessors().type(PropertyType.SIMPLE).build();
+				.accessors().ordinal(9).type(PropertyType.SIMPLE).build();
 
-		alreadyLoaded.add(propertyMeta.getGetter());
+		alreadyLoaded.add(propertyMeta);
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(rawValue);
 
@@ -201,7 +253,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_build_counter_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, Counter.class).field("count")
-				.accessors().type(PropertyType.COUNTER).build();
+				.accessors().ordinal(10).type(PropertyType.COUNTER).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		Counter counterWrapper = mock(Counter.class);
@@ -216,7 +268,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_list_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
-				.accessors().type(PropertyType.LIST).build();
+				.accessors().ordinal(11).type(PropertyType.LIST).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new ArrayList<String>();
@@ -230,7 +282,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_lazy_list_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
-				.accessors().type(PropertyType.LAZY_LIST).build();
+				.accessors().ordinal(12).type(PropertyType.LAZY_LIST).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new ArrayList<String>();
@@ -244,7 +296,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_null_for_list_property() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
-				.accessors().type(PropertyType.LIST).build();
+				.accessors().ordinal(13).type(PropertyType.LIST).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(null);
@@ -257,7 +309,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_set_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("followers")
-				.accessors().type(PropertyType.SET).build();
+				.accessors().ordinal(14).type(PropertyType.SET).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new HashSet<String>();
@@ -271,7 +323,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_lazy_set_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("followers")
-				.accessors().type(PropertyType.LAZY_SET).build();
+				.accessors().ordinal(15).type(PropertyType.LAZY_SET).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new HashSet<String>();
@@ -285,7 +337,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_null_for_set_property() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("followers")
-				.accessors().type(PropertyType.SET).build();
+				.accessors().ordinal(16).type(PropertyType.SET).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(null);
@@ -298,7 +350,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_map_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
-				.field("preferences").accessors().type(PropertyType.MAP).build();
+				.field("preferences").accessors().ordinal(17).type(PropertyType.MAP).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new HashMap<Integer, String>();
@@ -312,7 +364,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_lazy_map_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
-				.field("preferences").accessors().type(PropertyType.LAZY_MAP).build();
+				.field("preferences").accessors().ordinal(18).type(PropertyType.LAZY_MAP).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		rawValue = new HashMap<Integer, String>();
@@ -326,7 +378,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_return_null_for_map_property() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
-				.field("preferences").accessors().type(PropertyType.MAP).build();
+				.field("preferences").accessors().ordinal(19).type(PropertyType.MAP).build();
 
 		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(null);
@@ -339,7 +391,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_exception_when_calling_setter_on_counter() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, Counter.class).field("count")
-				.accessors().type(PropertyType.COUNTER).build();
+				.accessors().ordinal(20).type(PropertyType.COUNTER).build();
 
 		// No setter, use getter to simulate setter
 		setterMetas.put(propertyMeta.getGetter(), propertyMeta);
@@ -353,7 +405,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_set_simple_value() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.accessors().type(PropertyType.SIMPLE).build();
+				.accessors().ordinal(21).type(PropertyType.SIMPLE).build();
 		setterMetas.put(propertyMeta.getSetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(rawValue);
 
@@ -368,7 +420,7 @@ public class EntityInterceptorTest {
 	@Test
 	public void should_set_lazy_value() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.accessors().type(PropertyType.LAZY_SIMPLE).build();
+				.accessors().ordinal(22).type(PropertyType.LAZY_SIMPLE).build();
 		setterMetas.put(propertyMeta.getSetter(), propertyMeta);
 		when(proxy.invoke(bean, args)).thenReturn(rawValue);
 
@@ -379,4 +431,11 @@ public class EntityInterceptorTest {
 		assertThat(dirtyMap).containsValue(propertyMeta);
 		assertThat(actual).isSameAs(rawValue);
 	}
+
+	@Test
+	public void should_dispatch_to_target() throws Exception {
+		doCallRealMethod().when(interceptor).buildTargetDispatcher();
+
+		assertThat(interceptor.buildTargetDispatcher().loadObject()).isSameAs(bean);
+	}
 }
@@ -0,0 +1,76 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FastClassPropertyAccessorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private FastClassPropertyAccessor accessor;
+
+	@Test
+	public void should_get_and_set_value() throws Exception {
+		accessor = new FastClassPropertyAccessor(CompleteBean.class.getDeclaredMethod("getName"),
+				CompleteBean.class.getDeclaredMethod("setName", String.class));
+		CompleteBean bean = new CompleteBean();
+
+		accessor.setValue(bean, "name");
+
+		assertThat(bean.getName()).isEqualTo("name");
+		assertThat(accessor.getValue(bean)).isEqualTo("name");
+	}
+
+	@Test
+	public void should_get_null_value_from_null_target() throws Exception {
+		accessor = new FastClassPropertyAccessor(CompleteBean.class.getDeclaredMethod("getName"),
+				CompleteBean.class.getDeclaredMethod("setName", String.class));
+
+		assertThat(accessor.getValue(null)).isNull();
+	}
+
+	@Test
+	public void should_exception_when_setting_null_to_primitive() throws Exception {
+		accessor = new FastClassPropertyAccessor(PrimitiveBean.class.getDeclaredMethod("getCount"),
+				PrimitiveBean.class.getDeclaredMethod("setCount", int.class));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot set null value to primitive type 'int' when invoking 'setCount'");
+
+		accessor.setValue(new PrimitiveBean(), null);
+	}
+
+	public static class PrimitiveBean {
+		private int count;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+	}
+}
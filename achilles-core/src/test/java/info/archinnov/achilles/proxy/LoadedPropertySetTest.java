@@ -0,0 +1,92 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class LoadedPropertySetTest {
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private PropertyMeta nameMeta;
+
+	private PropertyMeta labelMeta;
+
+	private LoadedPropertySet loaded;
+
+	@Before
+	public void setUp() throws Exception {
+		nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.accessors().type(PropertyType.SIMPLE).ordinal(0).build();
+		labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.accessors().type(PropertyType.LAZY_SIMPLE).ordinal(1).build();
+		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
+		getterMetas.put(nameMeta.getGetter(), nameMeta);
+		getterMetas.put(labelMeta.getGetter(), labelMeta);
+		loaded = new LoadedPropertySet(getterMetas);
+	}
+
+	@Test
+	public void should_add_by_property_or_getter() throws Exception {
+		assertThat(loaded.add(labelMeta)).isTrue();
+		assertThat(loaded.add(labelMeta.getGetter())).isFalse();
+		assertThat(loaded.add(nameMeta.getGetter())).isTrue();
+
+		assertThat(loaded.contains(labelMeta)).isTrue();
+		assertThat(loaded.contains(nameMeta.getGetter())).isTrue();
+		assertThat(loaded.getLoadedSlots().cardinality()).isEqualTo(2);
+		assertThat(loaded).containsOnly(nameMeta.getGetter(), labelMeta.getGetter());
+	}
+
+	@Test
+	public void should_not_contain_unknown_method() throws Exception {
+		loaded.add(nameMeta);
+
+		assertThat(loaded.contains(labelMeta)).isFalse();
+		assertThat(loaded.contains(Object.class.getDeclaredMethod("toString"))).isFalse();
+	}
+
+	@Test
+	public void should_exception_when_adding_unmapped_getter() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot find property meta for getter");
+
+		loaded.add(Object.class.getDeclaredMethod("toString"));
+	}
+
+	@Test
+	public void should_clear() throws Exception {
+		loaded.add(nameMeta);
+		loaded.clear();
+
+		assertThat(loaded).isEmpty();
+		assertThat(loaded.contains(nameMeta)).isFalse();
+	}
+}
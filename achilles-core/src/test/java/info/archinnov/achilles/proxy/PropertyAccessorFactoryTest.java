@@ -0,0 +1,59 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import org.junit.Test;
+
+public class PropertyAccessorFactoryTest {
+
+	private PropertyAccessorFactory factory = new PropertyAccessorFactory();
+
+	@Test
+	public void should_create_fast_class_accessor() throws Exception {
+		PropertyAccessor accessor = factory.createAccessor(CompleteBean.class.getDeclaredMethod("getName"),
+				CompleteBean.class.getDeclaredMethod("setName", String.class));
+
+		assertThat(accessor).isInstanceOf(FastClassPropertyAccessor.class);
+	}
+
+	@Test
+	public void should_fall_back_to_reflection_for_non_public_class() throws Exception {
+		PropertyAccessor accessor = factory.createAccessor(HiddenBean.class.getDeclaredMethod("getName"),
+				HiddenBean.class.getDeclaredMethod("setName", String.class));
+
+		HiddenBean bean = new HiddenBean();
+		accessor.setValue(bean, "name");
+
+		assertThat(accessor).isInstanceOf(ReflectionPropertyAccessor.class);
+		assertThat(accessor.getValue(bean)).isEqualTo("name");
+	}
+
+	static class HiddenBean {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.proxy.ProxyClassFactory.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.proxy.ProxyClassFactory.EntityCallbackFilter;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ProxyClassFactoryTest {
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private ProxyClassFactory factory = new ProxyClassFactory();
+
+	private EntityMeta meta;
+
+	private PropertyMeta idMeta;
+
+	private PropertyMeta nameMeta;
+
+	@Before
+	public void setUp() throws Exception {
+		idMeta = propertyMeta(PropertyType.ID, 0, "getId", "setId", Long.class);
+		nameMeta = propertyMeta(PropertyType.SIMPLE, 1, "getName", "setName", String.class);
+
+		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
+		propertyMetas.put("id", idMeta);
+		propertyMetas.put("name", nameMeta);
+		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
+		Map<Method, PropertyMeta> setterMetas = new HashMap<Method, PropertyMeta>();
+		for (PropertyMeta propertyMeta : propertyMetas.values()) {
+			getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+			setterMetas.put(propertyMeta.getSetter(), propertyMeta);
+		}
+
+		meta = new EntityMeta();
+		meta.setEntityClass(CompleteBean.class);
+		meta.setClassName(CompleteBean.class.getCanonicalName());
+		meta.setIdMeta(idMeta);
+		meta.setPropertyMetas(propertyMetas);
+		meta.setGetterMetas(getterMetas);
+		meta.setSetterMetas(setterMetas);
+	}
+
+	@Test
+	public void should_route_mapped_accessors_to_their_slot() throws Exception {
+		EntityCallbackFilter filter = new EntityCallbackFilter(meta);
+
+		assertThat(filter.accept(CompleteBean.class.getDeclaredMethod("getName"))).isEqualTo(getterIndex(1));
+		assertThat(filter.accept(CompleteBean.class.getDeclaredMethod("setName", String.class))).isEqualTo(
+				setterIndex(1));
+		assertThat(filter.accept(CompleteBean.class.getDeclaredMethod("getId"))).isEqualTo(getterIndex(0));
+		assertThat(filter.accept(CompleteBean.class.getDeclaredMethod("getLabel"))).isEqualTo(DISPATCH);
+		assertThat(filter.accept(Object.class.getDeclaredMethod("toString"))).isEqualTo(DISPATCH);
+	}
+
+	@Test
+	public void should_create_proxy_factory() throws Exception {
+		Factory proxyFactory = factory.createProxyFactory(meta);
+
+		assertThat(proxyFactory).isInstanceOf(CompleteBean.class);
+		assertThat(proxyFactory.getCallbacks()).hasSize(FIRST_SLOT + 4);
+	}
+
+	@Test
+	public void should_hand_resolved_property_to_interceptor() throws Throwable {
+		@SuppressWarnings("unchecked")
+		EntityInterceptor<?, CompleteBean> interceptor = mock(EntityInterceptor.class);
+		CompleteBean proxy = buildProxy(interceptor);
+		when(interceptor.interceptGetter(eq(nameMeta), eq(nameMeta.getGetter()), any(Object[].class),
+				any(MethodProxy.class))).thenReturn("name");
+
+		assertThat(proxy.getName()).isEqualTo("name");
+		proxy.setName("new_name");
+
+		verify(interceptor).interceptSetter(eq(nameMeta), eq(nameMeta.getSetter()), any(Object[].class),
+				any(MethodProxy.class));
+		verify(interceptor, never()).intercept(any(), any(Method.class), any(Object[].class),
+				any(MethodProxy.class));
+	}
+
+	@Test
+	public void should_return_primary_key_from_id_slot() throws Throwable {
+		@SuppressWarnings("unchecked")
+		EntityInterceptor<?, CompleteBean> interceptor = mock(EntityInterceptor.class);
+		when(interceptor.getPrimaryKey()).thenReturn(10L);
+
+		assertThat(buildProxy(interceptor).getId()).isEqualTo(10L);
+	}
+
+	@Test
+	public void should_exception_when_setting_id_through_id_slot() throws Throwable {
+		@SuppressWarnings("unchecked")
+		EntityInterceptor<?, CompleteBean> interceptor = mock(EntityInterceptor.class);
+
+		exception.expect(IllegalAccessException.class);
+		exception.expectMessage("Cannot change primary key value for existing entity ");
+
+		buildProxy(interceptor).setId(10L);
+	}
+
+	private CompleteBean buildProxy(EntityInterceptor<?, CompleteBean> interceptor) {
+		Factory proxyFactory = factory.createProxyFactory(meta);
+		Callback[] callbacks = proxyFactory.getCallbacks();
+		callbacks[INTERCEPT] = interceptor;
+		callbacks[DISPATCH] = mock(Dispatcher.class);
+		return (CompleteBean) proxyFactory.newInstance(callbacks);
+	}
+
+	private PropertyMeta propertyMeta(PropertyType type, int ordinal, String getter, String setter,
+			Class<?> valueClass) throws Exception {
+		PropertyMeta propertyMeta = new PropertyMeta();
+		propertyMeta.setType(type);
+		propertyMeta.setOrdinal(ordinal);
+		propertyMeta.setGetter(CompleteBean.class.getDeclaredMethod(getter));
+		propertyMeta.setSetter(CompleteBean.class.getDeclaredMethod(setter, valueClass));
+		return propertyMeta;
+	}
+}
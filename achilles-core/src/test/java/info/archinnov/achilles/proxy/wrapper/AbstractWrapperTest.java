@@ -55,6 +55,8 @@ public class AbstractWrapperTest {
 
 		doCallRealMethod().when(wrapper).setSetter(propertyMeta.getSetter());
 		wrapper.setSetter(propertyMeta.getSetter());
+
+		doCallRealMethod().when(wrapper).markDirtyForMutation();
 	}
 
 	@Test
@@ -76,4 +78,29 @@ public class AbstractWrapperTest {
 		assertThat(dirtyMap).hasSize(1);
 		assertThat(dirtyMap).containsValue(propertyMeta);
 	}
+
+	@Test
+	public void should_share_mutations_of_property() throws Exception {
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		doCallRealMethod().when(wrapper).setMutationsMap(mutationsMap);
+		wrapper.setMutationsMap(mutationsMap);
+
+		CollectionMutations mutations = wrapper.markDirtyForMutation();
+
+		assertThat(dirtyMap).containsKey(propertyMeta.getSetter());
+		assertThat(mutationsMap.get(propertyMeta.getSetter())).isSameAs(mutations);
+		assertThat(wrapper.markDirtyForMutation()).isSameAs(mutations);
+	}
+
+	@Test
+	public void should_mark_overwrite_when_dirty() throws Exception {
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		doCallRealMethod().when(wrapper).setMutationsMap(mutationsMap);
+		wrapper.setMutationsMap(mutationsMap);
+		doCallRealMethod().when(wrapper).markDirty();
+
+		wrapper.markDirty();
+
+		assertThat(mutationsMap.get(propertyMeta.getSetter()).isOverwrite()).isTrue();
+	}
 }
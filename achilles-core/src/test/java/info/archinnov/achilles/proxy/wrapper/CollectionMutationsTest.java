@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CollectionMutationsTest {
+
+	private CollectionMutations mutations = new CollectionMutations();
+
+	@Test
+	public void should_not_be_incremental_when_empty() throws Exception {
+		assertThat(mutations.isIncremental()).isFalse();
+		assertThat(mutations.isOverwrite()).isFalse();
+	}
+
+	@Test
+	public void should_prepend_elements_in_list_order() throws Exception {
+		mutations.prepend(Arrays.asList("b"));
+		mutations.prepend(Arrays.asList("y", "z"));
+
+		assertThat(mutations.getPrependedElements()).containsExactly("y", "z", "b");
+	}
+
+	@Test
+	public void should_overwrite_when_mixing_discard_and_append() throws Exception {
+		mutations.append(Arrays.asList("a"));
+		mutations.discard(Arrays.asList("b"));
+
+		assertThat(mutations.isOverwrite()).isTrue();
+		assertThat(mutations.isIncremental()).isFalse();
+		assertThat(mutations.getAppendedElements()).isEmpty();
+	}
+
+	@Test
+	public void should_overwrite_on_null_element() throws Exception {
+		mutations.addToSet(Arrays.asList("a", null));
+
+		assertThat(mutations.isOverwrite()).isTrue();
+	}
+
+	@Test
+	public void should_ignore_changes_after_overwrite() throws Exception {
+		mutations.overwrite();
+		mutations.addToSet(Arrays.asList("a"));
+
+		assertThat(mutations.isIncremental()).isFalse();
+		assertThat(mutations.getAddedElements()).isEmpty();
+	}
+
+	@Test
+	public void should_keep_net_set_changes() throws Exception {
+		mutations.addToSet(Arrays.asList("a", "b"));
+		mutations.removeFromSet(Arrays.asList("b", "c"));
+		mutations.addToSet(Arrays.asList("c"));
+
+		assertThat(mutations.getAddedElements()).containsOnly("a", "c");
+		assertThat(mutations.getRemovedElements()).containsOnly("b");
+	}
+
+	@Test
+	public void should_keep_net_map_changes() throws Exception {
+		Map<Object, Object> entries = new HashMap<Object, Object>();
+		entries.put(1, "FR");
+		entries.put(2, "Paris");
+		mutations.putToMap(entries);
+		mutations.removeFromMap(Arrays.asList(2, 3));
+		mutations.putToMap(Collections.singletonMap(3, "75014"));
+
+		assertThat(mutations.getPutEntries()).hasSize(2).containsKey(1).containsKey(3);
+		assertThat(mutations.getRemovedKeys()).containsOnly(2);
+	}
+
+	@Test
+	public void should_overwrite_on_null_map_value() throws Exception {
+		mutations.putToMap(Collections.singletonMap(1, null));
+
+		assertThat(mutations.isOverwrite()).isTrue();
+	}
+}
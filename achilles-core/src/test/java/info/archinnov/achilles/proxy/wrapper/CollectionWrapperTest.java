@@ -89,14 +89,15 @@ public class CollectionWrapperTest {
 	}
 
 	@Test
-	public void should_not_mark_dirty_on_element_add() throws Exception {
+	public void should_mark_dirty_on_each_element_add_without_lookup() throws Exception {
 		ArrayList<Object> target = new ArrayList<Object>();
 		ListWrapper wrapper = prepareListWrapper(target);
 		when(proxifier.unwrap("a")).thenReturn("a");
-		when(dirtyMap.containsKey(setter)).thenReturn(true);
+		wrapper.add("a");
 		wrapper.add("a");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		verify(dirtyMap, times(2)).put(setter, propertyMeta);
+		verify(dirtyMap, never()).containsKey(setter);
 	}
 
 	@Test
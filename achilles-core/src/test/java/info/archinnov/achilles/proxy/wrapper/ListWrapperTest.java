@@ -20,6 +20,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
@@ -27,6 +28,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -151,6 +153,76 @@ public class ListWrapperTest {
 		verify(dirtyMap).put(setter, propertyMeta);
 	}
 
+	@Test
+	public void should_record_appended_and_prepended_elements() throws Exception {
+		ArrayList<String> target = new ArrayList<String>();
+		target.add("a");
+		ListWrapper listWrapper = prepareListWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		listWrapper.setMutationsMap(mutationsMap);
+		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
+		when(proxifier.unwrap("b")).thenReturn("b");
+		when(proxifier.unwrap("c")).thenReturn("c");
+		when(proxifier.unwrap("z")).thenReturn("z");
+
+		listWrapper.add("b");
+		listWrapper.add(2, "c");
+		listWrapper.add(0, "z");
+
+		assertThat(target).containsExactly("z", "a", "b", "c");
+		CollectionMutations mutations = mutationsMap.get(setter);
+		assertThat(mutations.isIncremental()).isTrue();
+		assertThat(mutations.getAppendedElements()).containsExactly("b", "c");
+		assertThat(mutations.getPrependedElements()).containsExactly("z");
+	}
+
+	@Test
+	public void should_overwrite_on_insertion_inside_list() throws Exception {
+		ArrayList<String> target = new ArrayList<String>();
+		target.add("a");
+		target.add("b");
+		ListWrapper listWrapper = prepareListWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		listWrapper.setMutationsMap(mutationsMap);
+		when(proxifier.unwrap("c")).thenReturn("c");
+
+		listWrapper.add(1, "c");
+
+		assertThat(mutationsMap.get(setter).isOverwrite()).isTrue();
+	}
+
+	@Test
+	public void should_overwrite_on_sub_list_add() throws Exception {
+		ArrayList<String> target = new ArrayList<String>();
+		target.add("a");
+		target.add("b");
+		ListWrapper listWrapper = prepareListWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		listWrapper.setMutationsMap(mutationsMap);
+		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
+		when(proxifier.unwrap("c")).thenReturn("c");
+
+		listWrapper.subList(0, 1).add("c");
+
+		assertThat(target).containsExactly("a", "c", "b");
+		assertThat(mutationsMap.get(setter).isOverwrite()).isTrue();
+	}
+
+	@Test
+	public void should_record_element_set_at_index() throws Exception {
+		ArrayList<String> target = new ArrayList<String>();
+		target.add("a");
+		target.add("b");
+		ListWrapper listWrapper = prepareListWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		listWrapper.setMutationsMap(mutationsMap);
+		when(proxifier.unwrap("c")).thenReturn("c");
+
+		listWrapper.set(1, "c");
+
+		assertThat(mutationsMap.get(setter).getElementsAtIndex()).containsKey(1).containsValue("c");
+	}
+
 	@Test
 	public void should_get_target() throws Exception {
 		ArrayList<String> target = new ArrayList<String>();
@@ -204,6 +204,39 @@ public class MapWrapperTest {
 		verify(dirtyMap).put(setter, propertyMeta);
 	}
 
+	@Test
+	public void should_record_put_and_removed_keys() throws Exception {
+		Map<Integer, String> target = prepareMap();
+		MapWrapper wrapper = prepareMapWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		wrapper.setMutationsMap(mutationsMap);
+		when(proxifier.unwrap("Lyon")).thenReturn("Lyon");
+		when(proxifier.unwrap(3)).thenReturn(3);
+
+		wrapper.put(2, "Lyon");
+		wrapper.remove(3);
+
+		CollectionMutations mutations = mutationsMap.get(setter);
+		assertThat(mutations.isIncremental()).isTrue();
+		assertThat(mutations.getPutEntries()).containsKey(2).containsValue("Lyon").hasSize(1);
+		assertThat(mutations.getRemovedKeys()).containsOnly(3);
+	}
+
+	@Test
+	public void should_overwrite_on_clear() throws Exception {
+		Map<Integer, String> target = prepareMap();
+		MapWrapper wrapper = prepareMapWrapper(target);
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		wrapper.setMutationsMap(mutationsMap);
+		when(proxifier.unwrap("Lyon")).thenReturn("Lyon");
+
+		wrapper.put(2, "Lyon");
+		wrapper.clear();
+
+		assertThat(mutationsMap.get(setter).isOverwrite()).isTrue();
+		assertThat(mutationsMap.get(setter).getPutEntries()).isEmpty();
+	}
+
 	@Test
 	public void should_mark_dirty_on_put_all() throws Exception {
 		Map<Integer, String> target = prepareMap();
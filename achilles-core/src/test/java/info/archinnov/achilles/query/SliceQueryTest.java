@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.query;
 
+import static info.archinnov.achilles.query.SliceQuery.NO_PREFETCH;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
@@ -53,7 +54,7 @@ public class SliceQueryTest {
 
 		SliceQuery<ClusteredEntity> sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta,
 				Arrays.<Object> asList(11L), Arrays.<Object> asList("a"), Arrays.<Object> asList("b"),
-				OrderingMode.ASCENDING, BoundingMode.INCLUSIVE_BOUNDS, null, 100, 99, false);
+				OrderingMode.ASCENDING, BoundingMode.INCLUSIVE_BOUNDS, null, 100, 99, false, NO_PREFETCH);
 
 		assertThat(sliceQuery.getEntityClass()).isSameAs(ClusteredEntity.class);
 		assertThat(sliceQuery.getBatchSize()).isEqualTo(99);
@@ -76,7 +77,7 @@ public class SliceQueryTest {
 		meta.setIdMeta(idMeta);
 		SliceQuery<ClusteredEntity> sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta,
 				Arrays.<Object> asList(11L), Arrays.<Object> asList(), Arrays.<Object> asList(),
-				OrderingMode.ASCENDING, BoundingMode.INCLUSIVE_BOUNDS, null, 100, 99, false);
+				OrderingMode.ASCENDING, BoundingMode.INCLUSIVE_BOUNDS, null, 100, 99, false, NO_PREFETCH);
 
 		assertThat(sliceQuery.hasNoComponent()).isTrue();
 	}
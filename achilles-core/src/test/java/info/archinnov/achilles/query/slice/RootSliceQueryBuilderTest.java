@@ -49,6 +49,9 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 @RunWith(MockitoJUnitRunner.class)
 public class RootSliceQueryBuilderTest {
 	@Rule
@@ -141,6 +144,22 @@ public class RootSliceQueryBuilderTest {
 		builder.partitionKeyInternal(10L).ordering(null);
 	}
 
+	@Test
+	public void should_set_prefetch_threshold() throws Exception {
+		builder.partitionKeyInternal(10L).prefetchInternal(0.5f);
+
+		assertThat(builder.buildClusterQuery().getPrefetchThreshold()).isEqualTo(0.5f);
+		assertThat(builder.buildClusterQuery().isPrefetch()).isTrue();
+	}
+
+	@Test
+	public void should_exception_when_invalid_prefetch_threshold() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Prefetch threshold for slice query for entity 'entityClass' should be in ]0,1]");
+
+		builder.partitionKeyInternal(10L).prefetchInternal(1.5f);
+	}
+
 	@Test
 	public void should_set_bounding_mode() throws Exception {
 		builder.partitionKeyInternal(10L).bounding(EXCLUSIVE_BOUNDS);
@@ -199,6 +218,29 @@ public class RootSliceQueryBuilderTest {
 		assertThat(Whitebox.<Integer> getInternalState(builder, "limit")).isEqualTo(5);
 	}
 
+	@Test
+	public void should_get_async() throws Exception {
+		Long partitionKey = RandomUtils.nextLong();
+		ListenableFuture<List<ClusteredEntity>> future = Futures.immediateFuture(result);
+		when(sliceQueryExecutor.getAsync(anySliceQuery())).thenReturn(future);
+
+		ListenableFuture<List<ClusteredEntity>> actual = builder.partitionKeyInternal(partitionKey).getAsync();
+
+		assertThat(actual).isSameAs(future);
+	}
+
+	@Test
+	public void should_get_n_async() throws Exception {
+		Long partitionKey = RandomUtils.nextLong();
+		ListenableFuture<List<ClusteredEntity>> future = Futures.immediateFuture(result);
+		when(sliceQueryExecutor.getAsync(anySliceQuery())).thenReturn(future);
+
+		ListenableFuture<List<ClusteredEntity>> actual = builder.partitionKeyInternal(partitionKey).getAsync(5);
+
+		assertThat(actual).isSameAs(future);
+		assertThat(Whitebox.<Integer> getInternalState(builder, "limit")).isEqualTo(5);
+	}
+
 	@Test
 	public void should_get_first() throws Exception {
 		Long partitionKey = RandomUtils.nextLong();
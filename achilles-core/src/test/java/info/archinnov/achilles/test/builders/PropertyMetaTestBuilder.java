@@ -80,6 +80,7 @@ public class PropertyMetaTestBuilder<T, K, V> {
 	private DataTranscoder transcoder;
 	private ReflectionInvoker invoker;
 	private List<String> compTimeUUID;
+	private int ordinal = -1;
 
 	public static <T, K, V> PropertyMetaTestBuilder<T, K, V> of(Class<T> clazz, Class<K> keyClass, Class<V> valueClass) {
 		return new PropertyMetaTestBuilder<T, K, V>(clazz, keyClass, valueClass);
@@ -141,6 +142,7 @@ public class PropertyMetaTestBuilder<T, K, V> {
 		pm.setConsistencyLevels(consistencyLevels);
 		setTranscoder(pm);
 		pm.setInvoker(invoker);
+		pm.setOrdinal(ordinal);
 		return pm;
 	}
 
@@ -358,4 +360,9 @@ public class PropertyMetaTestBuilder<T, K, V> {
 		this.invoker = invoker;
 		return this;
 	}
+
+	public PropertyMetaTestBuilder<T, K, V> ordinal(int ordinal) {
+		this.ordinal = ordinal;
+		return this;
+	}
 }
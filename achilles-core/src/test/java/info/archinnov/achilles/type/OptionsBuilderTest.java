@@ -44,4 +44,14 @@ public class OptionsBuilderTest {
 		assertThat(duplicate.getTtl().isPresent()).isFalse();
 		assertThat(duplicate.getTimestamp().isPresent()).isFalse();
 	}
+
+	@Test
+	public void should_keep_skip_null_columns_when_duplicating() throws Exception {
+		Options options = OptionsBuilder.skipNullColumns().withTtl(10);
+
+		assertThat(options.isSkipNullColumns()).isTrue();
+		assertThat(options.duplicateWithoutTtlAndTimestamp().isSkipNullColumns()).isTrue();
+		assertThat(options.duplicateWithNewConsistencyLevel(ALL).isSkipNullColumns()).isTrue();
+		assertThat(OptionsBuilder.withTtl(10).isSkipNullColumns()).isFalse();
+	}
 }
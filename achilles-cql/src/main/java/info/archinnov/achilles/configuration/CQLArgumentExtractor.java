@@ -20,6 +20,8 @@ import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*
 import info.archinnov.achilles.validation.Validator;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.lang.StringUtils;
 
@@ -32,9 +34,17 @@ import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.Policies;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
 import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class CQLArgumentExtractor extends ArgumentExtractor {
 
+	public static final int DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE = 5000;
+	public static final long DEFAULT_COUNTER_WRITE_BEHIND_FLUSH_INTERVAL = 1000L;
+	public static final int DEFAULT_COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD = 1000;
+	public static final int DEFAULT_FLUSH_MAX_IN_FLIGHT_STATEMENTS = 1;
+	public static final int DEFAULT_BULK_MAX_OUTSTANDING_WRITES = 128;
+	public static final int DEFAULT_BULK_MAX_RETRIES = 3;
+
 	public Cluster initCluster(Map<String, Object> configurationMap) {
 		Cluster cluster = (Cluster) configurationMap.get(CLUSTER_PARAM);
 		if (cluster == null) {
@@ -134,4 +144,137 @@ public class CQLArgumentExtractor extends ArgumentExtractor {
 		return nativeSession;
 	}
 
+	public int initPreparedStatementsCacheSize(Map<String, Object> configurationMap) {
+		int cacheSize = DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE;
+		if (configurationMap.containsKey(PREPARED_STATEMENTS_CACHE_SIZE)) {
+			cacheSize = (Integer) configurationMap.get(PREPARED_STATEMENTS_CACHE_SIZE);
+			Validator.validateTrue(cacheSize > 0, "%s property should be strictly positive",
+					PREPARED_STATEMENTS_CACHE_SIZE);
+		}
+		return cacheSize;
+	}
+
+	/**
+	 * @return expiration delay in seconds after last access, null when
+	 *         statements are only evicted by size
+	 */
+	public Long initPreparedStatementsCacheExpireAfterAccess(Map<String, Object> configurationMap) {
+		Long expireAfterAccess = null;
+		if (configurationMap.containsKey(PREPARED_STATEMENTS_CACHE_EXPIRE_AFTER_ACCESS)) {
+			expireAfterAccess = ((Number) configurationMap.get(PREPARED_STATEMENTS_CACHE_EXPIRE_AFTER_ACCESS))
+					.longValue();
+			Validator.validateTrue(expireAfterAccess > 0, "%s property should be strictly positive",
+					PREPARED_STATEMENTS_CACHE_EXPIRE_AFTER_ACCESS);
+		}
+		return expireAfterAccess;
+	}
+
+	public boolean initCounterWriteBehindEnabled(Map<String, Object> configurationMap) {
+		boolean enabled = false;
+		if (configurationMap.containsKey(COUNTER_WRITE_BEHIND_ENABLED)) {
+			enabled = (Boolean) configurationMap.get(COUNTER_WRITE_BEHIND_ENABLED);
+		}
+		return enabled;
+	}
+
+	/**
+	 * @return delay in milliseconds between two flushes of pending counter
+	 *         deltas
+	 */
+	public long initCounterWriteBehindFlushInterval(Map<String, Object> configurationMap) {
+		long flushInterval = DEFAULT_COUNTER_WRITE_BEHIND_FLUSH_INTERVAL;
+		if (configurationMap.containsKey(COUNTER_WRITE_BEHIND_FLUSH_INTERVAL)) {
+			flushInterval = ((Number) configurationMap.get(COUNTER_WRITE_BEHIND_FLUSH_INTERVAL)).longValue();
+			Validator.validateTrue(flushInterval > 0, "%s property should be strictly positive",
+					COUNTER_WRITE_BEHIND_FLUSH_INTERVAL);
+		}
+		return flushInterval;
+	}
+
+	/**
+	 * @return number of pending counters triggering a flush before the next
+	 *         periodic one
+	 */
+	public int initCounterWriteBehindFlushThreshold(Map<String, Object> configurationMap) {
+		int flushThreshold = DEFAULT_COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD;
+		if (configurationMap.containsKey(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD)) {
+			flushThreshold = (Integer) configurationMap.get(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD);
+			Validator.validateTrue(flushThreshold > 0, "%s property should be strictly positive",
+					COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD);
+		}
+		return flushThreshold;
+	}
+
+	/**
+	 * Statements of a flush are sent one after another by default. A greater
+	 * value pipelines them, the write order of each row is kept but writes to
+	 * different rows may then be applied in any order
+	 * 
+	 * @return maximum number of statements of a single flush sent
+	 *         concurrently, 1 to send them one after another
+	 */
+	public int initFlushMaxInFlightStatements(Map<String, Object> configurationMap) {
+		int maxInFlight = DEFAULT_FLUSH_MAX_IN_FLIGHT_STATEMENTS;
+		if (configurationMap.containsKey(FLUSH_MAX_IN_FLIGHT_STATEMENTS)) {
+			maxInFlight = (Integer) configurationMap.get(FLUSH_MAX_IN_FLIGHT_STATEMENTS);
+			Validator.validateTrue(maxInFlight > 0, "%s property should be strictly positive",
+					FLUSH_MAX_IN_FLIGHT_STATEMENTS);
+		}
+		return maxInFlight;
+	}
+
+	/**
+	 * @return maximum number of entity writes of a bulk load waiting for
+	 *         their response
+	 */
+	public int initBulkMaxOutstandingWrites(Map<String, Object> configurationMap) {
+		int maxOutstandingWrites = DEFAULT_BULK_MAX_OUTSTANDING_WRITES;
+		if (configurationMap.containsKey(BULK_MAX_OUTSTANDING_WRITES)) {
+			maxOutstandingWrites = (Integer) configurationMap.get(BULK_MAX_OUTSTANDING_WRITES);
+			Validator.validateTrue(maxOutstandingWrites > 0, "%s property should be strictly positive",
+					BULK_MAX_OUTSTANDING_WRITES);
+		}
+		return maxOutstandingWrites;
+	}
+
+	/**
+	 * @return maximum number of entity writes per second of a bulk load, null
+	 *         when not limited
+	 */
+	public Double initBulkRateLimit(Map<String, Object> configurationMap) {
+		Double rateLimit = null;
+		if (configurationMap.containsKey(BULK_RATE_LIMIT)) {
+			rateLimit = ((Number) configurationMap.get(BULK_RATE_LIMIT)).doubleValue();
+			Validator.validateTrue(rateLimit > 0, "%s property should be strictly positive", BULK_RATE_LIMIT);
+		}
+		return rateLimit;
+	}
+
+	/**
+	 * @return number of times an idempotent entity write of a bulk load is
+	 *         retried after a timeout or an unavailable replica
+	 */
+	public int initBulkMaxRetries(Map<String, Object> configurationMap) {
+		int maxRetries = DEFAULT_BULK_MAX_RETRIES;
+		if (configurationMap.containsKey(BULK_MAX_RETRIES)) {
+			maxRetries = (Integer) configurationMap.get(BULK_MAX_RETRIES);
+			Validator.validateTrue(maxRetries >= 0, "%s property should be positive", BULK_MAX_RETRIES);
+		}
+		return maxRetries;
+	}
+
+	/**
+	 * @return executor running the callbacks of asynchronous operations:
+	 *         entity mapping, proxy building and POST_* interceptors. By
+	 *         default a pool of daemon threads, so that a callback blocking on
+	 *         another Achilles call never holds a driver I/O thread
+	 */
+	public Executor initAsyncCallbackExecutor(Map<String, Object> configurationMap) {
+		Executor callbackExecutor = (Executor) configurationMap.get(ASYNC_CALLBACK_EXECUTOR);
+		if (callbackExecutor == null) {
+			callbackExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true)
+					.setNameFormat("achilles-async-callback-%d").build());
+		}
+		return callbackExecutor;
+	}
 }
@@ -32,4 +32,19 @@ public interface CQLConfigurationParameters {
 	String DISABLE_METRICS = "achilles.cassandra.disable.metrics";
 	String SSL_ENABLED = "achilles.cassandra.ssl.enabled";
 	String SSL_OPTIONS = "achilles.cassandra.ssl.options";
+
+	String PREPARED_STATEMENTS_CACHE_SIZE = "achilles.cassandra.prepared.statements.cache.size";
+	String PREPARED_STATEMENTS_CACHE_EXPIRE_AFTER_ACCESS = "achilles.cassandra.prepared.statements.cache.expire.after.access";
+
+	String COUNTER_WRITE_BEHIND_ENABLED = "achilles.cassandra.counter.write.behind.enabled";
+	String COUNTER_WRITE_BEHIND_FLUSH_INTERVAL = "achilles.cassandra.counter.write.behind.flush.interval";
+	String COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD = "achilles.cassandra.counter.write.behind.flush.threshold";
+
+	String FLUSH_MAX_IN_FLIGHT_STATEMENTS = "achilles.cassandra.flush.max.in.flight.statements";
+
+	String BULK_MAX_OUTSTANDING_WRITES = "achilles.cassandra.bulk.max.outstanding.writes";
+	String BULK_RATE_LIMIT = "achilles.cassandra.bulk.rate.limit";
+	String BULK_MAX_RETRIES = "achilles.cassandra.bulk.max.retries";
+
+	String ASYNC_CALLBACK_EXECUTOR = "achilles.cassandra.async.callback.executor";
 }
@@ -17,6 +17,9 @@
 package info.archinnov.achilles.context;
 
 import static info.archinnov.achilles.consistency.CQLConsistencyConvertor.getCQLLevel;
+import info.archinnov.achilles.entity.cache.EntityCache;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
@@ -26,13 +29,17 @@ import java.util.List;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<T>> extends FlushContext<T> {
 	protected CQLDaoContext daoContext;
 
-	protected List<BoundStatementWrapper> boundStatementWrappers = new ArrayList<BoundStatementWrapper>();
-	protected List<Statement> statements = new ArrayList<Statement>();
+	protected List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+	protected List<CacheInvalidation> cacheInvalidations = new ArrayList<CacheInvalidation>();
 
 	protected ConsistencyLevel consistencyLevel;
 
@@ -41,33 +48,74 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 		this.consistencyLevel = consistencyLevel;
 	}
 
-	protected CQLAbstractFlushContext(CQLDaoContext daoContext, List<BoundStatementWrapper> boundStatementWrappers,
+	protected CQLAbstractFlushContext(CQLDaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
 			ConsistencyLevel consistencyLevel) {
-		this.boundStatementWrappers = boundStatementWrappers;
+		this.statementWrappers = statementWrappers;
 		this.daoContext = daoContext;
 		this.consistencyLevel = consistencyLevel;
 	}
 
 	@Override
 	public void cleanUp() {
-		boundStatementWrappers.clear();
-		statements.clear();
+		statementWrappers.clear();
+		cacheInvalidations.clear();
 		consistencyLevel = null;
 	}
 
-	protected void doFlush() {
-		for (BoundStatementWrapper wrapper : boundStatementWrappers) {
+	/**
+	 * Evict the entity from its read cache now and once again after the next
+	 * flush, so that a read racing with the pending writes cannot keep a stale
+	 * snapshot in the cache. A null primary key evicts the whole cache
+	 */
+	public void invalidateCache(EntityCache entityCache, Object primaryKey) {
+		CacheInvalidation invalidation = new CacheInvalidation(entityCache, primaryKey);
+		invalidation.run();
+		cacheInvalidations.add(invalidation);
+	}
 
-			daoContext.execute(wrapper.getBs(), wrapper.getValues());
+	protected void invalidateCaches(List<CacheInvalidation> invalidations) {
+		for (CacheInvalidation invalidation : invalidations) {
+			invalidation.run();
 		}
-		for (Statement statement : statements) {
-			daoContext.execute(statement);
+	}
+
+	protected void doFlush() {
+		for (AbstractStatementWrapper wrapper : statementWrappers) {
+			daoContext.execute(wrapper.getQuery(), wrapper.getValues());
 		}
+		invalidateCaches(cacheInvalidations);
 
 		cleanUp();
 
 	}
 
+	/**
+	 * Send all pending statements without waiting for their completion
+	 * 
+	 * @return future completed when all pending statements are executed
+	 */
+	public abstract ListenableFuture<List<ResultSet>> flushAsync();
+
+	protected ListenableFuture<List<ResultSet>> doFlushAsync() {
+		List<ListenableFuture<ResultSet>> futures = new ArrayList<ListenableFuture<ResultSet>>();
+		for (AbstractStatementWrapper wrapper : statementWrappers) {
+			futures.add(daoContext.executeAsync(wrapper.getQuery(), wrapper.getValues()));
+		}
+		final List<CacheInvalidation> invalidations = new ArrayList<CacheInvalidation>(cacheInvalidations);
+
+		cleanUp();
+		ListenableFuture<List<ResultSet>> resultSets = Futures.allAsList(futures);
+		if (!invalidations.isEmpty()) {
+			resultSets.addListener(new Runnable() {
+				@Override
+				public void run() {
+					invalidateCaches(invalidations);
+				}
+			}, MoreExecutors.sameThreadExecutor());
+		}
+		return resultSets;
+	}
+
 	public void pushBoundStatement(BoundStatementWrapper bsWrapper, ConsistencyLevel writeConsistencyLevel) {
 		BoundStatement boundStatement = bsWrapper.getBs();
 		if (consistencyLevel != null) {
@@ -75,17 +123,17 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 		} else {
 			boundStatement.setConsistencyLevel(getCQLLevel(writeConsistencyLevel));
 		}
-		boundStatementWrappers.add(bsWrapper);
+		statementWrappers.add(bsWrapper);
 	}
 
-	public void pushStatement(Statement statement, ConsistencyLevel writeConsistencyLevel) {
-
+	public void pushStatement(StatementWrapper statementWrapper, ConsistencyLevel writeConsistencyLevel) {
+		Statement statement = statementWrapper.getStatement();
 		if (consistencyLevel != null) {
 			statement.setConsistencyLevel(getCQLLevel(consistencyLevel));
 		} else {
 			statement.setConsistencyLevel(getCQLLevel(writeConsistencyLevel));
 		}
-		statements.add(statement);
+		statementWrappers.add(statementWrapper);
 	}
 
 	public ResultSet executeImmediateWithConsistency(Query query, ConsistencyLevel readConsistencyLevel,
@@ -94,8 +142,17 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 		return daoContext.execute(query, boundValues);
 	}
 
-	public List<BoundStatementWrapper> getBoundStatementWrappers() {
-		return boundStatementWrappers;
+	public ResultSetFuture executeImmediateAsyncWithConsistency(Query query, ConsistencyLevel readConsistencyLevel,
+			Object... boundValues) {
+		query.setConsistencyLevel(getCQLLevel(readConsistencyLevel));
+		return daoContext.executeAsync(query, boundValues);
+	}
+
+	/**
+	 * Pending prepared and simple statements, in push order
+	 */
+	public List<AbstractStatementWrapper> getStatementWrappers() {
+		return statementWrappers;
 	}
 
 	@Override
@@ -108,4 +165,23 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 		return consistencyLevel;
 	}
 
+	protected static class CacheInvalidation implements Runnable {
+		private final EntityCache entityCache;
+		private final Object primaryKey;
+
+		public CacheInvalidation(EntityCache entityCache, Object primaryKey) {
+			this.entityCache = entityCache;
+			this.primaryKey = primaryKey;
+		}
+
+		@Override
+		public void run() {
+			if (primaryKey == null) {
+				entityCache.invalidateAll();
+			} else {
+				entityCache.invalidate(primaryKey);
+			}
+		}
+	}
+
 }
@@ -16,30 +16,56 @@
  */
 package info.archinnov.achilles.context;
 
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.BatchType;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 public class CQLBatchingFlushContext extends CQLAbstractFlushContext<CQLBatchingFlushContext> {
 	private static final Logger log = LoggerFactory.getLogger(CQLBatchingFlushContext.class);
 
+	static final int MAX_STATEMENTS_PER_BATCH = 100;
+	static final int DEFAULT_MAX_BATCH_SIZE_IN_BYTES = 50 * 1024;
+
+	private boolean logged = true;
+
+	private int maxBatchSizeInBytes = DEFAULT_MAX_BATCH_SIZE_IN_BYTES;
+
+	private long savedRoundTrips = 0;
+
 	public CQLBatchingFlushContext(CQLDaoContext daoContext, ConsistencyLevel consistencyLevel) {
 		super(daoContext, consistencyLevel);
 	}
 
-	private CQLBatchingFlushContext(CQLDaoContext daoContext, List<BoundStatementWrapper> boundStatementWrappers,
-			ConsistencyLevel consistencyLevel) {
-		super(daoContext, boundStatementWrappers, consistencyLevel);
+	private CQLBatchingFlushContext(CQLDaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
+			ConsistencyLevel consistencyLevel, boolean logged, int maxBatchSizeInBytes) {
+		super(daoContext, statementWrappers, consistencyLevel);
+		this.logged = logged;
+		this.maxBatchSizeInBytes = maxBatchSizeInBytes;
 	}
 
 	@Override
 	public void startBatch() {
 		log.debug("Starting a new batch");
-		super.cleanUp();
+		cleanUp();
 	}
 
 	@Override
@@ -47,12 +73,81 @@ public class CQLBatchingFlushContext extends CQLAbstractFlushContext<CQLBatching
 		log.debug("Flush called but do nothing. Flushing is done only at the end of the batch");
 	}
 
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Flush called but do nothing. Flushing is done only at the end of the batch");
+		return Futures.immediateFuture(Collections.<ResultSet> emptyList());
+	}
+
 	@Override
 	public void endBatch() {
 		log.debug("Ending current batch");
 		doFlush();
 	}
 
+	@Override
+	public void cleanUp() {
+		super.cleanUp();
+		logged = true;
+	}
+
+	/**
+	 * Send all pending statements as CQL batches instead of one round trip
+	 * per statement.
+	 * 
+	 * A prepared statement overwritten by a later one with the same query on
+	 * the same row is dropped. Counter updates go into COUNTER batches.
+	 * Statements are grouped by consistency level and, for UNLOGGED and
+	 * COUNTER batches, by partition key so that each of these batches is
+	 * handled by the replicas of a single partition. A statement targeting a
+	 * row already written by the current batch, or by a later one, opens a
+	 * new batch so that the write order of each row is preserved. Prepared
+	 * and simple statements are split together, in push order. A batch is
+	 * also closed when it reaches the size budget. PREPARE requests sent for
+	 * batch queries are counted as round trips
+	 */
+	@Override
+	protected void doFlush() {
+		int statementsCount = statementWrappers.size();
+		List<AbstractStatementWrapper> coalesced = coalesce(statementWrappers);
+		AtomicInteger prepareCount = new AtomicInteger();
+		int batchesCount = executeBatches(coalesced, prepareCount);
+		invalidateCaches(cacheInvalidations);
+
+		int roundTrips = batchesCount + prepareCount.get();
+		int saved = statementsCount - roundTrips;
+		savedRoundTrips += saved;
+		log.debug("Flushed {} statement(s), {} coalesced, with {} round trip(s) including {} PREPARE, "
+				+ "saving {} round trip(s)", new Object[] { statementsCount, statementsCount - coalesced.size(),
+				roundTrips, prepareCount.get(), saved });
+
+		cleanUp();
+	}
+
+	public void setLogged(boolean logged) {
+		this.logged = logged;
+	}
+
+	public boolean isLogged() {
+		return logged;
+	}
+
+	public long getSavedRoundTrips() {
+		return savedRoundTrips;
+	}
+
+	/**
+	 * Upper bound, estimated from query strings and bound values, of the size
+	 * of a batch. A single larger statement is still sent alone
+	 */
+	public void setMaxBatchSizeInBytes(int maxBatchSizeInBytes) {
+		this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+	}
+
+	public int getMaxBatchSizeInBytes() {
+		return maxBatchSizeInBytes;
+	}
+
 	@Override
 	public FlushType type() {
 		return FlushType.BATCH;
@@ -60,7 +155,100 @@ public class CQLBatchingFlushContext extends CQLAbstractFlushContext<CQLBatching
 
 	@Override
 	public CQLBatchingFlushContext duplicate() {
-		return new CQLBatchingFlushContext(daoContext, boundStatementWrappers, consistencyLevel);
+		return new CQLBatchingFlushContext(daoContext, statementWrappers, consistencyLevel, logged,
+				maxBatchSizeInBytes);
 	}
 
+	private int executeBatches(List<AbstractStatementWrapper> wrappers, AtomicInteger prepareCount) {
+		List<PendingBatch> batches = splitIntoBatches(wrappers);
+		for (PendingBatch batch : batches) {
+			if (batch.wrappers.size() == 1) {
+				AbstractStatementWrapper wrapper = batch.wrappers.get(0);
+				daoContext.execute(wrapper.getQuery(), wrapper.getValues());
+			} else {
+				daoContext.executeBatch(batch.batchType, batch.wrappers, prepareCount);
+			}
+		}
+		return batches.size();
+	}
+
+	/**
+	 * Prepared statements only write values, so an earlier statement with the
+	 * same query string on the same row is fully overwritten. Counter updates
+	 * and simple statements, such as collection appends, are not idempotent
+	 * and all kept
+	 */
+	private List<AbstractStatementWrapper> coalesce(List<AbstractStatementWrapper> wrappers) {
+		LinkedList<AbstractStatementWrapper> coalesced = new LinkedList<AbstractStatementWrapper>();
+		Set<List<Object>> laterWrites = new HashSet<List<Object>>();
+		for (int i = wrappers.size() - 1; i >= 0; i--) {
+			AbstractStatementWrapper wrapper = wrappers.get(i);
+			if (!(wrapper instanceof BoundStatementWrapper) || wrapper.isCounterUpdate()
+					|| wrapper.getRowKey() == null
+					|| laterWrites.add(Arrays.<Object> asList(wrapper.getQueryString(), wrapper.getRowKey()))) {
+				coalesced.addFirst(wrapper);
+			}
+		}
+		return coalesced;
+	}
+
+	private List<PendingBatch> splitIntoBatches(List<AbstractStatementWrapper> wrappers) {
+		List<PendingBatch> batches = new ArrayList<PendingBatch>();
+		Map<List<Object>, PendingBatch> openBatches = new HashMap<List<Object>, PendingBatch>();
+		Map<List<Object>, Integer> lastBatchIndexByRowKey = new HashMap<List<Object>, Integer>();
+		for (AbstractStatementWrapper wrapper : wrappers) {
+			BatchType batchType = wrapper.isCounterUpdate() ? BatchType.COUNTER : logged ? BatchType.LOGGED
+					: BatchType.UNLOGGED;
+			List<Object> partitionKey = batchType == BatchType.LOGGED ? null : wrapper.getPartitionKey();
+			List<Object> group = Arrays.<Object> asList(batchType, wrapper.getQuery().getConsistencyLevel(),
+					partitionKey);
+			List<Object> rowKey = wrapper.getRowKey();
+
+			PendingBatch batch = openBatches.get(group);
+			Integer lastIndex = rowKey != null ? lastBatchIndexByRowKey.get(rowKey) : null;
+			boolean rowTouchedLater = batch != null && lastIndex != null && lastIndex > batch.index;
+			if (batch == null || rowTouchedLater || !batch.accept(wrapper)) {
+				batch = new PendingBatch(batchType, batches.size(), maxBatchSizeInBytes);
+				batch.accept(wrapper);
+				openBatches.put(group, batch);
+				batches.add(batch);
+			}
+			if (rowKey != null) {
+				lastBatchIndexByRowKey.put(rowKey, batch.index);
+			}
+		}
+		return batches;
+	}
+
+	private static class PendingBatch {
+		private final BatchType batchType;
+		private final int index;
+		private final List<AbstractStatementWrapper> wrappers = new ArrayList<AbstractStatementWrapper>();
+		private final Set<List<Object>> rowKeys = new HashSet<List<Object>>();
+		private final int maxSizeInBytes;
+		private int sizeInBytes = 0;
+
+		private PendingBatch(BatchType batchType, int index, int maxSizeInBytes) {
+			this.batchType = batchType;
+			this.index = index;
+			this.maxSizeInBytes = maxSizeInBytes;
+		}
+
+		private boolean accept(AbstractStatementWrapper wrapper) {
+			if (wrappers.size() >= MAX_STATEMENTS_PER_BATCH) {
+				return false;
+			}
+			int statementSize = wrapper.estimateSize();
+			if (!wrappers.isEmpty() && sizeInBytes + statementSize > maxSizeInBytes) {
+				return false;
+			}
+			// Counter deltas are additive, there is no need to split them
+			if (batchType != BatchType.COUNTER && wrapper.getRowKey() != null && !rowKeys.add(wrapper.getRowKey())) {
+				return false;
+			}
+			wrappers.add(wrapper);
+			sizeInBytes += statementSize;
+			return true;
+		}
+	}
 }
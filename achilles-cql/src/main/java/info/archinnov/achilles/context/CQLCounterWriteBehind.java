@@ -0,0 +1,236 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.consistency.CQLConsistencyConvertor.getCQLLevel;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.statement.BatchType;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Write-behind for counter increments and decrements.
+ * 
+ * Deltas are summed in memory per (entity, primary key, counter property) and
+ * written periodically, or as soon as the number of pending counters reaches
+ * the flush threshold, as COUNTER batches at the write consistency level of
+ * each counter property.
+ * 
+ * Counter increments are not idempotent. The deltas of a failed batch are put
+ * back and retried on the next flush only when the batch was definitely not
+ * applied: unavailable replicas or no host reached. After any other failure,
+ * a timeout for instance, the batch may have been applied and its deltas are
+ * dropped and counted as failed rather than risk being counted twice
+ */
+public class CQLCounterWriteBehind {
+	private static final Logger log = LoggerFactory.getLogger(CQLCounterWriteBehind.class);
+
+	private final CQLDaoContext daoContext;
+	private final int flushThreshold;
+	private final AtomicLongMap<CounterKey> pendingDeltas = AtomicLongMap.create();
+	private final ScheduledExecutorService scheduler;
+	private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+	private final AtomicLong flushedCount = new AtomicLong();
+	private final AtomicLong retriedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flushRequested.set(false);
+			try {
+				flush();
+			} catch (RuntimeException e) {
+				log.error("Unexpected error while flushing pending counter deltas", e);
+			}
+		}
+	};
+
+	public CQLCounterWriteBehind(CQLDaoContext daoContext, long flushIntervalMillis, int flushThreshold) {
+		this.daoContext = daoContext;
+		this.flushThreshold = flushThreshold;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+				.setNameFormat("achilles-counter-write-behind-%d").build());
+		scheduler.scheduleWithFixedDelay(flushTask, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void addDelta(EntityMeta entityMeta, PropertyMeta counterMeta, Object primaryKey, long delta) {
+		pendingDeltas.addAndGet(new CounterKey(entityMeta, counterMeta, primaryKey), delta);
+		if (pendingDeltas.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+			scheduler.execute(flushTask);
+		}
+	}
+
+	/**
+	 * Delta not yet written to Cassandra, added to counter reads so that a
+	 * client sees its own increments
+	 */
+	public long getPendingDelta(EntityMeta entityMeta, PropertyMeta counterMeta, Object primaryKey) {
+		return pendingDeltas.get(new CounterKey(entityMeta, counterMeta, primaryKey));
+	}
+
+	/**
+	 * Drop the pending delta of a counter being removed, so that a later
+	 * flush does not resurrect it
+	 */
+	public void discardDelta(EntityMeta entityMeta, PropertyMeta counterMeta, Object primaryKey) {
+		pendingDeltas.remove(new CounterKey(entityMeta, counterMeta, primaryKey));
+	}
+
+	public synchronized void flush() {
+		Map<ConsistencyLevel, Map<CounterKey, Long>> deltasByLevel = new LinkedHashMap<ConsistencyLevel, Map<CounterKey, Long>>();
+		for (CounterKey key : new ArrayList<CounterKey>(pendingDeltas.asMap().keySet())) {
+			long delta = pendingDeltas.remove(key);
+			if (delta != 0) {
+				ConsistencyLevel writeLevel = key.counterMeta.getWriteConsistencyLevel();
+				Map<CounterKey, Long> deltas = deltasByLevel.get(writeLevel);
+				if (deltas == null) {
+					deltas = new LinkedHashMap<CounterKey, Long>();
+					deltasByLevel.put(writeLevel, deltas);
+				}
+				deltas.put(key, delta);
+			}
+		}
+
+		for (Entry<ConsistencyLevel, Map<CounterKey, Long>> entry : deltasByLevel.entrySet()) {
+			List<Entry<CounterKey, Long>> deltas = new ArrayList<Entry<CounterKey, Long>>(entry.getValue().entrySet());
+			for (List<Entry<CounterKey, Long>> batch : Lists.partition(deltas,
+					CQLBatchingFlushContext.MAX_STATEMENTS_PER_BATCH)) {
+				executeBatch(entry.getKey(), batch);
+			}
+		}
+	}
+
+	/**
+	 * Stop the periodic flush and write all pending deltas
+	 */
+	public void shutdown() {
+		scheduler.shutdown();
+		flush();
+	}
+
+	public long getPendingCount() {
+		return pendingDeltas.size();
+	}
+
+	public long getFlushedCount() {
+		return flushedCount.get();
+	}
+
+	/**
+	 * @return number of deltas put back after a batch which was not applied
+	 */
+	public long getRetriedCount() {
+		return retriedCount.get();
+	}
+
+	/**
+	 * @return number of deltas dropped after a batch which may have been
+	 *         applied
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	private void executeBatch(ConsistencyLevel writeLevel, List<Entry<CounterKey, Long>> batch) {
+		List<BoundStatementWrapper> wrappers = new ArrayList<BoundStatementWrapper>(batch.size());
+		for (Entry<CounterKey, Long> entry : batch) {
+			CounterKey key = entry.getKey();
+			BoundStatementWrapper wrapper = daoContext.bindForCounterIncrement(key.entityMeta, key.counterMeta,
+					key.primaryKey, entry.getValue());
+			wrapper.getBs().setConsistencyLevel(getCQLLevel(writeLevel));
+			wrappers.add(wrapper);
+		}
+
+		try {
+			if (wrappers.size() == 1) {
+				BoundStatementWrapper wrapper = wrappers.get(0);
+				daoContext.execute(wrapper.getBs(), wrapper.getValues());
+			} else {
+				daoContext.executeBatch(BatchType.COUNTER, wrappers);
+			}
+			flushedCount.addAndGet(batch.size());
+		} catch (UnavailableException e) {
+			retryOnNextFlush(batch, e);
+		} catch (NoHostAvailableException e) {
+			retryOnNextFlush(batch, e);
+		} catch (RuntimeException e) {
+			log.error("Cannot write {} counter delta(s), they are dropped since they may have been applied",
+					batch.size(), e);
+			failedCount.addAndGet(batch.size());
+		}
+	}
+
+	private void retryOnNextFlush(List<Entry<CounterKey, Long>> batch, RuntimeException cause) {
+		log.warn("Cannot write {} counter delta(s), they will be retried on next flush", batch.size(), cause);
+		retriedCount.addAndGet(batch.size());
+		for (Entry<CounterKey, Long> entry : batch) {
+			pendingDeltas.addAndGet(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static class CounterKey {
+		private final EntityMeta entityMeta;
+		private final PropertyMeta counterMeta;
+		private final Object primaryKey;
+
+		private CounterKey(EntityMeta entityMeta, PropertyMeta counterMeta, Object primaryKey) {
+			this.entityMeta = entityMeta;
+			this.counterMeta = counterMeta;
+			this.primaryKey = primaryKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(entityMeta.getEntityClass(), counterMeta.getPropertyName(), primaryKey);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CounterKey)) {
+				return false;
+			}
+			CounterKey other = (CounterKey) obj;
+			return entityMeta.getEntityClass() == other.entityMeta.getEntityClass()
+					&& counterMeta.getPropertyName().equals(other.counterMeta.getPropertyName())
+					&& Objects.equal(primaryKey, other.primaryKey);
+		}
+	}
+}
@@ -18,20 +18,32 @@ package info.archinnov.achilles.context;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.*;
+import static info.archinnov.achilles.statement.cache.StatementCacheKey.NO_TTL;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.BatchType;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.cache.CacheManager;
 import info.archinnov.achilles.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.statement.prepared.CQLPreparedStatementBinder;
+import info.archinnov.achilles.statement.prepared.RoutingBoundStatement;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,22 +52,46 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CQLDaoContext {
 	public static final String ACHILLES_DML_STATEMENT = "ACHILLES_DML_STATEMENT";
+	private static final int BATCH_PREPARED_STATEMENT_LRU_CACHE_SIZE = 1000;
+	private static final int SEEN_TTL_LRU_CACHE_SIZE = 1000;
 
 	private static final Logger dmlLogger = LoggerFactory.getLogger(ACHILLES_DML_STATEMENT);
 
+	private static final Function<ResultSet, Row> FIRST_ROW_OR_NULL = new Function<ResultSet, Row>() {
+		@Override
+		public Row apply(ResultSet resultSet) {
+			return resultSet.one();
+		}
+	};
+
 	private Map<Class<?>, PreparedStatement> insertPSs;
 	private Cache<StatementCacheKey, PreparedStatement> dynamicPSCache;
+	private Cache<String, PreparedStatement> batchPSCache = CacheBuilder.newBuilder()
+			.maximumSize(BATCH_PREPARED_STATEMENT_LRU_CACHE_SIZE).recordStats().build();
+	private Cache<String, Boolean> seenBatchQueries = CacheBuilder.newBuilder()
+			.maximumSize(BATCH_PREPARED_STATEMENT_LRU_CACHE_SIZE).build();
+	private Cache<Integer, Boolean> seenTtls = CacheBuilder.newBuilder().maximumSize(SEEN_TTL_LRU_CACHE_SIZE)
+			.build();
 	private Map<Class<?>, PreparedStatement> selectEagerPSs;
 	private Map<Class<?>, Map<String, PreparedStatement>> removePSs;
 	private Map<CQLQueryType, PreparedStatement> counterQueryMap;
@@ -65,6 +101,9 @@ public class CQLDaoContext {
 	private CQLPreparedStatementBinder binder = new CQLPreparedStatementBinder();
 	private CacheManager cacheManager = new CacheManager();
 	private CQLStatementGenerator statementGenerator = new CQLStatementGenerator();
+	private CQLCounterWriteBehind counterWriteBehind;
+	private int maxInFlightStatements = 1;
+	private Executor callbackExecutor = MoreExecutors.sameThreadExecutor();
 
 	public CQLDaoContext(Map<Class<?>, PreparedStatement> insertPSs,
 			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
@@ -80,24 +119,40 @@ public class CQLDaoContext {
 		this.session = session;
 	}
 
+	public void prepareBindingPlans(Collection<EntityMeta> entityMetas) {
+		binder.prepareBindingPlans(entityMetas);
+	}
+
 	public void pushInsertStatement(CQLPersistenceContext context) {
 		EntityMeta entityMeta = context.getEntityMeta();
 		Class<?> entityClass = context.getEntityClass();
 		Optional<Integer> ttlO = context.getTtt();
 		Optional<Long> timestampO = context.getTimestamp();
 		ConsistencyLevel writeLevel = getWriteConsistencyLevel(context, entityMeta);
-		if (ttlO.isPresent() || timestampO.isPresent()) {
-			Insert insert = statementGenerator.generateInsert(context.getEntity(), entityMeta);
+		if (timestampO.isPresent() || !isRepeatedTtl(ttlO)) {
+			Insert insert = statementGenerator.generateInsert(context.getEntity(), entityMeta,
+					context.isSkipNullColumns());
 			Insert.Options options = null;
 
 			if (ttlO.isPresent() && timestampO.isPresent())
 				options = insert.using(ttl(ttlO.get())).and(timestamp(timestampO.get()));
 			else if (ttlO.isPresent())
 				options = insert.using(ttl(ttlO.get()));
-			else if (timestampO.isPresent())
+			else
 				options = insert.using(timestamp(timestampO.get()));
 
-			context.pushStatement(options, writeLevel);
+			context.pushStatement(newStatementWrapper(options, entityMeta, context.getPrimaryKey()), writeLevel);
+		} else if (context.isSkipNullColumns()) {
+			Object entity = context.getEntity();
+			List<PropertyMeta> pms = binder.extractNonNullInsertMetas(entityMeta, entity);
+			PreparedStatement ps = cacheManager.getCacheForInsertFields(session, dynamicPSCache, context, pms,
+					ttlO.or(NO_TTL));
+			BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, pms, entity);
+			context.pushBoundStatement(bsWrapper, writeLevel);
+		} else if (ttlO.isPresent()) {
+			PreparedStatement ps = cacheManager.getCacheForInsertWithTtl(session, dynamicPSCache, context, ttlO.get());
+			BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity());
+			context.pushBoundStatement(bsWrapper, writeLevel);
 		} else {
 			PreparedStatement ps = insertPSs.get(entityClass);
 			BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity());
@@ -110,7 +165,7 @@ public class CQLDaoContext {
 		Optional<Integer> ttlO = context.getTtt();
 		Optional<Long> timestampO = context.getTimestamp();
 		ConsistencyLevel writeLevel = getWriteConsistencyLevel(context, entityMeta);
-		if (ttlO.isPresent() || timestampO.isPresent()) {
+		if (timestampO.isPresent() || !isRepeatedTtl(ttlO)) {
 			Assignments update = statementGenerator.generateUpdateFields(context.getEntity(), entityMeta, pms);
 			Update.Options options = null;
 
@@ -118,10 +173,15 @@ public class CQLDaoContext {
 				options = update.using(ttl(ttlO.get())).and(timestamp(timestampO.get()));
 			else if (ttlO.isPresent())
 				options = update.using(ttl(ttlO.get()));
-			else if (timestampO.isPresent())
+			else
 				options = update.using(timestamp(timestampO.get()));
 
-			context.pushStatement(options, writeLevel);
+			context.pushStatement(newStatementWrapper(options, entityMeta, context.getPrimaryKey()), writeLevel);
+		} else if (ttlO.isPresent()) {
+			PreparedStatement ps = cacheManager.getCacheForFieldsUpdateWithTtl(session, dynamicPSCache, context, pms,
+					ttlO.get());
+			BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity());
+			context.pushBoundStatement(bsWrapper, writeLevel);
 		} else {
 			PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
 			BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity());
@@ -129,6 +189,53 @@ public class CQLDaoContext {
 		}
 	}
 
+	/**
+	 * Cassandra 1.2 has no bind marker for USING values, so each TTL needs its
+	 * own prepared statement. A timestamp is usually unique to each write and
+	 * is never prepared. A TTL is only prepared once it has been seen before,
+	 * so that computed TTLs do not fill the prepared statement caches, at the
+	 * cost of one unprepared write for each new TTL
+	 */
+	private boolean isRepeatedTtl(Optional<Integer> ttlO) {
+		return !ttlO.isPresent() || seenTtls.asMap().putIfAbsent(ttlO.get(), Boolean.TRUE) != null;
+	}
+
+	/**
+	 * Cassandra 1.2 cannot bind a whole collection as the operand of a
+	 * collection operation so the element-level changes are sent inline, like
+	 * the statements carrying a timestamp
+	 */
+	public void pushCollectionMutations(CQLPersistenceContext context,
+			Map<PropertyMeta, CollectionMutations> mutationsByMeta) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		Object entity = context.getEntity();
+		Optional<Integer> ttlO = context.getTtt();
+		Optional<Long> timestampO = context.getTimestamp();
+		ConsistencyLevel writeLevel = getWriteConsistencyLevel(context, entityMeta);
+
+		Assignments update = statementGenerator.generateCollectionMutations(entity, entityMeta, mutationsByMeta);
+		if (update != null) {
+			Statement statement = update;
+			if (ttlO.isPresent() && timestampO.isPresent())
+				statement = update.using(ttl(ttlO.get())).and(timestamp(timestampO.get()));
+			else if (ttlO.isPresent())
+				statement = update.using(ttl(ttlO.get()));
+			else if (timestampO.isPresent())
+				statement = update.using(timestamp(timestampO.get()));
+
+			context.pushStatement(newStatementWrapper(statement, entityMeta, context.getPrimaryKey()), writeLevel);
+		}
+
+		Delete.Where delete = statementGenerator.generateMapKeysRemoval(entity, entityMeta, mutationsByMeta);
+		if (delete != null) {
+			Statement statement = delete;
+			if (timestampO.isPresent())
+				statement = delete.using(timestamp(timestampO.get()));
+
+			context.pushStatement(newStatementWrapper(statement, entityMeta, context.getPrimaryKey()), writeLevel);
+		}
+	}
+
 	public Row loadProperty(CQLPersistenceContext context, PropertyMeta pm) {
 		PreparedStatement ps = cacheManager.getCacheForFieldSelect(session, dynamicPSCache, context, pm);
 		ConsistencyLevel readLevel = getReadConsistencyLevel(context, pm);
@@ -136,6 +243,13 @@ public class CQLDaoContext {
 		return returnFirstRowOrNull(rows);
 	}
 
+	public Row loadProperties(CQLPersistenceContext context, List<PropertyMeta> pms) {
+		PreparedStatement ps = cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms);
+		ConsistencyLevel readLevel = getReadConsistencyLevel(context, context.getEntityMeta());
+		List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
+		return returnFirstRowOrNull(rows);
+	}
+
 	public void bindForRemoval(CQLPersistenceContext context, String tableName) {
 		EntityMeta entityMeta = context.getEntityMeta();
 		Class<?> entityClass = context.getEntityClass();
@@ -242,6 +356,21 @@ public class CQLDaoContext {
 		context.pushBoundStatement(bsWrapper, writeLevel);
 	}
 
+	/**
+	 * Bind a counter delta without any persistence context, for the counter
+	 * write-behind. The consistency level is left to the caller
+	 */
+	public BoundStatementWrapper bindForCounterIncrement(EntityMeta meta, PropertyMeta counterMeta, Object primaryKey,
+			Long increment) {
+		if (meta.isClusteredCounter()) {
+			PreparedStatement ps = clusteredCounterQueryMap.get(meta.getEntityClass()).get(INCR);
+			return binder.bindForClusteredCounterIncrementDecrement(ps, meta, counterMeta, primaryKey, increment);
+		} else {
+			PreparedStatement ps = counterQueryMap.get(INCR);
+			return binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta, primaryKey, increment);
+		}
+	}
+
 	public Row eagerLoadEntity(CQLPersistenceContext context) {
 		EntityMeta meta = context.getEntityMeta();
 		Class<?> entityClass = context.getEntityClass();
@@ -252,6 +381,56 @@ public class CQLDaoContext {
 		return returnFirstRowOrNull(rows);
 	}
 
+	public ListenableFuture<Row> eagerLoadEntityAsync(CQLPersistenceContext context) {
+		EntityMeta meta = context.getEntityMeta();
+		Class<?> entityClass = context.getEntityClass();
+		PreparedStatement ps = selectEagerPSs.get(entityClass);
+
+		ConsistencyLevel readLevel = getReadConsistencyLevel(context, meta);
+		BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(ps, meta,
+				context.getPrimaryKey());
+		ResultSetFuture futureResultSet = context.executeImmediateAsyncWithConsistency(bsWrapper, readLevel);
+		// Picking the first row is cheap enough for the driver I/O thread
+		return Futures.transform(futureResultSet, FIRST_ROW_OR_NULL, MoreExecutors.sameThreadExecutor());
+	}
+
+	public <T> ResultSet executeSliceQuery(CQLSliceQuery<T> sliceQuery, int limit) {
+		PreparedStatement ps = cacheManager.getCacheForSliceSelect(session, dynamicPSCache, sliceQuery, limit);
+		Object[] boundValues = sliceQuery.getBoundValuesForSelect();
+		return execute(bindSliceQuery(ps, sliceQuery, boundValues), boundValues);
+	}
+
+	public <T> ResultSetFuture executeSliceQueryAsync(CQLSliceQuery<T> sliceQuery, int limit) {
+		PreparedStatement ps = cacheManager.getCacheForSliceSelect(session, dynamicPSCache, sliceQuery, limit);
+		Object[] boundValues = sliceQuery.getBoundValuesForSelect();
+		return executeAsync(bindSliceQuery(ps, sliceQuery, boundValues), boundValues);
+	}
+
+	public <T> ResultSet executeSliceQueryFrom(CQLSliceQuery<T> sliceQuery, Object lastVaryingComponentValue) {
+		PreparedStatement ps = cacheManager.getCacheForSliceIterator(session, dynamicPSCache, sliceQuery);
+		Object[] boundValues = sliceQuery.getBoundValuesForIterator(lastVaryingComponentValue);
+		return execute(bindSliceQuery(ps, sliceQuery, boundValues), boundValues);
+	}
+
+	public <T> ResultSetFuture executeSliceQueryFromAsync(CQLSliceQuery<T> sliceQuery,
+			Object lastVaryingComponentValue) {
+		PreparedStatement ps = cacheManager.getCacheForSliceIterator(session, dynamicPSCache, sliceQuery);
+		Object[] boundValues = sliceQuery.getBoundValuesForIterator(lastVaryingComponentValue);
+		return executeAsync(bindSliceQuery(ps, sliceQuery, boundValues), boundValues);
+	}
+
+	public <T> void removeSlice(CQLSliceQuery<T> sliceQuery) {
+		PreparedStatement ps = cacheManager.getCacheForSliceRemove(session, dynamicPSCache, sliceQuery);
+		Object[] boundValues = sliceQuery.getBoundValuesForRemove();
+		execute(bindSliceQuery(ps, sliceQuery, boundValues), boundValues);
+	}
+
+	private <T> Query bindSliceQuery(PreparedStatement ps, CQLSliceQuery<T> sliceQuery, Object[] boundValues) {
+		ByteBuffer routingKey = binder.extractRoutingKey(sliceQuery.getMeta(), boundValues);
+		return RoutingBoundStatement.bind(ps, boundValues, routingKey).setConsistencyLevel(
+				sliceQuery.getConsistencyLevel());
+	}
+
 	private List<Row> executeReadWithConsistency(CQLPersistenceContext context, PreparedStatement ps,
 			ConsistencyLevel readLevel) {
 		EntityMeta entityMeta = context.getEntityMeta();
@@ -261,6 +440,30 @@ public class CQLDaoContext {
 		return context.executeImmediateWithConsistency(bsWrapper, readLevel).all();
 	}
 
+	/**
+	 * Statements built with a table name carry no routing key, they are sent
+	 * as simple statements with the routing key of the entity
+	 */
+	private StatementWrapper newStatementWrapper(Statement statement, EntityMeta entityMeta, Object primaryKey) {
+		ByteBuffer routingKey = binder.extractRoutingKey(entityMeta, primaryKey);
+		Statement routedStatement = statement;
+		if (routingKey != null && statement.getRoutingKey() == null) {
+			routedStatement = new SimpleStatement(statement.getQueryString()).setRoutingKey(routingKey);
+		}
+		return new StatementWrapper(routedStatement, binder.extractRowKey(entityMeta, primaryKey),
+				binder.partitionKeySize(entityMeta));
+	}
+
+	private String generateInlinedBatchQuery(BatchType batchType, List<? extends AbstractStatementWrapper> wrappers) {
+		List<String> queries = new ArrayList<String>(wrappers.size());
+		for (AbstractStatementWrapper wrapper : wrappers) {
+			Object[] values = wrapper.getValues();
+			queries.add(values.length == 0 ? wrapper.getQueryString() : statementGenerator.inlineBoundValues(
+					wrapper.getQueryString(), values));
+		}
+		return statementGenerator.generateBatchQuery(batchType, queries);
+	}
+
 	private Row returnFirstRowOrNull(List<Row> rows) {
 		if (rows.isEmpty()) {
 			return null;
@@ -274,6 +477,58 @@ public class CQLDaoContext {
 		return session.execute(query);
 	}
 
+	public ResultSetFuture executeAsync(Query query, Object... boundValues) {
+		logDMLStatement(query, boundValues);
+		return session.executeAsync(query);
+	}
+
+	public ResultSet executeBatch(BatchType batchType, List<? extends AbstractStatementWrapper> wrappers) {
+		return executeBatch(batchType, wrappers, new AtomicInteger());
+	}
+
+	/**
+	 * A batch query is only prepared once it has been seen before. A batch
+	 * query seen for the first time is sent unprepared with inlined values so
+	 * that one-off combinations of statements cost no PREPARE round trip and
+	 * do not fill the prepared statement caches
+	 * 
+	 * @param prepareCount
+	 *            incremented for each PREPARE request sent by this call
+	 */
+	public ResultSet executeBatch(BatchType batchType, List<? extends AbstractStatementWrapper> wrappers,
+			AtomicInteger prepareCount) {
+		List<String> queries = new ArrayList<String>(wrappers.size());
+		List<Object> values = new ArrayList<Object>();
+		for (AbstractStatementWrapper wrapper : wrappers) {
+			queries.add(wrapper.getQueryString());
+			values.addAll(Arrays.asList(wrapper.getValues()));
+		}
+
+		String batchQuery = statementGenerator.generateBatchQuery(batchType, queries);
+		Object[] boundValues = values.toArray();
+
+		// Unlogged and counter batches target a single partition, a logged
+		// batch is sent to a replica of its first statement
+		ByteBuffer routingKey = wrappers.get(0).getQuery().getRoutingKey();
+		Query batch;
+		if (boundValues.length == 0) {
+			batch = new SimpleStatement(batchQuery).setRoutingKey(routingKey);
+		} else {
+			PreparedStatement batchPS = batchPSCache.getIfPresent(batchQuery);
+			if (batchPS == null && seenBatchQueries.asMap().putIfAbsent(batchQuery, Boolean.TRUE) != null) {
+				batchPS = cacheManager.getCacheForBatch(session, batchPSCache, batchQuery, prepareCount);
+			}
+			if (batchPS == null) {
+				batch = new SimpleStatement(generateInlinedBatchQuery(batchType, wrappers)).setRoutingKey(routingKey);
+				boundValues = new Object[0];
+			} else {
+				batch = RoutingBoundStatement.bind(batchPS, boundValues, routingKey);
+			}
+		}
+		batch.setConsistencyLevel(wrappers.get(0).getQuery().getConsistencyLevel());
+		return execute(batch, boundValues);
+	}
+
 	public PreparedStatement prepare(Statement statement) {
 		return session.prepare(statement.getQueryString());
 	}
@@ -286,6 +541,46 @@ public class CQLDaoContext {
 
 	}
 
+	public CacheStats getDynamicPSCacheStats() {
+		return dynamicPSCache.stats();
+	}
+
+	public long getDynamicPSCacheSize() {
+		return dynamicPSCache.size();
+	}
+
+	public CacheStats getBatchPSCacheStats() {
+		return batchPSCache.stats();
+	}
+
+	public CQLCounterWriteBehind getCounterWriteBehind() {
+		return counterWriteBehind;
+	}
+
+	public void setCounterWriteBehind(CQLCounterWriteBehind counterWriteBehind) {
+		this.counterWriteBehind = counterWriteBehind;
+	}
+
+	public int getMaxInFlightStatements() {
+		return maxInFlightStatements;
+	}
+
+	public void setMaxInFlightStatements(int maxInFlightStatements) {
+		this.maxInFlightStatements = maxInFlightStatements;
+	}
+
+	/**
+	 * Executor of the callbacks which are not cheap enough to run on the
+	 * driver I/O thread completing the future
+	 */
+	public Executor getCallbackExecutor() {
+		return callbackExecutor;
+	}
+
+	public void setCallbackExecutor(Executor callbackExecutor) {
+		this.callbackExecutor = callbackExecutor;
+	}
+
 	public Session getSession() {
 		return session;
 	}
@@ -16,6 +16,8 @@
  */
 package info.archinnov.achilles.context;
 
+import static info.archinnov.achilles.configuration.CQLArgumentExtractor.DEFAULT_FLUSH_MAX_IN_FLIGHT_STATEMENTS;
+import static info.archinnov.achilles.configuration.CQLArgumentExtractor.DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE;
 import static info.archinnov.achilles.entity.metadata.EntityMeta.*;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
@@ -24,6 +26,8 @@ import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
@@ -33,9 +37,12 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 
 public class CQLDaoContextBuilder {
-	private static final Integer PREPARED_STATEMENT_LRU_CACHE_SIZE = 5000;
 	private CQLPreparedStatementGenerator queryGenerator = new CQLPreparedStatementGenerator();
 	private Session session;
+	private int preparedStatementsCacheSize = DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE;
+	private Long preparedStatementsExpireAfterAccess;
+	private int maxInFlightStatements = DEFAULT_FLUSH_MAX_IN_FLIGHT_STATEMENTS;
+	private Executor callbackExecutor;
 
 	private Function<EntityMeta, PreparedStatement> insertPSTransformer = new Function<EntityMeta, PreparedStatement>() {
 		@Override
@@ -74,6 +81,30 @@ public class CQLDaoContextBuilder {
 		this.session = session;
 	}
 
+	public CQLDaoContextBuilder preparedStatementsCacheSize(int preparedStatementsCacheSize) {
+		this.preparedStatementsCacheSize = preparedStatementsCacheSize;
+		return this;
+	}
+
+	/**
+	 * @param expireAfterAccess
+	 *            delay in seconds, null to evict statements by size only
+	 */
+	public CQLDaoContextBuilder preparedStatementsExpireAfterAccess(Long expireAfterAccess) {
+		this.preparedStatementsExpireAfterAccess = expireAfterAccess;
+		return this;
+	}
+
+	public CQLDaoContextBuilder maxInFlightStatements(int maxInFlightStatements) {
+		this.maxInFlightStatements = maxInFlightStatements;
+		return this;
+	}
+
+	public CQLDaoContextBuilder callbackExecutor(Executor callbackExecutor) {
+		this.callbackExecutor = callbackExecutor;
+		return this;
+	}
+
 	public CQLDaoContext build(Map<Class<?>, EntityMeta> entityMetaMap, boolean hasSimpleCounter) {
 		Map<Class<?>, PreparedStatement> insertPSMap = new HashMap<Class<?>, PreparedStatement>(Maps.transformValues(
 				Maps.filterValues(entityMetaMap, excludeClusteredCounterFilter), insertPSTransformer));
@@ -84,8 +115,12 @@ public class CQLDaoContextBuilder {
 		Map<Class<?>, Map<String, PreparedStatement>> removePSMap = new HashMap<Class<?>, Map<String, PreparedStatement>>(
 				Maps.transformValues(entityMetaMap, removePSTransformer));
 
-		Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = CacheBuilder.newBuilder()
-				.maximumSize(PREPARED_STATEMENT_LRU_CACHE_SIZE).build();
+		CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(preparedStatementsCacheSize)
+				.recordStats();
+		if (preparedStatementsExpireAfterAccess != null) {
+			cacheBuilder.expireAfterAccess(preparedStatementsExpireAfterAccess, TimeUnit.SECONDS);
+		}
+		Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = cacheBuilder.build();
 
 		Map<CQLQueryType, PreparedStatement> counterQueryMap;
 		if (hasSimpleCounter) {
@@ -98,7 +133,13 @@ public class CQLDaoContextBuilder {
 				Maps.transformValues(Maps.filterValues(entityMetaMap, clusteredCounterFilter),
 						clusteredCounterTransformer));
 
-		return new CQLDaoContext(insertPSMap, dynamicPSCache, selectEagerPSMap, removePSMap, counterQueryMap,
-				clusteredCounterQueriesMap, session);
+		CQLDaoContext daoContext = new CQLDaoContext(insertPSMap, dynamicPSCache, selectEagerPSMap, removePSMap,
+				counterQueryMap, clusteredCounterQueriesMap, session);
+		daoContext.prepareBindingPlans(entityMetaMap.values());
+		daoContext.setMaxInFlightStatements(maxInFlightStatements);
+		if (callbackExecutor != null) {
+			daoContext.setCallbackExecutor(callbackExecutor);
+		}
+		return daoContext;
 	}
 }
@@ -16,11 +16,16 @@
  */
 package info.archinnov.achilles.context;
 
-import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.LinkedList;
 import java.util.List;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,9 +36,9 @@ public class CQLImmediateFlushContext extends CQLAbstractFlushContext<CQLImmedia
 		super(daoContext, consistencyLevel);
 	}
 
-	private CQLImmediateFlushContext(CQLDaoContext daoContext, List<BoundStatementWrapper> boundStatementWrappers,
+	private CQLImmediateFlushContext(CQLDaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
 			ConsistencyLevel consistencyLevel) {
-		super(daoContext, boundStatementWrappers, consistencyLevel);
+		super(daoContext, statementWrappers, consistencyLevel);
 	}
 
 	@Override
@@ -54,6 +59,51 @@ public class CQLImmediateFlushContext extends CQLAbstractFlushContext<CQLImmedia
 		doFlush();
 	}
 
+	/**
+	 * Send the pending statements concurrently, at most
+	 * maxInFlightStatements at a time. A statement on a row still written by
+	 * an in-flight statement waits for it so that the write order of each row
+	 * is preserved. All sent statements are awaited before the first failure
+	 * is thrown
+	 */
+	@Override
+	protected void doFlush() {
+		int maxInFlight = daoContext.getMaxInFlightStatements();
+		if (maxInFlight <= 1 || statementWrappers.size() <= 1) {
+			super.doFlush();
+			return;
+		}
+
+		LinkedList<InFlightStatement> inFlight = new LinkedList<InFlightStatement>();
+		RuntimeException failure = null;
+		for (AbstractStatementWrapper wrapper : statementWrappers) {
+			List<Object> rowKey = wrapper.getRowKey();
+			while (!inFlight.isEmpty() && (inFlight.size() >= maxInFlight || isWritten(inFlight, rowKey))) {
+				failure = await(inFlight.removeFirst(), failure);
+			}
+			if (failure != null) {
+				break;
+			}
+			inFlight.add(new InFlightStatement(rowKey, daoContext.executeAsync(wrapper.getQuery(),
+					wrapper.getValues())));
+		}
+		while (!inFlight.isEmpty()) {
+			failure = await(inFlight.removeFirst(), failure);
+		}
+		if (failure != null) {
+			throw failure;
+		}
+
+		invalidateCaches(cacheInvalidations);
+		cleanUp();
+	}
+
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Flush asynchronously all pending statements");
+		return doFlushAsync();
+	}
+
 	@Override
 	public FlushType type() {
 		return FlushType.IMMEDIATE;
@@ -61,6 +111,40 @@ public class CQLImmediateFlushContext extends CQLAbstractFlushContext<CQLImmedia
 
 	@Override
 	public CQLImmediateFlushContext duplicate() {
-		return new CQLImmediateFlushContext(daoContext, boundStatementWrappers, consistencyLevel);
+		return new CQLImmediateFlushContext(daoContext, statementWrappers, consistencyLevel);
+	}
+
+	/**
+	 * A statement without row key may touch any row
+	 */
+	private boolean isWritten(List<InFlightStatement> inFlight, List<Object> rowKey) {
+		for (InFlightStatement statement : inFlight) {
+			if (rowKey == null || statement.rowKey == null || rowKey.equals(statement.rowKey)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private RuntimeException await(InFlightStatement statement, RuntimeException failure) {
+		try {
+			statement.future.getUninterruptibly();
+		} catch (RuntimeException e) {
+			log.debug("Statement of a pipelined flush failed", e);
+			if (failure == null) {
+				return e;
+			}
+		}
+		return failure;
+	}
+
+	private static class InFlightStatement {
+		private final List<Object> rowKey;
+		private final ResultSetFuture future;
+
+		private InFlightStatement(List<Object> rowKey, ResultSetFuture future) {
+			this.rowKey = rowKey;
+			this.future = future;
+		}
 	}
 }
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.context;
 
 import static info.archinnov.achilles.counter.AchillesCounter.*;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityLoader;
@@ -26,18 +27,33 @@ import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
 import info.archinnov.achilles.entity.operations.EntityRefresher;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.proxy.EntityInterceptor;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 
 import java.util.List;
+import java.util.Map;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
-import com.datastax.driver.core.Statement;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CQLPersistenceContext extends PersistenceContext {
+	private static final Function<List<ResultSet>, Void> TO_VOID = new Function<List<ResultSet>, Void>() {
+		@Override
+		public Void apply(List<ResultSet> resultSets) {
+			return null;
+		}
+	};
+
 	private CQLDaoContext daoContext;
 	private CQLAbstractFlushContext<?> flushContext;
 	private CQLEntityLoader loader = new CQLEntityLoader();
@@ -74,10 +90,18 @@ public class CQLPersistenceContext extends PersistenceContext {
 		return daoContext.eagerLoadEntity(this);
 	}
 
+	public ListenableFuture<Row> eagerLoadEntityAsync() {
+		return daoContext.eagerLoadEntityAsync(this);
+	}
+
 	public Row loadProperty(PropertyMeta pm) {
 		return daoContext.loadProperty(this, pm);
 	}
 
+	public Row loadProperties(List<PropertyMeta> pms) {
+		return daoContext.loadProperties(this, pms);
+	}
+
 	public void pushInsertStatement() {
 		daoContext.pushInsertStatement(this);
 	}
@@ -86,6 +110,10 @@ public class CQLPersistenceContext extends PersistenceContext {
 		daoContext.pushUpdateStatement(this, pms);
 	}
 
+	public void pushCollectionMutations(Map<PropertyMeta, CollectionMutations> mutationsByMeta) {
+		daoContext.pushCollectionMutations(this, mutationsByMeta);
+	}
+
 	public void bindForRemoval(String tableName) {
 		daoContext.bindForRemoval(this, tableName);
 	}
@@ -112,6 +140,7 @@ public class CQLPersistenceContext extends PersistenceContext {
 	}
 
 	public void bindForSimpleCounterRemoval(PropertyMeta counterMeta) {
+		discardPendingCounterDelta(counterMeta);
 		daoContext.bindForSimpleCounterDelete(this, entityMeta, counterMeta, primaryKey);
 	}
 
@@ -137,19 +166,54 @@ public class CQLPersistenceContext extends PersistenceContext {
 	}
 
 	public void bindForClusteredCounterRemoval(PropertyMeta counterMeta) {
+		discardPendingCounterDelta(counterMeta);
 		daoContext.bindForClusteredCounterDelete(this, entityMeta, counterMeta, primaryKey);
 	}
 
+	// Counter write-behind
+	/**
+	 * Counter updates are deferred when the write-behind is enabled and no
+	 * runtime consistency level is set on this context
+	 */
+	public boolean isCounterWriteBehind() {
+		return daoContext.getCounterWriteBehind() != null && !getConsistencyLevel().isPresent();
+	}
+
+	public void addPendingCounterDelta(PropertyMeta counterMeta, Long delta) {
+		daoContext.getCounterWriteBehind().addDelta(entityMeta, counterMeta, primaryKey, delta);
+	}
+
+	public long getPendingCounterDelta(PropertyMeta counterMeta) {
+		CQLCounterWriteBehind counterWriteBehind = daoContext.getCounterWriteBehind();
+		return counterWriteBehind == null ? 0L : counterWriteBehind.getPendingDelta(entityMeta, counterMeta,
+				primaryKey);
+	}
+
+	private void discardPendingCounterDelta(PropertyMeta counterMeta) {
+		CQLCounterWriteBehind counterWriteBehind = daoContext.getCounterWriteBehind();
+		if (counterWriteBehind != null) {
+			counterWriteBehind.discardDelta(entityMeta, counterMeta, primaryKey);
+		}
+	}
+
 	public ResultSet bindAndExecute(PreparedStatement ps, Object... params) {
 		return daoContext.bindAndExecute(ps, params);
 	}
 
+	public <T> ResultSet executeSliceQueryFrom(CQLSliceQuery<T> sliceQuery, Object lastVaryingComponentValue) {
+		return daoContext.executeSliceQueryFrom(sliceQuery, lastVaryingComponentValue);
+	}
+
+	public <T> ResultSetFuture executeSliceQueryFromAsync(CQLSliceQuery<T> sliceQuery, Object lastVaryingComponentValue) {
+		return daoContext.executeSliceQueryFromAsync(sliceQuery, lastVaryingComponentValue);
+	}
+
 	public void pushBoundStatement(BoundStatementWrapper bsWrapper, ConsistencyLevel writeLevel) {
 		flushContext.pushBoundStatement(bsWrapper, writeLevel);
 	}
 
-	public void pushStatement(Statement statement, ConsistencyLevel writeLevel) {
-		flushContext.pushStatement(statement, writeLevel);
+	public void pushStatement(StatementWrapper statementWrapper, ConsistencyLevel writeLevel) {
+		flushContext.pushStatement(statementWrapper, writeLevel);
 	}
 
 	public ResultSet executeImmediateWithConsistency(BoundStatementWrapper bsWrapper,
@@ -158,15 +222,23 @@ public class CQLPersistenceContext extends PersistenceContext {
 				bsWrapper.getValues());
 	}
 
+	public ResultSetFuture executeImmediateAsyncWithConsistency(BoundStatementWrapper bsWrapper,
+			ConsistencyLevel readConsistencyLevel) {
+		return flushContext.executeImmediateAsyncWithConsistency(bsWrapper.getBs(), readConsistencyLevel,
+				bsWrapper.getValues());
+	}
+
 	@Override
 	public void persist() {
 		persister.persist(this);
+		invalidateCache();
 		flush();
 	}
 
 	@Override
 	public <T> T merge(T entity) {
 		T merged = merger.merge(this, entity);
+		invalidateCache();
 		flush();
 		return merged;
 	}
@@ -174,6 +246,7 @@ public class CQLPersistenceContext extends PersistenceContext {
 	@Override
 	public void remove() {
 		persister.remove(this);
+		invalidateCache();
 		flush();
 	}
 
@@ -187,6 +260,69 @@ public class CQLPersistenceContext extends PersistenceContext {
 		return entity;
 	}
 
+	/**
+	 * The write futures are only mapped to their result, cheap enough to be
+	 * done on the driver I/O thread
+	 */
+	public ListenableFuture<Void> persistAsync() {
+		persister.persist(this);
+		invalidateCache();
+		return Futures.transform(flushContext.flushAsync(), TO_VOID, MoreExecutors.sameThreadExecutor());
+	}
+
+	public <T> ListenableFuture<T> mergeAsync(T entity) {
+		final T merged = merger.merge(this, entity);
+		invalidateCache();
+		return Futures.transform(flushContext.flushAsync(), new Function<List<ResultSet>, T>() {
+			@Override
+			public T apply(List<ResultSet> resultSets) {
+				return merged;
+			}
+		}, MoreExecutors.sameThreadExecutor());
+	}
+
+	public ListenableFuture<Void> removeAsync() {
+		persister.remove(this);
+		invalidateCache();
+		return Futures.transform(flushContext.flushAsync(), TO_VOID, MoreExecutors.sameThreadExecutor());
+	}
+
+	/**
+	 * Row mapping and proxy building are done in a callback of the read
+	 * future, run by the callback executor of the DAO context. Lazy loading and clustered counter entities need more than one
+	 * query and are still loaded synchronously
+	 */
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass) {
+		if (!isLoadEagerFields() || entityMeta.isClusteredCounter()) {
+			return Futures.immediateFuture(find(entityClass));
+		}
+
+		T cached = loader.<T> loadFromCache(this);
+		if (cached != null) {
+			return Futures.immediateFuture(proxifier.buildProxy(cached, this));
+		}
+
+		final CQLPersistenceContext context = this;
+		final long cacheGeneration = loader.cacheGeneration(this);
+		return Futures.transform(eagerLoadEntityAsync(), new Function<Row, T>() {
+			@Override
+			public T apply(Row row) {
+				T entity = loader.<T> loadFromRow(context, row, cacheGeneration);
+				if (entity != null) {
+					entity = proxifier.buildProxy(entity, context);
+				}
+				return entity;
+			}
+		}, daoContext.getCallbackExecutor());
+	}
+
+	private void invalidateCache() {
+		EntityCache entityCache = entityMeta.getEntityCache();
+		if (entityCache != null) {
+			flushContext.invalidateCache(entityCache, primaryKey);
+		}
+	}
+
 	@Override
 	public <T> T getReference(Class<T> entityClass) {
 		setLoadEagerFields(false);
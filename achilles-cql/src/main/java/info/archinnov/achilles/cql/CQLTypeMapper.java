@@ -43,6 +43,7 @@ public class CQLTypeMapper {
 	private static final Map<Class<?>, Name> java2CQL = new HashMap<Class<?>, Name>();
 	private static final Map<Name, Class<?>> cql2Java = new HashMap<Name, Class<?>>();
 	private static final Map<Class<?>, Method> rowPropertyInvoker = new HashMap<Class<?>, Method>();
+	private static final Map<Class<?>, CQLColumnReader> columnReaders = new HashMap<Class<?>, CQLColumnReader>();
 
 	static {
 		java2CQL.put(String.class, TEXT);
@@ -123,6 +124,159 @@ public class CQLTypeMapper {
 			throw new AchillesException("Cannot find getter in '" + Row.class.getCanonicalName() + "' ", e);
 		}
 
+		CQLColumnReader boolReader = new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getBool(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getBool(name);
+			}
+		};
+		columnReaders.put(Boolean.class, boolReader);
+		columnReaders.put(boolean.class, boolReader);
+
+		CQLColumnReader intReader = new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getInt(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getInt(name);
+			}
+		};
+		columnReaders.put(Integer.class, intReader);
+		columnReaders.put(int.class, intReader);
+
+		CQLColumnReader longReader = new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getLong(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getLong(name);
+			}
+		};
+		columnReaders.put(Long.class, longReader);
+		columnReaders.put(long.class, longReader);
+
+		columnReaders.put(Date.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getDate(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getDate(name);
+			}
+		});
+
+		CQLColumnReader floatReader = new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getFloat(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getFloat(name);
+			}
+		};
+		columnReaders.put(Float.class, floatReader);
+		columnReaders.put(float.class, floatReader);
+
+		CQLColumnReader doubleReader = new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getDouble(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getDouble(name);
+			}
+		};
+		columnReaders.put(Double.class, doubleReader);
+		columnReaders.put(double.class, doubleReader);
+
+		columnReaders.put(ByteBuffer.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getBytes(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getBytes(name);
+			}
+		});
+
+		columnReaders.put(String.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getString(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getString(name);
+			}
+		});
+
+		columnReaders.put(BigInteger.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getVarint(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getVarint(name);
+			}
+		});
+
+		columnReaders.put(BigDecimal.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getDecimal(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getDecimal(name);
+			}
+		});
+
+		columnReaders.put(UUID.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getUUID(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getUUID(name);
+			}
+		});
+
+		columnReaders.put(InetAddress.class, new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getInet(index);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getInet(name);
+			}
+		});
 	}
 
 	public static DataType.Name toCQLType(Class<?> javaType) {
@@ -150,6 +304,62 @@ public class CQLTypeMapper {
 		return method;
 	}
 
+	public static CQLColumnReader getColumnReader(Class<?> javaType) {
+		CQLColumnReader reader = columnReaders.get(javaType);
+
+		// Custom object will be JSON serialized
+		if (reader == null) {
+			reader = columnReaders.get(String.class);
+		}
+		return reader;
+	}
+
+	public static CQLColumnReader getListReader(Class<?> valueClass) {
+		final Class<?> compatibleValueClass = toCompatibleJavaType(valueClass);
+		return new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getList(index, compatibleValueClass);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getList(name, compatibleValueClass);
+			}
+		};
+	}
+
+	public static CQLColumnReader getSetReader(Class<?> valueClass) {
+		final Class<?> compatibleValueClass = toCompatibleJavaType(valueClass);
+		return new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getSet(index, compatibleValueClass);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getSet(name, compatibleValueClass);
+			}
+		};
+	}
+
+	public static CQLColumnReader getMapReader(Class<?> keyClass, Class<?> valueClass) {
+		final Class<?> compatibleKeyClass = toCompatibleJavaType(keyClass);
+		final Class<?> compatibleValueClass = toCompatibleJavaType(valueClass);
+		return new CQLColumnReader() {
+			@Override
+			public Object read(Row row, int index) {
+				return row.getMap(index, compatibleKeyClass, compatibleValueClass);
+			}
+
+			@Override
+			public Object read(Row row, String name) {
+				return row.getMap(name, compatibleKeyClass, compatibleValueClass);
+			}
+		};
+	}
+
 	public static Class<?> toCompatibleJavaType(Class<?> originalClass) {
 		if (PropertyHelper.isSupportedType(originalClass)) {
 			return originalClass;
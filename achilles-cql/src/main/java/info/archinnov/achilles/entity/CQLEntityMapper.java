@@ -20,20 +20,45 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.helper.EntityMapper;
 import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
+import info.archinnov.achilles.proxy.CQLRowReader;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.datastax.driver.core.ColumnDefinitions;
-import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.Row;
 
 public class CQLEntityMapper extends EntityMapper {
 
 	private CQLRowMethodInvoker cqlRowInvoker = new CQLRowMethodInvoker();
 
+	// Last reader used for each entity, checked first since rows of a result
+	// set share their column definitions
+	private Map<EntityMeta, CQLRowReader> eagerRowReaders = new ConcurrentHashMap<EntityMeta, CQLRowReader>();
+	private Map<EntityMeta, CQLRowReader> rowReaders = new ConcurrentHashMap<EntityMeta, CQLRowReader>();
+
+	// All compiled readers, keyed by entity and column layout
+	private Map<List<Object>, CQLRowReader> eagerReadersByLayout = new ConcurrentHashMap<List<Object>, CQLRowReader>();
+	private Map<List<Object>, CQLRowReader> readersByLayout = new ConcurrentHashMap<List<Object>, CQLRowReader>();
+
 	public void setEagerPropertiesToEntity(Row row, EntityMeta entityMeta, Object entity) {
-		for (PropertyMeta pm : entityMeta.getEagerMetas()) {
-			setPropertyToEntity(row, pm, entity);
+		if (row != null) {
+			ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+			CQLRowReader rowReader = eagerRowReaders.get(entityMeta);
+			if (rowReader == null || !rowReader.isCompiledFor(columnDefinitions)) {
+				List<Object> layoutKey = Arrays.<Object> asList(entityMeta, columnNames(columnDefinitions));
+				rowReader = eagerReadersByLayout.get(layoutKey);
+				if (rowReader == null) {
+					rowReader = compileEagerRowReader(entityMeta, columnDefinitions);
+					eagerReadersByLayout.put(layoutKey, rowReader);
+				}
+				eagerRowReaders.put(entityMeta, rowReader);
+			}
+			rowReader.read(row, entity);
 		}
 	}
 
@@ -58,20 +83,44 @@ public class CQLEntityMapper extends EntityMapper {
 		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
 		if (columnDefinitions != null) {
 			entity = meta.<T> instanciate();
-			for (Definition column : columnDefinitions) {
-				String columnName = column.getName();
-				PropertyMeta pm = propertiesMap.get(columnName);
-				if (pm != null) {
-					Object value = cqlRowInvoker.invokeOnRowForFields(row, pm);
-					pm.setValueToField(entity, value);
+			CQLRowReader rowReader = rowReaders.get(meta);
+			if (rowReader == null || !rowReader.isCompiledFrom(propertiesMap, isEntityManaged)
+					|| !rowReader.isCompiledFor(columnDefinitions)) {
+				List<Object> layoutKey = Arrays.<Object> asList(meta, columnNames(columnDefinitions), propertiesMap,
+						isEntityManaged);
+				rowReader = readersByLayout.get(layoutKey);
+				if (rowReader == null) {
+					PropertyMeta idMeta = meta.getIdMeta();
+					PropertyMeta embeddedIdMeta = idMeta.isEmbeddedId() ? idMeta : null;
+					rowReader = new CQLRowReader(columnDefinitions, propertiesMap, embeddedIdMeta, isEntityManaged,
+							true);
+					readersByLayout.put(layoutKey, rowReader);
 				}
+				rowReaders.put(meta, rowReader);
 			}
-			PropertyMeta idMeta = meta.getIdMeta();
-			if (idMeta.isEmbeddedId()) {
-				Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, isEntityManaged);
-				idMeta.setValueToField(entity, compoundKey);
-			}
+			rowReader.read(row, entity);
 		}
 		return entity;
 	}
+
+	private List<String> columnNames(ColumnDefinitions columnDefinitions) {
+		List<String> columnNames = new ArrayList<String>(columnDefinitions.size());
+		for (int i = 0; i < columnDefinitions.size(); i++) {
+			columnNames.add(columnDefinitions.getName(i));
+		}
+		return columnNames;
+	}
+
+	private CQLRowReader compileEagerRowReader(EntityMeta entityMeta, ColumnDefinitions columnDefinitions) {
+		Map<String, PropertyMeta> columnMetas = new HashMap<String, PropertyMeta>();
+		PropertyMeta embeddedIdMeta = null;
+		for (PropertyMeta pm : entityMeta.getEagerMetas()) {
+			if (pm.isEmbeddedId()) {
+				embeddedIdMeta = pm;
+			} else {
+				columnMetas.put(pm.getPropertyName().toLowerCase(), pm);
+			}
+		}
+		return new CQLRowReader(columnDefinitions, columnMetas, embeddedIdMeta, true, false);
+	}
 }
@@ -62,6 +62,25 @@ public class CQLBatchingPersistenceManager extends CQLPersistenceManager {
 
 	}
 
+	/**
+	 * Start an unlogged batch session. Pending statements are sent as
+	 * UNLOGGED BATCH, skipping the batch log
+	 */
+	public void startUnloggedBatch() {
+		log.debug("Starting unlogged batch mode");
+		startBatch();
+		flushContext.setLogged(false);
+	}
+
+	/**
+	 * Start an unlogged batch session with read/write consistency levels
+	 */
+	public void startUnloggedBatch(ConsistencyLevel consistencyLevel) {
+		log.debug("Starting unlogged batch mode with consistency level {}", consistencyLevel.name());
+		startUnloggedBatch();
+		flushContext.setConsistencyLevel(consistencyLevel);
+	}
+
 	/**
 	 * End an existing batch and flush all the pending statements.
 	 * 
@@ -85,6 +104,14 @@ public class CQLBatchingPersistenceManager extends CQLPersistenceManager {
 		flushContext.cleanUp();
 	}
 
+	/**
+	 * Set the estimated size, in bytes, above which pending statements are
+	 * split into several batches
+	 */
+	public void setMaxBatchSizeInBytes(int maxBatchSizeInBytes) {
+		flushContext.setMaxBatchSizeInBytes(maxBatchSizeInBytes);
+	}
+
 	@Override
 	public void persist(final Object entity, Options options) {
 		if (options.getConsistencyLevel().isPresent()) {
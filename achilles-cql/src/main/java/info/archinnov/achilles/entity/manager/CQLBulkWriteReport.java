@@ -0,0 +1,170 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Objects;
+
+/**
+ * Outcome of a bulk load: counts of written and failed entities, retries,
+ * throughput and latency distribution of the entity writes. Latencies are
+ * kept in a uniform reservoir sample of LATENCY_SAMPLE_SIZE writes. Only the
+ * first MAX_RECORDED_FAILURES failures are kept with their entity
+ */
+public class CQLBulkWriteReport {
+	public static final int MAX_RECORDED_FAILURES = 100;
+
+	private static final int LATENCY_SAMPLE_SIZE = 1028;
+
+	private final long startNanos = System.nanoTime();
+	private volatile long stopNanos;
+
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private final AtomicLong retriedCount = new AtomicLong();
+	private final long[] latencies = new long[LATENCY_SAMPLE_SIZE];
+	private final Random random = new Random();
+	private long sampledCount;
+	private final List<Failure> failures = new ArrayList<Failure>();
+
+	void written(long latencyNanos) {
+		writtenCount.incrementAndGet();
+		long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+		synchronized (latencies) {
+			sampledCount++;
+			if (sampledCount <= LATENCY_SAMPLE_SIZE) {
+				latencies[(int) sampledCount - 1] = latencyMicros;
+			} else {
+				long index = (long) (random.nextDouble() * sampledCount);
+				if (index < LATENCY_SAMPLE_SIZE) {
+					latencies[(int) index] = latencyMicros;
+				}
+			}
+		}
+	}
+
+	void failed(Object entity, Throwable cause) {
+		failedCount.incrementAndGet();
+		synchronized (failures) {
+			if (failures.size() < MAX_RECORDED_FAILURES) {
+				failures.add(new Failure(entity, cause));
+			}
+		}
+	}
+
+	void retried() {
+		retriedCount.incrementAndGet();
+	}
+
+	void stop() {
+		stopNanos = System.nanoTime();
+	}
+
+	public long getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	public long getRetriedCount() {
+		return retriedCount.get();
+	}
+
+	public long getElapsedMillis() {
+		long endNanos = stopNanos == 0 ? System.nanoTime() : stopNanos;
+		return TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+	}
+
+	/**
+	 * @return written entities per second
+	 */
+	public double getThroughput() {
+		long endNanos = stopNanos == 0 ? System.nanoTime() : stopNanos;
+		return writtenCount.get() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(endNanos - startNanos, 1);
+	}
+
+	/**
+	 * @param quantile
+	 *            between 0 and 1, 0.99 for the 99th percentile
+	 * @return latency in milliseconds of the successful entity writes,
+	 *         retries included
+	 */
+	public double getLatencyPercentile(double quantile) {
+		long[] sample;
+		synchronized (latencies) {
+			sample = Arrays.copyOf(latencies, (int) Math.min(sampledCount, LATENCY_SAMPLE_SIZE));
+		}
+		if (sample.length == 0) {
+			return 0;
+		}
+		Arrays.sort(sample);
+
+		double position = quantile * (sample.length + 1);
+		double latencyMicros;
+		if (position < 1) {
+			latencyMicros = sample[0];
+		} else if (position >= sample.length) {
+			latencyMicros = sample[sample.length - 1];
+		} else {
+			long lower = sample[(int) position - 1];
+			long upper = sample[(int) position];
+			latencyMicros = lower + (position - Math.floor(position)) * (upper - lower);
+		}
+		return latencyMicros / 1000;
+	}
+
+	public List<Failure> getFailures() {
+		synchronized (failures) {
+			return Collections.unmodifiableList(new ArrayList<Failure>(failures));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).add("written", getWrittenCount()).add("failed", getFailedCount())
+				.add("retried", getRetriedCount()).add("elapsedMillis", getElapsedMillis())
+				.add("throughput", getThroughput()).add("p50", getLatencyPercentile(0.5))
+				.add("p99", getLatencyPercentile(0.99)).toString();
+	}
+
+	public static class Failure {
+		private final Object entity;
+		private final Throwable cause;
+
+		private Failure(Object entity, Throwable cause) {
+			this.entity = entity;
+			this.cause = cause;
+		}
+
+		public Object getEntity() {
+			return entity;
+		}
+
+		public Throwable getCause() {
+			return cause;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.counterType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.QueryExecutionException;
+import com.google.common.collect.FluentIterable;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Bulk writer persisting the entities of an iterator with asynchronous
+ * writes.
+ * 
+ * At most maxOutstandingWrites entities are waiting for their response, the
+ * iterator is not read further until one of them completes. An optional rate
+ * limit caps the number of entities sent per second. Writes failing on a
+ * timeout or an unavailable replica are retried up to maxRetries times,
+ * except for entities with counters whose increments are not idempotent.
+ * Write completions, and so retries, are handled by the callback executor
+ * rather than by the driver I/O thread.
+ * 
+ * Entity lifecycle interceptors are not invoked
+ */
+public class CQLBulkWriter {
+	private static final Logger log = LoggerFactory.getLogger(CQLBulkWriter.class);
+
+	private final CQLPersistenceManager manager;
+	private final Map<Class<?>, EntityMeta> entityMetaMap;
+	private final int maxOutstandingWrites;
+	private final RateLimiter rateLimiter;
+	private final int maxRetries;
+	private final Executor callbackExecutor;
+
+	CQLBulkWriter(CQLPersistenceManager manager, Map<Class<?>, EntityMeta> entityMetaMap, int maxOutstandingWrites,
+			Double rateLimit, int maxRetries, Executor callbackExecutor) {
+		this.manager = manager;
+		this.entityMetaMap = entityMetaMap;
+		this.maxOutstandingWrites = maxOutstandingWrites;
+		this.rateLimiter = rateLimit == null ? null : RateLimiter.create(rateLimit);
+		this.maxRetries = maxRetries;
+		this.callbackExecutor = callbackExecutor;
+	}
+
+	/**
+	 * Persist all the entities and wait for the last write to complete
+	 * 
+	 * @param entities
+	 *            transient entities to be persisted
+	 * @return report of the bulk load
+	 */
+	public CQLBulkWriteReport persistAll(Iterator<?> entities) {
+		return persistAll(entities, OptionsBuilder.noOptions());
+	}
+
+	/**
+	 * Persist all the entities with the given options and wait for the last
+	 * write to complete
+	 * 
+	 * @param entities
+	 *            transient entities to be persisted
+	 * @param options
+	 *            options for consistency level, ttl and timestamp
+	 * @return report of the bulk load
+	 */
+	public CQLBulkWriteReport persistAll(Iterator<?> entities, Options options) {
+		log.debug("Bulk persisting entities with at most {} outstanding writes", maxOutstandingWrites);
+
+		Semaphore outstandingWrites = new Semaphore(maxOutstandingWrites);
+		CQLBulkWriteReport report = new CQLBulkWriteReport();
+		while (entities.hasNext()) {
+			Object entity = entities.next();
+			outstandingWrites.acquireUninterruptibly();
+			if (rateLimiter != null) {
+				rateLimiter.acquire();
+			}
+			write(entity, options, outstandingWrites, report, System.nanoTime(), 0);
+		}
+		outstandingWrites.acquireUninterruptibly(maxOutstandingWrites);
+		report.stop();
+
+		log.info("Bulk persist done: {}", report);
+		return report;
+	}
+
+	private void write(final Object entity, final Options options, final Semaphore outstandingWrites,
+			final CQLBulkWriteReport report, final long startNanos, final int attempt) {
+		ListenableFuture<Void> future;
+		try {
+			future = manager.persistAsync(entity, options);
+		} catch (RuntimeException e) {
+			log.debug("Cannot persist entity {}", entity, e);
+			report.failed(entity, e);
+			outstandingWrites.release();
+			return;
+		}
+
+		Futures.addCallback(future, new FutureCallback<Void>() {
+			@Override
+			public void onSuccess(Void result) {
+				report.written(System.nanoTime() - startNanos);
+				outstandingWrites.release();
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				if (attempt < maxRetries && isRetryable(cause) && isIdempotent(entity)) {
+					log.debug("Retrying write of entity {} after {}", entity, cause.getMessage());
+					report.retried();
+					write(entity, options, outstandingWrites, report, startNanos, attempt + 1);
+				} else {
+					log.debug("Cannot persist entity {}", entity, cause);
+					report.failed(entity, cause);
+					outstandingWrites.release();
+				}
+			}
+		}, callbackExecutor);
+	}
+
+	private boolean isRetryable(Throwable cause) {
+		return cause instanceof QueryExecutionException || cause instanceof NoHostAvailableException;
+	}
+
+	private boolean isIdempotent(Object entity) {
+		EntityMeta entityMeta = entityMetaMap.get(entity.getClass());
+		return entityMeta != null && !entityMeta.isClusteredCounter()
+				&& !FluentIterable.from(entityMeta.getAllMetasExceptIdMeta()).anyMatch(counterType);
+	}
+}
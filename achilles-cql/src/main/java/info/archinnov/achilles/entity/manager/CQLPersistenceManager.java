@@ -16,30 +16,46 @@
  */
 package info.archinnov.achilles.entity.manager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import com.datastax.driver.core.Session;
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import info.archinnov.achilles.compound.CQLCompoundKeyValidator;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
 import info.archinnov.achilles.entity.operations.CQLSliceQueryExecutor;
 import info.archinnov.achilles.entity.operations.EntityValidator;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.EntityLifeCycleListener;
+import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.query.cql.CQLNativeQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.CQLTypedQueryBuilder;
 import info.archinnov.achilles.query.typed.CQLTypedQueryValidator;
+import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
 import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.validation.Validator;
 
 public class CQLPersistenceManager extends
 		PersistenceManager<CQLPersistenceContext> {
+	static final int MAX_CONCURRENT_FINDS = 100;
+
 	private CQLCompoundKeyValidator compoundKeyValidator = new CQLCompoundKeyValidator();
 	private CQLSliceQueryExecutor sliceQueryExecutor;
 	private CQLPersistenceContextFactory contextFactory;
@@ -63,6 +79,152 @@ public class CQLPersistenceManager extends
 				configContext, daoContext);
 	}
 
+	/**
+	 * Persist an entity asynchronously.
+	 * 
+	 * @param entity
+	 *            Entity to be persisted
+	 * @return future completed when the entity is persisted
+	 */
+	public ListenableFuture<Void> persistAsync(final Object entity) {
+		entityLifeCycleListener.intercept(entity, Event.PRE_PERSIST);
+		ListenableFuture<Void> future = persistAsync(entity,
+				OptionsBuilder.noOptions());
+		return Futures.transform(future,
+				this.<Void> interceptAfter(entity, Event.POST_PERSIST),
+				daoContext.getCallbackExecutor());
+	}
+
+	/**
+	 * Persist an entity asynchronously with the given options.
+	 * 
+	 * @param entity
+	 *            Entity to be persisted
+	 * @param Options
+	 *            options for consistency level, ttl and timestamp
+	 * @return future completed when the entity is persisted
+	 */
+	public ListenableFuture<Void> persistAsync(Object entity, Options options) {
+		CQLPersistenceContext context = initPersistenceContextForPersist(
+				entity, options);
+		return context.persistAsync();
+	}
+
+	/**
+	 * Merge an entity asynchronously.
+	 * 
+	 * @param entity
+	 *            Entity to be merged
+	 * @return future of the merged entity or a new proxified entity
+	 */
+	public <T> ListenableFuture<T> mergeAsync(T entity) {
+		entityLifeCycleListener.intercept(entity, Event.PRE_UPDATE);
+		ListenableFuture<T> future = mergeAsync(entity,
+				OptionsBuilder.noOptions());
+		return Futures.transform(future,
+				this.<T> interceptAfter(entity, Event.POST_UPDATE),
+				daoContext.getCallbackExecutor());
+	}
+
+	/**
+	 * Merge an entity asynchronously with the given options.
+	 * 
+	 * @param entity
+	 *            Entity to be merged
+	 * @param Options
+	 *            options for consistency level, ttl and timestamp
+	 * @return future of the merged entity or a new proxified entity
+	 */
+	public <T> ListenableFuture<T> mergeAsync(T entity, Options options) {
+		CQLPersistenceContext context = initPersistenceContextForMerge(entity,
+				options);
+		return context.mergeAsync(entity);
+	}
+
+	/**
+	 * Remove an entity asynchronously.
+	 * 
+	 * @param entity
+	 *            Entity to be removed
+	 * @return future completed when the entity is removed
+	 */
+	public ListenableFuture<Void> removeAsync(Object entity) {
+		entityLifeCycleListener.intercept(entity, Event.PRE_REMOVE);
+		ListenableFuture<Void> future = removeAsync(entity, null);
+		return Futures.transform(future,
+				this.<Void> interceptAfter(entity, Event.POST_REMOVE),
+				daoContext.getCallbackExecutor());
+	}
+
+	/**
+	 * Remove an entity asynchronously with the given Consistency Level for
+	 * write.
+	 * 
+	 * @param entity
+	 *            Entity to be removed
+	 * @param writeLevel
+	 *            Consistency Level for write
+	 * @return future completed when the entity is removed
+	 */
+	public ListenableFuture<Void> removeAsync(Object entity,
+			ConsistencyLevel writeLevel) {
+		CQLPersistenceContext context = initPersistenceContextForRemove(entity,
+				writeLevel);
+		return context.removeAsync();
+	}
+
+	/**
+	 * Find an entity asynchronously.
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key (Cassandra row key) of the entity to load
+	 * @return future of the found entity or null if no entity is found
+	 */
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass,
+			Object primaryKey) {
+		return findAsync(entityClass, primaryKey, null);
+	}
+
+	/**
+	 * Find an entity asynchronously with the given Consistency Level for read
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key (Cassandra row key) of the entity to load
+	 * @param readLevel
+	 *            Consistency Level for read
+	 * @return future of the found entity or null if no entity is found
+	 */
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass,
+			Object primaryKey, ConsistencyLevel readLevel) {
+		CQLPersistenceContext context = initPersistenceContextForFind(
+				entityClass, primaryKey, readLevel);
+		return context.findAsync(entityClass);
+	}
+
+	/**
+	 * Partitions are read concurrently, by windows of MAX_CONCURRENT_FINDS
+	 * queries, instead of one round trip after the other
+	 */
+	@Override
+	protected <T> List<T> findEntities(Class<T> entityClass,
+			List<CQLPersistenceContext> contexts) {
+		List<T> entities = new ArrayList<T>(contexts.size());
+		for (List<CQLPersistenceContext> window : Lists.partition(contexts,
+				MAX_CONCURRENT_FINDS)) {
+			List<ListenableFuture<T>> futures = new ArrayList<ListenableFuture<T>>(
+					window.size());
+			for (CQLPersistenceContext context : window) {
+				futures.add(context.<T> findAsync(entityClass));
+			}
+			entities.addAll(waitFor(Futures.allAsList(futures)));
+		}
+		return entities;
+	}
+
 	@Override
 	public <T> SliceQueryBuilder<CQLPersistenceContext, T> sliceQuery(
 			Class<T> entityClass) {
@@ -209,8 +371,51 @@ public class CQLPersistenceManager extends
 		return contextFactory.newContext(entityClass, primaryKey, options);
 	}
 
+	private <V> V waitFor(ListenableFuture<V> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException(e);
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+
+	/**
+	 * POST_* interceptors are user code which may block, possibly on another
+	 * Achilles call. They are run by the callback executor of the DAO context,
+	 * never on a driver I/O thread
+	 */
+	private <V> Function<V, V> interceptAfter(final Object entity,
+			final Event event) {
+		return new Function<V, V>() {
+			@Override
+			public V apply(V result) {
+				entityLifeCycleListener.intercept(entity, event);
+				return result;
+			}
+		};
+	}
+
 	public Session getNativeSession() {
 		return daoContext.getSession();
 	}
 
+	/**
+	 * Return the hit, miss and eviction counts of the read cache of an entity
+	 * 
+	 * @param entityClass
+	 *            entity class annotated with @Cached or configured with
+	 *            "achilles.entity.cache.map"
+	 * 
+	 * @return CacheStats, null when the entity is not cached
+	 */
+	public CacheStats getEntityCacheStats(Class<?> entityClass) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateNotNull(meta, "The entity class '%s' is not managed by Achilles", entityClass);
+		EntityCache entityCache = meta.getEntityCache();
+		return entityCache != null ? entityCache.stats() : null;
+	}
+
 }
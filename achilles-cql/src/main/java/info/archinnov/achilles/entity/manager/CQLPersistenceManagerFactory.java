@@ -22,6 +22,7 @@ import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.CQLArgumentExtractor;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.consistency.CQLConsistencyLevelPolicy;
+import info.archinnov.achilles.context.CQLCounterWriteBehind;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLDaoContextBuilder;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
@@ -29,6 +30,7 @@ import info.archinnov.achilles.context.ConfigurationContext.Impl;
 import info.archinnov.achilles.table.CQLTableCreator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.Iterator;
 import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
+import com.google.common.cache.CacheStats;
 
 public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 	private static final Logger log = LoggerFactory.getLogger(CQLPersistenceManagerFactory.class);
@@ -44,6 +47,10 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 	private Session session;
 	private CQLDaoContext daoContext;
 	private CQLPersistenceContextFactory contextFactory;
+	private CQLCounterWriteBehind counterWriteBehind;
+	private int bulkMaxOutstandingWrites;
+	private Double bulkRateLimit;
+	private int bulkMaxRetries;
 
 	/**
 	 * Create a new CQLPersistenceManagerFactory with a configuration map
@@ -68,9 +75,24 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 		new CQLTableCreator(cluster, session, (String) configurationMap.get(KEYSPACE_NAME_PARAM))
 				.validateOrCreateTables(entityMetaMap, configContext, hasSimpleCounter);
 
-		daoContext = CQLDaoContextBuilder.builder(session).build(entityMetaMap, hasSimpleCounter);
+		daoContext = CQLDaoContextBuilder.builder(session)
+				.preparedStatementsCacheSize(extractor.initPreparedStatementsCacheSize(configurationMap))
+				.preparedStatementsExpireAfterAccess(
+						extractor.initPreparedStatementsCacheExpireAfterAccess(configurationMap))
+				.maxInFlightStatements(extractor.initFlushMaxInFlightStatements(configurationMap))
+				.callbackExecutor(extractor.initAsyncCallbackExecutor(configurationMap))
+				.build(entityMetaMap, hasSimpleCounter);
+		if (extractor.initCounterWriteBehindEnabled(configurationMap)) {
+			counterWriteBehind = new CQLCounterWriteBehind(daoContext,
+					extractor.initCounterWriteBehindFlushInterval(configurationMap),
+					extractor.initCounterWriteBehindFlushThreshold(configurationMap));
+			daoContext.setCounterWriteBehind(counterWriteBehind);
+		}
+		bulkMaxOutstandingWrites = extractor.initBulkMaxOutstandingWrites(configurationMap);
+		bulkRateLimit = extractor.initBulkRateLimit(configurationMap);
+		bulkMaxRetries = extractor.initBulkMaxRetries(configurationMap);
 		contextFactory = new CQLPersistenceContextFactory(daoContext, configContext, entityMetaMap);
-		registerShutdownHook(cluster);
+		registerShutdownHook(cluster, counterWriteBehind);
 	}
 
 	/**
@@ -97,6 +119,54 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 		return new CQLBatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
 	}
 
+	/**
+	 * Create a new bulk writer, persisting entities with asynchronous writes
+	 * bounded by the "achilles.cassandra.bulk.max.outstanding.writes" and
+	 * "achilles.cassandra.bulk.rate.limit" parameters. This instance of
+	 * CQLBulkWriter is <strong>thread-safe</strong>
+	 * 
+	 * @return CQLBulkWriter
+	 */
+	public CQLBulkWriter createBulkWriter() {
+		return new CQLBulkWriter(createPersistenceManager(), entityMetaMap, bulkMaxOutstandingWrites, bulkRateLimit,
+				bulkMaxRetries, daoContext.getCallbackExecutor());
+	}
+
+	/**
+	 * Persist all the entities of the iterator with a new bulk writer and
+	 * wait for the last write to complete
+	 * 
+	 * @param entities
+	 *            transient entities to be persisted
+	 * @return report of the bulk load: throughput, latency percentiles and
+	 *         failures
+	 */
+	public CQLBulkWriteReport persistAll(Iterator<?> entities) {
+		return createBulkWriter().persistAll(entities);
+	}
+
+	/**
+	 * Statistics of the cache holding prepared statements generated on the fly
+	 * (partial updates, field selects, TTL inserts...): hit and miss counts,
+	 * evictions and total time spent preparing statements
+	 * 
+	 * @return CacheStats
+	 */
+	public CacheStats getPreparedStatementsCacheStats() {
+		return daoContext.getDynamicPSCacheStats();
+	}
+
+	/**
+	 * Counter write-behind, holding the pending counter deltas and the flush
+	 * metrics. Null unless enabled with the
+	 * "achilles.cassandra.counter.write.behind.enabled" parameter
+	 * 
+	 * @return CQLCounterWriteBehind
+	 */
+	public CQLCounterWriteBehind getCounterWriteBehind() {
+		return counterWriteBehind;
+	}
+
 	@Override
 	protected AchillesConsistencyLevelPolicy initConsistencyLevelPolicy(Map<String, Object> configurationMap,
 			ArgumentExtractor argumentExtractor) {
@@ -113,10 +183,13 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 				readConsistencyMap, writeConsistencyMap);
 	}
 
-	private void registerShutdownHook(final Cluster cluster) {
+	private void registerShutdownHook(final Cluster cluster, final CQLCounterWriteBehind counterWriteBehind) {
 		Runtime.getRuntime().addShutdownHook(new Thread() {
 			@Override
 			public void run() {
+				if (counterWriteBehind != null) {
+					counterWriteBehind.shutdown();
+				}
 				cluster.shutdown();
 			}
 		});
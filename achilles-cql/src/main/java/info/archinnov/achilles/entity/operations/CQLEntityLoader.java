@@ -16,13 +16,20 @@
  */
 package info.archinnov.achilles.entity.operations;
 
+import static info.archinnov.achilles.entity.metadata.PropertyType.excludeCounterType;
 import info.archinnov.achilles.context.CQLPersistenceContext;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.impl.CQLLoaderImpl;
 import info.archinnov.achilles.validation.Validator;
 
+import java.util.List;
+
+import com.datastax.driver.core.Row;
+import com.google.common.collect.FluentIterable;
+
 public class CQLEntityLoader implements EntityLoader<CQLPersistenceContext> {
 	private CQLLoaderImpl loaderImpl = new CQLLoaderImpl();
 
@@ -36,8 +43,12 @@ public class CQLEntityLoader implements EntityLoader<CQLPersistenceContext> {
 		Validator
 				.validateNotNull(entityMeta, "Entity meta for '%s' should not be null", entityClass.getCanonicalName());
 
-		T entity = null;
+		T entity = loadFromCache(context);
+		if (entity != null) {
+			return entity;
+		}
 
+		long cacheGeneration = cacheGeneration(context);
 		if (context.isLoadEagerFields()) {
 			entity = loaderImpl.eagerLoadEntity(context, entityClass);
 		} else {
@@ -45,9 +56,61 @@ public class CQLEntityLoader implements EntityLoader<CQLPersistenceContext> {
 		}
 		entityMeta.getIdMeta().setValueToField(entity, primaryKey);
 
+		if (context.isLoadEagerFields()) {
+			putIntoCache(context, entity, cacheGeneration);
+		}
+		return entity;
+	}
+
+	/**
+	 * @param cacheGeneration
+	 *            captured by cacheGeneration() before the row was read
+	 */
+	public <T> T loadFromRow(CQLPersistenceContext context, Row row, long cacheGeneration) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		T entity = loaderImpl.<T> createEntityFromRow(row, entityMeta);
+		if (entity != null) {
+			entityMeta.getIdMeta().setValueToField(entity, context.getPrimaryKey());
+			putIntoCache(context, entity, cacheGeneration);
+		}
 		return entity;
 	}
 
+	/**
+	 * Generation of the cached entry, to be captured before reading the
+	 * entity so that a read overtaken by a write is not cached
+	 */
+	public long cacheGeneration(CQLPersistenceContext context) {
+		EntityCache entityCache = context.getEntityMeta().getEntityCache();
+		return entityCache == null ? 0 : entityCache.generation(context.getPrimaryKey());
+	}
+
+	/**
+	 * A hit also serves getReference(), the eager properties of the snapshot
+	 * are then flagged as loaded. Reads with an explicit consistency level
+	 * bypass the cache
+	 */
+	public <T> T loadFromCache(CQLPersistenceContext context) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		EntityCache entityCache = entityMeta.getEntityCache();
+		T entity = null;
+		if (entityCache != null && !context.getConsistencyLevel().isPresent()) {
+			entity = entityCache.<T> get(entityMeta, context.getPrimaryKey());
+			if (entity != null) {
+				context.setLoadEagerFields(true);
+			}
+		}
+		return entity;
+	}
+
+	private void putIntoCache(CQLPersistenceContext context, Object entity, long cacheGeneration) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		EntityCache entityCache = entityMeta.getEntityCache();
+		if (entityCache != null && entity != null) {
+			entityCache.put(entityMeta, context.getPrimaryKey(), entity, cacheGeneration);
+		}
+	}
+
 	@Override
 	public <V> void loadPropertyIntoObject(CQLPersistenceContext context, Object realObject, PropertyMeta pm) {
 		PropertyType type = pm.type();
@@ -56,4 +119,12 @@ public class CQLEntityLoader implements EntityLoader<CQLPersistenceContext> {
 		}
 	}
 
+	@Override
+	public void loadPropertiesIntoObject(CQLPersistenceContext context, Object realObject, List<PropertyMeta> pms) {
+		List<PropertyMeta> fieldMetas = FluentIterable.from(pms).filter(excludeCounterType).toImmutableList();
+		if (!fieldMetas.isEmpty()) {
+			loaderImpl.loadPropertiesIntoEntity(context, fieldMetas, realObject);
+		}
+	}
+
 }
@@ -37,21 +37,25 @@ public class CQLNativeQueryMapper {
 		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
 		if (!rows.isEmpty()) {
 			for (Row row : rows) {
-				mapRow(result, row);
+				Map<String, Object> line = mapRow(row);
+				if (line != null) {
+					result.add(line);
+				}
 			}
 		}
 		return result;
 	}
 
-	private void mapRow(List<Map<String, Object>> result, Row row) {
+	public Map<String, Object> mapRow(Row row) {
+		Map<String, Object> line = null;
 		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
 		if (columnDefinitions != null) {
-			Map<String, Object> line = new LinkedHashMap<String, Object>();
+			line = new LinkedHashMap<String, Object>();
 			for (Definition column : columnDefinitions) {
 				mapColumn(row, line, column);
 			}
-			result.add(line);
 		}
+		return line;
 	}
 
 	private void mapColumn(Row row, Map<String, Object> line, Definition column) {
@@ -21,25 +21,27 @@ import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.iterator.CQLSliceQueryIterator;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
-import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
-import com.datastax.driver.core.PreparedStatement;
-import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class CQLSliceQueryExecutor extends SliceQueryExecutor<CQLPersistenceContext> {
 
-	private CQLStatementGenerator generator = new CQLStatementGenerator();
 	private CQLEntityMapper mapper = new CQLEntityMapper();
 	private CQLDaoContext daoContext;
 	private CQLPersistenceContextFactory contextFactory;
@@ -54,41 +56,62 @@ public class CQLSliceQueryExecutor extends SliceQueryExecutor<CQLPersistenceCont
 
 	@Override
 	public <T> List<T> get(SliceQuery<T> sliceQuery) {
-
-		EntityMeta meta = sliceQuery.getMeta();
-
-		List<T> clusteredEntities = new ArrayList<T>();
-
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
-		Query query = generator.generateSelectSliceQuery(cqlSliceQuery, cqlSliceQuery.getLimit());
-		List<Row> rows = daoContext.execute(query).all();
+		List<Row> rows = daoContext.executeSliceQuery(cqlSliceQuery, cqlSliceQuery.getLimit()).all();
 
-		for (Row row : rows) {
-			T clusteredEntity = meta.<T> instanciate();
-			mapper.setEagerPropertiesToEntity(row, meta, clusteredEntity);
-			clusteredEntities.add(clusteredEntity);
-		}
+		return Lists.transform(mapRows(sliceQuery, rows),
+				getProxyTransformer(sliceQuery, sliceQuery.getMeta().getEagerGetters()));
+	}
 
-		return Lists.transform(clusteredEntities, getProxyTransformer(sliceQuery, meta.getEagerGetters()));
+	@Override
+	public <T> ListenableFuture<List<T>> getAsync(final SliceQuery<T> sliceQuery) {
+		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
+		ResultSetFuture futureResultSet = daoContext.executeSliceQueryAsync(cqlSliceQuery, cqlSliceQuery.getLimit());
+
+		return Futures.transform(futureResultSet, new Function<ResultSet, List<T>>() {
+			@Override
+			public List<T> apply(ResultSet resultSet) {
+				List<T> clusteredEntities = mapRows(sliceQuery, resultSet.all());
+				return Lists.newArrayList(Lists.transform(clusteredEntities,
+						getProxyTransformer(sliceQuery, sliceQuery.getMeta().getEagerGetters())));
+			}
+		}, daoContext.getCallbackExecutor());
 	}
 
 	@Override
 	public <T> Iterator<T> iterator(SliceQuery<T> sliceQuery) {
 
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
-		Query query = generator.generateSelectSliceQuery(cqlSliceQuery, cqlSliceQuery.getBatchSize());
-		Iterator<Row> iterator = daoContext.execute(query).iterator();
-		PreparedStatement ps = generator.generateIteratorSliceQuery(cqlSliceQuery, daoContext);
+		Iterator<Row> iterator = daoContext.executeSliceQuery(cqlSliceQuery, cqlSliceQuery.getBatchSize()).iterator();
 		CQLPersistenceContext context = buildContextForQuery(sliceQuery);
-		return new CQLSliceQueryIterator<T>(cqlSliceQuery, context, iterator, ps);
+		return new CQLSliceQueryIterator<T>(cqlSliceQuery, context, iterator);
 	}
 
 	@Override
 	public <T> void remove(SliceQuery<T> sliceQuery) {
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
 		cqlSliceQuery.validateSliceQueryForRemove();
-		Query query = generator.generateRemoveSliceQuery(cqlSliceQuery);
-		daoContext.execute(query);
+
+		// Cached entities are not indexed by partition, the whole cache is evicted
+		EntityCache entityCache = sliceQuery.getMeta().getEntityCache();
+		if (entityCache != null) {
+			entityCache.invalidateAll();
+		}
+		daoContext.removeSlice(cqlSliceQuery);
+		if (entityCache != null) {
+			entityCache.invalidateAll();
+		}
+	}
+
+	private <T> List<T> mapRows(SliceQuery<T> sliceQuery, List<Row> rows) {
+		EntityMeta meta = sliceQuery.getMeta();
+		List<T> clusteredEntities = new ArrayList<T>();
+		for (Row row : rows) {
+			T clusteredEntity = meta.<T> instanciate();
+			mapper.setEagerPropertiesToEntity(row, meta, clusteredEntity);
+			clusteredEntities.add(clusteredEntity);
+		}
+		return clusteredEntities;
 	}
 
 	@Override
@@ -22,6 +22,8 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.List;
+
 import com.datastax.driver.core.Row;
 
 public class CQLLoaderImpl {
@@ -42,10 +44,16 @@ public class CQLLoaderImpl {
 			}
 		} else {
 			Row row = context.eagerLoadEntity();
-			if (row != null) {
-				entity = entityMeta.<T> instanciate();
-				mapper.setEagerPropertiesToEntity(row, entityMeta, entity);
-			}
+			entity = createEntityFromRow(row, entityMeta);
+		}
+		return entity;
+	}
+
+	public <T> T createEntityFromRow(Row row, EntityMeta entityMeta) {
+		T entity = null;
+		if (row != null) {
+			entity = entityMeta.<T> instanciate();
+			mapper.setEagerPropertiesToEntity(row, entityMeta, entity);
 		}
 		return entity;
 	}
@@ -54,4 +62,11 @@ public class CQLLoaderImpl {
 		Row row = context.loadProperty(pm);
 		mapper.setPropertyToEntity(row, pm, entity);
 	}
+
+	public void loadPropertiesIntoEntity(CQLPersistenceContext context, List<PropertyMeta> pms, Object entity) {
+		Row row = context.loadProperties(pms);
+		for (PropertyMeta pm : pms) {
+			mapper.setPropertyToEntity(row, pm, entity);
+		}
+	}
 }
@@ -18,6 +18,7 @@ package info.archinnov.achilles.entity.operations.impl;
 
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -25,18 +26,40 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 public class CQLMergerImpl implements Merger<CQLPersistenceContext> {
 	private PropertyMetaComparator comparator = new PropertyMetaComparator();
 
 	@Override
-	public void merge(CQLPersistenceContext context, Map<Method, PropertyMeta> dirtyMap) {
+	public void merge(CQLPersistenceContext context, Map<Method, PropertyMeta> dirtyMap,
+			Map<Method, CollectionMutations> mutationsMap) {
 		if (dirtyMap.size() > 0) {
-			List<PropertyMeta> sortedDirtyMetas = new ArrayList<PropertyMeta>(dirtyMap.values());
-			Collections.sort(sortedDirtyMetas, comparator);
-			context.pushUpdateStatement(sortedDirtyMetas);
+			List<PropertyMeta> sortedDirtyMetas = new ArrayList<PropertyMeta>();
+			Map<PropertyMeta, CollectionMutations> sortedMutations = new TreeMap<PropertyMeta, CollectionMutations>(
+					comparator);
+			for (Entry<Method, PropertyMeta> entry : dirtyMap.entrySet()) {
+				CollectionMutations mutations = mutationsMap == null ? null : mutationsMap.get(entry.getKey());
+				if (mutations != null && mutations.isIncremental()) {
+					sortedMutations.put(entry.getValue(), mutations);
+				} else {
+					sortedDirtyMetas.add(entry.getValue());
+				}
+			}
+
+			if (sortedDirtyMetas.size() > 0) {
+				Collections.sort(sortedDirtyMetas, comparator);
+				context.pushUpdateStatement(sortedDirtyMetas);
+			}
+			if (sortedMutations.size() > 0) {
+				context.pushCollectionMutations(sortedMutations);
+			}
 			dirtyMap.clear();
 		}
+		if (mutationsMap != null) {
+			mutationsMap.clear();
+		}
 	}
 
 	public static class PropertyMetaComparator implements Comparator<PropertyMeta> {
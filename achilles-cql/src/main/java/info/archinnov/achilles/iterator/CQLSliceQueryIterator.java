@@ -24,41 +24,56 @@ import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 
 import java.util.Iterator;
+import java.util.List;
 
-import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.google.common.collect.Lists;
 
 public class CQLSliceQueryIterator<T> implements Iterator<T> {
 
+	private CQLSliceQuery<T> sliceQuery;
 	private CQLPersistenceContext context;
 	private Iterator<Row> iterator;
 	private String varyingComponentName;
 	private Object lastVaryingComponentValue;
 	private Class<?> varyingComponentClass;
-	private PreparedStatement ps;
 	private EntityMeta meta;
 	private int batchSize;
 	private int count = 0;
 
+	private int prefetchCount;
+	private Object pageLastVaryingComponentValue;
+	private ResultSetFuture nextPage;
+
 	private CQLEntityMapper mapper = new CQLEntityMapper();
 	private CQLRowMethodInvoker cqlInvoker = new CQLRowMethodInvoker();
 	private CQLEntityProxifier proxifier = new CQLEntityProxifier();
 
-	public CQLSliceQueryIterator(CQLSliceQuery<T> sliceQuery, CQLPersistenceContext context, Iterator<Row> iterator,
-			PreparedStatement ps) {
+	public CQLSliceQueryIterator(CQLSliceQuery<T> sliceQuery, CQLPersistenceContext context, Iterator<Row> iterator) {
+		this.sliceQuery = sliceQuery;
 		this.context = context;
 		this.iterator = iterator;
-		this.ps = ps;
 		this.meta = sliceQuery.getMeta();
 		this.varyingComponentName = sliceQuery.getVaryingComponentName();
 		this.varyingComponentClass = sliceQuery.getVaryingComponentClass();
 		this.batchSize = sliceQuery.getBatchSize();
+		if (sliceQuery.isPrefetch()) {
+			this.prefetchCount = Math.max(1, (int) Math.ceil(batchSize * sliceQuery.getPrefetchThreshold()));
+			this.iterator = bufferPage(iterator);
+		}
 	}
 
 	@Override
 	public boolean hasNext() {
 		if (!iterator.hasNext() && count == batchSize) {
-			iterator = context.bindAndExecute(ps, lastVaryingComponentValue).iterator();
+			if (prefetchCount > 0) {
+				prefetchNextPage();
+				iterator = bufferPage(nextPage.getUninterruptibly().iterator());
+				nextPage = null;
+			} else {
+				iterator = context.executeSliceQueryFrom(sliceQuery, lastVaryingComponentValue).iterator();
+			}
 			count = 0;
 		}
 		return iterator.hasNext();
@@ -72,6 +87,9 @@ public class CQLSliceQueryIterator<T> implements Iterator<T> {
 		T clusteredEntity = meta.<T> instanciate();
 		mapper.setEagerPropertiesToEntity(row, meta, clusteredEntity);
 		count++;
+		if (count == prefetchCount) {
+			prefetchNextPage();
+		}
 		return proxify(clusteredEntity);
 	}
 
@@ -80,6 +98,29 @@ public class CQLSliceQueryIterator<T> implements Iterator<T> {
 		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
 	}
 
+	/**
+	 * A full page is kept in memory so that the varying component value of its
+	 * last row is known before the consumer reaches it, at most one more page
+	 * is being fetched in the background
+	 */
+	private Iterator<Row> bufferPage(Iterator<Row> rows) {
+		List<Row> page = Lists.newArrayList(rows);
+		if (page.size() == batchSize) {
+			Row lastRow = page.get(page.size() - 1);
+			pageLastVaryingComponentValue = cqlInvoker.invokeOnRowForType(lastRow, varyingComponentClass,
+					varyingComponentName);
+		} else {
+			pageLastVaryingComponentValue = null;
+		}
+		return page.iterator();
+	}
+
+	private void prefetchNextPage() {
+		if (nextPage == null && pageLastVaryingComponentValue != null) {
+			nextPage = context.executeSliceQueryFromAsync(sliceQuery, pageLastVaryingComponentValue);
+		}
+	}
+
 	private T proxify(T clusteredEntity) {
 		CQLPersistenceContext duplicate = context.duplicate(clusteredEntity);
 		return proxifier.buildProxy(clusteredEntity, duplicate);
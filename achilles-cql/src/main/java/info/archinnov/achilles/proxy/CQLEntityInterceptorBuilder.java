@@ -19,6 +19,7 @@ package info.archinnov.achilles.proxy;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
@@ -69,11 +70,16 @@ public class CQLEntityInterceptorBuilder<T> {
 		interceptor.setIdGetter(entityMeta.getIdMeta().getGetter());
 		interceptor.setIdSetter(entityMeta.getIdMeta().getSetter());
 
+		LoadedPropertySet loaded = new LoadedPropertySet(entityMeta.getGetterMetas());
+		loaded.addAll(alreadyLoaded);
 		if (context.isLoadEagerFields() && alreadyLoaded.isEmpty()) {
-			alreadyLoaded.addAll(entityMeta.getEagerGetters());
+			for (PropertyMeta eagerMeta : entityMeta.getEagerMetas()) {
+				loaded.add(eagerMeta);
+			}
 		}
-		interceptor.setAlreadyLoaded(alreadyLoaded);
-		interceptor.setDirtyMap(new HashMap<Method, PropertyMeta>());
+		interceptor.setAlreadyLoaded(loaded);
+		interceptor.setDirtyMap(new DirtyPropertyMap(entityMeta.getGetterMetas().size()));
+		interceptor.setMutationsMap(new HashMap<Method, CollectionMutations>());
 		interceptor.setPrimaryKey(context.getPrimaryKey());
 
 		return interceptor;
@@ -27,7 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.Row;
 
 public class CQLRowMethodInvoker {
@@ -69,14 +69,12 @@ public class CQLRowMethodInvoker {
 		List<Object> rawValues = new ArrayList<Object>(Collections.nCopies(componentNames.size(), null));
 
 		try {
-			for (Definition column : row.getColumnDefinitions()) {
-				String columnName = column.getName();
-				int index = componentNames.indexOf(columnName);
-				Object rawValue = null;
-				if (index >= 0) {
-					Class<?> componentClass = componentClasses.get(index);
-					rawValue = getRowMethod(componentClass).invoke(row, columnName);
-					rawValues.set(index, rawValue);
+			ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+			for (int i = 0; i < componentNames.size(); i++) {
+				String componentName = componentNames.get(i);
+				if (columnDefinitions.contains(componentName)) {
+					int index = columnDefinitions.getIndexOf(componentName);
+					rawValues.set(i, getColumnReader(componentClasses.get(i)).read(row, index));
 				}
 			}
 			if (isManagedEntity) {
@@ -95,7 +93,7 @@ public class CQLRowMethodInvoker {
 
 	private Object invokeOnRowForProperty(Row row, PropertyMeta pm, String propertyName, Class<?> valueClass) {
 		try {
-			Object rawValue = getRowMethod(valueClass).invoke(row, propertyName);
+			Object rawValue = getColumnReader(valueClass).read(row, propertyName);
 			return pm.decode(rawValue);
 		} catch (Exception e) {
 			throw new AchillesException("Cannot retrieve property '" + propertyName + "' for entity class '"
@@ -137,7 +135,7 @@ public class CQLRowMethodInvoker {
 
 	public Object invokeOnRowForType(Row row, Class<?> type, String name) {
 		try {
-			return getRowMethod(type).invoke(row, name);
+			return getColumnReader(type).read(row, name);
 		} catch (Exception e) {
 			throw new AchillesException("Cannot retrieve column '" + name + "' of type '" + type.getCanonicalName()
 					+ "' from CQL Row", e);
@@ -0,0 +1,194 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.cql.CQLTypeMapper.*;
+import info.archinnov.achilles.cql.CQLColumnReader;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+/**
+ * Row mapping compiled once for an entity and a result column layout. Each
+ * mapped property is bound to its column index and a typed reader so rows
+ * are read by index, without reflection nor column name lookup
+ */
+public class CQLRowReader {
+
+	private final ColumnDefinitions columnDefinitions;
+	private final Map<String, PropertyMeta> columnMetas;
+	private final boolean isManagedEntity;
+	private final boolean setNullValues;
+
+	private final PropertyMeta[] propertyMetas;
+	private final int[] indexes;
+	private final CQLColumnReader[] readers;
+
+	private final PropertyMeta embeddedIdMeta;
+	private final int[] componentIndexes;
+	private final CQLColumnReader[] componentReaders;
+
+	public CQLRowReader(ColumnDefinitions columnDefinitions, Map<String, PropertyMeta> columnMetas,
+			PropertyMeta embeddedIdMeta, boolean isManagedEntity, boolean setNullValues) {
+		this.columnDefinitions = columnDefinitions;
+		this.columnMetas = columnMetas;
+		this.isManagedEntity = isManagedEntity;
+		this.setNullValues = setNullValues;
+
+		List<PropertyMeta> metas = new ArrayList<PropertyMeta>();
+		List<Integer> columnIndexes = new ArrayList<Integer>();
+		List<CQLColumnReader> columnReaders = new ArrayList<CQLColumnReader>();
+		for (int i = 0; i < columnDefinitions.size(); i++) {
+			PropertyMeta pm = columnMetas.get(columnDefinitions.getName(i));
+			if (pm != null && !pm.isEmbeddedId()) {
+				CQLColumnReader reader = buildReader(pm);
+				if (reader != null) {
+					metas.add(pm);
+					columnIndexes.add(i);
+					columnReaders.add(reader);
+				}
+			}
+		}
+		propertyMetas = metas.toArray(new PropertyMeta[metas.size()]);
+		readers = columnReaders.toArray(new CQLColumnReader[columnReaders.size()]);
+		indexes = new int[columnIndexes.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = columnIndexes.get(i);
+		}
+
+		this.embeddedIdMeta = embeddedIdMeta;
+		if (embeddedIdMeta != null) {
+			List<String> componentNames = embeddedIdMeta.getCQLComponentNames();
+			List<Class<?>> componentClasses = embeddedIdMeta.getComponentClasses();
+			componentIndexes = new int[componentNames.size()];
+			componentReaders = new CQLColumnReader[componentNames.size()];
+			for (int i = 0; i < componentIndexes.length; i++) {
+				String componentName = componentNames.get(i);
+				componentIndexes[i] = columnDefinitions.contains(componentName) ? columnDefinitions
+						.getIndexOf(componentName) : -1;
+				componentReaders[i] = getColumnReader(componentClasses.get(i));
+			}
+		} else {
+			componentIndexes = null;
+			componentReaders = null;
+		}
+	}
+
+	public boolean isCompiledFor(ColumnDefinitions otherDefinitions) {
+		if (otherDefinitions == columnDefinitions) {
+			return true;
+		}
+		if (otherDefinitions == null || otherDefinitions.size() != columnDefinitions.size()) {
+			return false;
+		}
+		for (int i = 0; i < columnDefinitions.size(); i++) {
+			if (!columnDefinitions.getName(i).equals(otherDefinitions.getName(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean isCompiledFrom(Map<String, PropertyMeta> otherColumnMetas, boolean otherManagedEntity) {
+		return otherColumnMetas == columnMetas && otherManagedEntity == isManagedEntity;
+	}
+
+	public void read(Row row, Object entity) {
+		for (int i = 0; i < propertyMetas.length; i++) {
+			PropertyMeta pm = propertyMetas[i];
+			int index = indexes[i];
+			if (!row.isNull(index)) {
+				pm.setValueToField(entity, readProperty(row, pm, index, readers[i]));
+			} else if (setNullValues) {
+				pm.setValueToField(entity, null);
+			}
+		}
+		if (embeddedIdMeta != null) {
+			embeddedIdMeta.setValueToField(entity, readCompoundPrimaryKey(row));
+		}
+	}
+
+	private Object readProperty(Row row, PropertyMeta pm, int index, CQLColumnReader reader) {
+		try {
+			Object rawValue = reader.read(row, index);
+			if (rawValue instanceof List) {
+				return pm.decode((List<?>) rawValue);
+			} else if (rawValue instanceof Set) {
+				return pm.decode((Set<?>) rawValue);
+			} else if (rawValue instanceof Map) {
+				return pm.decode((Map<?, ?>) rawValue);
+			} else {
+				return pm.decode(rawValue);
+			}
+		} catch (Exception e) {
+			throw new AchillesException("Cannot retrieve property '" + pm.getPropertyName() + "' for entity class '"
+					+ pm.getEntityClassName() + "' from CQL Row", e);
+		}
+	}
+
+	private Object readCompoundPrimaryKey(Row row) {
+		Object[] rawValues = new Object[componentIndexes.length];
+		try {
+			for (int i = 0; i < componentIndexes.length; i++) {
+				int index = componentIndexes[i];
+				if (index >= 0) {
+					rawValues[i] = componentReaders[i].read(row, index);
+				}
+			}
+			if (isManagedEntity) {
+				for (int i = 0; i < rawValues.length; i++) {
+					Validator.validateNotNull(rawValues[i],
+							"Error, the component '%s' from @EmbeddedId class '%s' cannot be found in Cassandra",
+							embeddedIdMeta.getCQLComponentNames().get(i), embeddedIdMeta.getValueClass());
+				}
+			}
+			return embeddedIdMeta.decodeFromComponents(Arrays.asList(rawValues));
+		} catch (Exception e) {
+			throw new AchillesException("Cannot retrieve compound primary key for entity class '"
+					+ embeddedIdMeta.getEntityClassName() + "' from CQL Row", e);
+		}
+	}
+
+	private CQLColumnReader buildReader(PropertyMeta pm) {
+		switch (pm.type()) {
+		case LIST:
+		case LAZY_LIST:
+			return getListReader(pm.getValueClass());
+		case SET:
+		case LAZY_SET:
+			return getSetReader(pm.getValueClass());
+		case MAP:
+		case LAZY_MAP:
+			return getMapReader(pm.getKeyClass(), pm.getValueClass());
+		case ID:
+		case SIMPLE:
+		case LAZY_SIMPLE:
+			return getColumnReader(pm.getValueClass());
+		default:
+			return null;
+		}
+	}
+}
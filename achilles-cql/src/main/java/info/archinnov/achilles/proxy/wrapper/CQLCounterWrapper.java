@@ -37,21 +37,25 @@ public class CQLCounterWrapper implements Counter {
 	public Long get() {
 		ConsistencyLevel readLevel = getReadRuntimeConsistencyIfPossible();
 		if (clusteredCounter)
-			return context.getClusteredCounter(counterMeta, readLevel);
+			return withPendingDelta(context.getClusteredCounter(counterMeta, readLevel));
 		else
-			return context.getSimpleCounter(counterMeta, readLevel);
+			return withPendingDelta(context.getSimpleCounter(counterMeta, readLevel));
 	}
 
 	@Override
 	public Long get(ConsistencyLevel readLevel) {
 		if (clusteredCounter)
-			return context.getClusteredCounter(counterMeta, readLevel);
+			return withPendingDelta(context.getClusteredCounter(counterMeta, readLevel));
 		else
-			return context.getSimpleCounter(counterMeta, readLevel);
+			return withPendingDelta(context.getSimpleCounter(counterMeta, readLevel));
 	}
 
 	@Override
 	public void incr() {
+		if (context.isCounterWriteBehind()) {
+			context.addPendingCounterDelta(counterMeta, 1L);
+			return;
+		}
 		ConsistencyLevel writeLevel = getWriteRuntimeConsistencyIfPossible();
 		if (clusteredCounter)
 			context.incrementClusteredCounter(counterMeta, 1L, writeLevel);
@@ -69,6 +73,10 @@ public class CQLCounterWrapper implements Counter {
 
 	@Override
 	public void incr(Long increment) {
+		if (context.isCounterWriteBehind()) {
+			context.addPendingCounterDelta(counterMeta, increment);
+			return;
+		}
 		ConsistencyLevel writeLevel = getWriteRuntimeConsistencyIfPossible();
 		if (clusteredCounter)
 			context.incrementClusteredCounter(counterMeta, increment, writeLevel);
@@ -86,6 +94,10 @@ public class CQLCounterWrapper implements Counter {
 
 	@Override
 	public void decr() {
+		if (context.isCounterWriteBehind()) {
+			context.addPendingCounterDelta(counterMeta, -1L);
+			return;
+		}
 		ConsistencyLevel writeLevel = getWriteRuntimeConsistencyIfPossible();
 		if (clusteredCounter)
 			context.decrementClusteredCounter(counterMeta, 1L, writeLevel);
@@ -103,6 +115,10 @@ public class CQLCounterWrapper implements Counter {
 
 	@Override
 	public void decr(Long decrement) {
+		if (context.isCounterWriteBehind()) {
+			context.addPendingCounterDelta(counterMeta, -decrement);
+			return;
+		}
 		ConsistencyLevel writeLevel = getWriteRuntimeConsistencyIfPossible();
 		if (clusteredCounter)
 			context.decrementClusteredCounter(counterMeta, decrement, writeLevel);
@@ -118,6 +134,14 @@ public class CQLCounterWrapper implements Counter {
 			context.decrementSimpleCounter(counterMeta, decrement, writeLevel);
 	}
 
+	private Long withPendingDelta(Long value) {
+		long pendingDelta = context.getPendingCounterDelta(counterMeta);
+		if (pendingDelta == 0) {
+			return value;
+		}
+		return value == null ? pendingDelta : value + pendingDelta;
+	}
+
 	private ConsistencyLevel getReadRuntimeConsistencyIfPossible() {
 		return context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel().get() : counterMeta
 				.getReadConsistencyLevel();
@@ -18,12 +18,17 @@ package info.archinnov.achilles.query.cql;
 
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.operations.CQLNativeQueryMapper;
+import info.archinnov.achilles.statement.CQLStatementGenerator;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SimpleStatement;
+import com.google.common.base.Function;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
 
 public class CQLNativeQueryBuilder {
 
@@ -31,6 +36,14 @@ public class CQLNativeQueryBuilder {
 	private String queryString;
 
 	private CQLNativeQueryMapper mapper = new CQLNativeQueryMapper();
+	private CQLStatementGenerator generator = new CQLStatementGenerator();
+
+	private Function<Row, Map<String, Object>> rowToMap = new Function<Row, Map<String, Object>>() {
+		@Override
+		public Map<String, Object> apply(Row row) {
+			return mapper.mapRow(row);
+		}
+	};
 
 	public CQLNativeQueryBuilder(CQLDaoContext daoContext, String queryString) {
 		this.daoContext = daoContext;
@@ -50,19 +63,33 @@ public class CQLNativeQueryBuilder {
 		return mapper.mapRows(rows);
 	}
 
+	/**
+	 * Return an iterator on found rows. Each row is mapped lazily to a
+	 * (column name, column value) LinkedHashMap while iterating, so that large
+	 * result sets are never materialized as a whole list of maps
+	 * 
+	 * @return Iterator<Map<String, Object>>
+	 */
+	public Iterator<Map<String, Object>> iterator() {
+		Iterator<Row> rows = daoContext.execute(new SimpleStatement(queryString)).iterator();
+		return Iterators.filter(Iterators.transform(rows, rowToMap), Predicates.notNull());
+	}
+
 	/**
 	 * Return the first found row. The map contains the (column name, column
 	 * value) of each row. The map is backed by a LinkedHashMap and thus
-	 * preserves the columns order as they were declared in the native query
+	 * preserves the columns order as they were declared in the native query.
+	 * A LIMIT 1 clause is added to SELECT queries having no limit so that only
+	 * one row is fetched
 	 * 
 	 * @return Map<String, Object>
 	 */
 	public Map<String, Object> first() {
-		List<Row> rows = daoContext.execute(new SimpleStatement(queryString)).all();
-		List<Map<String, Object>> result = mapper.mapRows(rows);
-		if (result.isEmpty())
+		String firstRowQuery = generator.generateFirstRowQuery(queryString);
+		Row row = daoContext.execute(new SimpleStatement(firstRowQuery)).one();
+		if (row == null)
 			return null;
 		else
-			return result.get(0);
+			return mapper.mapRow(row);
 	}
 }
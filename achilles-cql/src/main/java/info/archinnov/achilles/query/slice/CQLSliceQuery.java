@@ -65,6 +65,32 @@ public class CQLSliceQuery<T> {
 		return lastEndComp;
 	}
 
+	/**
+	 * Values for the select statement, in bind markers order: fixed
+	 * components, then the start and end bounds of the varying component when
+	 * set
+	 */
+	public Object[] getBoundValuesForSelect() {
+		List<Object> boundValues = new ArrayList<Object>(fixedComponents);
+		if (lastStartComp != null)
+			boundValues.add(lastStartComp);
+		if (lastEndComp != null)
+			boundValues.add(lastEndComp);
+		return boundValues.toArray();
+	}
+
+	public Object[] getBoundValuesForIterator(Object lastVaryingComponentValue) {
+		List<Object> boundValues = new ArrayList<Object>(fixedComponents);
+		boundValues.add(lastVaryingComponentValue);
+		if (lastEndComp != null)
+			boundValues.add(lastEndComp);
+		return boundValues.toArray();
+	}
+
+	public Object[] getBoundValuesForRemove() {
+		return fixedComponents.toArray();
+	}
+
 	public int getLimit() {
 		return sliceQuery.getLimit();
 	}
@@ -118,6 +144,14 @@ public class CQLSliceQuery<T> {
 		return sliceQuery.getBatchSize();
 	}
 
+	public boolean isPrefetch() {
+		return sliceQuery.isPrefetch();
+	}
+
+	public float getPrefetchThreshold() {
+		return sliceQuery.getPrefetchThreshold();
+	}
+
 	private void validateClusteringComponents(SliceQuery<T> sliceQuery) {
 		validator.validateComponentsForSliceQuery(sliceQuery.getClusteringsFrom(), sliceQuery.getClusteringsTo(),
 				sliceQuery.getOrdering());
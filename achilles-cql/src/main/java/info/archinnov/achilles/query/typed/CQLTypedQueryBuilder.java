@@ -23,12 +23,14 @@ import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.statement.CQLStatementGenerator;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -38,6 +40,9 @@ import java.util.regex.Pattern;
 
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SimpleStatement;
+import com.google.common.base.Function;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
 
 public class CQLTypedQueryBuilder<T> {
 
@@ -57,6 +62,14 @@ public class CQLTypedQueryBuilder<T> {
 
 	private CQLEntityMapper mapper = new CQLEntityMapper();
 	private CQLEntityProxifier proxifier = new CQLEntityProxifier();
+	private CQLStatementGenerator generator = new CQLStatementGenerator();
+
+	private Function<Row, T> rowToEntity = new Function<Row, T>() {
+		@Override
+		public T apply(Row row) {
+			return mapRow(row);
+		}
+	};
 
 	public CQLTypedQueryBuilder(Class<T> entityClass, CQLDaoContext daoContext, String queryString, EntityMeta meta,
 			CQLPersistenceContextFactory contextFactory, boolean managed, boolean toLowerCase) {
@@ -86,34 +99,53 @@ public class CQLTypedQueryBuilder<T> {
 		List<T> result = new ArrayList<T>();
 		List<Row> rows = daoContext.execute(new SimpleStatement(normalizedQuery)).all();
 		for (Row row : rows) {
-			T entity = mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertiesMap, managed);
+			T entity = mapRow(row);
 			if (entity != null) {
-				if (managed) {
-					entity = buildProxy(entity);
-				}
 				result.add(entity);
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Executes the query and returns an iterator on entities
+	 * 
+	 * Rows are mapped to entities lazily, one at a time while iterating, so
+	 * that large result sets are never materialized as a whole list of
+	 * entities. Null or empty rows are skipped
+	 * 
+	 * @return Iterator<T> iterator on found entities
+	 * 
+	 */
+	public Iterator<T> iterator() {
+		Iterator<Row> rows = daoContext.execute(new SimpleStatement(normalizedQuery)).iterator();
+		return Iterators.filter(Iterators.transform(rows, rowToEntity), Predicates.notNull());
+	}
+
 	/**
 	 * Executes the query and returns first entity
 	 * 
-	 * Matching CQL row is mapped to entity by reflection. All un-mapped columns
-	 * are ignored.
+	 * A LIMIT 1 clause is added to the query if it has no limit so that only
+	 * one row is fetched. Matching CQL row is mapped to entity by reflection.
+	 * All un-mapped columns are ignored.
 	 * 
 	 * @return T first found entity or null
 	 * 
 	 */
 	public T getFirst() {
 		T entity = null;
-		Row row = daoContext.execute(new SimpleStatement(normalizedQuery)).one();
+		String firstRowQuery = generator.generateFirstRowQuery(normalizedQuery);
+		Row row = daoContext.execute(new SimpleStatement(firstRowQuery)).one();
 		if (row != null) {
-			entity = mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertiesMap, managed);
-			if (entity != null && managed) {
-				entity = buildProxy(entity);
-			}
+			entity = mapRow(row);
+		}
+		return entity;
+	}
+
+	private T mapRow(Row row) {
+		T entity = mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertiesMap, managed);
+		if (entity != null && managed) {
+			entity = buildProxy(entity);
 		}
 		return entity;
 	}
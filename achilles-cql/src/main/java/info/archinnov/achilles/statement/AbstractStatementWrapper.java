@@ -0,0 +1,124 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import com.datastax.driver.core.Query;
+
+public abstract class AbstractStatementWrapper {
+
+	/**
+	 * Table name followed by the primary key values of the CQL row targeted by
+	 * the statement. Two statements sharing the same row key must not be sent
+	 * in the same batch since they would share the same write timestamp
+	 */
+	protected List<Object> rowKey;
+
+	/**
+	 * Number of row key values, after the table name, making the partition
+	 * key
+	 */
+	protected int partitionKeySize;
+
+	protected boolean counterUpdate;
+
+	private int estimatedSize = -1;
+
+	protected AbstractStatementWrapper(List<Object> rowKey, boolean counterUpdate) {
+		this(rowKey, rowKey == null ? 0 : rowKey.size() - 1, counterUpdate);
+	}
+
+	protected AbstractStatementWrapper(List<Object> rowKey, int partitionKeySize, boolean counterUpdate) {
+		this.rowKey = rowKey;
+		this.partitionKeySize = partitionKeySize;
+		this.counterUpdate = counterUpdate;
+	}
+
+	public abstract Query getQuery();
+
+	public abstract String getQueryString();
+
+	public abstract Object[] getValues();
+
+	public List<Object> getRowKey() {
+		return rowKey;
+	}
+
+	/**
+	 * Table name followed by the partition key values, null when the row key
+	 * is unknown
+	 */
+	public List<Object> getPartitionKey() {
+		return rowKey == null ? null : rowKey.subList(0, partitionKeySize + 1);
+	}
+
+	public boolean isCounterUpdate() {
+		return counterUpdate;
+	}
+
+	/**
+	 * Rough size in bytes of the statement once sent: query string and bound
+	 * values
+	 */
+	public int estimateSize() {
+		if (estimatedSize < 0) {
+			int size = getQueryString().length();
+			for (Object value : getValues()) {
+				size += estimateSize(value);
+			}
+			estimatedSize = size;
+		}
+		return estimatedSize;
+	}
+
+	private int estimateSize(Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof String) {
+			return ((String) value).length();
+		} else if (value instanceof ByteBuffer) {
+			return ((ByteBuffer) value).remaining();
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).length;
+		} else if (value instanceof Number || value instanceof Date) {
+			return 8;
+		} else if (value instanceof UUID) {
+			return 16;
+		} else if (value instanceof Collection) {
+			int size = 0;
+			for (Object element : (Collection<?>) value) {
+				size += estimateSize(element);
+			}
+			return size;
+		} else if (value instanceof Map) {
+			int size = 0;
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+			}
+			return size;
+		} else {
+			return value.toString().length();
+		}
+	}
+}
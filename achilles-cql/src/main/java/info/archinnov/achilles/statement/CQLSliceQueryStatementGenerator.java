@@ -28,6 +28,12 @@ import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Select;
 import com.datastax.driver.core.querybuilder.Select.Where;
 
+/**
+ * Slice query where clauses only contain bind markers so that the statements
+ * can be prepared once per query shape, see
+ * {@link info.archinnov.achilles.query.slice.CQLSliceQuery#getBoundValuesForSelect()}
+ * for the bound values order
+ */
 public class CQLSliceQueryStatementGenerator {
 
 	public <T> Statement generateWhereClauseForSelectSliceQuery(CQLSliceQuery<T> sliceQuery, Select select) {
@@ -42,7 +48,7 @@ public class CQLSliceQueryStatementGenerator {
 		Object lastEndComp = sliceQuery.getLastEndComponent();
 
 		for (int i = 0; i < fixedComponents.size(); i++) {
-			where.and(eq(componentNames.get(i), fixedComponents.get(i)));
+			where.and(eq(componentNames.get(i), bindMarker()));
 		}
 
 		if (ordering == ASCENDING) {
@@ -50,27 +56,27 @@ public class CQLSliceQueryStatementGenerator {
 			switch (sliceQuery.getBounding()) {
 			case INCLUSIVE_BOUNDS:
 				if (lastStartComp != null)
-					where.and(gte(varyingComponentName, lastStartComp));
+					where.and(gte(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lte(varyingComponentName, lastEndComp));
+					where.and(lte(varyingComponentName, bindMarker()));
 				break;
 			case EXCLUSIVE_BOUNDS:
 				if (lastStartComp != null)
-					where.and(gt(varyingComponentName, lastStartComp));
+					where.and(gt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lt(varyingComponentName, lastEndComp));
+					where.and(lt(varyingComponentName, bindMarker()));
 				break;
 			case INCLUSIVE_START_BOUND_ONLY:
 				if (lastStartComp != null)
-					where.and(gte(varyingComponentName, lastStartComp));
+					where.and(gte(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lt(varyingComponentName, lastEndComp));
+					where.and(lt(varyingComponentName, bindMarker()));
 				break;
 			case INCLUSIVE_END_BOUND_ONLY:
 				if (lastStartComp != null)
-					where.and(gt(varyingComponentName, lastStartComp));
+					where.and(gt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lte(varyingComponentName, lastEndComp));
+					where.and(lte(varyingComponentName, bindMarker()));
 				break;
 			}
 		} else // ordering == DESCENDING
@@ -78,27 +84,27 @@ public class CQLSliceQueryStatementGenerator {
 			switch (sliceQuery.getBounding()) {
 			case INCLUSIVE_BOUNDS:
 				if (lastStartComp != null)
-					where.and(lte(varyingComponentName, lastStartComp));
+					where.and(lte(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gte(varyingComponentName, lastEndComp));
+					where.and(gte(varyingComponentName, bindMarker()));
 				break;
 			case EXCLUSIVE_BOUNDS:
 				if (lastStartComp != null)
-					where.and(lt(varyingComponentName, lastStartComp));
+					where.and(lt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gt(varyingComponentName, lastEndComp));
+					where.and(gt(varyingComponentName, bindMarker()));
 				break;
 			case INCLUSIVE_START_BOUND_ONLY:
 				if (lastStartComp != null)
-					where.and(lte(varyingComponentName, lastStartComp));
+					where.and(lte(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gt(varyingComponentName, lastEndComp));
+					where.and(gt(varyingComponentName, bindMarker()));
 				break;
 			case INCLUSIVE_END_BOUND_ONLY:
 				if (lastStartComp != null)
-					where.and(lt(varyingComponentName, lastStartComp));
+					where.and(lt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gte(varyingComponentName, lastEndComp));
+					where.and(gte(varyingComponentName, bindMarker()));
 				break;
 			}
 
@@ -113,7 +119,7 @@ public class CQLSliceQueryStatementGenerator {
 		com.datastax.driver.core.querybuilder.Delete.Where where = delete.where();
 
 		for (int i = 0; i < fixedComponents.size(); i++) {
-			where.and(eq(componentNames.get(i), fixedComponents.get(i)));
+			where.and(eq(componentNames.get(i), bindMarker()));
 		}
 		return where;
 	}
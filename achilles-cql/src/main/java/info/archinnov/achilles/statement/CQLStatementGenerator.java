@@ -17,22 +17,30 @@
 package info.archinnov.achilles.statement;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
-import info.archinnov.achilles.context.CQLDaoContext;
+import static info.archinnov.achilles.statement.prepared.CQLBindingPlan.isNullColumn;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.statement.prepared.CQLSliceQueryPreparedStatementGenerator;
+import info.archinnov.achilles.validation.Validator;
 
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import com.datastax.driver.core.PreparedStatement;
-import com.datastax.driver.core.Query;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.Assignment;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -43,11 +51,18 @@ import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.google.common.collect.FluentIterable;
 
 public class CQLStatementGenerator {
+	private static final Pattern PLAIN_SELECT_PATTERN = Pattern.compile("^\\s*select\\s+(?!count\\s*\\()",
+			Pattern.CASE_INSENSITIVE);
+	private static final Pattern LIMIT_PATTERN = Pattern.compile("\\slimit\\s+\\d+(\\s+allow\\s+filtering)?\\s*$",
+			Pattern.CASE_INSENSITIVE);
+	private static final Pattern ALLOW_FILTERING_PATTERN = Pattern.compile("\\s+allow\\s+filtering\\s*$",
+			Pattern.CASE_INSENSITIVE);
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
 	private CQLSliceQueryStatementGenerator sliceQueryGenerator = new CQLSliceQueryStatementGenerator();
 	private CQLSliceQueryPreparedStatementGenerator sliceQueryPreparedGenerator = new CQLSliceQueryPreparedStatementGenerator();
 
-	public <T> Query generateSelectSliceQuery(CQLSliceQuery<T> sliceQuery, int limit) {
+	public <T> Statement generateSelectSliceQuery(CQLSliceQuery<T> sliceQuery, int limit) {
 		EntityMeta meta = sliceQuery.getMeta();
 
 		Select select = generateSelectEntity(meta);
@@ -56,34 +71,26 @@ public class CQLStatementGenerator {
 			select.orderBy(sliceQuery.getCQLOrdering());
 		}
 
-		Statement where = sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
-
-		return where.setConsistencyLevel(sliceQuery.getConsistencyLevel());
+		return sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
 	}
 
-	public <T> PreparedStatement generateIteratorSliceQuery(CQLSliceQuery<T> sliceQuery, CQLDaoContext daoContext) {
+	public <T> Statement generateIteratorSliceQuery(CQLSliceQuery<T> sliceQuery) {
 		EntityMeta meta = sliceQuery.getMeta();
 
 		Select select = generateSelectEntity(meta);
-		select = select.limit(sliceQuery.getLimit());
+		select = select.limit(sliceQuery.getBatchSize());
 		if(sliceQuery.getCQLOrdering()!=null){
 			select.orderBy(sliceQuery.getCQLOrdering());
 		}
 
-		Statement where = sliceQueryPreparedGenerator.generateWhereClauseForIteratorSliceQuery(sliceQuery, select);
-
-		PreparedStatement preparedStatement = daoContext.prepare(where);
-		preparedStatement.setConsistencyLevel(sliceQuery.getConsistencyLevel());
-		return preparedStatement;
+		return sliceQueryPreparedGenerator.generateWhereClauseForIteratorSliceQuery(sliceQuery, select);
 	}
 
-	public <T> Query generateRemoveSliceQuery(CQLSliceQuery<T> sliceQuery) {
+	public <T> Statement generateRemoveSliceQuery(CQLSliceQuery<T> sliceQuery) {
 		EntityMeta meta = sliceQuery.getMeta();
 
 		Delete delete = QueryBuilder.delete().from(meta.getTableName());
-		Statement where = sliceQueryGenerator.generateWhereClauseForDeleteSliceQuery(sliceQuery, delete);
-
-		return where.setConsistencyLevel(sliceQuery.getConsistencyLevel());
+		return sliceQueryGenerator.generateWhereClauseForDeleteSliceQuery(sliceQuery, delete);
 	}
 
 	public Select generateSelectEntity(EntityMeta entityMeta) {
@@ -103,6 +110,10 @@ public class CQLStatementGenerator {
 	}
 
 	public Insert generateInsert(Object entity, EntityMeta entityMeta) {
+		return generateInsert(entity, entityMeta, false);
+	}
+
+	public Insert generateInsert(Object entity, EntityMeta entityMeta, boolean skipNullColumns) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Insert insert = insertInto(entityMeta.getTableName());
 		generateInsertPrimaryKey(entity, idMeta, insert);
@@ -115,8 +126,10 @@ public class CQLStatementGenerator {
 
 		for (PropertyMeta pm : fieldMetas) {
 			Object value = pm.getValueFromField(entity);
-			value = encodeValueForCassandra(pm, value);
-			insert.value(pm.getPropertyName(), value);
+			if (!skipNullColumns || !isNullColumn(value)) {
+				value = encodeValueForCassandra(pm, value);
+				insert.value(pm.getPropertyName(), value);
+			}
 		}
 		return insert;
 	}
@@ -140,6 +153,183 @@ public class CQLStatementGenerator {
 		return generateWhereClauseForUpdate(entity, idMeta, assignments);
 	}
 
+	/**
+	 * Generate a single UPDATE carrying the element-level changes of the given
+	 * collection properties, or null when they only remove map keys
+	 */
+	public Update.Assignments generateCollectionMutations(Object entity, EntityMeta entityMeta,
+			Map<PropertyMeta, CollectionMutations> mutationsByMeta) {
+		List<Assignment> assignments = new ArrayList<Assignment>();
+		for (Entry<PropertyMeta, CollectionMutations> entry : mutationsByMeta.entrySet()) {
+			PropertyMeta pm = entry.getKey();
+			CollectionMutations mutations = entry.getValue();
+			String name = pm.getPropertyName();
+			switch (pm.type()) {
+			case LIST:
+			case LAZY_LIST:
+				if (!mutations.getAppendedElements().isEmpty()) {
+					assignments.add(appendAll(name, (List<?>) pm.encode(mutations.getAppendedElements())));
+				}
+				if (!mutations.getPrependedElements().isEmpty()) {
+					assignments.add(prependAll(name, (List<?>) pm.encode(mutations.getPrependedElements())));
+				}
+				for (Entry<Integer, Object> elementAtIndex : mutations.getElementsAtIndex().entrySet()) {
+					assignments.add(setIdx(name, elementAtIndex.getKey(), pm.encode(elementAtIndex.getValue())));
+				}
+				if (!mutations.getDiscardedElements().isEmpty()) {
+					assignments.add(discardAll(name, (List<?>) pm.encode(mutations.getDiscardedElements())));
+				}
+				break;
+			case SET:
+			case LAZY_SET:
+				if (!mutations.getAddedElements().isEmpty()) {
+					assignments.add(addAll(name, pm.encode(mutations.getAddedElements())));
+				}
+				if (!mutations.getRemovedElements().isEmpty()) {
+					assignments.add(removeAll(name, pm.encode(mutations.getRemovedElements())));
+				}
+				break;
+			case MAP:
+			case LAZY_MAP:
+				if (!mutations.getPutEntries().isEmpty()) {
+					assignments.add(putAll(name, pm.encode(mutations.getPutEntries())));
+				}
+				break;
+			default:
+				throw new AchillesException("Cannot generate collection mutations for property '" + name
+						+ "' of type '" + pm.type().name() + "'");
+			}
+		}
+
+		if (assignments.isEmpty()) {
+			return null;
+		}
+		Assignments update = update(entityMeta.getTableName()).with(assignments.get(0));
+		for (int i = 1; i < assignments.size(); i++) {
+			update.and(assignments.get(i));
+		}
+		return generateWhereClauseForUpdate(entity, entityMeta.getIdMeta(), update);
+	}
+
+	/**
+	 * Generate the DELETE of the map keys removed from the given properties,
+	 * or null when no key has been removed
+	 */
+	public Delete.Where generateMapKeysRemoval(Object entity, EntityMeta entityMeta,
+			Map<PropertyMeta, CollectionMutations> mutationsByMeta) {
+		Delete.Selection selection = QueryBuilder.delete();
+		boolean hasRemovedKeys = false;
+		for (Entry<PropertyMeta, CollectionMutations> entry : mutationsByMeta.entrySet()) {
+			PropertyMeta pm = entry.getKey();
+			for (Object key : entry.getValue().getRemovedKeys()) {
+				selection.mapElt(pm.getPropertyName(), pm.encodeKey(key));
+				hasRemovedKeys = true;
+			}
+		}
+
+		if (!hasRemovedKeys) {
+			return null;
+		}
+		return generateWhereClauseForDelete(entity, entityMeta.getIdMeta(), selection.from(entityMeta.getTableName()));
+	}
+
+	public String generateBatchQuery(BatchType batchType, List<String> queries) {
+		StringBuilder batch = new StringBuilder(batchType.header()).append(" ");
+		for (String query : queries) {
+			String trimmed = query.trim();
+			batch.append(trimmed);
+			if (!trimmed.endsWith(";")) {
+				batch.append(";");
+			}
+			batch.append(" ");
+		}
+		return batch.append("APPLY BATCH").toString();
+	}
+
+	/**
+	 * Replace the bind markers of a prepared query with the CQL literals of
+	 * its bound values, so that the query can be sent unprepared
+	 */
+	public String inlineBoundValues(String query, Object[] values) {
+		StringBuilder inlined = new StringBuilder(query.length() + 16 * values.length);
+		boolean inQuotes = false;
+		int valueIndex = 0;
+		for (int i = 0; i < query.length(); i++) {
+			char c = query.charAt(i);
+			if (c == '\'') {
+				inQuotes = !inQuotes;
+			}
+			if (c == '?' && !inQuotes) {
+				Validator.validateTrue(valueIndex < values.length,
+						"Not enough bound values for the query '%s'", query);
+				appendLiteral(inlined, values[valueIndex++]);
+			} else {
+				inlined.append(c);
+			}
+		}
+		Validator.validateTrue(valueIndex == values.length, "Too many bound values for the query '%s'", query);
+		return inlined.toString();
+	}
+
+	private void appendLiteral(StringBuilder inlined, Object value) {
+		if (value == null) {
+			inlined.append("null");
+		} else if (value instanceof Number || value instanceof Boolean || value instanceof UUID) {
+			inlined.append(value);
+		} else if (value instanceof Date) {
+			inlined.append(((Date) value).getTime());
+		} else if (value instanceof ByteBuffer) {
+			appendBlob(inlined, (ByteBuffer) value);
+		} else if (value instanceof byte[]) {
+			appendBlob(inlined, ByteBuffer.wrap((byte[]) value));
+		} else if (value instanceof InetAddress) {
+			appendString(inlined, ((InetAddress) value).getHostAddress());
+		} else if (value instanceof List) {
+			appendElements(inlined, (List<?>) value, '[', ']');
+		} else if (value instanceof Set) {
+			appendElements(inlined, (Set<?>) value, '{', '}');
+		} else if (value instanceof Map) {
+			inlined.append('{');
+			boolean first = true;
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					inlined.append(',');
+				}
+				appendLiteral(inlined, entry.getKey());
+				inlined.append(':');
+				appendLiteral(inlined, entry.getValue());
+				first = false;
+			}
+			inlined.append('}');
+		} else {
+			appendString(inlined, value.toString());
+		}
+	}
+
+	private void appendElements(StringBuilder inlined, Iterable<?> elements, char open, char close) {
+		inlined.append(open);
+		boolean first = true;
+		for (Object element : elements) {
+			if (!first) {
+				inlined.append(',');
+			}
+			appendLiteral(inlined, element);
+			first = false;
+		}
+		inlined.append(close);
+	}
+
+	private void appendString(StringBuilder inlined, String value) {
+		inlined.append('\'').append(value.replace("'", "''")).append('\'');
+	}
+
+	private void appendBlob(StringBuilder inlined, ByteBuffer value) {
+		inlined.append("0x");
+		for (int i = value.position(); i < value.limit(); i++) {
+			inlined.append(HEX_DIGITS[(value.get(i) >> 4) & 0xF]).append(HEX_DIGITS[value.get(i) & 0xF]);
+		}
+	}
+
 	private Update.Assignments generateWhereClauseForUpdate(Object entity, PropertyMeta idMeta, Assignments update) {
 		Object primaryKey = idMeta.getPrimaryKey(entity);
 		if (idMeta.isEmbeddedId()) {
@@ -165,6 +355,25 @@ public class CQLStatementGenerator {
 		return update;
 	}
 
+	private Delete.Where generateWhereClauseForDelete(Object entity, PropertyMeta idMeta, Delete delete) {
+		Object primaryKey = idMeta.getPrimaryKey(entity);
+		Delete.Where where = null;
+		if (idMeta.isEmbeddedId()) {
+			List<String> componentNames = idMeta.getComponentNames();
+			List<Object> encodedComponents = idMeta.encodeToComponents(primaryKey);
+			for (int i = 0; i < encodedComponents.size(); i++) {
+				if (i == 0) {
+					where = delete.where(eq(componentNames.get(i), encodedComponents.get(i)));
+				} else {
+					where.and(eq(componentNames.get(i), encodedComponents.get(i)));
+				}
+			}
+		} else {
+			where = delete.where(eq(idMeta.getPropertyName(), idMeta.encode(primaryKey)));
+		}
+		return where;
+	}
+
 	private void generateInsertPrimaryKey(Object entity, PropertyMeta idMeta, Insert insert) {
 		Object primaryKey = idMeta.getPrimaryKey(entity);
 		if (idMeta.isEmbeddedId()) {
@@ -214,4 +423,24 @@ public class CQLStatementGenerator {
 		}
 	}
 
+	/**
+	 * Add a LIMIT 1 clause to a SELECT query which has none, so that only the
+	 * first row is sent back. Other queries, including COUNT(*), are returned
+	 * unchanged
+	 */
+	public String generateFirstRowQuery(String queryString) {
+		String query = queryString.trim();
+		if (query.endsWith(";")) {
+			query = query.substring(0, query.length() - 1).trim();
+		}
+		if (!PLAIN_SELECT_PATTERN.matcher(query).find() || LIMIT_PATTERN.matcher(query).find()) {
+			return queryString;
+		}
+
+		Matcher allowFiltering = ALLOW_FILTERING_PATTERN.matcher(query);
+		if (allowFiltering.find()) {
+			return query.substring(0, allowFiltering.start()) + " LIMIT 1" + query.substring(allowFiltering.start());
+		}
+		return query + " LIMIT 1";
+	}
 }
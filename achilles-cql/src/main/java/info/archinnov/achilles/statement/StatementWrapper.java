@@ -0,0 +1,58 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement;
+
+import java.util.List;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.Statement;
+
+public class StatementWrapper extends AbstractStatementWrapper {
+
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private Statement statement;
+
+	public StatementWrapper(Statement statement, List<Object> rowKey) {
+		super(rowKey, false);
+		this.statement = statement;
+	}
+
+	public StatementWrapper(Statement statement, List<Object> rowKey, int partitionKeySize) {
+		super(rowKey, partitionKeySize, false);
+		this.statement = statement;
+	}
+
+	public Statement getStatement() {
+		return statement;
+	}
+
+	@Override
+	public Query getQuery() {
+		return statement;
+	}
+
+	@Override
+	public String getQueryString() {
+		return statement.getQueryString();
+	}
+
+	@Override
+	public Object[] getValues() {
+		return NO_VALUES;
+	}
+}
@@ -16,68 +16,187 @@
  */
 package info.archinnov.achilles.statement.cache;
 
+import static info.archinnov.achilles.statement.cache.StatementCacheKey.NO_TTL;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
-import com.google.common.base.Function;
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
-import com.google.common.collect.Collections2;
-import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 public class CacheManager {
 	private CQLPreparedStatementGenerator generator = new CQLPreparedStatementGenerator();
+	private CQLStatementGenerator statementGenerator = new CQLStatementGenerator();
 
-	private Function<PropertyMeta, String> propertyExtractor = new Function<PropertyMeta, String>() {
-		@Override
-		public String apply(PropertyMeta pm) {
-			return pm.getPropertyName();
-		}
-	};
-
-	public PreparedStatement getCacheForFieldSelect(Session session,
-			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context, PropertyMeta pm) {
+	public PreparedStatement getCacheForFieldSelect(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			final PropertyMeta pm) {
 		Class<?> entityClass = context.getEntityClass();
-		EntityMeta entityMeta = context.getEntityMeta();
-		Set<String> clusteredFields = extractClusteredFieldsIfNecessary(pm);
+		final EntityMeta entityMeta = context.getEntityMeta();
 		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SELECT_FIELD, entityMeta.getTableName(),
-				clusteredFields, entityClass);
-		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
-		if (ps == null) {
-			ps = generator.prepareSelectFieldPS(session, entityMeta, pm);
-			dynamicPSCache.put(cacheKey, ps);
-		}
-		return ps;
+				entityClass, pm);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareSelectFieldPS(session, entityMeta, pm);
+			}
+		});
 	}
 
-	public PreparedStatement getCacheForFieldsUpdate(Session session,
+	public PreparedStatement getCacheForFieldsSelect(final Session session,
 			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
-			List<PropertyMeta> pms) {
+			final List<PropertyMeta> pms) {
 		Class<?> entityClass = context.getEntityClass();
-		EntityMeta entityMeta = context.getEntityMeta();
-		Set<String> fields = new HashSet<String>(Collections2.transform(pms, propertyExtractor));
-		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(), fields,
-				entityClass);
-		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
-		if (ps == null) {
-			ps = generator.prepareUpdateFields(session, entityMeta, pms);
-			dynamicPSCache.put(cacheKey, ps);
-		}
-		return ps;
+		final EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SELECT_FIELDS, entityMeta.getTableName(),
+				entityClass, pms, NO_TTL);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareSelectFieldsPS(session, entityMeta, pms);
+			}
+		});
+	}
+
+	public PreparedStatement getCacheForFieldsUpdate(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			final List<PropertyMeta> pms) {
+		Class<?> entityClass = context.getEntityClass();
+		final EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(),
+				entityClass, pms, NO_TTL);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareUpdateFields(session, entityMeta, pms);
+			}
+		});
+	}
+
+	public PreparedStatement getCacheForInsertWithTtl(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			final int ttl) {
+		Class<?> entityClass = context.getEntityClass();
+		final EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.INSERT_WITH_TTL, entityMeta.getTableName(),
+				entityClass, Collections.<PropertyMeta> emptyList(), ttl);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareInsertPSWithTtl(session, entityMeta, ttl);
+			}
+		});
+	}
+
+	public PreparedStatement getCacheForInsertFields(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			final List<PropertyMeta> pms, final int ttl) {
+		Class<?> entityClass = context.getEntityClass();
+		final EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.INSERT_FIELDS, entityMeta.getTableName(),
+				entityClass, pms, ttl);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareInsertFieldsPS(session, entityMeta, pms, ttl);
+			}
+		});
+	}
+
+	public PreparedStatement getCacheForFieldsUpdateWithTtl(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			final List<PropertyMeta> pms, final int ttl) {
+		Class<?> entityClass = context.getEntityClass();
+		final EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS_WITH_TTL, entityMeta.getTableName(),
+				entityClass, pms, ttl);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return generator.prepareUpdateFieldsWithTtl(session, entityMeta, pms, ttl);
+			}
+		});
+	}
+
+	public <T> PreparedStatement getCacheForSliceSelect(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, final CQLSliceQuery<T> sliceQuery,
+			final int limit) {
+		StatementCacheKey cacheKey = new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, sliceQuery, limit);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return session.prepare(statementGenerator.generateSelectSliceQuery(sliceQuery, limit).getQueryString());
+			}
+		});
+	}
+
+	public <T> PreparedStatement getCacheForSliceIterator(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, final CQLSliceQuery<T> sliceQuery) {
+		StatementCacheKey cacheKey = new SliceQueryStatementCacheKey(CacheType.ITERATE_SLICE, sliceQuery,
+				sliceQuery.getBatchSize());
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return session.prepare(statementGenerator.generateIteratorSliceQuery(sliceQuery).getQueryString());
+			}
+		});
+	}
+
+	public <T> PreparedStatement getCacheForSliceRemove(final Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, final CQLSliceQuery<T> sliceQuery) {
+		StatementCacheKey cacheKey = new SliceQueryStatementCacheKey(CacheType.REMOVE_SLICE, sliceQuery, 0);
+		return getOrPrepare(dynamicPSCache, cacheKey, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				return session.prepare(statementGenerator.generateRemoveSliceQuery(sliceQuery).getQueryString());
+			}
+		});
+	}
+
+	public PreparedStatement getCacheForBatch(Session session, Cache<String, PreparedStatement> batchPSCache,
+			String batchQuery) {
+		return getCacheForBatch(session, batchPSCache, batchQuery, new AtomicInteger());
+	}
+
+	/**
+	 * @param prepareCount
+	 *            incremented when this caller sends the PREPARE request
+	 */
+	public PreparedStatement getCacheForBatch(final Session session, Cache<String, PreparedStatement> batchPSCache,
+			final String batchQuery, final AtomicInteger prepareCount) {
+		return getOrPrepare(batchPSCache, batchQuery, new Callable<PreparedStatement>() {
+			@Override
+			public PreparedStatement call() {
+				prepareCount.incrementAndGet();
+				return session.prepare(batchQuery);
+			}
+		});
 	}
 
-	private Set<String> extractClusteredFieldsIfNecessary(PropertyMeta pm) {
-		if (pm.isEmbeddedId()) {
-			return new HashSet<String>(pm.getComponentNames());
-		} else {
-			return Sets.newHashSet(pm.getPropertyName());
+	/**
+	 * Only the first caller for a missing key prepares the statement, concurrent
+	 * callers for the same key wait for it instead of preparing it again
+	 */
+	private <K> PreparedStatement getOrPrepare(Cache<K, PreparedStatement> cache, K cacheKey,
+			Callable<PreparedStatement> preparer) {
+		try {
+			return cache.get(cacheKey, preparer);
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		} catch (UncheckedExecutionException e) {
+			throw Throwables.propagate(e.getCause());
 		}
 	}
 }
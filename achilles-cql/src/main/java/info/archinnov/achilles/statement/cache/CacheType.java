@@ -17,5 +17,5 @@
 package info.archinnov.achilles.statement.cache;
 
 public enum CacheType {
-	SELECT_FIELD, UPDATE_FIELDS
+	SELECT_FIELD, SELECT_FIELDS, UPDATE_FIELDS, INSERT_WITH_TTL, INSERT_FIELDS, UPDATE_FIELDS_WITH_TTL, SELECT_SLICE, ITERATE_SLICE, REMOVE_SLICE
 }
@@ -0,0 +1,109 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.cache;
+
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
+
+/**
+ * Identifies the shape of a slice query: the number of fixed clustering
+ * components, which bounds of the varying component are set, the bounding and
+ * ordering modes and the limit. All component values are bound at execution
+ * time
+ */
+public class SliceQueryStatementCacheKey extends StatementCacheKey {
+
+	private int fixedComponentsCount;
+
+	private boolean startBound;
+
+	private boolean endBound;
+
+	private BoundingMode bounding;
+
+	private OrderingMode ordering;
+
+	private int limit;
+
+	public SliceQueryStatementCacheKey(CacheType type, CQLSliceQuery<?> sliceQuery, int limit) {
+		super(type, sliceQuery.getMeta().getTableName(), sliceQuery.getEntityClass());
+		this.fixedComponentsCount = sliceQuery.getFixedComponents().size();
+		this.startBound = sliceQuery.getLastStartComponent() != null;
+		this.endBound = sliceQuery.getLastEndComponent() != null;
+		this.bounding = sliceQuery.getBounding();
+		this.ordering = sliceQuery.getAchillesOrdering();
+		this.limit = limit;
+	}
+
+	public int getFixedComponentsCount() {
+		return fixedComponentsCount;
+	}
+
+	public boolean hasStartBound() {
+		return startBound;
+	}
+
+	public boolean hasEndBound() {
+		return endBound;
+	}
+
+	public BoundingMode getBounding() {
+		return bounding;
+	}
+
+	public OrderingMode getOrdering() {
+		return ordering;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + fixedComponentsCount;
+		result = prime * result + (startBound ? 1231 : 1237);
+		result = prime * result + (endBound ? 1231 : 1237);
+		result = prime * result + ((bounding == null) ? 0 : bounding.hashCode());
+		result = prime * result + ((ordering == null) ? 0 : ordering.hashCode());
+		result = prime * result + limit;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!super.equals(obj))
+			return false;
+		SliceQueryStatementCacheKey other = (SliceQueryStatementCacheKey) obj;
+		if (fixedComponentsCount != other.fixedComponentsCount)
+			return false;
+		if (startBound != other.startBound)
+			return false;
+		if (endBound != other.endBound)
+			return false;
+		if (bounding != other.bounding)
+			return false;
+		if (ordering != other.ordering)
+			return false;
+		if (limit != other.limit)
+			return false;
+		return true;
+	}
+}
@@ -16,22 +16,69 @@
  */
 package info.archinnov.achilles.statement.cache;
 
-import java.util.Set;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
 
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Properties are identified by their ordinal inside the entity so building a
+ * key does not allocate any collection nor hash any property name. Entities
+ * with more than 64 properties spill the remaining ordinals into a BitSet
+ */
 public class StatementCacheKey {
+	public static final int NO_TTL = 0;
+
 	private CacheType type;
 
 	private String tableName;
 
-	private Set<String> fields;
-
 	private Class<?> entityClass;
 
-	public StatementCacheKey(CacheType type, String tableName, Set<String> fields, Class<?> entityClass) {
+	private long fieldsMask;
+
+	private BitSet overflowFieldsMask;
+
+	private int ttl;
+
+	protected StatementCacheKey(CacheType type, String tableName, Class<?> entityClass) {
 		this.type = type;
+		this.tableName = tableName;
 		this.entityClass = entityClass;
+		this.ttl = NO_TTL;
+	}
+
+	public StatementCacheKey(CacheType type, String tableName, Class<?> entityClass, PropertyMeta pm) {
+		this.type = type;
+		this.tableName = tableName;
+		this.entityClass = entityClass;
+		this.ttl = NO_TTL;
+		addField(pm);
+	}
+
+	public StatementCacheKey(CacheType type, String tableName, Class<?> entityClass, List<PropertyMeta> pms, int ttl) {
+		this.type = type;
 		this.tableName = tableName;
-		this.fields = fields;
+		this.entityClass = entityClass;
+		this.ttl = ttl;
+		for (int i = 0; i < pms.size(); i++) {
+			addField(pms.get(i));
+		}
+	}
+
+	private void addField(PropertyMeta pm) {
+		int ordinal = pm.getOrdinal();
+		if (ordinal < 0) {
+			throw new AchillesException("No ordinal assigned to property '" + pm.getPropertyName() + "'");
+		} else if (ordinal < Long.SIZE) {
+			fieldsMask |= 1L << ordinal;
+		} else {
+			if (overflowFieldsMask == null) {
+				overflowFieldsMask = new BitSet();
+			}
+			overflowFieldsMask.set(ordinal - Long.SIZE);
+		}
 	}
 
 	public CacheType getType() {
@@ -42,21 +89,42 @@ public class StatementCacheKey {
 		return tableName;
 	}
 
-	public Set<String> getFields() {
-		return fields;
+	public long getFieldsMask() {
+		return fieldsMask;
+	}
+
+	public BitSet getOverflowFieldsMask() {
+		return overflowFieldsMask;
+	}
+
+	public boolean hasField(PropertyMeta pm) {
+		int ordinal = pm.getOrdinal();
+		if (ordinal < 0) {
+			return false;
+		} else if (ordinal < Long.SIZE) {
+			return (fieldsMask & (1L << ordinal)) != 0;
+		} else {
+			return overflowFieldsMask != null && overflowFieldsMask.get(ordinal - Long.SIZE);
+		}
 	}
 
 	public Class<?> getEntityClass() {
 		return entityClass;
 	}
 
+	public int getTtl() {
+		return ttl;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((fields == null) ? 0 : fields.hashCode());
-		result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
+		result = prime * result + (int) (fieldsMask ^ (fieldsMask >>> 32));
+		result = prime * result + ((overflowFieldsMask == null) ? 0 : overflowFieldsMask.hashCode());
+		result = prime * result + ((entityClass == null) ? 0 : entityClass.hashCode());
 		result = prime * result + ((type == null) ? 0 : type.hashCode());
+		result = prime * result + ttl;
 		return result;
 	}
 
@@ -69,17 +137,23 @@ public class StatementCacheKey {
 		if (getClass() != obj.getClass())
 			return false;
 		StatementCacheKey other = (StatementCacheKey) obj;
-		if (fields == null) {
-			if (other.fields != null)
-				return false;
-		} else if (!fields.equals(other.fields))
+		if (fieldsMask != other.fieldsMask)
+			return false;
+		if (type != other.type)
+			return false;
+		if (ttl != other.ttl)
+			return false;
+		if (entityClass != other.entityClass)
 			return false;
 		if (tableName == null) {
 			if (other.tableName != null)
 				return false;
 		} else if (!tableName.equals(other.tableName))
 			return false;
-		if (type != other.type)
+		if (overflowFieldsMask == null) {
+			if (other.overflowFieldsMask != null)
+				return false;
+		} else if (!overflowFieldsMask.equals(other.overflowFieldsMask))
 			return false;
 		return true;
 	}
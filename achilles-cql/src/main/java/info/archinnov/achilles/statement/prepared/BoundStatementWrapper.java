@@ -16,15 +16,28 @@
  */
 package info.archinnov.achilles.statement.prepared;
 
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+
+import java.util.List;
+
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Query;
 
-public class BoundStatementWrapper {
+public class BoundStatementWrapper extends AbstractStatementWrapper {
 
 	private BoundStatement bs;
 
 	private Object[] values;
 
-	public BoundStatementWrapper(BoundStatement bs, Object[] values) {
+	public BoundStatementWrapper(BoundStatement bs, Object[] values, List<Object> rowKey, boolean counterUpdate) {
+		super(rowKey, counterUpdate);
+		this.bs = bs;
+		this.values = values;
+	}
+
+	public BoundStatementWrapper(BoundStatement bs, Object[] values, List<Object> rowKey, int partitionKeySize,
+			boolean counterUpdate) {
+		super(rowKey, partitionKeySize, counterUpdate);
 		this.bs = bs;
 		this.values = values;
 	}
@@ -33,8 +46,18 @@ public class BoundStatementWrapper {
 		return bs;
 	}
 
+	@Override
 	public Object[] getValues() {
 		return values;
 	}
 
+	@Override
+	public Query getQuery() {
+		return bs;
+	}
+
+	@Override
+	public String getQueryString() {
+		return bs.preparedStatement().getQueryString();
+	}
 }
@@ -0,0 +1,184 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.excludeCounterType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.FluentIterable;
+
+/**
+ * Binding layout of an entity, computed once at bootstrap. Values are encoded
+ * straight into a pre-sized array, at the position expected by the prepared
+ * statements
+ */
+public class CQLBindingPlan {
+
+	private final PropertyMeta idMeta;
+	private final PropertyMeta[] insertMetas;
+	private final int partitionKeySize;
+	private final CQLRoutingKeyEncoder routingKeyEncoder;
+
+	public CQLBindingPlan(EntityMeta entityMeta) {
+		this.idMeta = entityMeta.getIdMeta();
+		this.partitionKeySize = idMeta.isEmbeddedId() ? idMeta.getPartitionComponentClasses().size() : 1;
+		this.routingKeyEncoder = CQLRoutingKeyEncoder.forIdMeta(idMeta);
+
+		List<PropertyMeta> fieldMetas = new ArrayList<PropertyMeta>();
+		if (entityMeta.getAllMetasExceptIdMeta() != null) {
+			fieldMetas.addAll(FluentIterable.from(entityMeta.getAllMetasExceptIdMeta()).filter(excludeCounterType)
+					.toImmutableList());
+			fieldMetas.remove(idMeta);
+		}
+		this.insertMetas = fieldMetas.toArray(new PropertyMeta[fieldMetas.size()]);
+	}
+
+	/**
+	 * Primary key values first, then all non counter properties
+	 */
+	public Object[] bindForInsert(Object entity, Object primaryKey) {
+		Object[] values = bindPrimaryKey(primaryKey, 0, insertMetas.length);
+		int offset = values.length - insertMetas.length;
+		for (int i = 0; i < insertMetas.length; i++) {
+			PropertyMeta pm = insertMetas[i];
+			values[offset + i] = encode(pm, pm.getValueFromField(entity));
+		}
+		return values;
+	}
+
+	/**
+	 * Primary key values first, then the given subset of the insert properties
+	 */
+	public Object[] bindForInsert(Object entity, Object primaryKey, List<PropertyMeta> pms) {
+		Object[] values = bindPrimaryKey(primaryKey, 0, pms.size());
+		int offset = values.length - pms.size();
+		for (int i = 0; i < pms.size(); i++) {
+			PropertyMeta pm = pms.get(i);
+			values[offset + i] = encode(pm, pm.getValueFromField(entity));
+		}
+		return values;
+	}
+
+	/**
+	 * Insert properties having a value in the entity, in insert order
+	 */
+	public List<PropertyMeta> getNonNullInsertMetas(Object entity) {
+		List<PropertyMeta> pms = new ArrayList<PropertyMeta>(insertMetas.length);
+		for (PropertyMeta pm : insertMetas) {
+			if (!isNullColumn(pm.getValueFromField(entity))) {
+				pms.add(pm);
+			}
+		}
+		return pms;
+	}
+
+	/**
+	 * Cassandra stores an empty collection as a deletion, exactly like a null
+	 * value
+	 */
+	public static boolean isNullColumn(Object value) {
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).isEmpty();
+		} else if (value instanceof Map) {
+			return ((Map<?, ?>) value).isEmpty();
+		}
+		return value == null;
+	}
+
+	/**
+	 * Updated properties first, then primary key values
+	 */
+	public Object[] bindForUpdate(Object entity, Object primaryKey, List<PropertyMeta> pms) {
+		Object[] values = bindPrimaryKey(primaryKey, pms.size(), 0);
+		for (int i = 0; i < pms.size(); i++) {
+			PropertyMeta pm = pms.get(i);
+			values[i] = encode(pm, pm.getValueFromField(entity));
+		}
+		return values;
+	}
+
+	/**
+	 * Encodes the primary key into a new array, after the given number of
+	 * leading slots and before the given number of trailing slots
+	 */
+	public Object[] bindPrimaryKey(Object primaryKey, int leadingSlots, int trailingSlots) {
+		Object[] values;
+		if (idMeta.isEmbeddedId()) {
+			List<Object> components = idMeta.encodeToComponents(primaryKey);
+			values = new Object[leadingSlots + components.size() + trailingSlots];
+			for (int i = 0; i < components.size(); i++) {
+				values[leadingSlots + i] = components.get(i);
+			}
+		} else {
+			values = new Object[leadingSlots + 1 + trailingSlots];
+			values[leadingSlots] = idMeta.encode(primaryKey);
+		}
+		return values;
+	}
+
+	public int getInsertMetasCount() {
+		return insertMetas.length;
+	}
+
+	/**
+	 * Number of primary key values making the partition key
+	 */
+	public int getPartitionKeySize() {
+		return partitionKeySize;
+	}
+
+	/**
+	 * Routing key of the encoded partition key values found in the given
+	 * array, starting at the given position
+	 */
+	public ByteBuffer encodeRoutingKey(Object[] values, int from) {
+		return routingKeyEncoder.encode(Arrays.asList(values).subList(from, from + partitionKeySize));
+	}
+
+	private Object encode(PropertyMeta pm, Object value) {
+		if (value != null) {
+			switch (pm.type()) {
+			case SIMPLE:
+			case LAZY_SIMPLE:
+				return pm.encode(value);
+			case LIST:
+			case LAZY_LIST:
+				return pm.encode((List<?>) value);
+			case SET:
+			case LAZY_SET:
+				return pm.encode((Set<?>) value);
+			case MAP:
+			case LAZY_MAP:
+				return pm.encode((Map<?, ?>) value);
+			default:
+				throw new AchillesException("Cannot encode value '" + value + "' for Cassandra for property '"
+						+ pm.getPropertyName() + "' of type '" + pm.type().name() + "'");
+			}
+		}
+		return value;
+	}
+}
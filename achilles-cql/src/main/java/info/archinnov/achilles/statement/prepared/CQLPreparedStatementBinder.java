@@ -16,167 +16,177 @@
  */
 package info.archinnov.achilles.statement.prepared;
 
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
-import info.archinnov.achilles.entity.metadata.PropertyType;
-import info.archinnov.achilles.exception.AchillesException;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-
-import org.apache.commons.lang.ArrayUtils;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
-import com.google.common.collect.FluentIterable;
 
 public class CQLPreparedStatementBinder {
 
-	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, Object entity) {
-		List<Object> values = new ArrayList<Object>();
-		Object primaryKey = entityMeta.getPrimaryKey(entity);
-		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
-
-		List<PropertyMeta> nonProxyMetas = FluentIterable.from(entityMeta.getAllMetasExceptIdMeta())
-				.filter(PropertyType.excludeCounterType).toImmutableList();
+	// The simple counter table is partitioned by fqcn and primary key
+	private static final int SIMPLE_COUNTER_PARTITION_KEY_SIZE = 2;
+	private static final CQLRoutingKeyEncoder COUNTER_ROUTING_KEY_ENCODER = new CQLRoutingKeyEncoder(
+			Arrays.<Class<?>> asList(String.class, String.class));
 
-		List<PropertyMeta> fieldMetas = new ArrayList<PropertyMeta>(nonProxyMetas);
+	private Map<EntityMeta, CQLBindingPlan> bindingPlans = new ConcurrentHashMap<EntityMeta, CQLBindingPlan>();
 
-		for (PropertyMeta pm : fieldMetas) {
-			Object value = pm.getValueFromField(entity);
-			value = encodeValueForCassandra(pm, value);
-			values.add(value);
+	public void prepareBindingPlans(Collection<EntityMeta> entityMetas) {
+		for (EntityMeta entityMeta : entityMetas) {
+			bindingPlans.put(entityMeta, new CQLBindingPlan(entityMeta));
 		}
+	}
 
-		Object[] boundValues = new Object[values.size()];
-		BoundStatement bs = ps.bind(values.toArray(boundValues));
-
-		return new BoundStatementWrapper(bs, boundValues);
+	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, Object entity) {
+		CQLBindingPlan plan = bindingPlan(entityMeta);
+		Object[] boundValues = plan.bindForInsert(entity, entityMeta.getPrimaryKey(entity));
+		int primaryKeySize = boundValues.length - plan.getInsertMetasCount();
+		return wrap(ps, boundValues, entityMeta, 0, primaryKeySize, false);
 	}
 
-	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
+	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
 			Object entity) {
-		List<Object> values = new ArrayList<Object>();
-		for (PropertyMeta pm : pms) {
-			Object value = pm.getValueFromField(entity);
-			value = encodeValueForCassandra(pm, value);
-			values.add(value);
-		}
-		Object primaryKey = entityMeta.getPrimaryKey(entity);
-		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+		Object[] boundValues = bindingPlan(entityMeta).bindForInsert(entity, entityMeta.getPrimaryKey(entity), pms);
+		return wrap(ps, boundValues, entityMeta, 0, boundValues.length - pms.size(), false);
+	}
 
-		Object[] boundValues = new Object[values.size()];
-		BoundStatement bs = ps.bind(values.toArray(boundValues));
+	public List<PropertyMeta> extractNonNullInsertMetas(EntityMeta entityMeta, Object entity) {
+		return bindingPlan(entityMeta).getNonNullInsertMetas(entity);
+	}
 
-		return new BoundStatementWrapper(bs, boundValues);
+	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
+			Object entity) {
+		Object[] boundValues = bindingPlan(entityMeta).bindForUpdate(entity, entityMeta.getPrimaryKey(entity), pms);
+		return wrap(ps, boundValues, entityMeta, pms.size(), boundValues.length, false);
 	}
 
 	public BoundStatementWrapper bindStatementWithOnlyPKInWhereClause(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey) {
-		PropertyMeta idMeta = entityMeta.getIdMeta();
-		List<Object> values = bindPrimaryKey(primaryKey, idMeta);
-
-		Object[] boundValues = new Object[values.size()];
-		BoundStatement bs = ps.bind(values.toArray(boundValues));
-
-		return new BoundStatementWrapper(bs, boundValues);
+		Object[] boundValues = bindingPlan(entityMeta).bindPrimaryKey(primaryKey, 0, 0);
+		return wrap(ps, boundValues, entityMeta, 0, boundValues.length, false);
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey, Long increment) {
-		Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey), 0,
-				increment);
-
-		BoundStatement bs = ps.bind(boundValues);
-
-		return new BoundStatementWrapper(bs, boundValues);
+		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey, 1);
+		boundValues[0] = increment;
 
+		return wrapForCounterTable(ps, boundValues, 1, true);
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey) {
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues);
+		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey, 0);
+		return wrapForCounterTable(ps, boundValues, 0, false);
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey) {
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues);
+		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey, 0);
+		return wrapForCounterTable(ps, boundValues, 0, false);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey, Long increment) {
-		List<Object> primarykeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] keys = ArrayUtils.add(primarykeys.toArray(new Object[primarykeys.size()]), 0, increment);
-
-		BoundStatement bs = ps.bind(keys);
+		Object[] boundValues = bindingPlan(entityMeta).bindPrimaryKey(primaryKey, 1, 0);
+		boundValues[0] = increment;
 
-		return new BoundStatementWrapper(bs, keys);
+		return wrap(ps, boundValues, entityMeta, 1, boundValues.length, true);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey) {
-		List<Object> primarykeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] boundValues = primarykeys.toArray(new Object[primarykeys.size()]);
+		Object[] boundValues = bindingPlan(entityMeta).bindPrimaryKey(primaryKey, 0, 0);
 
-		BoundStatement bs = ps.bind(boundValues);
-
-		return new BoundStatementWrapper(bs, boundValues);
+		return wrap(ps, boundValues, entityMeta, 0, boundValues.length, false);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey) {
-		List<Object> primarykeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] boundValues = primarykeys.toArray(new Object[primarykeys.size()]);
-		BoundStatement bs = ps.bind(boundValues);
+		Object[] boundValues = bindingPlan(entityMeta).bindPrimaryKey(primaryKey, 0, 0);
+		return wrap(ps, boundValues, entityMeta, 0, boundValues.length, false);
+	}
 
-		return new BoundStatementWrapper(bs, boundValues);
+	/**
+	 * Number of primary key values making the partition key of the entity
+	 * table
+	 */
+	public int partitionKeySize(EntityMeta entityMeta) {
+		return bindingPlan(entityMeta).getPartitionKeySize();
 	}
 
-	private List<Object> bindPrimaryKey(Object primaryKey, PropertyMeta idMeta) {
-		List<Object> values = new ArrayList<Object>();
-		if (idMeta.isEmbeddedId()) {
-			values.addAll(idMeta.encodeToComponents(primaryKey));
-		} else {
-			values.add(idMeta.encode(primaryKey));
+	public List<Object> extractRowKey(EntityMeta entityMeta, Object primaryKey) {
+		Object[] primaryKeys = bindingPlan(entityMeta).bindPrimaryKey(primaryKey, 0, 0);
+		return rowKey(entityMeta.getTableName(), primaryKeys, 0, primaryKeys.length);
+	}
+
+	public ByteBuffer extractRoutingKey(EntityMeta entityMeta, Object primaryKey) {
+		CQLBindingPlan plan = bindingPlan(entityMeta);
+		return plan.encodeRoutingKey(plan.bindPrimaryKey(primaryKey, 0, 0), 0);
+	}
+
+	/**
+	 * Routing key of bound values starting with the encoded partition
+	 * components, like the ones of a slice query
+	 */
+	public ByteBuffer extractRoutingKey(EntityMeta entityMeta, Object[] boundValues) {
+		return bindingPlan(entityMeta).encodeRoutingKey(boundValues, 0);
+	}
+
+	private CQLBindingPlan bindingPlan(EntityMeta entityMeta) {
+		CQLBindingPlan plan = bindingPlans.get(entityMeta);
+		if (plan == null) {
+			plan = new CQLBindingPlan(entityMeta);
+			bindingPlans.put(entityMeta, plan);
 		}
-		return values;
-	}
-
-	private Object encodeValueForCassandra(PropertyMeta pm, Object value) {
-		if (value != null) {
-			switch (pm.type()) {
-			case SIMPLE:
-			case LAZY_SIMPLE:
-				return pm.encode(value);
-			case LIST:
-			case LAZY_LIST:
-				return pm.encode((List<?>) value);
-			case SET:
-			case LAZY_SET:
-				return pm.encode((Set<?>) value);
-			case MAP:
-			case LAZY_MAP:
-				return pm.encode((Map<?, ?>) value);
-			default:
-				throw new AchillesException("Cannot encode value '" + value + "' for Cassandra for property '"
-						+ pm.getPropertyName() + "' of type '" + pm.type().name() + "'");
-			}
+		return plan;
+	}
+
+	private BoundStatementWrapper wrap(PreparedStatement ps, Object[] boundValues, EntityMeta entityMeta,
+			int primaryKeyFrom, int primaryKeyTo, boolean counterUpdate) {
+		CQLBindingPlan plan = bindingPlan(entityMeta);
+		ByteBuffer routingKey = plan.encodeRoutingKey(boundValues, primaryKeyFrom);
+		BoundStatement bs = RoutingBoundStatement.bind(ps, boundValues, routingKey);
+
+		return new BoundStatementWrapper(bs, boundValues, rowKey(entityMeta.getTableName(), boundValues,
+				primaryKeyFrom, primaryKeyTo), plan.getPartitionKeySize(), counterUpdate);
+	}
+
+	private BoundStatementWrapper wrapForCounterTable(PreparedStatement ps, Object[] boundValues, int primaryKeyFrom,
+			boolean counterUpdate) {
+		ByteBuffer routingKey = COUNTER_ROUTING_KEY_ENCODER.encode(Arrays.asList(boundValues).subList(primaryKeyFrom,
+				primaryKeyFrom + SIMPLE_COUNTER_PARTITION_KEY_SIZE));
+		BoundStatement bs = RoutingBoundStatement.bind(ps, boundValues, routingKey);
+
+		return new BoundStatementWrapper(bs, boundValues, rowKey(CQL_COUNTER_TABLE, boundValues, primaryKeyFrom,
+				boundValues.length), SIMPLE_COUNTER_PARTITION_KEY_SIZE, counterUpdate);
+	}
+
+	private List<Object> rowKey(String tableName, Object[] values, int from, int to) {
+		List<Object> rowKey = new ArrayList<Object>(to - from + 1);
+		rowKey.add(tableName);
+		for (int i = from; i < to; i++) {
+			rowKey.add(values[i]);
 		}
-		return value;
+		return rowKey;
 	}
 
-	private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
+	private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey,
+			int leadingSlots) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
-		String fqcn = entityMeta.getClassName();
-		String primaryKeyAsString = idMeta.forceEncodeToJSON(primaryKey);
-		String propertyName = pm.getPropertyName();
-
-		return new Object[] { fqcn, primaryKeyAsString, propertyName };
+		Object[] boundValues = new Object[leadingSlots + 3];
+		boundValues[leadingSlots] = entityMeta.getClassName();
+		boundValues[leadingSlots + 1] = idMeta.forceEncodeToJSON(primaryKey);
+		boundValues[leadingSlots + 2] = pm.getPropertyName();
+		return boundValues;
 	}
 }
@@ -19,6 +19,7 @@ package info.archinnov.achilles.statement.prepared;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static info.archinnov.achilles.counter.AchillesCounter.*;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.*;
+import static info.archinnov.achilles.statement.cache.StatementCacheKey.NO_TTL;
 import info.archinnov.achilles.counter.AchillesCounter;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
@@ -44,6 +45,42 @@ import com.google.common.collect.FluentIterable;
 
 public class CQLPreparedStatementGenerator {
 	public PreparedStatement prepareInsertPS(Session session, EntityMeta entityMeta) {
+		Insert insert = prepareInsert(entityMeta);
+		return session.prepare(insert.getQueryString());
+	}
+
+	/**
+	 * Cassandra 1.2 does not accept bind markers in the USING clause, the TTL
+	 * value is therefore part of the prepared query
+	 */
+	public PreparedStatement prepareInsertPSWithTtl(Session session, EntityMeta entityMeta, int timeToLive) {
+		Insert insert = prepareInsert(entityMeta);
+		insert.using(ttl(timeToLive));
+		return session.prepare(insert.getQueryString());
+	}
+
+	/**
+	 * Insert restricted to the given properties, used to leave null columns
+	 * out of the statement. A TTL of NO_TTL means no USING clause
+	 */
+	public PreparedStatement prepareInsertFieldsPS(Session session, EntityMeta entityMeta, List<PropertyMeta> pms,
+			int timeToLive) {
+		Insert insert = insertInto(entityMeta.getTableName());
+		prepareInsertPrimaryKey(entityMeta.getIdMeta(), insert);
+		for (PropertyMeta pm : pms) {
+			insert.value(pm.getPropertyName(), bindMarker());
+		}
+		if (timeToLive != NO_TTL) {
+			insert.using(ttl(timeToLive));
+		}
+		return session.prepare(insert.getQueryString());
+	}
+
+	/**
+	 * Insert of the primary key and all non counter properties, bound in the
+	 * order of CQLBindingPlan.bindForInsert
+	 */
+	public Insert prepareInsert(EntityMeta entityMeta) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Insert insert = insertInto(entityMeta.getTableName());
 		prepareInsertPrimaryKey(idMeta, insert);
@@ -57,7 +94,7 @@ public class CQLPreparedStatementGenerator {
 		for (PropertyMeta pm : fieldMetas) {
 			insert.value(pm.getPropertyName(), bindMarker());
 		}
-		return session.prepare(insert.getQueryString());
+		return insert;
 	}
 
 	public PreparedStatement prepareInsertPSForClusteredCounter(Session session, EntityMeta entityMeta) {
@@ -92,9 +129,37 @@ public class CQLPreparedStatementGenerator {
 		}
 	}
 
-	public PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
+	public PreparedStatement prepareSelectFieldsPS(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
+
+		Selection select = select();
+		for (PropertyMeta pm : pms) {
+			if (pm.isCounter()) {
+				throw new IllegalArgumentException("Cannot prepare statement for property '" + pm.getPropertyName()
+						+ "' of entity '" + entityMeta.getClassName() + "' because it is a counter type");
+			}
+			select = prepareSelectField(pm, select);
+		}
+		Select from = select.from(entityMeta.getTableName());
+		Statement statement = prepareWhereClauseForSelect(idMeta, from);
+		return session.prepare(statement.getQueryString());
+	}
+
+	public PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
+		Update update = update(entityMeta.getTableName());
+		return prepareUpdateFields(session, entityMeta, pms, update);
+	}
+
+	public PreparedStatement prepareUpdateFieldsWithTtl(Session session, EntityMeta entityMeta,
+			List<PropertyMeta> pms, int timeToLive) {
 		Update update = update(entityMeta.getTableName());
+		update.using(ttl(timeToLive));
+		return prepareUpdateFields(session, entityMeta, pms, update);
+	}
+
+	private PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms,
+			Update update) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
 
 		int i = 0;
 		Assignments assignments = null;
@@ -0,0 +1,97 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import info.archinnov.achilles.cql.CQLTypeMapper;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DataType.Name;
+
+/**
+ * Serializes partition key values into the routing key used by token aware
+ * load balancing policies. A composite partition key is serialized like
+ * Cassandra's CompositeType: each component prefixed by its length and
+ * followed by an end-of-component byte
+ */
+public class CQLRoutingKeyEncoder {
+
+	private static final Map<Name, DataType> primitiveTypes = new HashMap<Name, DataType>();
+
+	static {
+		for (DataType type : DataType.allPrimitiveTypes()) {
+			primitiveTypes.put(type.getName(), type);
+		}
+	}
+
+	private final DataType[] types;
+
+	public CQLRoutingKeyEncoder(List<Class<?>> partitionComponentClasses) {
+		types = new DataType[partitionComponentClasses.size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = primitiveTypes.get(CQLTypeMapper.toCQLType(partitionComponentClasses.get(i)));
+		}
+	}
+
+	public static CQLRoutingKeyEncoder forIdMeta(PropertyMeta idMeta) {
+		if (idMeta.isEmbeddedId()) {
+			return new CQLRoutingKeyEncoder(idMeta.getPartitionComponentClasses());
+		} else {
+			return new CQLRoutingKeyEncoder(Arrays.<Class<?>> asList(idMeta.getValueClass()));
+		}
+	}
+
+	/**
+	 * Routing key of encoded partition component values, or null when a
+	 * component is missing
+	 */
+	public ByteBuffer encode(List<Object> partitionComponents) {
+		if (partitionComponents.size() != types.length) {
+			return null;
+		}
+
+		ByteBuffer[] serialized = new ByteBuffer[types.length];
+		int size = 0;
+		for (int i = 0; i < types.length; i++) {
+			Object value = partitionComponents.get(i);
+			if (value == null || types[i] == null) {
+				return null;
+			}
+			serialized[i] = types[i].serialize(value);
+			size += serialized[i].remaining();
+		}
+
+		if (serialized.length == 1) {
+			return serialized[0];
+		}
+
+		ByteBuffer routingKey = ByteBuffer.allocate(size + 3 * serialized.length);
+		for (ByteBuffer component : serialized) {
+			routingKey.putShort((short) component.remaining());
+			routingKey.put(component.duplicate());
+			routingKey.put((byte) 0);
+		}
+		routingKey.flip();
+		return routingKey;
+	}
+}
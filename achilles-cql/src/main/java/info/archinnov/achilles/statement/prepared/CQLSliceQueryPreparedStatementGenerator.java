@@ -38,7 +38,7 @@ public class CQLSliceQueryPreparedStatementGenerator {
 		OrderingMode ordering = sliceQuery.getAchillesOrdering();
 
 		for (int i = 0; i < fixedComponents.size(); i++) {
-			where.and(eq(componentNames.get(i), fixedComponents.get(i)));
+			where.and(eq(componentNames.get(i), bindMarker()));
 		}
 
 		Object lastEndComp = sliceQuery.getLastEndComponent();
@@ -48,13 +48,13 @@ public class CQLSliceQueryPreparedStatementGenerator {
 			case INCLUSIVE_END_BOUND_ONLY:
 				where.and(gt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lte(varyingComponentName, lastEndComp));
+					where.and(lte(varyingComponentName, bindMarker()));
 				break;
 			case EXCLUSIVE_BOUNDS:
 			case INCLUSIVE_START_BOUND_ONLY:
 				where.and(gt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(lt(varyingComponentName, lastEndComp));
+					where.and(lt(varyingComponentName, bindMarker()));
 				break;
 			}
 		} else // ordering == DESCENDING
@@ -64,13 +64,13 @@ public class CQLSliceQueryPreparedStatementGenerator {
 			case INCLUSIVE_END_BOUND_ONLY:
 				where.and(lt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gte(varyingComponentName, lastEndComp));
+					where.and(gte(varyingComponentName, bindMarker()));
 				break;
 			case EXCLUSIVE_BOUNDS:
 			case INCLUSIVE_START_BOUND_ONLY:
 				where.and(lt(varyingComponentName, bindMarker()));
 				if (lastEndComp != null)
-					where.and(gt(varyingComponentName, lastEndComp));
+					where.and(gt(varyingComponentName, bindMarker()));
 				break;
 			}
 
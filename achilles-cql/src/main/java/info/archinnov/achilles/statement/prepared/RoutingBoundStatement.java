@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bound statement carrying a routing key computed by Achilles. The driver only
+ * derives one when it can match the bound variables with the partition key
+ * columns of the table metadata, which is not the case for batches
+ */
+public class RoutingBoundStatement extends BoundStatement {
+
+	// Whether the driver derives the routing key of a prepared statement,
+	// found out by its first bind. Weak keys compare statements by identity
+	private static final Cache<PreparedStatement, Boolean> driverRouting = CacheBuilder.newBuilder().weakKeys()
+			.build();
+
+	private final ByteBuffer routingKey;
+
+	public RoutingBoundStatement(PreparedStatement ps, ByteBuffer routingKey) {
+		super(ps);
+		this.routingKey = routingKey;
+	}
+
+	/**
+	 * Bind the values with the given routing key when the driver cannot derive
+	 * one for this prepared statement, with the driver routing otherwise
+	 */
+	public static BoundStatement bind(PreparedStatement ps, Object[] values, ByteBuffer routingKey) {
+		if (routingKey == null) {
+			return ps.bind(values);
+		}
+
+		Boolean routedByDriver = driverRouting.getIfPresent(ps);
+		if (routedByDriver == null) {
+			BoundStatement bs = ps.bind(values);
+			routedByDriver = bs.getRoutingKey() != null;
+			driverRouting.put(ps, routedByDriver);
+			if (routedByDriver) {
+				return bs;
+			}
+		} else if (routedByDriver) {
+			return ps.bind(values);
+		}
+		return new RoutingBoundStatement(ps, routingKey).bind(values);
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey() {
+		return routingKey.duplicate();
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.table;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.counterType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.statement.prepared.CQLBindingPlan;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
+import info.archinnov.achilles.validation.Validator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.KSMetaData;
+import org.apache.cassandra.config.Schema;
+import org.apache.cassandra.cql3.ColumnSpecification;
+import org.apache.cassandra.cql3.QueryProcessor;
+import org.apache.cassandra.cql3.statements.CFStatement;
+import org.apache.cassandra.cql3.statements.CreateColumnFamilyStatement;
+import org.apache.cassandra.cql3.statements.ParsedStatement;
+import org.apache.cassandra.cql3.statements.UpdateStatement;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ConsistencyLevel;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.IMutation;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.exceptions.RequestExecutionException;
+import org.apache.cassandra.exceptions.RequestValidationException;
+import org.apache.cassandra.io.sstable.SSTableSimpleUnsortedWriter;
+import org.apache.cassandra.locator.SimpleStrategy;
+import org.apache.cassandra.service.ClientState;
+import org.apache.cassandra.utils.FBUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+
+/**
+ * Offline writer of the SSTables of an entity table, to be streamed into a
+ * cluster with sstableloader.
+ * 
+ * Entities are bound as for the prepared insert by CQLBindingPlan, so enums
+ * and custom types are encoded exactly as through the driver, and turned
+ * into cells by the Cassandra CQL3 insert statement parsed against the table
+ * DDL. Rows are buffered in memory and written as partition-sorted SSTables
+ * in the directory/keyspace/table directory each time the buffer is full.
+ * 
+ * Entities with counters are rejected and tombstones are not written: null
+ * properties leave existing data untouched, as expected from an initial load.
+ * Like the Cassandra tools, the writer needs the cassandra.yaml configuration
+ */
+public class CQLSSTableEntityWriter {
+	private static final Logger log = LoggerFactory.getLogger(CQLSSTableEntityWriter.class);
+
+	private final EntityMeta entityMeta;
+	private final CQLBindingPlan bindingPlan;
+	private final UpdateStatement insert;
+	private final List<ColumnSpecification> boundNames;
+	private final File tableDirectory;
+	private final RowWriter rowWriter;
+	private long writtenCount;
+
+	CQLSSTableEntityWriter(EntityMeta entityMeta, File directory, String keyspace, IPartitioner<?> partitioner,
+			int bufferSizeInMB) {
+		Validator.validateFalse(entityMeta.isClusteredCounter(),
+				"Cannot write SSTables for the clustered counter entity '%s'", entityMeta.getClassName());
+		Validator.validateFalse(FluentIterable.from(entityMeta.getAllMetasExceptIdMeta()).anyMatch(counterType),
+				"Cannot write SSTables for the entity '%s' with counter properties", entityMeta.getClassName());
+		this.entityMeta = entityMeta;
+		this.bindingPlan = new CQLBindingPlan(entityMeta);
+
+		CFMetaData cfm;
+		try {
+			cfm = registerTable(keyspace, CQLTableCreator.tableBuilder(entityMeta, entityMeta.getTableName())
+					.generateDDLScript());
+			ParsedStatement.Prepared prepared = prepare(keyspace, new CQLPreparedStatementGenerator()
+					.prepareInsert(entityMeta).getQueryString());
+			insert = (UpdateStatement) prepared.statement;
+			boundNames = prepared.boundNames;
+		} catch (RequestValidationException e) {
+			throw new AchillesException("Cannot prepare the SSTable writer for entity '" + entityMeta.getClassName()
+					+ "' : " + e.getMessage(), e);
+		}
+
+		tableDirectory = new File(new File(directory, keyspace), cfm.cfName);
+		Validator.validateTrue(tableDirectory.isDirectory() || tableDirectory.mkdirs(),
+				"Cannot create the SSTable directory '%s'", tableDirectory);
+
+		log.debug("Writing SSTables of entity {} in {} with a buffer of {} MB", entityMeta.getClassName(),
+				tableDirectory, bufferSizeInMB);
+		rowWriter = new RowWriter(tableDirectory, partitioner, keyspace, cfm.cfName, cfm.comparator, bufferSizeInMB);
+	}
+
+	public void write(Object entity) {
+		Object primaryKey = entityMeta.getPrimaryKey(entity);
+		Validator.validateNotNull(primaryKey, "Cannot write entity '%s' without primary key", entity);
+
+		Object[] values = bindingPlan.bindForInsert(entity, primaryKey);
+		List<ByteBuffer> variables = new ArrayList<ByteBuffer>(values.length);
+		for (int i = 0; i < values.length; i++) {
+			variables.add(serialize(boundNames.get(i).type, values[i]));
+		}
+
+		try {
+			for (IMutation mutation : insert.getMutations(variables, true, ConsistencyLevel.ONE,
+					FBUtilities.timestampMicros())) {
+				rowWriter.write((RowMutation) mutation);
+			}
+		} catch (RequestValidationException e) {
+			throw new AchillesException("Cannot write entity '" + entity + "' : " + e.getMessage(), e);
+		} catch (RequestExecutionException e) {
+			throw new AchillesException("Cannot write entity '" + entity + "' : " + e.getMessage(), e);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot write entity '" + entity + "' : " + e.getMessage(), e);
+		}
+		writtenCount++;
+	}
+
+	/**
+	 * Write the buffered rows and wait for the last SSTable to be complete
+	 */
+	public void close() {
+		try {
+			rowWriter.close();
+		} catch (IOException e) {
+			throw new AchillesException("Cannot close the SSTables of entity '" + entityMeta.getClassName()
+					+ "' : " + e.getMessage(), e);
+		}
+		log.info("{} entities of class {} written in {}", writtenCount, entityMeta.getClassName(), tableDirectory);
+	}
+
+	/**
+	 * @return directory of the SSTables, to be given to sstableloader
+	 */
+	public File getDirectory() {
+		return tableDirectory;
+	}
+
+	public long getWrittenCount() {
+		return writtenCount;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ByteBuffer serialize(AbstractType<?> type, Object value) {
+		return value == null ? null : ((AbstractType<Object>) type).decompose(value);
+	}
+
+	/**
+	 * The keyspace and table are only added to the schema of this JVM when
+	 * missing, so that the insert statement can be prepared without a cluster
+	 */
+	private static synchronized CFMetaData registerTable(String keyspace, String ddl)
+			throws RequestValidationException {
+		KSMetaData ksm = Schema.instance.getKSMetaData(keyspace);
+		if (ksm == null) {
+			ksm = KSMetaData.newKeyspace(keyspace, SimpleStrategy.class,
+					ImmutableMap.of("replication_factor", "1"), true, Collections.<CFMetaData> emptyList());
+			Schema.instance.setTableDefinition(ksm);
+		}
+
+		CFMetaData cfm = ((CreateColumnFamilyStatement) prepare(keyspace, ddl).statement).getCFMetaData();
+		CFMetaData existing = Schema.instance.getCFMetaData(keyspace, cfm.cfName);
+		if (existing != null) {
+			return existing;
+		}
+		Schema.instance.load(cfm);
+		Schema.instance.setTableDefinition(KSMetaData.cloneWith(ksm,
+				Iterables.concat(ksm.cfMetaData().values(), Collections.singleton(cfm))));
+		return cfm;
+	}
+
+	private static ParsedStatement.Prepared prepare(String keyspace, String query)
+			throws RequestValidationException {
+		CFStatement statement = (CFStatement) QueryProcessor.parseStatement(query);
+		ClientState state = new ClientState(true);
+		state.setKeyspace(keyspace);
+		statement.prepareKeyspace(state);
+		return statement.prepare();
+	}
+
+	private static class RowWriter extends SSTableSimpleUnsortedWriter {
+
+		private RowWriter(File directory, IPartitioner<?> partitioner, String keyspace, String table,
+				AbstractType<?> comparator, int bufferSizeInMB) {
+			super(directory, partitioner, keyspace, table, comparator, null, bufferSizeInMB);
+		}
+
+		private void write(RowMutation mutation) throws IOException {
+			newRow(mutation.key());
+			for (ColumnFamily cf : mutation.getColumnFamilies()) {
+				for (IColumn column : cf.getSortedColumns()) {
+					if (!column.isMarkedForDelete()) {
+						columnFamily.addColumn(column);
+					}
+				}
+			}
+		}
+	}
+}
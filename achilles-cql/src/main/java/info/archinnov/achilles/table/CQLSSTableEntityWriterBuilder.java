@@ -0,0 +1,104 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.table;
+
+import info.archinnov.achilles.consistency.CQLConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.parsing.EntityParser;
+import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.dht.IPartitioner;
+
+public class CQLSSTableEntityWriterBuilder {
+
+	public static final int DEFAULT_BUFFER_SIZE_IN_MB = 64;
+
+	private File directory;
+	private String keyspace;
+	private int bufferSizeInMB = DEFAULT_BUFFER_SIZE_IN_MB;
+	private IPartitioner<?> partitioner;
+	private ObjectMapperFactory objectMapperFactory = new DefaultObjectMapperFactory();
+
+	/**
+	 * @param directory
+	 *            SSTables are written in its keyspace/table sub-directory
+	 * @param keyspace
+	 *            keyspace the SSTables are loaded into
+	 */
+	public static CQLSSTableEntityWriterBuilder builder(File directory, String keyspace) {
+		return new CQLSSTableEntityWriterBuilder(directory, keyspace);
+	}
+
+	private CQLSSTableEntityWriterBuilder(File directory, String keyspace) {
+		Validator.validateNotNull(directory, "SSTable directory should not be null");
+		Validator.validateNotBlank(keyspace, "SSTable keyspace should not be blank");
+		this.directory = directory;
+		this.keyspace = keyspace;
+	}
+
+	/**
+	 * Size of the rows buffered in memory before an SSTable is written
+	 */
+	public CQLSSTableEntityWriterBuilder bufferSizeInMB(int bufferSizeInMB) {
+		Validator.validateTrue(bufferSizeInMB > 0, "SSTable buffer size should be strictly positive");
+		this.bufferSizeInMB = bufferSizeInMB;
+		return this;
+	}
+
+	/**
+	 * Partitioner of the target cluster, the one of cassandra.yaml by default
+	 */
+	public CQLSSTableEntityWriterBuilder partitioner(IPartitioner<?> partitioner) {
+		this.partitioner = partitioner;
+		return this;
+	}
+
+	/**
+	 * Jackson mappers of the custom types, as configured for the
+	 * PersistenceManagerFactory
+	 */
+	public CQLSSTableEntityWriterBuilder objectMapperFactory(ObjectMapperFactory objectMapperFactory) {
+		this.objectMapperFactory = objectMapperFactory;
+		return this;
+	}
+
+	public CQLSSTableEntityWriter build(Class<?> entityClass) {
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setImpl(Impl.CQL);
+		configContext.setObjectMapperFactory(objectMapperFactory);
+		configContext.setConsistencyPolicy(new CQLConsistencyLevelPolicy(ConsistencyLevel.ONE, ConsistencyLevel.ONE,
+				new HashMap<String, ConsistencyLevel>(), new HashMap<String, ConsistencyLevel>()));
+
+		EntityMeta entityMeta = new EntityParser().parseEntity(new EntityParsingContext(configContext, entityClass));
+		return build(entityMeta);
+	}
+
+	public CQLSSTableEntityWriter build(EntityMeta entityMeta) {
+		IPartitioner<?> sstablePartitioner = partitioner == null ? DatabaseDescriptor.getPartitioner() : partitioner;
+		return new CQLSSTableEntityWriter(entityMeta, directory, keyspace, sstablePartitioner, bufferSizeInMB);
+	}
+}
@@ -114,6 +114,21 @@ public class CQLTableCreator extends TableCreator {
 	}
 
 	private void createTable(EntityMeta entityMeta, String tableName) {
+		CQLTableBuilder builder = tableBuilder(entityMeta, tableName);
+		session.execute(builder.generateDDLScript());
+		if (builder.hasIndices()) {
+			for (String indexScript : builder.generateIndices()) {
+				session.execute(indexScript);
+			}
+		}
+
+	}
+
+	/**
+	 * Table definition of a non clustered counter entity, also used to write
+	 * SSTables offline
+	 */
+	static CQLTableBuilder tableBuilder(EntityMeta entityMeta, String tableName) {
 		CQLTableBuilder builder = CQLTableBuilder.createTable(tableName);
 		for (PropertyMeta pm : entityMeta.getAllMetasExceptIdMeta()) {
 			String propertyName = pm.getPropertyName();
@@ -146,13 +161,7 @@ public class CQLTableCreator extends TableCreator {
 		}
 		buildPrimaryKey(entityMeta.getIdMeta(), builder);
 		builder.addComment("Create table for entity '" + entityMeta.getClassName() + "'");
-		session.execute(builder.generateDDLScript());
-		if (builder.hasIndices()) {
-			for (String indexScript : builder.generateIndices()) {
-				session.execute(indexScript);
-			}
-		}
-
+		return builder;
 	}
 
 	private void createTableForClusteredCounter(EntityMeta meta) {
@@ -184,7 +193,7 @@ public class CQLTableCreator extends TableCreator {
 		return tableMetas;
 	}
 
-	private void buildPrimaryKey(PropertyMeta pm, CQLTableBuilder builder) {
+	private static void buildPrimaryKey(PropertyMeta pm, CQLTableBuilder builder) {
 		if (pm.isEmbeddedId()) {
 			addPrimaryKeyComponents(pm, builder, true);
 			addPrimaryKeyComponents(pm, builder, false);
@@ -195,7 +204,7 @@ public class CQLTableCreator extends TableCreator {
 		}
 	}
 
-	private void addPrimaryKeyComponents(PropertyMeta pm, CQLTableBuilder builder, boolean partitionKey) {
+	private static void addPrimaryKeyComponents(PropertyMeta pm, CQLTableBuilder builder, boolean partitionKey) {
 		List<String> componentNames;
 		List<Class<?>> componentClasses;
 
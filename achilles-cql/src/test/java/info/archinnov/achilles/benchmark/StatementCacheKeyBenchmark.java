@@ -0,0 +1,130 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.statement.cache.CacheType;
+import info.archinnov.achilles.statement.cache.StatementCacheKey;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Collections2;
+
+/**
+ * Compares the statement cache lookup done on each merge, with the former
+ * key built from a set of property names and with the ordinal mask key. Run
+ * the main method with the test classpath
+ */
+public class StatementCacheKeyBenchmark {
+	private static final int PROPERTIES_COUNT = 20;
+	private static final int DIRTY_COUNT = 5;
+	private static final int WARMUP_ITERATIONS = 2000000;
+	private static final int ITERATIONS = 5000000;
+
+	private static final Function<PropertyMeta, String> propertyExtractor = new Function<PropertyMeta, String>() {
+		@Override
+		public String apply(PropertyMeta pm) {
+			return pm.getPropertyName();
+		}
+	};
+
+	public static void main(String[] args) {
+		List<PropertyMeta> dirtyMetas = new ArrayList<PropertyMeta>();
+		for (int i = 0; i < PROPERTIES_COUNT; i++) {
+			PropertyMeta pm = new PropertyMeta();
+			pm.setPropertyName("property" + i);
+			pm.setOrdinal(i);
+			if (i % (PROPERTIES_COUNT / DIRTY_COUNT) == 0) {
+				dirtyMetas.add(pm);
+			}
+		}
+
+		Cache<NameSetKey, Object> nameSetCache = CacheBuilder.newBuilder().maximumSize(5000).build();
+		nameSetCache.put(nameSetKey(dirtyMetas), new Object());
+		Cache<StatementCacheKey, Object> maskCache = CacheBuilder.newBuilder().maximumSize(5000).build();
+		maskCache.put(maskKey(dirtyMetas), new Object());
+
+		run("name set key", nameSetCache, dirtyMetas, true);
+		run("ordinal mask key", maskCache, dirtyMetas, false);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void run(String label, Cache cache, List<PropertyMeta> dirtyMetas, boolean nameSet) {
+		lookup(cache, dirtyMetas, nameSet, WARMUP_ITERATIONS);
+
+		long allocatedBefore = allocatedBytes();
+		long start = System.nanoTime();
+		int hits = lookup(cache, dirtyMetas, nameSet, ITERATIONS);
+		long duration = System.nanoTime() - start;
+		long allocated = allocatedBytes() - allocatedBefore;
+
+		System.out.println(String.format("%-18s %8.1f ns/op %8.1f bytes/op (%d hits)", label, (double) duration
+				/ ITERATIONS, (double) allocated / ITERATIONS, hits));
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static int lookup(Cache cache, List<PropertyMeta> dirtyMetas, boolean nameSet, int iterations) {
+		int hits = 0;
+		for (int i = 0; i < iterations; i++) {
+			Object key = nameSet ? nameSetKey(dirtyMetas) : maskKey(dirtyMetas);
+			if (cache.getIfPresent(key) != null) {
+				hits++;
+			}
+		}
+		return hits;
+	}
+
+	private static NameSetKey nameSetKey(List<PropertyMeta> pms) {
+		return new NameSetKey(new HashSet<String>(Collections2.transform(pms, propertyExtractor)));
+	}
+
+	private static StatementCacheKey maskKey(List<PropertyMeta> pms) {
+		return new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class, pms,
+				StatementCacheKey.NO_TTL);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread
+				.currentThread().getId());
+	}
+
+	private static class NameSetKey {
+		private final Set<String> fields;
+
+		NameSetKey(Set<String> fields) {
+			this.fields = fields;
+		}
+
+		@Override
+		public int hashCode() {
+			return fields.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NameSetKey && fields.equals(((NameSetKey) obj).fields);
+		}
+	}
+}
@@ -23,6 +23,8 @@ import info.archinnov.achilles.exception.AchillesException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -37,6 +39,7 @@ import com.datastax.driver.core.SSLOptions;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.policies.Policies;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLArgumentExtractorTest {
@@ -141,4 +144,136 @@ public class CQLArgumentExtractorTest {
 
 		assertThat(actual).isSameAs(session);
 	}
+
+	@Test
+	public void should_init_default_prepared_statements_cache_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+
+		assertThat(extractor.initPreparedStatementsCacheSize(params)).isEqualTo(5000);
+		assertThat(extractor.initPreparedStatementsCacheExpireAfterAccess(params)).isNull();
+	}
+
+	@Test
+	public void should_init_prepared_statements_cache_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(PREPARED_STATEMENTS_CACHE_SIZE, 100);
+		params.put(PREPARED_STATEMENTS_CACHE_EXPIRE_AFTER_ACCESS, 60);
+
+		assertThat(extractor.initPreparedStatementsCacheSize(params)).isEqualTo(100);
+		assertThat(extractor.initPreparedStatementsCacheExpireAfterAccess(params)).isEqualTo(60L);
+	}
+
+	@Test
+	public void should_exception_when_prepared_statements_cache_size_not_positive() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(PREPARED_STATEMENTS_CACHE_SIZE, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(PREPARED_STATEMENTS_CACHE_SIZE + " property should be strictly positive");
+
+		extractor.initPreparedStatementsCacheSize(params);
+	}
+
+	@Test
+	public void should_init_flush_max_in_flight_statements() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		assertThat(extractor.initFlushMaxInFlightStatements(params)).isEqualTo(1);
+
+		params.put(FLUSH_MAX_IN_FLIGHT_STATEMENTS, 16);
+		assertThat(extractor.initFlushMaxInFlightStatements(params)).isEqualTo(16);
+	}
+
+	@Test
+	public void should_exception_when_flush_max_in_flight_statements_not_positive() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FLUSH_MAX_IN_FLIGHT_STATEMENTS, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(FLUSH_MAX_IN_FLIGHT_STATEMENTS + " property should be strictly positive");
+
+		extractor.initFlushMaxInFlightStatements(params);
+	}
+
+	@Test
+	public void should_init_default_bulk_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+
+		assertThat(extractor.initBulkMaxOutstandingWrites(params)).isEqualTo(128);
+		assertThat(extractor.initBulkRateLimit(params)).isNull();
+		assertThat(extractor.initBulkMaxRetries(params)).isEqualTo(3);
+	}
+
+	@Test
+	public void should_init_bulk_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(BULK_MAX_OUTSTANDING_WRITES, 32);
+		params.put(BULK_RATE_LIMIT, 500);
+		params.put(BULK_MAX_RETRIES, 0);
+
+		assertThat(extractor.initBulkMaxOutstandingWrites(params)).isEqualTo(32);
+		assertThat(extractor.initBulkRateLimit(params)).isEqualTo(500.0);
+		assertThat(extractor.initBulkMaxRetries(params)).isEqualTo(0);
+	}
+
+	@Test
+	public void should_exception_when_bulk_rate_limit_not_positive() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(BULK_RATE_LIMIT, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(BULK_RATE_LIMIT + " property should be strictly positive");
+
+		extractor.initBulkRateLimit(params);
+	}
+
+	@Test
+	public void should_init_default_counter_write_behind_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+
+		assertThat(extractor.initCounterWriteBehindEnabled(params)).isFalse();
+		assertThat(extractor.initCounterWriteBehindFlushInterval(params)).isEqualTo(1000L);
+		assertThat(extractor.initCounterWriteBehindFlushThreshold(params)).isEqualTo(1000);
+	}
+
+	@Test
+	public void should_init_counter_write_behind_settings() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(COUNTER_WRITE_BEHIND_ENABLED, true);
+		params.put(COUNTER_WRITE_BEHIND_FLUSH_INTERVAL, 500);
+		params.put(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD, 200);
+
+		assertThat(extractor.initCounterWriteBehindEnabled(params)).isTrue();
+		assertThat(extractor.initCounterWriteBehindFlushInterval(params)).isEqualTo(500L);
+		assertThat(extractor.initCounterWriteBehindFlushThreshold(params)).isEqualTo(200);
+	}
+
+	@Test
+	public void should_exception_when_counter_write_behind_flush_threshold_not_positive() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD + " property should be strictly positive");
+
+		extractor.initCounterWriteBehindFlushThreshold(params);
+	}
+
+	@Test
+	public void should_init_default_async_callback_executor() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+
+		Executor callbackExecutor = extractor.initAsyncCallbackExecutor(params);
+
+		assertThat(callbackExecutor).isInstanceOf(ExecutorService.class);
+		((ExecutorService) callbackExecutor).shutdown();
+	}
+
+	@Test
+	public void should_init_async_callback_executor() throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		Executor callbackExecutor = MoreExecutors.sameThreadExecutor();
+		params.put(ASYNC_CALLBACK_EXECUTOR, callbackExecutor);
+
+		assertThat(extractor.initAsyncCallbackExecutor(params)).isSameAs(callbackExecutor);
+	}
 }
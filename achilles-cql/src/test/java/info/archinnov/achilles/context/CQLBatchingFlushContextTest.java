@@ -18,16 +18,34 @@ package info.archinnov.achilles.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.FlushContext.FlushType;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.BatchType;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLBatchingFlushContextTest {
@@ -43,6 +61,9 @@ public class CQLBatchingFlushContextTest {
 	@Mock
 	private Query query;
 
+	@Captor
+	private ArgumentCaptor<List<AbstractStatementWrapper>> wrappersCaptor;
+
 	@Before
 	public void setUp() {
 		context = new CQLBatchingFlushContext(daoContext, EACH_QUORUM);
@@ -50,33 +71,239 @@ public class CQLBatchingFlushContextTest {
 
 	@Test
 	public void should_start_batch() throws Exception {
-		context.boundStatementWrappers.add(bsWrapper);
+		context.statementWrappers.add(bsWrapper);
 
 		context.startBatch();
 
-		assertThat(context.boundStatementWrappers).isEmpty();
+		assertThat(context.statementWrappers).isEmpty();
 		assertThat(context.consistencyLevel).isNull();
 	}
 
 	@Test
 	public void should_do_nothing_when_flush_is_called() throws Exception {
-		context.boundStatementWrappers.add(bsWrapper);
+		context.statementWrappers.add(bsWrapper);
 
 		context.flush();
 
-		assertThat(context.boundStatementWrappers).containsExactly(bsWrapper);
+		assertThat(context.statementWrappers).containsExactly(bsWrapper);
+	}
+
+	@Test
+	public void should_do_nothing_when_flush_async_is_called() throws Exception {
+		context.statementWrappers.add(bsWrapper);
+
+		assertThat(context.flushAsync().get()).isEmpty();
+		assertThat(context.statementWrappers).containsExactly(bsWrapper);
 	}
 
 	@Test
 	public void should_end_batch() throws Exception {
-		context.boundStatementWrappers.add(bsWrapper);
+		Object[] values = new Object[] { 10L };
+		when(bsWrapper.getQuery()).thenReturn(query);
+		when(bsWrapper.getValues()).thenReturn(values);
+		context.statementWrappers.add(bsWrapper);
 
 		context.endBatch();
 
-		assertThat(context.boundStatementWrappers).isEmpty();
+		verify(daoContext).execute(query, values);
+		assertThat(context.statementWrappers).isEmpty();
 		assertThat(context.consistencyLevel).isNull();
 	}
 
+	@Test
+	public void should_send_statements_as_one_logged_batch() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper wrapper3 = wrapper(false, "other_table", 10L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper1, wrapper2, wrapper3);
+		assertThat(context.getSavedRoundTrips()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_count_batch_prepare_as_round_trip() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper wrapper3 = wrapper(false, "table", 12L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3));
+		when(daoContext.executeBatch(eq(BatchType.LOGGED), anyListOf(AbstractStatementWrapper.class),
+				any(AtomicInteger.class))).thenAnswer(new Answer<ResultSet>() {
+			@Override
+			public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+				((AtomicInteger) invocation.getArguments()[2]).incrementAndGet();
+				return null;
+			}
+		});
+
+		context.endBatch();
+
+		assertThat(context.getSavedRoundTrips()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_send_statements_as_unlogged_batch() throws Exception {
+		BoundStatementWrapper wrapper1 = clusteredWrapper("table", 10L, "a");
+		BoundStatementWrapper wrapper2 = clusteredWrapper("table", 10L, "b");
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2));
+		context.setLogged(false);
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.UNLOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper1, wrapper2);
+		assertThat(context.isLogged()).isTrue();
+	}
+
+	@Test
+	public void should_group_unlogged_batches_by_partition() throws Exception {
+		BoundStatementWrapper wrapper1 = clusteredWrapper("table", 10L, "a");
+		BoundStatementWrapper wrapper2 = clusteredWrapper("table", 11L, "a");
+		BoundStatementWrapper wrapper3 = clusteredWrapper("table", 10L, "b");
+		BoundStatementWrapper wrapper4 = clusteredWrapper("table", 11L, "b");
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3, wrapper4));
+		context.setLogged(false);
+
+		context.endBatch();
+
+		verify(daoContext, times(2)).executeBatch(eq(BatchType.UNLOGGED), wrappersCaptor.capture(),
+				any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getAllValues().get(0)).containsExactly(wrapper1, wrapper3);
+		assertThat(wrappersCaptor.getAllValues().get(1)).containsExactly(wrapper2, wrapper4);
+		assertThat(context.getSavedRoundTrips()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_keep_logged_batch_across_partitions() throws Exception {
+		BoundStatementWrapper wrapper1 = clusteredWrapper("table", 10L, "a");
+		BoundStatementWrapper wrapper2 = clusteredWrapper("table", 11L, "a");
+
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper1, wrapper2);
+	}
+
+	@Test
+	public void should_coalesce_overwritten_statements() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper wrapper3 = wrapper(false, "table", 10L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper2, wrapper3);
+		verify(daoContext, never()).execute(any(Query.class), any(Object[].class));
+		assertThat(context.getSavedRoundTrips()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_not_coalesce_counter_updates() throws Exception {
+		BoundStatementWrapper counter1 = wrapper(true, "counters", 10L);
+		BoundStatementWrapper counter2 = wrapper(true, "counters", 10L);
+		context.statementWrappers.addAll(Arrays.asList(counter1, counter2));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.COUNTER), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(counter1, counter2);
+	}
+
+	@Test
+	public void should_send_counter_updates_in_counter_batch() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper counter1 = wrapper(true, "counters", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper counter2 = wrapper(true, "counters", 10L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, counter1, wrapper2, counter2));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		verify(daoContext).executeBatch(eq(BatchType.COUNTER), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getAllValues().get(0)).containsExactly(wrapper1, wrapper2);
+		assertThat(wrappersCaptor.getAllValues().get(1)).containsExactly(counter1, counter2);
+	}
+
+	@Test
+	public void should_split_batch_when_same_row_is_written_twice() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper wrapper3 = wrapper(false, "other query", "table", 10L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper1, wrapper2);
+		verify(daoContext).execute(wrapper3.getQuery(), wrapper3.getValues());
+		assertThat(context.getSavedRoundTrips()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_keep_push_order_between_simple_and_prepared_statements() throws Exception {
+		StatementWrapper append = simpleWrapper("table", 10L);
+		BoundStatementWrapper remove = wrapper(false, "table", 10L);
+		context.statementWrappers.addAll(Arrays.<AbstractStatementWrapper> asList(append, remove));
+
+		context.endBatch();
+
+		InOrder inOrder = inOrder(daoContext);
+		inOrder.verify(daoContext).execute(append.getQuery(), append.getValues());
+		inOrder.verify(daoContext).execute(remove.getQuery(), remove.getValues());
+		verify(daoContext, never()).executeBatch(any(BatchType.class), anyListOf(AbstractStatementWrapper.class),
+				any(AtomicInteger.class));
+	}
+
+	@Test
+	public void should_not_coalesce_simple_statements() throws Exception {
+		StatementWrapper append1 = simpleWrapper("table", 10L);
+		StatementWrapper append2 = simpleWrapper("table", 11L);
+		StatementWrapper append3 = simpleWrapper("table", 10L);
+		context.statementWrappers.addAll(Arrays.<AbstractStatementWrapper> asList(append1, append2, append3));
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(append1, append2);
+		verify(daoContext).execute(append3.getQuery(), append3.getValues());
+	}
+
+	@Test
+	public void should_split_batch_when_max_size_reached() throws Exception {
+		for (long i = 0; i <= CQLBatchingFlushContext.MAX_STATEMENTS_PER_BATCH; i++) {
+			context.statementWrappers.add(wrapper(false, "table", i));
+		}
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).hasSize(CQLBatchingFlushContext.MAX_STATEMENTS_PER_BATCH);
+		verify(daoContext).execute(any(Query.class), any(Object[].class));
+	}
+
+	@Test
+	public void should_split_batch_when_max_size_in_bytes_reached() throws Exception {
+		BoundStatementWrapper wrapper1 = wrapper(false, "table", 10L);
+		BoundStatementWrapper wrapper2 = wrapper(false, "table", 11L);
+		BoundStatementWrapper wrapper3 = wrapper(false, "table", 12L);
+		context.statementWrappers.addAll(Arrays.asList(wrapper1, wrapper2, wrapper3));
+		context.setMaxBatchSizeInBytes(wrapper1.estimateSize() + wrapper2.estimateSize());
+
+		context.endBatch();
+
+		verify(daoContext).executeBatch(eq(BatchType.LOGGED), wrappersCaptor.capture(), any(AtomicInteger.class));
+		assertThat(wrappersCaptor.getValue()).containsExactly(wrapper1, wrapper2);
+		verify(daoContext).execute(wrapper3.getQuery(), wrapper3.getValues());
+	}
+
 	@Test
 	public void should_get_type() throws Exception {
 		assertThat(context.type()).isSameAs(FlushType.BATCH);
@@ -84,11 +311,46 @@ public class CQLBatchingFlushContextTest {
 
 	@Test
 	public void should_duplicate_without_ttl() throws Exception {
-		context.boundStatementWrappers.add(bsWrapper);
+		context.statementWrappers.add(bsWrapper);
 
 		CQLBatchingFlushContext duplicate = context.duplicate();
 
-		assertThat(duplicate.boundStatementWrappers).containsOnly(bsWrapper);
+		assertThat(duplicate.statementWrappers).containsOnly(bsWrapper);
 		assertThat(duplicate.consistencyLevel).isSameAs(EACH_QUORUM);
 	}
+
+	@Test
+	public void should_duplicate_with_max_batch_size_in_bytes() throws Exception {
+		context.setMaxBatchSizeInBytes(1024);
+
+		assertThat(context.duplicate().getMaxBatchSizeInBytes()).isEqualTo(1024);
+	}
+
+	private BoundStatementWrapper wrapper(boolean counterUpdate, String table, Long id) {
+		return wrapper(counterUpdate, "query", table, id);
+	}
+
+	private BoundStatementWrapper wrapper(boolean counterUpdate, String queryString, String table, Long id) {
+		return new BoundStatementWrapper(boundStatement(queryString), new Object[] { id }, Arrays.<Object> asList(
+				table, id), 1, counterUpdate);
+	}
+
+	private StatementWrapper simpleWrapper(String table, Long id) {
+		Statement statement = mock(Statement.class);
+		when(statement.getQueryString()).thenReturn("UPDATE " + table + " SET friends=friends+['a'] WHERE id=" + id);
+		return new StatementWrapper(statement, Arrays.<Object> asList(table, id), 1);
+	}
+
+	private BoundStatementWrapper clusteredWrapper(String table, Long id, String name) {
+		return new BoundStatementWrapper(boundStatement("query"), new Object[] { id, name }, Arrays.<Object> asList(
+				table, id, name), 1, false);
+	}
+
+	private BoundStatement boundStatement(String queryString) {
+		BoundStatement bs = mock(BoundStatement.class);
+		PreparedStatement ps = mock(PreparedStatement.class);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(ps.getQueryString()).thenReturn(queryString);
+		return bs;
+	}
 }
@@ -0,0 +1,196 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.BatchType;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CQLCounterWriteBehindTest {
+
+	private CQLCounterWriteBehind counterWriteBehind;
+
+	@Mock
+	private CQLDaoContext daoContext;
+
+	@Mock
+	private PropertyMeta counterMeta;
+
+	@Mock
+	private BoundStatementWrapper bsWrapper;
+
+	@Mock
+	private BoundStatement bs;
+
+	private EntityMeta entityMeta = new EntityMeta();
+
+	@Before
+	public void setUp() {
+		counterWriteBehind = new CQLCounterWriteBehind(daoContext, 3600000L, 1000);
+		entityMeta.setEntityClass(CompleteBean.class);
+
+		when(counterMeta.getPropertyName()).thenReturn("version");
+		when(counterMeta.getWriteConsistencyLevel()).thenReturn(LOCAL_QUORUM);
+		when(bsWrapper.getBs()).thenReturn(bs);
+		when(daoContext.bindForCounterIncrement(eq(entityMeta), eq(counterMeta), any(), any(Long.class)))
+				.thenReturn(bsWrapper);
+	}
+
+	@After
+	public void tearDown() {
+		counterWriteBehind.shutdown();
+	}
+
+	@Test
+	public void should_aggregate_deltas_of_same_counter() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 3L);
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, -1L);
+
+		assertThat(counterWriteBehind.getPendingDelta(entityMeta, counterMeta, 10L)).isEqualTo(2L);
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(1L);
+
+		counterWriteBehind.flush();
+
+		verify(daoContext).bindForCounterIncrement(entityMeta, counterMeta, 10L, 2L);
+		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
+		verify(daoContext).execute(eq(bs), Mockito.<Object[]> anyVararg());
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(0L);
+		assertThat(counterWriteBehind.getFlushedCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_flush_several_counters_as_counter_batch() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 1L);
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 11L, 2L);
+
+		counterWriteBehind.flush();
+
+		ArgumentCaptor<List> wrappersCaptor = ArgumentCaptor.forClass(List.class);
+		verify(daoContext).executeBatch(eq(BatchType.COUNTER), wrappersCaptor.capture());
+		assertThat(wrappersCaptor.getValue()).hasSize(2);
+		assertThat(counterWriteBehind.getFlushedCount()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_not_write_counters_with_zero_delta() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 1L);
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, -1L);
+
+		counterWriteBehind.flush();
+
+		verifyZeroInteractions(daoContext);
+	}
+
+	@Test
+	public void should_put_deltas_back_when_flush_not_applied() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 5L);
+		when(daoContext.execute(any(Query.class), Mockito.<Object[]> anyVararg())).thenThrow(
+				new UnavailableException(com.datastax.driver.core.ConsistencyLevel.QUORUM, 2, 1));
+
+		counterWriteBehind.flush();
+
+		assertThat(counterWriteBehind.getPendingDelta(entityMeta, counterMeta, 10L)).isEqualTo(5L);
+		assertThat(counterWriteBehind.getRetriedCount()).isEqualTo(1L);
+		assertThat(counterWriteBehind.getFailedCount()).isEqualTo(0L);
+		assertThat(counterWriteBehind.getFlushedCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_put_deltas_back_when_no_host_available() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 5L);
+		when(daoContext.execute(any(Query.class), Mockito.<Object[]> anyVararg())).thenThrow(
+				new NoHostAvailableException(new HashMap<InetAddress, String>()));
+
+		counterWriteBehind.flush();
+
+		assertThat(counterWriteBehind.getPendingDelta(entityMeta, counterMeta, 10L)).isEqualTo(5L);
+		assertThat(counterWriteBehind.getRetriedCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_drop_deltas_when_flush_may_have_been_applied() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 5L);
+		when(daoContext.execute(any(Query.class), Mockito.<Object[]> anyVararg())).thenThrow(
+				new WriteTimeoutException(com.datastax.driver.core.ConsistencyLevel.QUORUM, WriteType.COUNTER, 1, 2));
+
+		counterWriteBehind.flush();
+
+		assertThat(counterWriteBehind.getPendingDelta(entityMeta, counterMeta, 10L)).isEqualTo(0L);
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(0L);
+		assertThat(counterWriteBehind.getFailedCount()).isEqualTo(1L);
+		assertThat(counterWriteBehind.getRetriedCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_discard_pending_delta() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 5L);
+
+		counterWriteBehind.discardDelta(entityMeta, counterMeta, 10L);
+		counterWriteBehind.flush();
+
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(0L);
+		verifyZeroInteractions(daoContext);
+	}
+
+	@Test
+	public void should_flush_when_threshold_reached() throws Exception {
+		counterWriteBehind.shutdown();
+		counterWriteBehind = new CQLCounterWriteBehind(daoContext, 3600000L, 2);
+
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 1L);
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 11L, 1L);
+
+		verify(daoContext, timeout(5000)).executeBatch(eq(BatchType.COUNTER),
+				Mockito.<List<AbstractStatementWrapper>> any());
+	}
+
+	@Test
+	public void should_flush_pending_deltas_on_shutdown() throws Exception {
+		counterWriteBehind.addDelta(entityMeta, counterMeta, 10L, 7L);
+
+		counterWriteBehind.shutdown();
+
+		verify(daoContext).bindForCounterIncrement(entityMeta, counterMeta, 10L, 7L);
+	}
+}
@@ -22,6 +22,7 @@ import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.statement.cache.CacheType;
 import info.archinnov.achilles.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
@@ -81,7 +82,10 @@ public class CQLDaoContextBuilderTest {
 		EntityMeta meta = new EntityMeta();
 		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
 				.type(PropertyType.SIMPLE).build();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.ID).build();
 
+		meta.setIdMeta(idMeta);
 		meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
 		entityMetaMap.put(CompleteBean.class, meta);
 
@@ -105,4 +109,24 @@ public class CQLDaoContextBuilderTest {
 		assertThat((Map<CQLQueryType, PreparedStatement>) Whitebox.getInternalState(actual, "counterQueryMap"))
 				.isSameAs(counterQueryMap);
 	}
+
+	@Test
+	public void should_build_dao_context_with_bounded_and_instrumented_cache() throws Exception {
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<Class<?>, EntityMeta>();
+
+		CQLDaoContext actual = builder.preparedStatementsCacheSize(2).build(entityMetaMap, false);
+
+		Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = (Cache<StatementCacheKey, PreparedStatement>) Whitebox
+				.getInternalState(actual, "dynamicPSCache");
+		PropertyMeta pm = new PropertyMeta();
+		for (int i = 0; i < 3; i++) {
+			pm.setOrdinal(i);
+			dynamicPSCache.put(new StatementCacheKey(CacheType.SELECT_FIELD, "table", CompleteBean.class, pm), insertPS);
+		}
+		dynamicPSCache.getIfPresent(new StatementCacheKey(CacheType.SELECT_FIELD, "table", CompleteBean.class, pm));
+
+		assertThat(actual.getDynamicPSCacheSize()).isEqualTo(2L);
+		assertThat(actual.getDynamicPSCacheStats().evictionCount()).isEqualTo(1L);
+		assertThat(actual.getDynamicPSCacheStats().hitCount()).isEqualTo(1L);
+	}
 }
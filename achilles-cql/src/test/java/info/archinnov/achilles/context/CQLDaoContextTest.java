@@ -23,7 +23,11 @@ import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.statement.BatchType;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.cache.CacheManager;
 import info.archinnov.achilles.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
@@ -33,10 +37,13 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.cassandra.utils.Pair;
 import org.apache.commons.lang.math.RandomUtils;
@@ -49,17 +56,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.datastax.driver.core.querybuilder.Using;
@@ -135,6 +147,9 @@ public class CQLDaoContextTest {
 	@Captor
 	ArgumentCaptor<Using> usingCaptor;
 
+	@Captor
+	ArgumentCaptor<StatementWrapper> statementWrapperCaptor;
+
 	private CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
 
 	private Object[] boundValues = new Object[1];
@@ -144,7 +159,7 @@ public class CQLDaoContextTest {
 		Whitebox.setInternalState(daoContext, CQLPreparedStatementBinder.class, binder);
 		Whitebox.setInternalState(daoContext, CacheManager.class, cacheManager);
 		Whitebox.setInternalState(daoContext, "insertPSs", insertPSs);
-		Whitebox.setInternalState(daoContext, Cache.class, dynamicPSCache);
+		Whitebox.setInternalState(daoContext, "dynamicPSCache", dynamicPSCache);
 		Whitebox.setInternalState(daoContext, "selectEagerPSs", selectEagerPSs);
 		Whitebox.setInternalState(daoContext, "removePSs", removePSs);
 		Whitebox.setInternalState(daoContext, "counterQueryMap", counterQueryMap);
@@ -184,6 +199,25 @@ public class CQLDaoContextTest {
 	@Test
 	public void should_push_insert_with_ttl() throws Exception {
 		int ttl = 115;
+		seenTtls().put(ttl, true);
+		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(context.getEntity()).thenReturn(entity);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
+
+		when(cacheManager.getCacheForInsertWithTtl(session, dynamicPSCache, context, ttl)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, entity)).thenReturn(bsWrapper);
+
+		daoContext.pushInsertStatement(context);
+		verify(context).pushBoundStatement(bsWrapper, ALL);
+		verifyZeroInteractions(statementGenerator);
+	}
+
+	@Test
+	public void should_push_insert_with_first_seen_ttl_unprepared() throws Exception {
+		int ttl = 116;
 		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
 		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
 		when(context.getEntity()).thenReturn(entity);
@@ -191,12 +225,38 @@ public class CQLDaoContextTest {
 
 		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
 
-		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(insert);
+		when(statementGenerator.generateInsert(entity, entityMeta, false)).thenReturn(insert);
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 
 		daoContext.pushInsertStatement(context);
-		verify(context).pushStatement(insertOptions, ALL);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(ALL));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(insertOptions);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(ttl));
+		assertThat(seenTtls().getIfPresent(ttl)).isTrue();
+		verifyZeroInteractions(cacheManager);
+	}
+
+	@Test
+	public void should_push_insert_skipping_null_columns() throws Exception {
+		int ttl = 115;
+		seenTtls().put(ttl, true);
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
+		List<PropertyMeta> pms = Arrays.asList(nameMeta);
+		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(context.isSkipNullColumns()).thenReturn(true);
+		when(context.getEntity()).thenReturn(entity);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
+
+		when(binder.extractNonNullInsertMetas(entityMeta, entity)).thenReturn(pms);
+		when(cacheManager.getCacheForInsertFields(session, dynamicPSCache, context, pms, ttl)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, pms, entity)).thenReturn(bsWrapper);
+
+		daoContext.pushInsertStatement(context);
+		verify(context).pushBoundStatement(bsWrapper, ALL);
+		verifyZeroInteractions(statementGenerator);
 	}
 
 	@Test
@@ -209,14 +269,38 @@ public class CQLDaoContextTest {
 
 		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
 
-		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(insert);
+		when(statementGenerator.generateInsert(entity, entityMeta, false)).thenReturn(insert);
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 
 		daoContext.pushInsertStatement(context);
-		verify(context).pushStatement(insertOptions, ALL);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(ALL));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(insertOptions);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
 	}
 
+	@Test
+	public void should_route_insert_with_timestamp() throws Exception {
+		ByteBuffer routingKey = ByteBuffer.wrap(new byte[] { 1, 2 });
+		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(null));
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(115L));
+		when(context.getEntity()).thenReturn(entity);
+		when(context.getPrimaryKey()).thenReturn(entity.getId());
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
+
+		when(statementGenerator.generateInsert(entity, entityMeta, false)).thenReturn(
+				QueryBuilder.insertInto("table").value("id", 10L));
+		when(binder.extractRoutingKey(entityMeta, entity.getId())).thenReturn(routingKey);
+
+		daoContext.pushInsertStatement(context);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(ALL));
+		Statement statement = statementWrapperCaptor.getValue().getStatement();
+		assertThat(statement).isInstanceOf(SimpleStatement.class);
+		assertThat(statement.getQueryString()).isEqualTo("INSERT INTO table(id) VALUES (10) USING TIMESTAMP 115;");
+		assertThat(statement.getRoutingKey()).isEqualTo(routingKey);
+	}
+
 	@Test
 	public void should_push_insert_with_ttl_and_timestamp() throws Exception {
 		int ttl = 115;
@@ -228,12 +312,13 @@ public class CQLDaoContextTest {
 
 		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
 
-		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(insert);
+		when(statementGenerator.generateInsert(entity, entityMeta, false)).thenReturn(insert);
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 		when(insertOptions.and(usingCaptor.capture())).thenReturn(insertOptions);
 
 		daoContext.pushInsertStatement(context);
-		verify(context).pushStatement(insertOptions, ALL);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(ALL));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(insertOptions);
 		List<Using> usings = usingCaptor.getAllValues();
 		assertThat(Whitebox.getInternalState(usings.get(0), "value")).isEqualTo(new Long(ttl));
 		assertThat(Whitebox.getInternalState(usings.get(1), "value")).isEqualTo(new Long(timestamp));
@@ -266,6 +351,26 @@ public class CQLDaoContextTest {
 		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
 
 		int ttl = 15465;
+		seenTtls().put(ttl, true);
+		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(context.getEntity()).thenReturn(entity);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
+
+		when(cacheManager.getCacheForFieldsUpdateWithTtl(session, dynamicPSCache, context, pms, ttl)).thenReturn(ps);
+		when(binder.bindForUpdate(ps, entityMeta, pms, entity)).thenReturn(bsWrapper);
+
+		daoContext.pushUpdateStatement(context, pms);
+		verify(context).pushBoundStatement(bsWrapper, EACH_QUORUM);
+		verifyZeroInteractions(statementGenerator);
+	}
+
+	@Test
+	public void should_push_update_with_first_seen_ttl_unprepared() throws Exception {
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
+		List<PropertyMeta> pms = Arrays.asList(nameMeta);
+
+		int ttl = 15466;
 		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
 		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
 		when(context.getEntity()).thenReturn(entity);
@@ -275,8 +380,10 @@ public class CQLDaoContextTest {
 		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
 
 		daoContext.pushUpdateStatement(context, pms);
-		verify(context).pushStatement(updateOptions, EACH_QUORUM);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(EACH_QUORUM));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(updateOptions);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(ttl));
+		verifyZeroInteractions(cacheManager);
 	}
 
 	@Test
@@ -297,10 +404,35 @@ public class CQLDaoContextTest {
 		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
 
 		daoContext.pushUpdateStatement(context, pms);
-		verify(context).pushStatement(updateOptions, EACH_QUORUM);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(EACH_QUORUM));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(updateOptions);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
 	}
 
+	@Test
+	public void should_push_collection_mutations() throws Exception {
+		PropertyMeta preferencesMeta = PropertyMetaTestBuilder.valueClass(String.class).field("preferences").build();
+		Map<PropertyMeta, CollectionMutations> mutationsByMeta = ImmutableMap.of(preferencesMeta,
+				new CollectionMutations());
+		Delete.Where delete = mock(Delete.Where.class);
+
+		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(10));
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(context.getEntity()).thenReturn(entity);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
+
+		when(statementGenerator.generateCollectionMutations(entity, entityMeta, mutationsByMeta)).thenReturn(update);
+		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
+		when(statementGenerator.generateMapKeysRemoval(entity, entityMeta, mutationsByMeta)).thenReturn(delete);
+
+		daoContext.pushCollectionMutations(context, mutationsByMeta);
+
+		verify(context, times(2)).pushStatement(statementWrapperCaptor.capture(), eq(EACH_QUORUM));
+		assertThat(statementWrapperCaptor.getAllValues().get(0).getStatement()).isSameAs(updateOptions);
+		assertThat(statementWrapperCaptor.getAllValues().get(1).getStatement()).isSameAs(delete);
+		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(10L);
+	}
+
 	@Test
 	public void should_push_update_with_ttl_and_timestamp() throws Exception {
 		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
@@ -321,7 +453,8 @@ public class CQLDaoContextTest {
 		when(updateOptions.and(usingCaptor.capture())).thenReturn(updateOptions);
 
 		daoContext.pushUpdateStatement(context, pms);
-		verify(context).pushStatement(updateOptions, EACH_QUORUM);
+		verify(context).pushStatement(statementWrapperCaptor.capture(), eq(EACH_QUORUM));
+		assertThat(statementWrapperCaptor.getValue().getStatement()).isSameAs(updateOptions);
 
 		List<Using> usings = usingCaptor.getAllValues();
 		assertThat(Whitebox.getInternalState(usings.get(0), "value")).isEqualTo(new Long(ttl));
@@ -367,6 +500,32 @@ public class CQLDaoContextTest {
 
 	}
 
+	@Test
+	public void should_eager_load_entity_async() throws Exception {
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId())).thenReturn(bsWrapper);
+
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+		when(resultSet.one()).thenReturn(row);
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(future.get()).thenReturn(resultSet);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(future).addListener(any(Runnable.class), any(Executor.class));
+		when(context.executeImmediateAsyncWithConsistency(bsWrapper, LOCAL_QUORUM)).thenReturn(future);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		Row actual = daoContext.eagerLoadEntityAsync(context).get();
+
+		assertThat(actual).isSameAs(row);
+	}
+
 	@Test
 	public void should_load_property() throws Exception {
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
@@ -385,6 +544,24 @@ public class CQLDaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_load_properties() throws Exception {
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).field("label").build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.valueClass(String.class).field("friends").build();
+		List<PropertyMeta> pms = Arrays.asList(labelMeta, friendsMeta);
+
+		when(cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms)).thenReturn(ps);
+
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId())).thenReturn(bsWrapper);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		when(context.executeImmediateWithConsistency(bsWrapper, EACH_QUORUM)).thenReturn(resultSet);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
+
+		assertThat(daoContext.loadProperties(context, pms)).isSameAs(row);
+	}
+
 	@Test
 	public void should_return_null_when_loading_property() throws Exception {
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
@@ -411,6 +588,17 @@ public class CQLDaoContextTest {
 		assertThat(actual).isSameAs(resultSet);
 	}
 
+	@Test
+	public void should_execute_query_async() throws Exception {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(session.executeAsync(bs)).thenReturn(future);
+		when(bs.preparedStatement()).thenReturn(ps);
+
+		ResultSetFuture actual = daoContext.executeAsync(bs, boundValues);
+
+		assertThat(actual).isSameAs(future);
+	}
+
 	// Simple counter
 	@Test
 	public void should_bind_simple_counter_increment() throws Exception {
@@ -617,6 +805,114 @@ public class CQLDaoContextTest {
 		verify(context).pushBoundStatement(bsWrapper, LOCAL_QUORUM);
 	}
 
+	@Test
+	public void should_execute_prepared_batch() throws Exception {
+		Cache<String, PreparedStatement> batchPSCache = mock(Cache.class);
+		Whitebox.setInternalState(daoContext, "batchPSCache", batchPSCache);
+		BoundStatementWrapper bsWrapper2 = mock(BoundStatementWrapper.class);
+		BoundStatement batchBs = mock(BoundStatement.class);
+		ResultSet resultSet = mock(ResultSet.class);
+
+		when(bsWrapper.getQueryString()).thenReturn("query1");
+		when(bsWrapper.getValues()).thenReturn(new Object[] { 10L, "a" });
+		when(bsWrapper.getQuery()).thenReturn(bs);
+		when(bs.getConsistencyLevel()).thenReturn(com.datastax.driver.core.ConsistencyLevel.QUORUM);
+		when(bsWrapper2.getQueryString()).thenReturn("query2");
+		when(bsWrapper2.getValues()).thenReturn(new Object[] { 11L });
+
+		when(statementGenerator.generateBatchQuery(BatchType.UNLOGGED, Arrays.asList("query1", "query2")))
+				.thenReturn("batch");
+		when(cacheManager.getCacheForBatch(eq(session), eq(batchPSCache), eq("batch"), any(AtomicInteger.class)))
+				.thenReturn(ps);
+		when(ps.bind(10L, "a", 11L)).thenReturn(batchBs);
+		when(batchBs.preparedStatement()).thenReturn(ps);
+		when(session.execute(batchBs)).thenReturn(resultSet);
+		Whitebox.<Cache<String, Boolean>> getInternalState(daoContext, "seenBatchQueries").put("batch", true);
+
+		ResultSet actual = daoContext.executeBatch(BatchType.UNLOGGED, Arrays.asList(bsWrapper, bsWrapper2));
+
+		assertThat(actual).isSameAs(resultSet);
+		verify(batchBs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.QUORUM);
+	}
+
+	@Test
+	public void should_send_first_batch_unprepared_with_inlined_values() throws Exception {
+		BoundStatementWrapper bsWrapper2 = mock(BoundStatementWrapper.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		ArgumentCaptor<SimpleStatement> batchCaptor = ArgumentCaptor.forClass(SimpleStatement.class);
+		Object[] values1 = new Object[] { 10L, "a" };
+		Object[] values2 = new Object[] { 11L };
+
+		when(bsWrapper.getQueryString()).thenReturn("query1");
+		when(bsWrapper.getValues()).thenReturn(values1);
+		when(bsWrapper.getQuery()).thenReturn(bs);
+		when(bs.getConsistencyLevel()).thenReturn(com.datastax.driver.core.ConsistencyLevel.QUORUM);
+		when(bsWrapper2.getQueryString()).thenReturn("query2");
+		when(bsWrapper2.getValues()).thenReturn(values2);
+
+		when(statementGenerator.generateBatchQuery(BatchType.UNLOGGED, Arrays.asList("query1", "query2")))
+				.thenReturn("batch");
+		when(statementGenerator.inlineBoundValues("query1", values1)).thenReturn("inlined1");
+		when(statementGenerator.inlineBoundValues("query2", values2)).thenReturn("inlined2");
+		when(statementGenerator.generateBatchQuery(BatchType.UNLOGGED, Arrays.asList("inlined1", "inlined2")))
+				.thenReturn("inlined batch");
+		when(session.execute(batchCaptor.capture())).thenReturn(resultSet);
+
+		ResultSet actual = daoContext.executeBatch(BatchType.UNLOGGED, Arrays.asList(bsWrapper, bsWrapper2));
+
+		assertThat(actual).isSameAs(resultSet);
+		assertThat(batchCaptor.getValue().getQueryString()).isEqualTo("inlined batch");
+		assertThat(batchCaptor.getValue().getConsistencyLevel()).isSameAs(
+				com.datastax.driver.core.ConsistencyLevel.QUORUM);
+		verifyZeroInteractions(cacheManager);
+	}
+
+	@Test
+	public void should_bind_batch_already_prepared() throws Exception {
+		Cache<String, PreparedStatement> batchPSCache = mock(Cache.class);
+		Whitebox.setInternalState(daoContext, "batchPSCache", batchPSCache);
+		BoundStatement batchBs = mock(BoundStatement.class);
+		AtomicInteger prepareCount = new AtomicInteger();
+
+		when(bsWrapper.getQueryString()).thenReturn("query1");
+		when(bsWrapper.getValues()).thenReturn(new Object[] { 10L });
+		when(bsWrapper.getQuery()).thenReturn(bs);
+		when(statementGenerator.generateBatchQuery(BatchType.LOGGED, Arrays.asList("query1", "query1")))
+				.thenReturn("batch");
+		when(batchPSCache.getIfPresent("batch")).thenReturn(ps);
+		when(ps.bind(10L, 10L)).thenReturn(batchBs);
+		when(batchBs.preparedStatement()).thenReturn(ps);
+
+		daoContext.executeBatch(BatchType.LOGGED, Arrays.asList(bsWrapper, bsWrapper), prepareCount);
+
+		verify(session).execute(batchBs);
+		verifyZeroInteractions(cacheManager);
+		assertThat(prepareCount.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_execute_simple_batch() throws Exception {
+		ByteBuffer routingKey = ByteBuffer.wrap(new byte[] { 1, 2 });
+		StatementWrapper wrapper1 = new StatementWrapper(new SimpleStatement("query1").setRoutingKey(routingKey), null);
+		StatementWrapper wrapper2 = new StatementWrapper(new SimpleStatement("query2"), null);
+		wrapper1.getStatement().setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.ALL);
+		ResultSet resultSet = mock(ResultSet.class);
+		ArgumentCaptor<SimpleStatement> batchCaptor = ArgumentCaptor.forClass(SimpleStatement.class);
+
+		when(statementGenerator.generateBatchQuery(BatchType.LOGGED, Arrays.asList("query1", "query2"))).thenReturn(
+				"batch");
+		when(session.execute(batchCaptor.capture())).thenReturn(resultSet);
+
+		ResultSet actual = daoContext.executeBatch(BatchType.LOGGED, Arrays.asList(wrapper1, wrapper2));
+
+		assertThat(actual).isSameAs(resultSet);
+		assertThat(batchCaptor.getValue().getQueryString()).isEqualTo("batch");
+		assertThat(batchCaptor.getValue().getConsistencyLevel()).isSameAs(
+				com.datastax.driver.core.ConsistencyLevel.ALL);
+		assertThat(batchCaptor.getValue().getRoutingKey()).isEqualTo(routingKey);
+		verifyZeroInteractions(cacheManager);
+	}
+
 	@Test
 	public void should_prepare_statement() throws Exception {
 		Statement statement = new SimpleStatement("query");
@@ -634,4 +930,38 @@ public class CQLDaoContextTest {
 
 		assertThat(daoContext.bindAndExecute(ps, 11L, "a")).isSameAs(rs);
 	}
+
+	@Test
+	public void should_execute_slice_query_with_cached_statement() throws Exception {
+		CQLSliceQuery<CompleteBean> sliceQuery = mock(CQLSliceQuery.class);
+		when(sliceQuery.getBoundValuesForSelect()).thenReturn(new Object[] { 11L, "a" });
+		when(sliceQuery.getConsistencyLevel()).thenReturn(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
+		when(cacheManager.getCacheForSliceSelect(session, dynamicPSCache, sliceQuery, 10)).thenReturn(ps);
+		when(ps.bind(11L, "a")).thenReturn(bs);
+		when(bs.setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM)).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+		ResultSet rs = mock(ResultSet.class);
+		when(session.execute(bs)).thenReturn(rs);
+
+		assertThat(daoContext.executeSliceQuery(sliceQuery, 10)).isSameAs(rs);
+		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
+	}
+
+	@Test
+	public void should_remove_slice_with_cached_statement() throws Exception {
+		CQLSliceQuery<CompleteBean> sliceQuery = mock(CQLSliceQuery.class);
+		when(sliceQuery.getBoundValuesForRemove()).thenReturn(new Object[] { 11L });
+		when(cacheManager.getCacheForSliceRemove(session, dynamicPSCache, sliceQuery)).thenReturn(ps);
+		when(ps.bind(11L)).thenReturn(bs);
+		when(bs.setConsistencyLevel(any(com.datastax.driver.core.ConsistencyLevel.class))).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+
+		daoContext.removeSlice(sliceQuery);
+
+		verify(session).execute(bs);
+	}
+
+	private Cache<Integer, Boolean> seenTtls() {
+		return Whitebox.getInternalState(daoContext, "seenTtls");
+	}
 }
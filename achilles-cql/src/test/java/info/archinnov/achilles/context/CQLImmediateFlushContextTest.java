@@ -18,24 +18,34 @@ package info.archinnov.achilles.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.FlushContext.FlushType;
+import info.archinnov.achilles.entity.cache.EntityCache;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.ListenableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLImmediateFlushContextTest {
@@ -51,6 +61,9 @@ public class CQLImmediateFlushContextTest {
 	@Mock
 	private BoundStatement bs;
 
+	@Mock
+	private StatementWrapper statementWrapper;
+
 	@Mock
 	private Statement statement;
 
@@ -61,6 +74,10 @@ public class CQLImmediateFlushContextTest {
 	public void setUp() {
 		context = new CQLImmediateFlushContext(daoContext, null);
 		when(bsWrapper.getBs()).thenReturn(bs);
+		when(bsWrapper.getQuery()).thenReturn(bs);
+		when(statementWrapper.getStatement()).thenReturn(statement);
+		when(statementWrapper.getQuery()).thenReturn(statement);
+		when(statementWrapper.getValues()).thenReturn(new Object[0]);
 	}
 
 	@Test
@@ -70,48 +87,48 @@ public class CQLImmediateFlushContextTest {
 
 	@Test
 	public void should_push_bound_statement_with_consistency() throws Exception {
-		List<BoundStatementWrapper> boundStatementWrappers = new ArrayList<BoundStatementWrapper>();
-		Whitebox.setInternalState(context, "boundStatementWrappers", boundStatementWrappers);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
 
 		context.pushBoundStatement(bsWrapper, EACH_QUORUM);
 
 		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.EACH_QUORUM);
-		assertThat(boundStatementWrappers).containsOnly(bsWrapper);
+		assertThat(statementWrappers).containsOnly(bsWrapper);
 	}
 
 	@Test
 	public void should_push_bound_statement_with_consistency_overriden_by_current_level() throws Exception {
-		List<BoundStatementWrapper> boundStatementWrappers = new ArrayList<BoundStatementWrapper>();
-		Whitebox.setInternalState(context, "boundStatementWrappers", boundStatementWrappers);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
 
 		context.setConsistencyLevel(LOCAL_QUORUM);
 		context.pushBoundStatement(bsWrapper, EACH_QUORUM);
 
 		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
-		assertThat(boundStatementWrappers).containsOnly(bsWrapper);
+		assertThat(statementWrappers).containsOnly(bsWrapper);
 	}
 
 	@Test
 	public void should_push_statement_with_consistency() throws Exception {
-		List<Statement> statements = new ArrayList<Statement>();
-		Whitebox.setInternalState(context, "statements", statements);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
 
-		context.pushStatement(statement, EACH_QUORUM);
+		context.pushStatement(statementWrapper, EACH_QUORUM);
 
 		verify(statement).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.EACH_QUORUM);
-		assertThat(statements).containsOnly(statement);
+		assertThat(statementWrappers).containsOnly(statementWrapper);
 	}
 
 	@Test
 	public void should_push_statement_with_consistency_overriden_by_current_level() throws Exception {
-		List<Statement> statements = new ArrayList<Statement>();
-		Whitebox.setInternalState(context, "statements", statements);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
 
 		context.setConsistencyLevel(LOCAL_QUORUM);
-		context.pushStatement(statement, EACH_QUORUM);
+		context.pushStatement(statementWrapper, EACH_QUORUM);
 
 		verify(statement).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
-		assertThat(statements).containsOnly(statement);
+		assertThat(statementWrappers).containsOnly(statementWrapper);
 	}
 
 	@Test
@@ -127,22 +144,188 @@ public class CQLImmediateFlushContextTest {
 
 	@Test
 	public void should_flush() throws Exception {
-		List<BoundStatementWrapper> boundStatementWrappers = new ArrayList<BoundStatementWrapper>();
-		boundStatementWrappers.add(bsWrapper);
-		List<Statement> statements = new ArrayList<Statement>();
-		statements.add(statement);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(bsWrapper);
+		statementWrappers.add(statementWrapper);
 
 		Object[] boundValues = new Object[1];
 		when(bsWrapper.getValues()).thenReturn(boundValues);
-		Whitebox.setInternalState(context, "boundStatementWrappers", boundStatementWrappers);
-		Whitebox.setInternalState(context, "statements", statements);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
 
 		context.flush();
 
 		verify(daoContext).execute(bs, boundValues);
 		verify(daoContext).execute(statement);
-		assertThat(boundStatementWrappers).isEmpty();
-		assertThat(statements).isEmpty();
+		assertThat(statementWrappers).isEmpty();
+	}
+
+	@Test
+	public void should_flush_async() throws Exception {
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(bsWrapper);
+		statementWrappers.add(statementWrapper);
+
+		Object[] boundValues = new Object[1];
+		when(bsWrapper.getValues()).thenReturn(boundValues);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+
+		ResultSetFuture bsFuture = mock(ResultSetFuture.class);
+		ResultSetFuture statementFuture = mock(ResultSetFuture.class);
+		when(daoContext.executeAsync(bs, boundValues)).thenReturn(bsFuture);
+		when(daoContext.executeAsync(statement)).thenReturn(statementFuture);
+
+		ListenableFuture<List<ResultSet>> actual = context.flushAsync();
+
+		assertThat(actual).isNotNull();
+		verify(bsFuture).addListener(any(Runnable.class), any(Executor.class));
+		verify(statementFuture).addListener(any(Runnable.class), any(Executor.class));
+		assertThat(statementWrappers).isEmpty();
+	}
+
+	@Test
+	public void should_flush_within_in_flight_window() throws Exception {
+		when(daoContext.getMaxInFlightStatements()).thenReturn(2);
+		Statement statement1 = mock(Statement.class);
+		Statement statement2 = mock(Statement.class);
+		Statement statement3 = mock(Statement.class);
+		ResultSetFuture future1 = mock(ResultSetFuture.class);
+		ResultSetFuture future2 = mock(ResultSetFuture.class);
+		ResultSetFuture future3 = mock(ResultSetFuture.class);
+		when(daoContext.executeAsync(eq(statement1), Mockito.<Object[]> anyVararg())).thenReturn(future1);
+		when(daoContext.executeAsync(eq(statement2), Mockito.<Object[]> anyVararg())).thenReturn(future2);
+		when(daoContext.executeAsync(eq(statement3), Mockito.<Object[]> anyVararg())).thenReturn(future3);
+
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(new StatementWrapper(statement1, Arrays.<Object> asList(1L)));
+		statementWrappers.add(new StatementWrapper(statement2, Arrays.<Object> asList(2L)));
+		statementWrappers.add(new StatementWrapper(statement3, Arrays.<Object> asList(3L)));
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+
+		context.flush();
+
+		InOrder inOrder = inOrder(daoContext, future1, future2, future3);
+		inOrder.verify(daoContext).executeAsync(eq(statement1), Mockito.<Object[]> anyVararg());
+		inOrder.verify(daoContext).executeAsync(eq(statement2), Mockito.<Object[]> anyVararg());
+		inOrder.verify(future1).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(eq(statement3), Mockito.<Object[]> anyVararg());
+		inOrder.verify(future2).getUninterruptibly();
+		inOrder.verify(future3).getUninterruptibly();
+		verify(daoContext, never()).execute(any(Query.class), Mockito.<Object[]> anyVararg());
+		assertThat(statementWrappers).isEmpty();
+	}
+
+	@Test
+	public void should_wait_for_in_flight_statement_on_same_row() throws Exception {
+		when(daoContext.getMaxInFlightStatements()).thenReturn(16);
+		Statement statement1 = mock(Statement.class);
+		Statement statement2 = mock(Statement.class);
+		ResultSetFuture future1 = mock(ResultSetFuture.class);
+		ResultSetFuture future2 = mock(ResultSetFuture.class);
+		when(daoContext.executeAsync(eq(statement1), Mockito.<Object[]> anyVararg())).thenReturn(future1);
+		when(daoContext.executeAsync(eq(statement2), Mockito.<Object[]> anyVararg())).thenReturn(future2);
+
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(new StatementWrapper(statement1, Arrays.<Object> asList(10L)));
+		statementWrappers.add(new StatementWrapper(statement2, Arrays.<Object> asList(10L)));
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+
+		context.flush();
+
+		InOrder inOrder = inOrder(daoContext, future1, future2);
+		inOrder.verify(daoContext).executeAsync(eq(statement1), Mockito.<Object[]> anyVararg());
+		inOrder.verify(future1).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(eq(statement2), Mockito.<Object[]> anyVararg());
+		inOrder.verify(future2).getUninterruptibly();
+	}
+
+	@Test
+	public void should_pipeline_simple_and_bound_statements_in_push_order() throws Exception {
+		when(daoContext.getMaxInFlightStatements()).thenReturn(16);
+		Statement append = mock(Statement.class);
+		ResultSetFuture appendFuture = mock(ResultSetFuture.class);
+		ResultSetFuture removeFuture = mock(ResultSetFuture.class);
+		Object[] boundValues = new Object[] { 10L };
+		when(daoContext.executeAsync(eq(append), Mockito.<Object[]> anyVararg())).thenReturn(appendFuture);
+		when(daoContext.executeAsync(eq(bs), Mockito.<Object[]> anyVararg())).thenReturn(removeFuture);
+		when(bsWrapper.getValues()).thenReturn(boundValues);
+		when(bsWrapper.getRowKey()).thenReturn(Arrays.<Object> asList(10L));
+
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(new StatementWrapper(append, Arrays.<Object> asList(10L)));
+		statementWrappers.add(bsWrapper);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+
+		context.flush();
+
+		InOrder inOrder = inOrder(daoContext, appendFuture, removeFuture);
+		inOrder.verify(daoContext).executeAsync(eq(append), Mockito.<Object[]> anyVararg());
+		inOrder.verify(appendFuture).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(eq(bs), Mockito.<Object[]> anyVararg());
+		inOrder.verify(removeFuture).getUninterruptibly();
+	}
+
+	@Test
+	public void should_throw_first_failure_after_awaiting_in_flight_statements() throws Exception {
+		when(daoContext.getMaxInFlightStatements()).thenReturn(2);
+		Statement statement1 = mock(Statement.class);
+		Statement statement2 = mock(Statement.class);
+		Statement statement3 = mock(Statement.class);
+		ResultSetFuture future1 = mock(ResultSetFuture.class);
+		ResultSetFuture future2 = mock(ResultSetFuture.class);
+		RuntimeException failure = new RuntimeException("test");
+		when(future1.getUninterruptibly()).thenThrow(failure);
+		when(future2.getUninterruptibly()).thenThrow(new RuntimeException("other"));
+		when(daoContext.executeAsync(eq(statement1), Mockito.<Object[]> anyVararg())).thenReturn(future1);
+		when(daoContext.executeAsync(eq(statement2), Mockito.<Object[]> anyVararg())).thenReturn(future2);
+
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(new StatementWrapper(statement1, Arrays.<Object> asList(1L)));
+		statementWrappers.add(new StatementWrapper(statement2, Arrays.<Object> asList(2L)));
+		statementWrappers.add(new StatementWrapper(statement3, Arrays.<Object> asList(3L)));
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+
+		try {
+			context.flush();
+			fail("Expected the first failure to be thrown");
+		} catch (RuntimeException e) {
+			assertThat(e).isSameAs(failure);
+		}
+
+		verify(future2).getUninterruptibly();
+		verify(daoContext, never()).executeAsync(eq(statement3), Mockito.<Object[]> anyVararg());
+	}
+
+	@Test
+	public void should_invalidate_cache_immediately_and_after_flush() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+
+		context.invalidateCache(entityCache, 10L);
+		verify(entityCache).invalidate(10L);
+
+		context.flush();
+
+		verify(entityCache, times(2)).invalidate(10L);
+		assertThat(context.cacheInvalidations).isEmpty();
+	}
+
+	@Test
+	public void should_invalidate_whole_cache_when_no_primary_key() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+
+		context.invalidateCache(entityCache, null);
+
+		verify(entityCache).invalidateAll();
+	}
+
+	@Test
+	public void should_execute_immediate_async_with_consistency_level() throws Exception {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(daoContext.executeAsync(query)).thenReturn(future);
+
+		ResultSetFuture actual = context.executeImmediateAsyncWithConsistency(query, EACH_QUORUM);
+
+		assertThat(actual).isSameAs(future);
+		verify(query).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.EACH_QUORUM);
 	}
 
 	@Test
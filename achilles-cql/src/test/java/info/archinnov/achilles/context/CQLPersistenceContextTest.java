@@ -22,6 +22,7 @@ import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityLoader;
@@ -32,6 +33,7 @@ import info.archinnov.achilles.entity.operations.EntityInitializer;
 import info.archinnov.achilles.entity.operations.EntityRefresher;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.statement.StatementWrapper;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
@@ -54,7 +56,9 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
-import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLPersistenceContextTest {
@@ -239,6 +243,31 @@ public class CQLPersistenceContextTest {
 		verify(daoContext).bindForSimpleCounterDelete(context, meta, counterMeta, entity.getId());
 	}
 
+	@Test
+	public void should_discard_pending_counter_delta_on_removal() throws Exception {
+		PropertyMeta counterMeta = new PropertyMeta();
+		CQLCounterWriteBehind counterWriteBehind = mock(CQLCounterWriteBehind.class);
+		when(daoContext.getCounterWriteBehind()).thenReturn(counterWriteBehind);
+
+		context.bindForSimpleCounterRemoval(counterMeta);
+
+		verify(counterWriteBehind).discardDelta(meta, counterMeta, entity.getId());
+		verify(daoContext).bindForSimpleCounterDelete(context, meta, counterMeta, entity.getId());
+	}
+
+	@Test
+	public void should_add_pending_counter_delta() throws Exception {
+		PropertyMeta counterMeta = new PropertyMeta();
+		CQLCounterWriteBehind counterWriteBehind = mock(CQLCounterWriteBehind.class);
+		when(daoContext.getCounterWriteBehind()).thenReturn(counterWriteBehind);
+		when(counterWriteBehind.getPendingDelta(meta, counterMeta, entity.getId())).thenReturn(3L);
+
+		context.addPendingCounterDelta(counterMeta, 2L);
+
+		verify(counterWriteBehind).addDelta(meta, counterMeta, entity.getId(), 2L);
+		assertThat(context.getPendingCounterDelta(counterMeta)).isEqualTo(3L);
+	}
+
 	// Clustered counter
 	@Test
 	public void should_bind_for_clustered_counter_increment() throws Exception {
@@ -309,11 +338,11 @@ public class CQLPersistenceContextTest {
 
 	@Test
 	public void should_push_statement() throws Exception {
-		Statement statement = mock(Statement.class);
+		StatementWrapper statementWrapper = mock(StatementWrapper.class);
 
-		context.pushStatement(statement, EACH_QUORUM);
+		context.pushStatement(statementWrapper, EACH_QUORUM);
 
-		verify(flushContext).pushStatement(statement, EACH_QUORUM);
+		verify(flushContext).pushStatement(statementWrapper, EACH_QUORUM);
 	}
 
 	@Test
@@ -357,6 +386,28 @@ public class CQLPersistenceContextTest {
 		verify(flushContext).flush();
 	}
 
+	@Test
+	public void should_invalidate_cached_entity_on_persist_and_remove() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+		meta.setEntityCache(entityCache);
+
+		context.persist();
+		context.remove();
+
+		verify(flushContext, times(2)).invalidateCache(entityCache, primaryKey);
+	}
+
+	@Test
+	public void should_find_async_from_cache() throws Exception {
+		when(loader.<CompleteBean> loadFromCache(context)).thenReturn(entity);
+		when(proxifier.buildProxy(entity, context)).thenReturn(entity);
+
+		CompleteBean found = context.findAsync(CompleteBean.class).get();
+
+		assertThat(found).isSameAs(entity);
+		verify(daoContext, never()).eagerLoadEntityAsync(context);
+	}
+
 	@Test
 	public void should_find() throws Exception {
 		when(loader.load(context, CompleteBean.class)).thenReturn(entity);
@@ -367,6 +418,75 @@ public class CQLPersistenceContextTest {
 		assertThat(found).isSameAs(entity);
 	}
 
+	@Test
+	public void should_persist_async() throws Exception {
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		ListenableFuture<Void> future = context.persistAsync();
+
+		assertThat(future.get()).isNull();
+		verify(persister).persist(context);
+		verify(flushContext, never()).flush();
+	}
+
+	@Test
+	public void should_merge_async() throws Exception {
+		when(merger.merge(context, entity)).thenReturn(entity);
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		ListenableFuture<CompleteBean> future = context.mergeAsync(entity);
+
+		assertThat(future.get()).isSameAs(entity);
+	}
+
+	@Test
+	public void should_remove_async() throws Exception {
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		ListenableFuture<Void> future = context.removeAsync();
+
+		assertThat(future.get()).isNull();
+		verify(persister).remove(context);
+	}
+
+	@Test
+	public void should_find_async() throws Exception {
+		Row row = mock(Row.class);
+		when(daoContext.eagerLoadEntityAsync(context)).thenReturn(Futures.immediateFuture(row));
+		when(daoContext.getCallbackExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
+		when(loader.cacheGeneration(context)).thenReturn(3L);
+		when(loader.loadFromRow(context, row, 3L)).thenReturn(entity);
+		when(proxifier.buildProxy(entity, context)).thenReturn(entity);
+
+		ListenableFuture<CompleteBean> future = context.findAsync(CompleteBean.class);
+
+		assertThat(future.get()).isSameAs(entity);
+		verify(daoContext).getCallbackExecutor();
+	}
+
+	@Test
+	public void should_return_null_when_not_found_async() throws Exception {
+		when(daoContext.eagerLoadEntityAsync(context)).thenReturn(Futures.<Row> immediateFuture(null));
+		when(daoContext.getCallbackExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
+
+		ListenableFuture<CompleteBean> future = context.findAsync(CompleteBean.class);
+
+		assertThat(future.get()).isNull();
+		verifyZeroInteractions(proxifier);
+	}
+
+	@Test
+	public void should_find_synchronously_when_eager_fields_not_loaded() throws Exception {
+		context.setLoadEagerFields(false);
+		when(loader.load(context, CompleteBean.class)).thenReturn(entity);
+		when(proxifier.buildProxy(entity, context)).thenReturn(entity);
+
+		ListenableFuture<CompleteBean> future = context.findAsync(CompleteBean.class);
+
+		assertThat(future.get()).isSameAs(entity);
+		verify(daoContext, never()).eagerLoadEntityAsync(context);
+	}
+
 	@Test
 	public void should_return_null_when_not_found() throws Exception {
 		when(loader.load(context, CompleteBean.class)).thenReturn(null);
@@ -35,20 +35,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.cassandra.cql3.ColumnIdentifier;
-import org.apache.cassandra.cql3.ColumnSpecification;
-import org.apache.cassandra.db.marshal.LongType;
-import org.apache.cassandra.db.marshal.UTF8Type;
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.ColumnDefinitions;
-import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.Row;
 import com.google.common.collect.ImmutableMap;
 
@@ -73,9 +68,6 @@ public class CQLEntityMapperTest {
 	@Mock
 	private EntityMeta entityMeta;
 
-	private Definition def1;
-	private Definition def2;
-
 	private CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
 
 	@Test
@@ -83,17 +75,75 @@ public class CQLEntityMapperTest {
 		PropertyMeta pm = mock(PropertyMeta.class);
 		when(pm.isEmbeddedId()).thenReturn(false);
 		when(pm.getPropertyName()).thenReturn("name");
+		when(pm.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(pm.getValueClass()).thenReturn(String.class);
+		when(pm.decode((Object) "value")).thenReturn("value");
 
 		List<PropertyMeta> eagerMetas = Arrays.asList(pm);
 
 		when(entityMeta.getEagerMetas()).thenReturn(eagerMetas);
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("name");
 
-		when(row.isNull("name")).thenReturn(false);
-		when(cqlRowInvoker.invokeOnRowForFields(row, pm)).thenReturn("value");
+		when(row.isNull(0)).thenReturn(false);
+		when(row.getString(0)).thenReturn("value");
 
 		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
 
 		verify(pm).setValueToField(entity, "value");
+		verifyZeroInteractions(cqlRowInvoker);
+	}
+
+	@Test
+	public void should_compile_eager_row_reader_once_per_column_layout() throws Exception {
+		PropertyMeta pm = mock(PropertyMeta.class);
+		when(pm.getPropertyName()).thenReturn("name");
+		when(pm.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(pm.getValueClass()).thenReturn(String.class);
+
+		when(entityMeta.getEagerMetas()).thenReturn(Arrays.asList(pm));
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("name");
+		when(row.getString(0)).thenReturn("value1", "value2");
+		when(pm.decode((Object) "value1")).thenReturn("value1");
+		when(pm.decode((Object) "value2")).thenReturn("value2");
+
+		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
+		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
+
+		verify(entityMeta, times(1)).getEagerMetas();
+		verify(pm).setValueToField(entity, "value1");
+		verify(pm).setValueToField(entity, "value2");
+	}
+
+	@Test
+	public void should_not_recompile_eager_row_reader_for_alternating_column_layouts() throws Exception {
+		PropertyMeta pm = mock(PropertyMeta.class);
+		when(pm.getPropertyName()).thenReturn("name");
+		when(pm.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(pm.getValueClass()).thenReturn(String.class);
+		when(entityMeta.getEagerMetas()).thenReturn(Arrays.asList(pm));
+
+		ColumnDefinitions otherColumnDefs = mock(ColumnDefinitions.class);
+		Row otherRow = mock(Row.class);
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("name");
+		when(otherRow.getColumnDefinitions()).thenReturn(otherColumnDefs);
+		when(otherColumnDefs.size()).thenReturn(2);
+		when(otherColumnDefs.getName(0)).thenReturn("id");
+		when(otherColumnDefs.getName(1)).thenReturn("name");
+
+		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
+		entityMapper.setEagerPropertiesToEntity(otherRow, entityMeta, entity);
+		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
+		entityMapper.setEagerPropertiesToEntity(otherRow, entityMeta, entity);
+
+		verify(entityMeta, times(2)).getEagerMetas();
+		verify(row, times(2)).getString(0);
+		verify(otherRow, times(2)).getString(1);
 	}
 
 	@Test
@@ -101,16 +151,22 @@ public class CQLEntityMapperTest {
 		PropertyMeta pm = mock(PropertyMeta.class);
 		when(pm.isEmbeddedId()).thenReturn(false);
 		when(pm.getPropertyName()).thenReturn("name");
+		when(pm.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(pm.getValueClass()).thenReturn(String.class);
 
 		List<PropertyMeta> eagerMetas = Arrays.asList(pm);
 
 		when(entityMeta.getEagerMetas()).thenReturn(eagerMetas);
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("name");
 
-		when(row.isNull("name")).thenReturn(true);
+		when(row.isNull(0)).thenReturn(true);
 
 		entityMapper.setEagerPropertiesToEntity(row, entityMeta, entity);
 
 		verify(pm, never()).setValueToField(eq(entity), any());
+		verify(row, never()).getString(0);
 		verifyZeroInteractions(cqlRowInvoker);
 	}
 
@@ -143,26 +199,24 @@ public class CQLEntityMapperTest {
 		PropertyMeta valueMeta = mock(PropertyMeta.class);
 
 		when(idMeta.isEmbeddedId()).thenReturn(false);
+		when(idMeta.type()).thenReturn(ID);
+		Mockito.<Class<?>> when(idMeta.getValueClass()).thenReturn(Long.class);
+		when(idMeta.decode((Object) id)).thenReturn(id);
+		when(valueMeta.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(valueMeta.getValueClass()).thenReturn(String.class);
+		when(valueMeta.decode((Object) "value")).thenReturn("value");
 
 		Map<String, PropertyMeta> propertiesMap = ImmutableMap.of("id", idMeta, "value", valueMeta);
 
-		ColumnIdentifier iden1 = new ColumnIdentifier(UTF8Type.instance.decompose("id"), UTF8Type.instance);
-		ColumnSpecification spec1 = new ColumnSpecification("keyspace", "id", iden1, LongType.instance);
-
-		ColumnIdentifier iden2 = new ColumnIdentifier(UTF8Type.instance.decompose("value"), UTF8Type.instance);
-		ColumnSpecification spec2 = new ColumnSpecification("keyspace", "value", iden2, UTF8Type.instance);
-
-		def1 = Whitebox.invokeMethod(Definition.class, "fromTransportSpecification", spec1);
-		def2 = Whitebox.invokeMethod(Definition.class, "fromTransportSpecification", spec2);
-
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(columnDefs.iterator()).thenReturn(Arrays.asList(def1, def2).iterator());
+		when(columnDefs.size()).thenReturn(2);
+		when(columnDefs.getName(0)).thenReturn("id");
+		when(columnDefs.getName(1)).thenReturn("value");
+		when(row.getLong(0)).thenReturn(id);
+		when(row.getString(1)).thenReturn("value");
 
 		when(entityMeta.getIdMeta()).thenReturn(idMeta);
 		when(entityMeta.instanciate()).thenReturn(entity);
-		when(cqlRowInvoker.invokeOnRowForFields(row, idMeta)).thenReturn(id);
-		when(cqlRowInvoker.invokeOnRowForFields(row, valueMeta)).thenReturn("value");
-		when(entityMeta.instanciate()).thenReturn(entity);
 
 		CompleteBean actual = entityMapper.mapRowToEntityWithPrimaryKey(CompleteBean.class, entityMeta, row,
 				propertiesMap, true);
@@ -172,21 +226,53 @@ public class CQLEntityMapperTest {
 		verify(valueMeta).setValueToField(entity, "value");
 	}
 
+	@Test
+	public void should_map_null_column_to_entity() throws Exception {
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		PropertyMeta valueMeta = mock(PropertyMeta.class);
+		when(valueMeta.type()).thenReturn(SIMPLE);
+		Mockito.<Class<?>> when(valueMeta.getValueClass()).thenReturn(String.class);
+
+		Map<String, PropertyMeta> propertiesMap = ImmutableMap.of("value", valueMeta);
+
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("value");
+		when(row.isNull(0)).thenReturn(true);
+
+		when(entityMeta.getIdMeta()).thenReturn(idMeta);
+		when(entityMeta.instanciate()).thenReturn(entity);
+
+		entityMapper.mapRowToEntityWithPrimaryKey(CompleteBean.class, entityMeta, row, propertiesMap, true);
+
+		verify(valueMeta).setValueToField(entity, null);
+	}
+
 	@Test
 	public void should_map_row_to_entity_with_primary_key() throws Exception {
+		Long id = RandomUtils.nextLong();
 		ClusteredEntity entity = new ClusteredEntity();
 		EmbeddedKey embeddedKey = new EmbeddedKey();
 		PropertyMeta idMeta = mock(PropertyMeta.class);
 
 		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(idMeta.getCQLComponentNames()).thenReturn(Arrays.asList("id", "name"));
+		when(idMeta.getComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Long.class, String.class));
 
 		Map<String, PropertyMeta> propertiesMap = new HashMap<String, PropertyMeta>();
 
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(columnDefs.iterator()).thenReturn(Arrays.<Definition> asList().iterator());
+		when(columnDefs.size()).thenReturn(2);
+		when(columnDefs.contains("id")).thenReturn(true);
+		when(columnDefs.contains("name")).thenReturn(true);
+		when(columnDefs.getIndexOf("id")).thenReturn(0);
+		when(columnDefs.getIndexOf("name")).thenReturn(1);
+		when(row.getLong(0)).thenReturn(id);
+		when(row.getString(1)).thenReturn("name");
+		when(idMeta.decodeFromComponents(Arrays.<Object> asList(id, "name"))).thenReturn(embeddedKey);
+
 		when(entityMeta.instanciate()).thenReturn(entity);
 		when(entityMeta.getIdMeta()).thenReturn(idMeta);
-		when(cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, true)).thenReturn(embeddedKey);
 
 		ClusteredEntity actual = entityMapper.mapRowToEntityWithPrimaryKey(ClusteredEntity.class, entityMeta, row,
 				propertiesMap, true);
@@ -115,6 +115,12 @@ public class CQLBatchingPersistenceManagerTest {
 		verify(flushContext).cleanUp();
 	}
 
+	@Test
+	public void should_set_max_batch_size_in_bytes() throws Exception {
+		manager.setMaxBatchSizeInBytes(1024);
+		verify(flushContext).setMaxBatchSizeInBytes(1024);
+	}
+
 	@Test
 	public void should_exception_when_persist_with_consistency() throws Exception {
 		exception.expect(AchillesException.class);
@@ -0,0 +1,56 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CQLBulkWriteReportTest {
+
+	private CQLBulkWriteReport report = new CQLBulkWriteReport();
+
+	@Test
+	public void should_return_zero_latency_when_nothing_written() throws Exception {
+		assertThat(report.getLatencyPercentile(0.99)).isEqualTo(0);
+	}
+
+	@Test
+	public void should_compute_latency_percentiles_in_milliseconds() throws Exception {
+		for (int i = 1; i <= 100; i++) {
+			report.written(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+
+		assertThat(report.getWrittenCount()).isEqualTo(100);
+		assertThat(report.getLatencyPercentile(0.5)).isEqualTo(50.5);
+		assertThat(report.getLatencyPercentile(0.99)).isEqualTo(99.99);
+		assertThat(report.getLatencyPercentile(1)).isEqualTo(100);
+		assertThat(report.getLatencyPercentile(0)).isEqualTo(1);
+	}
+
+	@Test
+	public void should_keep_a_bounded_sample_of_latencies() throws Exception {
+		for (int i = 0; i < 10000; i++) {
+			report.written(TimeUnit.MILLISECONDS.toNanos(5));
+		}
+
+		assertThat(report.getWrittenCount()).isEqualTo(10000);
+		assertThat(report.getLatencyPercentile(0.5)).isEqualTo(5);
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Counter;
+import info.archinnov.achilles.type.Options;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CQLBulkWriterTest {
+
+	private CQLBulkWriter writer;
+
+	@Mock
+	private CQLPersistenceManager manager;
+
+	private Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<Class<?>, EntityMeta>();
+
+	private EntityMeta entityMeta = new EntityMeta();
+
+	private CompleteBean entity1 = new CompleteBean();
+
+	private CompleteBean entity2 = new CompleteBean();
+
+	private ListenableFuture<Void> success = Futures.immediateFuture(null);
+
+	private AtomicInteger callbackCount = new AtomicInteger();
+
+	private Executor callbackExecutor = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			callbackCount.incrementAndGet();
+			command.run();
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		entityMeta.setAllMetasExceptIdMeta(new ArrayList<PropertyMeta>());
+		entityMetaMap.put(CompleteBean.class, entityMeta);
+		writer = new CQLBulkWriter(manager, entityMetaMap, 2, null, 1, callbackExecutor);
+	}
+
+	@Test
+	public void should_persist_all_entities() throws Exception {
+		when(manager.persistAsync(any(), any(Options.class))).thenReturn(success);
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1, entity2).iterator());
+
+		verify(manager).persistAsync(eq(entity1), any(Options.class));
+		verify(manager).persistAsync(eq(entity2), any(Options.class));
+		assertThat(report.getWrittenCount()).isEqualTo(2);
+		assertThat(report.getFailedCount()).isEqualTo(0);
+		assertThat(report.getLatencyPercentile(0.99)).isGreaterThanOrEqualTo(0);
+		assertThat(report.getFailures()).isEmpty();
+	}
+
+	@Test
+	public void should_not_read_entities_above_max_outstanding_writes() throws Exception {
+		final List<SettableFuture<Void>> futures = new ArrayList<SettableFuture<Void>>();
+		when(manager.persistAsync(any(), any(Options.class))).thenAnswer(new Answer<ListenableFuture<Void>>() {
+			@Override
+			public ListenableFuture<Void> answer(InvocationOnMock invocation) throws Throwable {
+				SettableFuture<Void> future = SettableFuture.create();
+				synchronized (futures) {
+					futures.add(future);
+				}
+				return future;
+			}
+		});
+		final List<CompleteBean> entities = Arrays.asList(entity1, entity2, new CompleteBean());
+
+		Thread bulkLoad = new Thread() {
+			@Override
+			public void run() {
+				writer.persistAll(entities.iterator());
+			}
+		};
+		bulkLoad.start();
+
+		verify(manager, timeout(1000).times(2)).persistAsync(any(), any(Options.class));
+		Thread.sleep(100);
+		verify(manager, times(2)).persistAsync(any(), any(Options.class));
+
+		synchronized (futures) {
+			futures.get(0).set(null);
+		}
+		verify(manager, timeout(1000).times(3)).persistAsync(any(), any(Options.class));
+		synchronized (futures) {
+			futures.get(1).set(null);
+			futures.get(2).set(null);
+		}
+		bulkLoad.join(1000);
+		assertThat(bulkLoad.isAlive()).isFalse();
+	}
+
+	@Test
+	public void should_retry_idempotent_write_on_timeout() throws Exception {
+		ListenableFuture<Void> timeout = Futures.immediateFailedFuture(new WriteTimeoutException(
+				com.datastax.driver.core.ConsistencyLevel.ONE, WriteType.SIMPLE, 0, 1));
+		when(manager.persistAsync(eq(entity1), any(Options.class))).thenReturn(timeout, success);
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1).iterator());
+
+		verify(manager, times(2)).persistAsync(eq(entity1), any(Options.class));
+		assertThat(report.getWrittenCount()).isEqualTo(1);
+		assertThat(report.getRetriedCount()).isEqualTo(1);
+		assertThat(callbackCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_report_failure_when_retries_exhausted() throws Exception {
+		WriteTimeoutException exception = new WriteTimeoutException(com.datastax.driver.core.ConsistencyLevel.ONE,
+				WriteType.SIMPLE, 0, 1);
+		when(manager.persistAsync(eq(entity1), any(Options.class))).thenReturn(
+				Futures.<Void> immediateFailedFuture(exception));
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1).iterator());
+
+		verify(manager, times(2)).persistAsync(eq(entity1), any(Options.class));
+		assertThat(report.getFailedCount()).isEqualTo(1);
+		assertThat(report.getFailures()).hasSize(1);
+		assertThat(report.getFailures().get(0).getEntity()).isSameAs(entity1);
+		assertThat(report.getFailures().get(0).getCause()).isSameAs(exception);
+	}
+
+	@Test
+	public void should_not_retry_entity_with_counter() throws Exception {
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.valueClass(Counter.class).type(COUNTER).build();
+		entityMeta.setAllMetasExceptIdMeta(Arrays.asList(counterMeta));
+		when(manager.persistAsync(eq(entity1), any(Options.class))).thenReturn(
+				Futures.<Void> immediateFailedFuture(new WriteTimeoutException(
+						com.datastax.driver.core.ConsistencyLevel.ONE, WriteType.SIMPLE, 0, 1)));
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1).iterator());
+
+		verify(manager, times(1)).persistAsync(eq(entity1), any(Options.class));
+		assertThat(report.getFailedCount()).isEqualTo(1);
+		assertThat(report.getRetriedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_not_retry_invalid_query() throws Exception {
+		when(manager.persistAsync(eq(entity1), any(Options.class))).thenReturn(
+				Futures.<Void> immediateFailedFuture(new InvalidQueryException("invalid")));
+		when(manager.persistAsync(eq(entity2), any(Options.class))).thenReturn(success);
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1, entity2).iterator());
+
+		verify(manager, times(1)).persistAsync(eq(entity1), any(Options.class));
+		assertThat(report.getFailedCount()).isEqualTo(1);
+		assertThat(report.getWrittenCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_report_failure_when_persist_throws() throws Exception {
+		IllegalStateException exception = new IllegalStateException("managed");
+		when(manager.persistAsync(eq(entity1), any(Options.class))).thenThrow(exception);
+		when(manager.persistAsync(eq(entity2), any(Options.class))).thenReturn(success);
+
+		CQLBulkWriteReport report = writer.persistAll(Arrays.asList(entity1, entity2).iterator());
+
+		assertThat(report.getFailedCount()).isEqualTo(1);
+		assertThat(report.getWrittenCount()).isEqualTo(1);
+		assertThat(report.getFailures().get(0).getCause()).isSameAs(exception);
+	}
+}
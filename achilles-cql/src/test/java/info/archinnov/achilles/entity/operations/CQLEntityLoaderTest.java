@@ -20,23 +20,32 @@ import static info.archinnov.achilles.entity.metadata.PropertyType.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.CQLPersistenceContext;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.impl.CQLLoaderImpl;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
+import com.google.common.base.Optional;
+
 @RunWith(MockitoJUnitRunner.class)
 public class CQLEntityLoaderTest {
 
@@ -103,6 +112,76 @@ public class CQLEntityLoaderTest {
 		verify(invoker).setValueToField(actual, idMeta.getSetter(), primaryKey);
 	}
 
+	@Test
+	public void should_load_entity_from_cache() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+		context.getEntityMeta().setEntityCache(entityCache);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
+		when(entityCache.get(context.getEntityMeta(), primaryKey)).thenReturn(entity);
+
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		assertThat(actual).isSameAs(entity);
+		verify(context).setLoadEagerFields(true);
+		verifyZeroInteractions(loaderImpl);
+	}
+
+	@Test
+	public void should_put_loaded_entity_into_cache() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+		context.getEntityMeta().setEntityCache(entityCache);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
+		when(context.isLoadEagerFields()).thenReturn(true);
+		when(loaderImpl.eagerLoadEntity(context, CompleteBean.class)).thenReturn(entity);
+		when(entityCache.generation(primaryKey)).thenReturn(5L);
+
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		assertThat(actual).isSameAs(entity);
+		verify(entityCache).put(context.getEntityMeta(), primaryKey, entity, 5L);
+	}
+
+	@Test
+	public void should_not_cache_entity_read_before_concurrent_write_invalidation() throws Exception {
+		final EntityCache entityCache = new EntityCache("maximumSize=10");
+		EntityMeta meta = context.getEntityMeta();
+		meta.setEntityCache(entityCache);
+		meta.setEagerMetas(new ArrayList<PropertyMeta>());
+		when(invoker.instanciate(CompleteBean.class)).thenReturn(new CompleteBean());
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
+		when(context.isLoadEagerFields()).thenReturn(true);
+
+		// The write lands and its flush invalidates the key while the old row
+		// is being read
+		when(loaderImpl.eagerLoadEntity(context, CompleteBean.class)).thenAnswer(new Answer<CompleteBean>() {
+			@Override
+			public CompleteBean answer(InvocationOnMock invocation) throws Throwable {
+				entityCache.invalidate(primaryKey);
+				return entity;
+			}
+		});
+
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		assertThat(actual).isSameAs(entity);
+		assertThat(entityCache.<CompleteBean> get(meta, primaryKey)).isNull();
+		assertThat(entityCache.size()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_bypass_cache_when_consistency_level_is_set() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+		context.getEntityMeta().setEntityCache(entityCache);
+		when(context.getConsistencyLevel()).thenReturn(Optional.fromNullable(ConsistencyLevel.QUORUM));
+		when(context.isLoadEagerFields()).thenReturn(true);
+		when(loaderImpl.eagerLoadEntity(context, CompleteBean.class)).thenReturn(entity);
+
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		assertThat(actual).isSameAs(entity);
+		verify(entityCache, never()).get(any(EntityMeta.class), any());
+	}
+
 	@Test
 	public void should_load_property_into_object() throws Exception {
 		when(proxifier.getRealObject(entity)).thenReturn(entity);
@@ -124,4 +203,16 @@ public class CQLEntityLoaderTest {
 
 		verifyZeroInteractions(loaderImpl);
 	}
+
+	@Test
+	public void should_load_properties_into_object_except_counters() throws Exception {
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").type(LAZY_SIMPLE)
+				.build();
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.valueClass(Counter.class).field("count").type(COUNTER)
+				.build();
+
+		loader.loadPropertiesIntoObject(context, entity, Arrays.asList(nameMeta, counterMeta));
+
+		verify(loaderImpl).loadPropertiesIntoEntity(context, Arrays.asList(nameMeta), entity);
+	}
 }
@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.entity.operations;
 
+import static info.archinnov.achilles.query.SliceQuery.NO_PREFETCH;
 import static info.archinnov.achilles.type.BoundingMode.EXCLUSIVE_BOUNDS;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static info.archinnov.achilles.type.OrderingMode.ASCENDING;
@@ -27,13 +28,13 @@ import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
+import info.archinnov.achilles.entity.cache.EntityCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.iterator.CQLSliceQueryIterator;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
-import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 
 import java.lang.reflect.Method;
@@ -41,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Before;
@@ -49,11 +51,13 @@ import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
-import com.datastax.driver.core.PreparedStatement;
-import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -64,9 +68,6 @@ public class CQLSliceQueryExecutorTest {
 	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
 	private ConfigurationContext configContext;
 
-	@Mock
-	private CQLStatementGenerator generator;
-
 	@Mock
 	private ReflectionInvoker invoker;
 
@@ -111,7 +112,6 @@ public class CQLSliceQueryExecutorTest {
 
 		executor = new CQLSliceQueryExecutor(contextFactory, configContext, daoContext);
 		executor.proxifier = proxifier;
-		Whitebox.setInternalState(executor, CQLStatementGenerator.class, generator);
 		Whitebox.setInternalState(executor, CQLEntityMapper.class, mapper);
 
 		meta = new EntityMeta();
@@ -123,19 +123,16 @@ public class CQLSliceQueryExecutorTest {
 		when(idMeta.getComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Long.class, String.class));
 
 		sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom,
-				clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, true);
+				clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, true, NO_PREFETCH);
 
 	}
 
 	@Test
 	public void should_get_clustered_entities() throws Exception {
 
-		Query query = mock(Query.class);
-		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit))).thenReturn(query);
-
 		Row row = mock(Row.class);
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(query).all()).thenReturn(rows);
+		when(daoContext.executeSliceQuery(anySliceQuery(), eq(limit)).all()).thenReturn(rows);
 
 		when(invoker.instanciate(ClusteredEntity.class)).thenReturn(entity);
 		when(contextFactory.newContext(entity)).thenReturn(context);
@@ -146,13 +143,32 @@ public class CQLSliceQueryExecutorTest {
 	}
 
 	@Test
-	public void should_create_iterator_for_clustered_entities() throws Exception {
-		Query query = mock(Query.class);
-		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit))).thenReturn(query);
-		when(daoContext.execute(query).iterator()).thenReturn(iterator);
+	public void should_get_clustered_entities_async() throws Exception {
+		Row row = mock(Row.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(future.get()).thenReturn(resultSet);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(future).addListener(any(Runnable.class), any(Executor.class));
+		when(daoContext.executeSliceQueryAsync(anySliceQuery(), eq(limit))).thenReturn(future);
+
+		when(invoker.instanciate(ClusteredEntity.class)).thenReturn(entity);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxy(entity, context)).thenReturn(entity);
+
+		assertThat(executor.getAsync(sliceQuery).get()).containsOnly(entity);
+		verify(mapper).setEagerPropertiesToEntity(row, meta, entity);
+	}
 
-		PreparedStatement ps = mock(PreparedStatement.class);
-		when(generator.generateIteratorSliceQuery(anySliceQuery(), eq(daoContext))).thenReturn(ps);
+	@Test
+	public void should_create_iterator_for_clustered_entities() throws Exception {
+		when(daoContext.executeSliceQuery(anySliceQuery(), eq(batchSize)).iterator()).thenReturn(iterator);
 		when(contextFactory.newContextForSliceQuery(ClusteredEntity.class, partitionComponents, LOCAL_QUORUM))
 				.thenReturn(context);
 
@@ -167,15 +183,26 @@ public class CQLSliceQueryExecutorTest {
 	public void should_remove_clustered_entities() throws Exception {
 		sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta, partitionComponents,
 				Arrays.<Object> asList(), Arrays.<Object> asList(), ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit,
-				batchSize, false);
-
-		Query query = mock(Query.class);
-		when(generator.generateRemoveSliceQuery(anySliceQuery())).thenReturn(query);
+				batchSize, false, NO_PREFETCH);
 
 		executor.remove(sliceQuery);
 
-		verify(daoContext).execute(query);
+		verify(daoContext).removeSlice(anySliceQuery());
+
+	}
+
+	@Test
+	public void should_evict_entity_cache_when_removing_clustered_entities() throws Exception {
+		EntityCache entityCache = mock(EntityCache.class);
+		meta.setEntityCache(entityCache);
+		sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta, partitionComponents,
+				Arrays.<Object> asList(), Arrays.<Object> asList(), ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit,
+				batchSize, false, NO_PREFETCH);
+
+		executor.remove(sliceQuery);
 
+		verify(daoContext).removeSlice(anySliceQuery());
+		verify(entityCache, times(2)).invalidateAll();
 	}
 
 	private CQLSliceQuery<ClusteredEntity> anySliceQuery() {
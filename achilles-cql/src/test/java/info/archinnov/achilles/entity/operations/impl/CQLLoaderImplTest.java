@@ -32,6 +32,7 @@ import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -185,4 +186,21 @@ public class CQLLoaderImplTest {
 
 		verify(mapper).setPropertyToEntity(row, pm, entity);
 	}
+
+	@Test
+	public void should_load_properties_into_entity() throws Exception {
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).field("label")
+				.type(PropertyType.LAZY_SIMPLE).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.valueClass(String.class).field("friends")
+				.type(PropertyType.LAZY_LIST).build();
+		List<PropertyMeta> pms = Arrays.asList(labelMeta, friendsMeta);
+
+		CompleteBean entity = new CompleteBean();
+		when(context.loadProperties(pms)).thenReturn(row);
+
+		loaderImpl.loadPropertiesIntoEntity(context, pms, entity);
+
+		verify(mapper).setPropertyToEntity(row, labelMeta, entity);
+		verify(mapper).setPropertyToEntity(row, friendsMeta, entity);
+	}
 }
@@ -21,13 +21,16 @@ import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.CQLEntityMerger;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +64,9 @@ public class CQLMergerImplTest {
 	@Captor
 	private ArgumentCaptor<List<PropertyMeta>> pmCaptor;
 
+	@Captor
+	private ArgumentCaptor<Map<PropertyMeta, CollectionMutations>> mutationsCaptor;
+
 	private CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
 
 	private PropertyMeta idMeta;
@@ -81,7 +87,7 @@ public class CQLMergerImplTest {
 		dirtyMap.put(idMeta.getGetter(), idMeta);
 		dirtyMap.put(ageMeta.getGetter(), ageMeta);
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, new HashMap<Method, CollectionMutations>());
 
 		assertThat(dirtyMap).isEmpty();
 
@@ -90,10 +96,46 @@ public class CQLMergerImplTest {
 		assertThat(pmCaptor.getValue()).containsExactly(ageMeta, idMeta);
 	}
 
+	@Test
+	public void should_merge_collection_mutations_incrementally() throws Exception {
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age").accessors()
+				.build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(PropertyType.LIST).accessors().build();
+		PropertyMeta followersMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("followers")
+				.type(PropertyType.SET).accessors().build();
+
+		Map<Method, PropertyMeta> dirtyMap = new HashMap<Method, PropertyMeta>();
+		dirtyMap.put(ageMeta.getSetter(), ageMeta);
+		dirtyMap.put(friendsMeta.getSetter(), friendsMeta);
+		dirtyMap.put(followersMeta.getSetter(), followersMeta);
+
+		CollectionMutations friendsMutations = new CollectionMutations();
+		friendsMutations.append(Arrays.asList("bob"));
+		CollectionMutations followersMutations = new CollectionMutations();
+		followersMutations.addToSet(Arrays.asList("alice"));
+		followersMutations.overwrite();
+		Map<Method, CollectionMutations> mutationsMap = new HashMap<Method, CollectionMutations>();
+		mutationsMap.put(friendsMeta.getSetter(), friendsMutations);
+		mutationsMap.put(followersMeta.getSetter(), followersMutations);
+
+		mergerImpl.merge(context, dirtyMap, mutationsMap);
+
+		assertThat(dirtyMap).isEmpty();
+		assertThat(mutationsMap).isEmpty();
+
+		verify(context).pushUpdateStatement(pmCaptor.capture());
+		verify(context).pushCollectionMutations(mutationsCaptor.capture());
+
+		assertThat(pmCaptor.getValue()).containsExactly(ageMeta, followersMeta);
+		assertThat(mutationsCaptor.getValue()).hasSize(1);
+		assertThat(mutationsCaptor.getValue().get(friendsMeta)).isSameAs(friendsMutations);
+	}
+
 	@Test
 	public void should_not_merge_when_empty_dirty_map() throws Exception {
 		Map<Method, PropertyMeta> dirtyMap = new HashMap<Method, PropertyMeta>();
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, new HashMap<Method, CollectionMutations>());
 
 		verifyZeroInteractions(context);
 	}
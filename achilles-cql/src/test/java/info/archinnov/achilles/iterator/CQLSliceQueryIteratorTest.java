@@ -17,6 +17,7 @@
 package info.archinnov.achilles.iterator;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
@@ -27,6 +28,7 @@ import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import org.junit.Before;
@@ -37,7 +39,8 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
-import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -66,9 +69,6 @@ public class CQLSliceQueryIteratorTest {
 	@Mock
 	private Iterator<Row> iterator;
 
-	@Mock
-	private PreparedStatement ps;
-
 	private EntityMeta meta = new EntityMeta();
 
 	private int batchSize = 99;
@@ -81,7 +81,7 @@ public class CQLSliceQueryIteratorTest {
 		when(sliceQuery.getVaryingComponentClass()).thenReturn((Class) String.class);
 		when(sliceQuery.getBatchSize()).thenReturn(batchSize);
 
-		sliceIterator = new CQLSliceQueryIterator<ClusteredEntity>(sliceQuery, context, iterator, ps);
+		sliceIterator = new CQLSliceQueryIterator<ClusteredEntity>(sliceQuery, context, iterator);
 
 		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
 		Whitebox.setInternalState(sliceIterator, "cqlInvoker", cqlInvoker);
@@ -98,13 +98,16 @@ public class CQLSliceQueryIteratorTest {
 	@Test
 	public void should_reload_data_when_end_of_batch_size() throws Exception {
 		Whitebox.setInternalState(sliceIterator, "count", batchSize);
+		Whitebox.setInternalState(sliceIterator, "lastVaryingComponentValue", "name");
 		when(iterator.hasNext()).thenReturn(false);
 
-		when(context.bindAndExecute(ps, "name").iterator()).thenReturn(iterator);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.iterator()).thenReturn(iterator);
+		when(context.executeSliceQueryFrom(sliceQuery, "name")).thenReturn(resultSet);
 
 		assertThat(sliceIterator.hasNext()).isFalse();
 
-		verify(context).bindAndExecute(ps, "name");
+		verify(context).executeSliceQueryFrom(sliceQuery, "name");
 	}
 
 	@Test
@@ -138,6 +141,43 @@ public class CQLSliceQueryIteratorTest {
 		verify(mapper).setEagerPropertiesToEntity(row, meta, entity);
 	}
 
+	@Test
+	public void should_prefetch_next_page_when_threshold_reached() throws Exception {
+		Row row1 = mock(Row.class);
+		Row row2 = mock(Row.class);
+		Row row3 = mock(Row.class);
+		when(row2.getString("name")).thenReturn("name2");
+		when(sliceQuery.getBatchSize()).thenReturn(2);
+		when(sliceQuery.isPrefetch()).thenReturn(true);
+		when(sliceQuery.getPrefetchThreshold()).thenReturn(0.5f);
+
+		sliceIterator = new CQLSliceQueryIterator<ClusteredEntity>(sliceQuery, context, Arrays.asList(row1, row2)
+				.iterator());
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		ResultSet nextPage = mock(ResultSet.class);
+		when(nextPage.iterator()).thenReturn(Arrays.asList(row3).iterator());
+		ResultSetFuture futureNextPage = mock(ResultSetFuture.class);
+		when(futureNextPage.getUninterruptibly()).thenReturn(nextPage);
+		when(context.executeSliceQueryFromAsync(sliceQuery, "name2")).thenReturn(futureNextPage);
+
+		meta.setEntityClass(ClusteredEntity.class);
+		Whitebox.setInternalState(meta, ReflectionInvoker.class, invoker);
+		when(invoker.instanciate(ClusteredEntity.class)).thenReturn(new ClusteredEntity());
+
+		sliceIterator.next();
+		verify(context).executeSliceQueryFromAsync(sliceQuery, "name2");
+
+		sliceIterator.next();
+		assertThat(sliceIterator.hasNext()).isTrue();
+		sliceIterator.next();
+		assertThat(sliceIterator.hasNext()).isFalse();
+
+		verify(context, times(1)).executeSliceQueryFromAsync(eq(sliceQuery), any());
+		verify(context, never()).executeSliceQueryFrom(eq(sliceQuery), any());
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void should_exception_when_calling_remove() throws Exception {
 		sliceIterator.remove();
@@ -45,7 +45,8 @@ public class CQLEntityInterceptorBuilderTest {
 	@Test
 	public void should_build_interceptor_with_eager_fields_already_loaded() throws Exception {
 
-		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("id").build();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.ordinal(0).build();
 
 		EntityMeta meta = new EntityMeta();
 		meta.setIdMeta(idMeta);
@@ -53,6 +54,7 @@ public class CQLEntityInterceptorBuilderTest {
 		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
 		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
 		meta.setEagerGetters(Lists.newArrayList(idMeta.getGetter()));
+		meta.setEagerMetas(Lists.newArrayList(idMeta));
 
 		when((Class) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
@@ -0,0 +1,147 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CQLRowReaderTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Mock
+	private Row row;
+
+	@Mock
+	private ColumnDefinitions columnDefs;
+
+	@Mock
+	private ColumnDefinitions otherColumnDefs;
+
+	@Mock
+	private PropertyMeta listMeta;
+
+	@Mock
+	private PropertyMeta embeddedIdMeta;
+
+	private Map<String, PropertyMeta> columnMetas;
+
+	private Object entity = new Object();
+
+	@Before
+	public void setUp() {
+		when(listMeta.type()).thenReturn(LIST);
+		Mockito.<Class<?>> when(listMeta.getValueClass()).thenReturn(String.class);
+		columnMetas = ImmutableMap.of("friends", listMeta);
+
+		when(embeddedIdMeta.getCQLComponentNames()).thenReturn(Arrays.asList("id", "name"));
+		when(embeddedIdMeta.getComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Long.class, String.class));
+
+		when(columnDefs.size()).thenReturn(3);
+		when(columnDefs.getName(0)).thenReturn("id");
+		when(columnDefs.getName(1)).thenReturn("name");
+		when(columnDefs.getName(2)).thenReturn("friends");
+		when(columnDefs.contains("id")).thenReturn(true);
+		when(columnDefs.contains("name")).thenReturn(true);
+		when(columnDefs.getIndexOf("id")).thenReturn(0);
+		when(columnDefs.getIndexOf("name")).thenReturn(1);
+	}
+
+	@Test
+	public void should_read_row_by_column_index() throws Exception {
+		List<String> friends = Arrays.asList("foo", "bar");
+		EmbeddedKey embeddedKey = new EmbeddedKey();
+		when(row.getLong(0)).thenReturn(10L);
+		when(row.getString(1)).thenReturn("name");
+		when(row.getList(2, String.class)).thenReturn(friends);
+		when(listMeta.decode(friends)).thenReturn(Arrays.<Object> asList("foo", "bar"));
+		when(embeddedIdMeta.decodeFromComponents(Arrays.<Object> asList(10L, "name"))).thenReturn(embeddedKey);
+
+		CQLRowReader rowReader = new CQLRowReader(columnDefs, columnMetas, embeddedIdMeta, true, false);
+		rowReader.read(row, entity);
+
+		verify(listMeta).setValueToField(entity, Arrays.<Object> asList("foo", "bar"));
+		verify(embeddedIdMeta).setValueToField(entity, embeddedKey);
+		verify(row, never()).getList("friends", String.class);
+	}
+
+	@Test
+	public void should_be_compiled_for_same_column_names() throws Exception {
+		when(otherColumnDefs.size()).thenReturn(3);
+		when(otherColumnDefs.getName(0)).thenReturn("id");
+		when(otherColumnDefs.getName(1)).thenReturn("name");
+		when(otherColumnDefs.getName(2)).thenReturn("friends");
+
+		CQLRowReader rowReader = new CQLRowReader(columnDefs, columnMetas, null, true, false);
+
+		assertThat(rowReader.isCompiledFor(columnDefs)).isTrue();
+		assertThat(rowReader.isCompiledFor(otherColumnDefs)).isTrue();
+		assertThat(rowReader.isCompiledFrom(columnMetas, true)).isTrue();
+		assertThat(rowReader.isCompiledFrom(columnMetas, false)).isFalse();
+	}
+
+	@Test
+	public void should_not_be_compiled_for_different_column_names() throws Exception {
+		when(otherColumnDefs.size()).thenReturn(3);
+		when(otherColumnDefs.getName(0)).thenReturn("id");
+		when(otherColumnDefs.getName(1)).thenReturn("friends");
+		when(otherColumnDefs.getName(2)).thenReturn("name");
+
+		CQLRowReader rowReader = new CQLRowReader(columnDefs, columnMetas, null, true, false);
+
+		assertThat(rowReader.isCompiledFor(otherColumnDefs)).isFalse();
+		assertThat(rowReader.isCompiledFor(null)).isFalse();
+	}
+
+	@Test
+	public void should_exception_when_missing_component_for_managed_entity() throws Exception {
+		when(columnDefs.contains("name")).thenReturn(false);
+		when(row.getLong(0)).thenReturn(10L);
+		Mockito.<Class<?>> when(embeddedIdMeta.getValueClass()).thenReturn(EmbeddedKey.class);
+		when(embeddedIdMeta.getEntityClassName()).thenReturn("entity");
+
+		CQLRowReader rowReader = new CQLRowReader(columnDefs, columnMetas, embeddedIdMeta, true, false);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot retrieve compound primary key for entity class 'entity' from CQL Row");
+
+		rowReader.read(row, entity);
+	}
+}
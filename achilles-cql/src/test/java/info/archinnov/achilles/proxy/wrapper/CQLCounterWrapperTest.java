@@ -260,4 +260,53 @@ public class CQLCounterWrapperTest {
 		wrapper.decr(counterValue, EACH_QUORUM);
 		verify(context).decrementClusteredCounter(counterMeta, counterValue, EACH_QUORUM);
 	}
+
+	@Test
+	public void should_defer_increment_with_write_behind() throws Exception {
+		when(context.getEntityMeta().isClusteredCounter()).thenReturn(false);
+		wrapper = new CQLCounterWrapper(context, counterMeta);
+		when(context.isCounterWriteBehind()).thenReturn(true);
+
+		wrapper.incr(5L);
+		wrapper.decr();
+
+		verify(context).addPendingCounterDelta(counterMeta, 5L);
+		verify(context).addPendingCounterDelta(counterMeta, -1L);
+		verify(context, never()).incrementSimpleCounter(any(PropertyMeta.class), any(Long.class),
+				any(ConsistencyLevel.class));
+	}
+
+	@Test
+	public void should_increment_immediately_with_explicit_consistency_and_write_behind() throws Exception {
+		when(context.getEntityMeta().isClusteredCounter()).thenReturn(false);
+		wrapper = new CQLCounterWrapper(context, counterMeta);
+		when(context.isCounterWriteBehind()).thenReturn(true);
+
+		wrapper.incr(5L, THREE);
+
+		verify(context).incrementSimpleCounter(counterMeta, 5L, THREE);
+		verify(context, never()).addPendingCounterDelta(any(PropertyMeta.class), any(Long.class));
+	}
+
+	@Test
+	public void should_get_counter_with_pending_delta() throws Exception {
+		when(context.getEntityMeta().isClusteredCounter()).thenReturn(false);
+		wrapper = new CQLCounterWrapper(context, counterMeta);
+
+		when(context.getSimpleCounter(counterMeta, ONE)).thenReturn(10L);
+		when(context.getPendingCounterDelta(counterMeta)).thenReturn(-3L);
+
+		assertThat(wrapper.get()).isEqualTo(7L);
+	}
+
+	@Test
+	public void should_get_pending_delta_when_counter_not_written_yet() throws Exception {
+		when(context.getEntityMeta().isClusteredCounter()).thenReturn(true);
+		wrapper = new CQLCounterWrapper(context, counterMeta);
+
+		when(context.getClusteredCounter(counterMeta, ONE)).thenReturn(null);
+		when(context.getPendingCounterDelta(counterMeta)).thenReturn(4L);
+
+		assertThat(wrapper.get()).isEqualTo(4L);
+	}
 }
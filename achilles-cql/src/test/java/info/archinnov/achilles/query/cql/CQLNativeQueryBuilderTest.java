@@ -18,12 +18,14 @@ package info.archinnov.achilles.query.cql;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.operations.CQLNativeQueryMapper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -57,6 +61,9 @@ public class CQLNativeQueryBuilderTest {
 	@Mock
 	private Row row;
 
+	@Captor
+	private ArgumentCaptor<SimpleStatement> statementCaptor;
+
 	@Before
 	public void setUp() {
 		Whitebox.setInternalState(query, String.class, queryString);
@@ -77,31 +84,39 @@ public class CQLNativeQueryBuilderTest {
 	}
 
 	@Test
-	public void should_get_one() throws Exception {
+	public void should_iterate_lazily() throws Exception {
+		when(daoContext.execute(any(SimpleStatement.class)).iterator()).thenReturn(Arrays.asList(row).iterator());
 
-		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(rows);
+		Map<String, Object> line = new LinkedHashMap<String, Object>();
+		when(mapper.mapRow(row)).thenReturn(line);
+
+		Iterator<Map<String, Object>> iterator = query.iterator();
+
+		verifyZeroInteractions(mapper);
+		assertThat(iterator.next()).isSameAs(line);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_get_one() throws Exception {
+		Whitebox.setInternalState(query, String.class, "SELECT * FROM table;");
+		when(daoContext.execute(statementCaptor.capture()).one()).thenReturn(row);
 
-		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
 		Map<String, Object> line = new LinkedHashMap<String, Object>();
-		result.add(line);
-		when(mapper.mapRows(rows)).thenReturn(result);
+		when(mapper.mapRow(row)).thenReturn(line);
 
 		Map<String, Object> actual = query.first();
 		assertThat(actual).isSameAs(line);
+		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo("SELECT * FROM table LIMIT 1");
 	}
 
 	@Test
 	public void should_return_null_when_no_row() throws Exception {
-
-		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(rows);
-
-		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
-		when(mapper.mapRows(rows)).thenReturn(result);
+		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(null);
 
 		Map<String, Object> actual = query.first();
 		assertThat(actual).isNull();
+		verifyZeroInteractions(mapper);
 	}
 
 }
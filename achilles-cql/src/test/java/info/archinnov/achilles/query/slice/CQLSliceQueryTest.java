@@ -141,6 +141,28 @@ public class CQLSliceQueryTest {
 		assertThat(cqlSliceQuery.getLastEndComponent()).isEqualTo(12.0);
 	}
 
+	@Test
+	public void should_get_bound_values_for_select_and_remove() throws Exception {
+		when(sliceQuery.getClusteringsFrom()).thenReturn(Arrays.<Object> asList(11L, "a", 11.0));
+		when(sliceQuery.getClusteringsTo()).thenReturn(Arrays.<Object> asList(11L, "a", 12.0));
+
+		cqlSliceQuery = new CQLSliceQuery<ClusteredEntity>(sliceQuery, EACH_QUORUM);
+
+		assertThat(cqlSliceQuery.getBoundValuesForSelect()).isEqualTo(new Object[] { 11L, "a", 11.0, 12.0 });
+		assertThat(cqlSliceQuery.getBoundValuesForRemove()).isEqualTo(new Object[] { 11L, "a" });
+	}
+
+	@Test
+	public void should_get_bound_values_for_iterator() throws Exception {
+		when(sliceQuery.getClusteringsFrom()).thenReturn(Arrays.<Object> asList(11L, "a", 11.0));
+		when(sliceQuery.getClusteringsTo()).thenReturn(Arrays.<Object> asList(11L, "a"));
+
+		cqlSliceQuery = new CQLSliceQuery<ClusteredEntity>(sliceQuery, EACH_QUORUM);
+
+		assertThat(cqlSliceQuery.getBoundValuesForSelect()).isEqualTo(new Object[] { 11L, "a", 11.0 });
+		assertThat(cqlSliceQuery.getBoundValuesForIterator(11.5)).isEqualTo(new Object[] { 11L, "a", 11.5 });
+	}
+
 	@Test
 	public void should_get_limit() throws Exception {
 		when(sliceQuery.getLimit()).thenReturn(99);
@@ -35,6 +35,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -81,6 +82,9 @@ public class CQLTypedQueryBuilderTest {
 	@Captor
 	private ArgumentCaptor<Set<Method>> alreadyLoadedCaptor;
 
+	@Captor
+	private ArgumentCaptor<SimpleStatement> statementCaptor;
+
 	private Class<CompleteBean> entityClass = CompleteBean.class;
 
 	private CompleteBean entity = new CompleteBean();
@@ -176,6 +180,32 @@ public class CQLTypedQueryBuilderTest {
 		verifyZeroInteractions(contextFactory, proxifier);
 	}
 
+	@Test
+	public void should_iterate_managed_entities_lazily_skipping_null() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+
+		EntityMeta meta = buildEntityMeta(idMeta);
+		String queryString = "select * from test";
+		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
+
+		Row emptyRow = mock(Row.class);
+		when(daoContext.execute(any(SimpleStatement.class)).iterator()).thenReturn(
+				Arrays.asList(emptyRow, row).iterator());
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
+						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(entity);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxy(eq(entity), eq(context), alreadyLoadedCaptor.capture())).thenReturn(entity);
+
+		Iterator<CompleteBean> iterator = builder.iterator();
+
+		verifyZeroInteractions(mapper, proxifier);
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(entity);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
 	@Test
 	public void should_get_first_managed_entity() throws Exception {
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
@@ -214,7 +244,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
 
-		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(row);
+		when(daoContext.execute(statementCaptor.capture()).one()).thenReturn(row);
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(false))).thenReturn(entity);
@@ -222,6 +252,7 @@ public class CQLTypedQueryBuilderTest {
 		CompleteBean actual = builder.getFirst();
 
 		assertThat(actual).isSameAs(entity);
+		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo("select id from test LIMIT 1");
 
 		verifyZeroInteractions(contextFactory, proxifier);
 	}
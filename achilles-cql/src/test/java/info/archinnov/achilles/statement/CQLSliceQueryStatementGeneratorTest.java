@@ -67,22 +67,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1 AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=? AND c<=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1 AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1 AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1 AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<=?;");
 
 	}
 
@@ -96,22 +96,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 	}
 
@@ -125,22 +125,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=?;");
 
 	}
 
@@ -155,22 +155,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2 AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=? AND c>=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2 AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2 AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2 AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>=?;");
 
 	}
 
@@ -184,22 +184,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 	}
 
@@ -213,22 +213,22 @@ public class CQLSliceQueryStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForSelectSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>=?;");
 
 	}
 
@@ -239,7 +239,7 @@ public class CQLSliceQueryStatementGeneratorTest {
 		Statement statement = generator.generateWhereClauseForDeleteSliceQuery(sliceQuery, buildFakeDelete());
 
 		assertThat(statement.getQueryString()).isEqualTo(
-				"DELETE  FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author';");
+				"DELETE  FROM table WHERE id=? AND a=? AND b=?;");
 	}
 
 	private Select buildFakeSelect() {
@@ -20,11 +20,12 @@ import static info.archinnov.achilles.entity.metadata.PropertyType.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
-import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.statement.prepared.CQLSliceQueryPreparedStatementGenerator;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
@@ -34,22 +35,25 @@ import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
-import com.datastax.driver.core.ConsistencyLevel;
-import com.datastax.driver.core.PreparedStatement;
-import com.datastax.driver.core.Query;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
@@ -61,6 +65,9 @@ import com.google.common.collect.ImmutableMap;
 @RunWith(MockitoJUnitRunner.class)
 public class CQLStatementGeneratorTest {
 
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
 	@InjectMocks
 	private CQLStatementGenerator generator;
 
@@ -73,14 +80,8 @@ public class CQLStatementGeneratorTest {
 	@Mock
 	private CQLSliceQuery<ClusteredEntity> sliceQuery;
 
-	@Mock
-	private CQLDaoContext daoContext;
-
 	private ReflectionInvoker invoker = new ReflectionInvoker();
 
-	@Captor
-	private ArgumentCaptor<Statement> statementCaptor;
-
 	@Test
 	public void should_create_select_statement_for_entity_simple_id() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id");
@@ -100,12 +101,51 @@ public class CQLStatementGeneratorTest {
 		assertThat(select.getQueryString()).isEqualTo("SELECT id,a,b,age,name,label FROM table;");
 	}
 
+	@Test
+	public void should_generate_batch_query() throws Exception {
+		String actual = generator.generateBatchQuery(BatchType.UNLOGGED,
+				Arrays.asList("INSERT INTO a(id) VALUES (?); ", "DELETE FROM b WHERE id=10"));
+
+		assertThat(actual).isEqualTo(
+				"BEGIN UNLOGGED BATCH INSERT INTO a(id) VALUES (?); DELETE FROM b WHERE id=10; APPLY BATCH");
+	}
+
+	@Test
+	public void should_inline_bound_values() throws Exception {
+		UUID uuid = new UUID(10L, 11L);
+		Map<Integer, String> preferences = new LinkedHashMap<Integer, String>();
+		preferences.put(1, "FR");
+		preferences.put(2, "it's");
+
+		String actual = generator.inlineBoundValues("INSERT INTO a(id,name,friends,preferences,data,uuid,birth,"
+				+ "nothing) VALUES (?,?,?,?,?,?,?,?);", new Object[] { 10L, "O'Neil", Arrays.asList("a", "b"),
+				preferences, ByteBuffer.wrap(new byte[] { 1, (byte) 0xAB }), uuid, new Date(1000L), null });
+
+		assertThat(actual).isEqualTo(
+				"INSERT INTO a(id,name,friends,preferences,data,uuid,birth,nothing) VALUES (10,'O''Neil',['a','b'],"
+						+ "{1:'FR',2:'it''s'},0x01ab," + uuid + ",1000,null);");
+	}
+
+	@Test
+	public void should_not_inline_bound_values_within_string_literals() throws Exception {
+		String actual = generator.inlineBoundValues("UPDATE a SET name='?' WHERE id=?", new Object[] { 10L });
+
+		assertThat(actual).isEqualTo("UPDATE a SET name='?' WHERE id=10");
+	}
+
+	@Test
+	public void should_exception_when_bound_values_do_not_match_markers() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Not enough bound values for the query 'UPDATE a SET name=? WHERE id=?'");
+
+		generator.inlineBoundValues("UPDATE a SET name=? WHERE id=?", new Object[] { "name" });
+	}
+
 	@Test
 	public void should_generate_slice_select_query() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 		when(sliceQuery.getMeta()).thenReturn(meta);
 		when(sliceQuery.getCQLOrdering()).thenReturn(QueryBuilder.desc("comp1"));
-		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.EACH_QUORUM);
 		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), any(Select.class))).thenAnswer(
 				new Answer<Statement>() {
 
@@ -115,7 +155,7 @@ public class CQLStatementGeneratorTest {
 					}
 				});
 
-		Query query = generator.generateSelectSliceQuery(sliceQuery, 98);
+		Statement query = generator.generateSelectSliceQuery(sliceQuery, 98);
 
 		assertThat(query.toString()).isEqualTo(
 				"SELECT id,comp1,comp2,age,name,label FROM table WHERE fake='fake' ORDER BY comp1 DESC LIMIT 98;");
@@ -127,8 +167,6 @@ public class CQLStatementGeneratorTest {
 		when(sliceQuery.getMeta()).thenReturn(meta);
 		when(sliceQuery.getCQLOrdering())
 				.thenReturn(null);
-		when(sliceQuery.getConsistencyLevel()).thenReturn(
-				ConsistencyLevel.EACH_QUORUM);
 		when(
 				sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(
 						eq(sliceQuery), any(Select.class))).thenAnswer(
@@ -142,7 +180,7 @@ public class CQLStatementGeneratorTest {
 					}
 				});
 
-		Query query = generator.generateSelectSliceQuery(sliceQuery, 98);
+		Statement query = generator.generateSelectSliceQuery(sliceQuery, 98);
 
 		assertThat(query.toString())
 				.isEqualTo(
@@ -153,9 +191,8 @@ public class CQLStatementGeneratorTest {
 	public void should_generate_slice_iterator_query() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 		when(sliceQuery.getMeta()).thenReturn(meta);
-		when(sliceQuery.getLimit()).thenReturn(99);
+		when(sliceQuery.getBatchSize()).thenReturn(99);
 		when(sliceQuery.getCQLOrdering()).thenReturn(QueryBuilder.desc("comp1"));
-		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.EACH_QUORUM);
 		when(sliceQueryPreparedGenerator.generateWhereClauseForIteratorSliceQuery(eq(sliceQuery), any(Select.class)))
 				.thenAnswer(new Answer<Statement>() {
 
@@ -164,18 +201,10 @@ public class CQLStatementGeneratorTest {
 						return buildFakeWhereForSelect((Select) invocation.getArguments()[1]);
 					}
 				});
-		PreparedStatement ps = mock(PreparedStatement.class);
-
-		when(daoContext.prepare(statementCaptor.capture())).thenReturn(ps);
-
-		PreparedStatement actual = generator.generateIteratorSliceQuery(sliceQuery, daoContext);
-
-		assertThat(actual).isSameAs(ps);
+		Statement actual = generator.generateIteratorSliceQuery(sliceQuery);
 
-		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo(
+		assertThat(actual.getQueryString()).isEqualTo(
 				"SELECT id,comp1,comp2,age,name,label FROM table WHERE fake='fake' ORDER BY comp1 DESC LIMIT 99;");
-
-		verify(ps).setConsistencyLevel(ConsistencyLevel.EACH_QUORUM);
 	}
 
 	@Test
@@ -192,7 +221,7 @@ public class CQLStatementGeneratorTest {
 					}
 				});
 
-		Query query = generator.generateRemoveSliceQuery(sliceQuery);
+		Statement query = generator.generateRemoveSliceQuery(sliceQuery);
 
 		assertThat(query.toString()).isEqualTo("DELETE  FROM table WHERE fake='fake';");
 	}
@@ -229,6 +258,35 @@ public class CQLStatementGeneratorTest {
 
 	}
 
+	@Test
+	public void should_generate_insert_skipping_null_columns() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.type(ID).invoker(invoker).build();
+
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age").accessors()
+				.type(SIMPLE).invoker(invoker).build();
+
+		PropertyMeta followersMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class)
+				.field("followers").accessors().type(SET).invoker(invoker).build();
+
+		PropertyMeta preferencesMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
+				.field("preferences").accessors().type(MAP).invoker(invoker).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setAllMetasExceptIdMeta(Arrays.asList(ageMeta, followersMeta, preferencesMeta));
+		meta.setIdMeta(idMeta);
+
+		Long id = RandomUtils.nextLong();
+		CompleteBean entity = CompleteBeanTestBuilder.builder().id(id).addFollowers("john").buid();
+		entity.setPreferences(new HashMap<Integer, String>());
+
+		Insert insert = generator.generateInsert(entity, meta, true);
+
+		assertThat(insert.getQueryString()).isEqualTo(
+				"INSERT INTO table(id,followers) VALUES (" + id + ",{'john'});");
+	}
+
 	@Test
 	public void should_generate_insert_for_clustered_id() throws Exception {
 		Method idGetter = ClusteredEntity.class.getDeclaredMethod("getId");
@@ -303,6 +361,74 @@ public class CQLStatementGeneratorTest {
 
 	}
 
+	@Test
+	public void should_generate_collection_mutations() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.type(ID).invoker(invoker).build();
+
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().type(LAZY_LIST).invoker(invoker).build();
+
+		PropertyMeta followersMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("followers")
+				.accessors().type(SET).invoker(invoker).build();
+
+		PropertyMeta preferencesMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
+				.field("preferences").accessors().type(MAP).invoker(invoker).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		Long id = RandomUtils.nextLong();
+		CompleteBean entity = CompleteBeanTestBuilder.builder().id(id).buid();
+
+		CollectionMutations friendsMutations = new CollectionMutations();
+		friendsMutations.append(Arrays.asList("qux"));
+		friendsMutations.prepend(Arrays.asList("foo"));
+		CollectionMutations followersMutations = new CollectionMutations();
+		followersMutations.addToSet(Arrays.asList("john"));
+		followersMutations.removeFromSet(Arrays.asList("helen"));
+		CollectionMutations preferencesMutations = new CollectionMutations();
+		preferencesMutations.putToMap(ImmutableMap.of(1, "FR"));
+		preferencesMutations.removeFromMap(Arrays.asList(2));
+
+		Map<PropertyMeta, CollectionMutations> mutationsByMeta = new LinkedHashMap<PropertyMeta, CollectionMutations>();
+		mutationsByMeta.put(followersMeta, followersMutations);
+		mutationsByMeta.put(friendsMeta, friendsMutations);
+		mutationsByMeta.put(preferencesMeta, preferencesMutations);
+
+		Update.Assignments update = generator.generateCollectionMutations(entity, meta, mutationsByMeta);
+		Delete.Where delete = generator.generateMapKeysRemoval(entity, meta, mutationsByMeta);
+
+		assertThat(update.getQueryString()).isEqualTo(
+				"UPDATE table SET followers=followers+{'john'},followers=followers-{'helen'},friends=friends+['qux'],"
+						+ "friends=['foo']+friends,preferences=preferences+{1:'FR'} WHERE id=" + id + ";");
+		assertThat(delete.getQueryString()).isEqualTo("DELETE preferences[2] FROM table WHERE id=" + id + ";");
+	}
+
+	@Test
+	public void should_not_generate_collection_mutations_when_only_removing_keys() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.type(ID).invoker(invoker).build();
+
+		PropertyMeta preferencesMeta = PropertyMetaTestBuilder.completeBean(Integer.class, String.class)
+				.field("preferences").accessors().type(MAP).invoker(invoker).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
+
+		CollectionMutations preferencesMutations = new CollectionMutations();
+		preferencesMutations.removeFromMap(Arrays.asList(2));
+		Map<PropertyMeta, CollectionMutations> mutationsByMeta = ImmutableMap.of(preferencesMeta,
+				preferencesMutations);
+
+		assertThat(generator.generateCollectionMutations(entity, meta, mutationsByMeta)).isNull();
+		assertThat(generator.generateMapKeysRemoval(entity, meta, mutationsByMeta)).isNotNull();
+	}
+
 	@Test
 	public void should_generate_update_for_clustered_id() throws Exception {
 		Method idGetter = ClusteredEntity.class.getDeclaredMethod("getId");
@@ -339,6 +465,28 @@ public class CQLStatementGeneratorTest {
 
 	}
 
+	@Test
+	public void should_generate_first_row_query() throws Exception {
+		assertThat(generator.generateFirstRowQuery("SELECT * FROM table WHERE id=10;")).isEqualTo(
+				"SELECT * FROM table WHERE id=10 LIMIT 1");
+		assertThat(generator.generateFirstRowQuery("select name from table allow filtering")).isEqualTo(
+				"select name from table LIMIT 1 allow filtering");
+		assertThat(generator.generateFirstRowQuery("SELECT * FROM table WHERE name='x limit 5'")).isEqualTo(
+				"SELECT * FROM table WHERE name='x limit 5' LIMIT 1");
+	}
+
+	@Test
+	public void should_not_limit_query_when_not_plain_select() throws Exception {
+		assertThat(generator.generateFirstRowQuery("SELECT * FROM table LIMIT 5")).isEqualTo(
+				"SELECT * FROM table LIMIT 5");
+		assertThat(generator.generateFirstRowQuery("SELECT * FROM table limit 5 ALLOW FILTERING;")).isEqualTo(
+				"SELECT * FROM table limit 5 ALLOW FILTERING;");
+		assertThat(generator.generateFirstRowQuery("SELECT COUNT(*) FROM table")).isEqualTo(
+				"SELECT COUNT(*) FROM table");
+		assertThat(generator.generateFirstRowQuery("DELETE FROM table WHERE id=10")).isEqualTo(
+				"DELETE FROM table WHERE id=10");
+	}
+
 	private EntityMeta prepareEntityMeta(String... componentNames) throws Exception {
 		PropertyMeta idMeta;
 		if (componentNames.length > 1) {
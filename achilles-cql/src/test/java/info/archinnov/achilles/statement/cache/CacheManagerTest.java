@@ -16,18 +16,31 @@
  */
 package info.archinnov.achilles.statement.cache;
 
-import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,11 +48,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheManagerTest {
@@ -49,6 +66,9 @@ public class CacheManagerTest {
 	@Mock
 	private CQLPreparedStatementGenerator generator;
 
+	@Mock
+	private CQLStatementGenerator statementGenerator;
+
 	@Mock
 	private Session session;
 
@@ -64,17 +84,19 @@ public class CacheManagerTest {
 	@Captor
 	ArgumentCaptor<StatementCacheKey> cacheKeyCaptor;
 
+	private Cache<StatementCacheKey, PreparedStatement> realCache = CacheBuilder.newBuilder().recordStats().build();
+
 	@Test
 	public void should_get_cache_for_simple_field() throws Exception {
 		EntityMeta meta = new EntityMeta();
 		meta.setTableName("table");
 
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").type(PropertyType.SIMPLE)
-				.build();
+				.ordinal(0).build();
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
-		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(ps);
+		when(cache.get(cacheKeyCaptor.capture(), any(Callable.class))).thenReturn(ps);
 
 		PreparedStatement actual = manager.getCacheForFieldSelect(session, cache, context, pm);
 
@@ -83,7 +105,30 @@ public class CacheManagerTest {
 		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_FIELD);
-		assertThat(cacheKey.getFields()).containsExactly("name");
+		assertThat(cacheKey.getFieldsMask()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_get_cache_for_fields_select() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).field("label")
+				.type(PropertyType.LAZY_SIMPLE).ordinal(1).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.valueClass(String.class).field("friends")
+				.type(PropertyType.LAZY_LIST).ordinal(2).build();
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.get(cacheKeyCaptor.capture(), any(Callable.class))).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsSelect(session, cache, context,
+				Arrays.asList(labelMeta, friendsMeta));
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_FIELDS);
+		assertThat(cacheKey.getFieldsMask()).isEqualTo((1L << 1) | (1L << 2));
 	}
 
 	@Test
@@ -92,17 +137,17 @@ public class CacheManagerTest {
 		meta.setTableName("table");
 
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").compNames("id", "a", "b")
-				.type(PropertyType.EMBEDDED_ID).build();
+				.type(PropertyType.EMBEDDED_ID).ordinal(3).build();
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
-		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(ps);
+		when(cache.get(cacheKeyCaptor.capture(), any(Callable.class))).thenReturn(ps);
 
 		PreparedStatement actual = manager.getCacheForFieldSelect(session, cache, context, pm);
 
 		assertThat(actual).isSameAs(ps);
 		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
-		assertThat(cacheKey.getFields()).containsOnly("id", "a", "b");
+		assertThat(cacheKey.getFieldsMask()).isEqualTo(1L << 3);
 	}
 
 	@Test
@@ -111,18 +156,18 @@ public class CacheManagerTest {
 		meta.setTableName("table");
 
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").type(PropertyType.SIMPLE)
-				.build();
+				.ordinal(0).build();
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
-		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
 		when(generator.prepareSelectFieldPS(session, meta, pm)).thenReturn(ps);
 
-		PreparedStatement actual = manager.getCacheForFieldSelect(session, cache, context, pm);
+		PreparedStatement actual = manager.getCacheForFieldSelect(session, realCache, context, pm);
 
 		assertThat(actual).isSameAs(ps);
-		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
-		verify(cache).put(cacheKey, ps);
+		StatementCacheKey cacheKey = realCache.asMap().keySet().iterator().next();
+		assertThat(realCache.getIfPresent(cacheKey)).isSameAs(ps);
+		assertThat(realCache.stats().missCount()).isEqualTo(1L);
 	}
 
 	@Test
@@ -131,14 +176,14 @@ public class CacheManagerTest {
 		meta.setTableName("table");
 
 		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.type(PropertyType.SIMPLE).build();
+				.type(PropertyType.SIMPLE).ordinal(0).build();
 
 		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
-				.type(PropertyType.SIMPLE).build();
+				.type(PropertyType.SIMPLE).ordinal(1).build();
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
-		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(ps);
+		when(cache.get(cacheKeyCaptor.capture(), any(Callable.class))).thenReturn(ps);
 
 		PreparedStatement actual = manager.getCacheForFieldsUpdate(session, cache, context,
 				Arrays.asList(nameMeta, ageMeta));
@@ -148,7 +193,7 @@ public class CacheManagerTest {
 		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS);
-		assertThat(cacheKey.getFields()).containsOnly("name", "age");
+		assertThat(cacheKey.getFieldsMask()).isEqualTo(3L);
 	}
 
 	@Test
@@ -157,25 +202,205 @@ public class CacheManagerTest {
 		meta.setTableName("table");
 
 		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
-				.type(PropertyType.SIMPLE).build();
+				.type(PropertyType.SIMPLE).ordinal(0).build();
 
 		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
-				.type(PropertyType.SIMPLE).build();
+				.type(PropertyType.SIMPLE).ordinal(1).build();
 
 		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
-		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
 		when(generator.prepareUpdateFields(session, meta, pms)).thenReturn(ps);
 
-		PreparedStatement actual = manager.getCacheForFieldsUpdate(session, cache, context, pms);
+		PreparedStatement actual = manager.getCacheForFieldsUpdate(session, realCache, context, pms);
 
 		assertThat(actual).isSameAs(ps);
-		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		StatementCacheKey cacheKey = realCache.asMap().keySet().iterator().next();
 		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS);
-		assertThat(cacheKey.getFields()).containsOnly("name", "age");
+		assertThat(cacheKey.getFieldsMask()).isEqualTo(3L);
+	}
+
+	@Test
+	public void should_generate_insert_with_ttl_prepared_statement_when_not_found_in_cache() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(generator.prepareInsertPSWithTtl(session, meta, 150)).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForInsertWithTtl(session, realCache, context, 150);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = realCache.asMap().keySet().iterator().next();
+		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
+		assertThat(cacheKey.getTableName()).isEqualTo("table");
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.INSERT_WITH_TTL);
+		assertThat(cacheKey.getTtl()).isEqualTo(150);
+		assertThat(realCache.getIfPresent(cacheKey)).isSameAs(ps);
+	}
+
+	@Test
+	public void should_get_cache_for_fields_update_with_ttl() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).ordinal(0).build();
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.get(cacheKeyCaptor.capture(), any(Callable.class))).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsUpdateWithTtl(session, cache, context,
+				Arrays.asList(nameMeta), 10);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS_WITH_TTL);
+		assertThat(cacheKey.hasField(nameMeta)).isTrue();
+		assertThat(cacheKey.getTtl()).isEqualTo(10);
+		verifyZeroInteractions(generator);
+	}
+
+	@Test
+	public void should_prepare_and_cache_batch_query() throws Exception {
+		Cache<String, PreparedStatement> batchCache = CacheBuilder.newBuilder().build();
+		when(session.prepare("batch")).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForBatch(session, batchCache, "batch");
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(batchCache.getIfPresent("batch")).isSameAs(ps);
+	}
+
+	@Test
+	public void should_count_batch_query_preparation() throws Exception {
+		Cache<String, PreparedStatement> batchCache = CacheBuilder.newBuilder().build();
+		AtomicInteger prepareCount = new AtomicInteger();
+		when(session.prepare("batch")).thenReturn(ps);
+
+		manager.getCacheForBatch(session, batchCache, "batch", prepareCount);
+		manager.getCacheForBatch(session, batchCache, "batch", prepareCount);
+
+		assertThat(prepareCount.get()).isEqualTo(1);
+		verify(session).prepare("batch");
+	}
+
+	@Test
+	public void should_get_cached_batch_query() throws Exception {
+		Cache<String, PreparedStatement> batchCache = CacheBuilder.newBuilder().build();
+		batchCache.put("batch", ps);
+
+		PreparedStatement actual = manager.getCacheForBatch(session, batchCache, "batch");
+
+		assertThat(actual).isSameAs(ps);
+		verifyZeroInteractions(session);
+	}
+
+	@Test
+	public void should_prepare_statement_only_once_for_concurrent_callers() throws Exception {
+		final EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		final PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.type(PropertyType.SIMPLE).ordinal(0).build();
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+
+		final CountDownLatch preparing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		when(generator.prepareSelectFieldPS(session, meta, pm)).thenAnswer(new Answer<PreparedStatement>() {
+			@Override
+			public PreparedStatement answer(InvocationOnMock invocation) throws Throwable {
+				preparing.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				return ps;
+			}
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<PreparedStatement>> futures = new ArrayList<Future<PreparedStatement>>();
+		try {
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(new Callable<PreparedStatement>() {
+					@Override
+					public PreparedStatement call() throws Exception {
+						return manager.getCacheForFieldSelect(session, realCache, context, pm);
+					}
+				}));
+			}
+			preparing.await(5, TimeUnit.SECONDS);
+			release.countDown();
+
+			for (Future<PreparedStatement> future : futures) {
+				assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(ps);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verify(generator, times(1)).prepareSelectFieldPS(session, meta, pm);
+		assertThat(realCache.stats().loadCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_propagate_preparation_exception_without_caching() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").type(PropertyType.SIMPLE)
+				.ordinal(0).build();
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		IllegalStateException exception = new IllegalStateException("invalid query");
+		when(generator.prepareSelectFieldPS(session, meta, pm)).thenThrow(exception);
+
+		try {
+			manager.getCacheForFieldSelect(session, realCache, context, pm);
+			fail("exception expected");
+		} catch (IllegalStateException e) {
+			assertThat(e).isSameAs(exception);
+		}
+		assertThat(realCache.size()).isEqualTo(0L);
+		assertThat(realCache.stats().loadExceptionCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_prepare_slice_select_once_per_query_shape() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		CQLSliceQuery<ClusteredEntity> sliceQuery = mock(CQLSliceQuery.class);
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getEntityClass()).thenReturn(ClusteredEntity.class);
+		when(sliceQuery.getFixedComponents()).thenReturn(Arrays.<Object> asList(11L));
+		when(sliceQuery.getLastStartComponent()).thenReturn("a");
+		when(sliceQuery.getBounding()).thenReturn(BoundingMode.INCLUSIVE_BOUNDS);
+		when(sliceQuery.getAchillesOrdering()).thenReturn(OrderingMode.ASCENDING);
+
+		Statement statement = mock(Statement.class);
+		when(statement.getQueryString()).thenReturn("SELECT * FROM table WHERE id=? AND name>=? LIMIT 10");
+		when(statementGenerator.generateSelectSliceQuery(sliceQuery, 10)).thenReturn(statement);
+		when(session.prepare("SELECT * FROM table WHERE id=? AND name>=? LIMIT 10")).thenReturn(ps);
+
+		assertThat(manager.getCacheForSliceSelect(session, realCache, sliceQuery, 10)).isSameAs(ps);
+		assertThat(manager.getCacheForSliceSelect(session, realCache, sliceQuery, 10)).isSameAs(ps);
+
+		verify(session, times(1)).prepare("SELECT * FROM table WHERE id=? AND name>=? LIMIT 10");
+		assertThat(realCache.stats().hitCount()).isEqualTo(1L);
+
+		SliceQueryStatementCacheKey cacheKey = (SliceQueryStatementCacheKey) realCache.asMap().keySet().iterator()
+				.next();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_SLICE);
+		assertThat(cacheKey.getFixedComponentsCount()).isEqualTo(1);
+		assertThat(cacheKey.hasStartBound()).isTrue();
+		assertThat(cacheKey.hasEndBound()).isFalse();
+		assertThat(cacheKey.getLimit()).isEqualTo(10);
 	}
 }
@@ -16,22 +16,119 @@
  */
 package info.archinnov.achilles.statement.cache;
 
-import static org.fest.assertions.api.Assertions.assertThat;
+import static info.archinnov.achilles.statement.cache.StatementCacheKey.NO_TTL;
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
 
-import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
 
-import com.google.common.collect.Sets;
+import org.junit.Test;
 
 public class StatementCacheKeyTest {
 
 	@Test
 	public void should_be_equals() throws Exception {
-		StatementCacheKey key1 = new StatementCacheKey(CacheType.SELECT_FIELD, "table", Sets.newHashSet("field1",
-				"field2"), CompleteBean.class);
-		StatementCacheKey key2 = new StatementCacheKey(CacheType.SELECT_FIELD, "table", Sets.newHashSet("field2",
-				"field1"), CompleteBean.class);
+		PropertyMeta field1 = meta("field1", 1);
+		PropertyMeta field2 = meta("field2", 2);
+
+		StatementCacheKey key1 = new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class,
+				Arrays.asList(field1, field2), NO_TTL);
+		StatementCacheKey key2 = new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class,
+				Arrays.asList(field2, field1), NO_TTL);
 
 		assertThat(key1).isEqualTo(key2);
+		assertThat(key1.hashCode()).isEqualTo(key2.hashCode());
+		assertThat(key1.getFieldsMask()).isEqualTo(6L);
+	}
+
+	@Test
+	public void should_not_be_equals_when_fields_or_ttl_differ() throws Exception {
+		PropertyMeta field1 = meta("field1", 1);
+		PropertyMeta field2 = meta("field2", 2);
+
+		StatementCacheKey key = new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class,
+				Arrays.asList(field1), NO_TTL);
+
+		assertThat(key).isNotEqualTo(
+				new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class, Arrays.asList(field2),
+						NO_TTL));
+		assertThat(key).isNotEqualTo(
+				new StatementCacheKey(CacheType.UPDATE_FIELDS_WITH_TTL, "table", CompleteBean.class, Arrays
+						.asList(field1), 10));
+		assertThat(key).isNotEqualTo(new StatementCacheKey(CacheType.SELECT_FIELD, "table", CompleteBean.class, field1));
+	}
+
+	@Test
+	public void should_spill_high_ordinals_into_overflow_mask() throws Exception {
+		PropertyMeta low = meta("low", 63);
+		PropertyMeta high = meta("high", 64);
+		PropertyMeta higher = meta("higher", 130);
+
+		StatementCacheKey key1 = new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class,
+				Arrays.asList(low, high), NO_TTL);
+		StatementCacheKey key2 = new StatementCacheKey(CacheType.UPDATE_FIELDS, "table", CompleteBean.class,
+				Arrays.asList(low, higher), NO_TTL);
+
+		assertThat(key1.getFieldsMask()).isEqualTo(key2.getFieldsMask());
+		assertThat(key1).isNotEqualTo(key2);
+		assertThat(key1.hasField(high)).isTrue();
+		assertThat(key1.hasField(higher)).isFalse();
+		assertThat(key2.hasField(higher)).isTrue();
+	}
+
+	@Test
+	public void should_exception_when_no_ordinal() throws Exception {
+		try {
+			new StatementCacheKey(CacheType.SELECT_FIELD, "table", CompleteBean.class, meta("name", -1));
+			fail("exception expected");
+		} catch (AchillesException e) {
+			assertThat(e).hasMessage("No ordinal assigned to property 'name'");
+		}
+	}
+
+	@Test
+	public void should_identify_slice_queries_by_shape() throws Exception {
+		CQLSliceQuery<CompleteBean> sliceQuery = sliceQuery(Arrays.<Object> asList(10L), "a", null);
+		CQLSliceQuery<CompleteBean> sameShape = sliceQuery(Arrays.<Object> asList(11L), "b", null);
+		CQLSliceQuery<CompleteBean> otherShape = sliceQuery(Arrays.<Object> asList(11L), "b", "c");
+
+		SliceQueryStatementCacheKey key = new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, sliceQuery, 10);
+
+		assertThat(key).isEqualTo(new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, sameShape, 10));
+		assertThat(key.hashCode()).isEqualTo(
+				new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, sameShape, 10).hashCode());
+		assertThat(key).isNotEqualTo(new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, sameShape, 20));
+		assertThat(key).isNotEqualTo(new SliceQueryStatementCacheKey(CacheType.ITERATE_SLICE, sameShape, 10));
+		assertThat(key).isNotEqualTo(new SliceQueryStatementCacheKey(CacheType.SELECT_SLICE, otherShape, 10));
+	}
+
+	@SuppressWarnings("unchecked")
+	private CQLSliceQuery<CompleteBean> sliceQuery(List<Object> fixedComponents, Object lastStart, Object lastEnd) {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		CQLSliceQuery<CompleteBean> sliceQuery = mock(CQLSliceQuery.class);
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getEntityClass()).thenReturn(CompleteBean.class);
+		when(sliceQuery.getFixedComponents()).thenReturn(fixedComponents);
+		when(sliceQuery.getLastStartComponent()).thenReturn(lastStart);
+		when(sliceQuery.getLastEndComponent()).thenReturn(lastEnd);
+		when(sliceQuery.getBounding()).thenReturn(BoundingMode.INCLUSIVE_BOUNDS);
+		when(sliceQuery.getAchillesOrdering()).thenReturn(OrderingMode.ASCENDING);
+		return sliceQuery;
+	}
+
+	private PropertyMeta meta(String name, int ordinal) {
+		PropertyMeta pm = new PropertyMeta();
+		pm.setPropertyName(name);
+		pm.setOrdinal(ordinal);
+		return pm;
 	}
 }
@@ -0,0 +1,110 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CQLBindingPlanTest {
+
+	@Mock
+	private PropertyMeta idMeta;
+
+	@Mock
+	private PropertyMeta nameMeta;
+
+	@Mock
+	private PropertyMeta friendsMeta;
+
+	@Mock
+	private PropertyMeta counterMeta;
+
+	private EntityMeta entityMeta = new EntityMeta();
+
+	private Object entity = new Object();
+
+	@Before
+	public void setUp() {
+		when(idMeta.type()).thenReturn(ID);
+		when(nameMeta.type()).thenReturn(SIMPLE);
+		when(friendsMeta.type()).thenReturn(LIST);
+		when(counterMeta.type()).thenReturn(COUNTER);
+
+		entityMeta.setIdMeta(idMeta);
+		entityMeta.setAllMetasExceptIdMeta(Arrays.asList(nameMeta, counterMeta, friendsMeta));
+
+		when(idMeta.encode((Object) 10L)).thenReturn(10L);
+		when(nameMeta.getValueFromField(entity)).thenReturn("name");
+		when(nameMeta.encode((Object) "name")).thenReturn("name");
+		when(friendsMeta.getValueFromField(entity)).thenReturn(null);
+	}
+
+	@Test
+	public void should_bind_for_insert_without_counters() throws Exception {
+		CQLBindingPlan plan = new CQLBindingPlan(entityMeta);
+
+		Object[] values = plan.bindForInsert(entity, 10L);
+
+		assertThat(plan.getInsertMetasCount()).isEqualTo(2);
+		assertThat(values).isEqualTo(new Object[] { 10L, "name", null });
+		verify(counterMeta, never()).getValueFromField(entity);
+	}
+
+	@Test
+	public void should_bind_for_update_with_primary_key_last() throws Exception {
+		CQLBindingPlan plan = new CQLBindingPlan(entityMeta);
+
+		Object[] values = plan.bindForUpdate(entity, 10L, Arrays.asList(nameMeta));
+
+		assertThat(values).isEqualTo(new Object[] { "name", 10L });
+	}
+
+	@Test
+	public void should_bind_compound_primary_key_between_slots() throws Exception {
+		EmbeddedKey embeddedKey = new EmbeddedKey(10L, "name");
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(idMeta.encodeToComponents(embeddedKey)).thenReturn(Arrays.<Object> asList(10L, "name"));
+
+		CQLBindingPlan plan = new CQLBindingPlan(entityMeta);
+
+		Object[] values = plan.bindPrimaryKey(embeddedKey, 1, 2);
+
+		assertThat(values).isEqualTo(new Object[] { null, 10L, "name", null, null });
+	}
+
+	@Test
+	public void should_extract_non_null_insert_metas() throws Exception {
+		when(friendsMeta.getValueFromField(entity)).thenReturn(Arrays.asList());
+		CQLBindingPlan plan = new CQLBindingPlan(entityMeta);
+
+		assertThat(plan.getNonNullInsertMetas(entity)).containsExactly(nameMeta);
+		assertThat(plan.bindForInsert(entity, 10L, Arrays.asList(nameMeta))).isEqualTo(new Object[] { 10L, "name" });
+	}
+}
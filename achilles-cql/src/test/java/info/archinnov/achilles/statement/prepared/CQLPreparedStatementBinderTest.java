@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.statement.prepared;
 
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static info.archinnov.achilles.entity.metadata.PropertyType.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Matchers.*;
@@ -29,6 +30,7 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -77,6 +79,8 @@ public class CQLPreparedStatementBinderTest {
 	@Before
 	public void setUp() {
 		entityMeta = new EntityMeta();
+		// Routing key derived by the driver from the table metadata
+		when(bs.getRoutingKey()).thenReturn(ByteBuffer.allocate(8));
 	}
 
 	@Test
@@ -275,6 +279,8 @@ public class CQLPreparedStatementBinderTest {
 		assertThat(actual.getBs()).isSameAs(bs);
 		assertThat(Arrays.asList(actual.getValues())).containsExactly(counter, "CompleteBean", primaryKey.toString(),
 				"counter");
+		assertThat(actual.getPartitionKey()).containsExactly(CQL_COUNTER_TABLE, "CompleteBean",
+				primaryKey.toString());
 	}
 
 	@Test
@@ -89,6 +89,26 @@ public class CQLPreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("INSERT INTO table(id,name) VALUES (?,?);");
 	}
 
+	@Test
+	public void should_prepare_insert_ps_with_ttl() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setIdMeta(idMeta);
+		meta.setTableName("table");
+		meta.setAllMetasExceptIdMeta(Arrays.asList(nameMeta));
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareInsertPSWithTtl(session, meta, 150);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(queryCaptor.getValue()).isEqualTo("INSERT INTO table(id,name) VALUES (?,?) USING TTL 150;");
+	}
+
 	@Test
 	public void should_prepare_insert_ps_with_clustered_id() throws Exception {
 		List<PropertyMeta> allMetas = new ArrayList<PropertyMeta>();
@@ -134,6 +154,31 @@ public class CQLPreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("SELECT name FROM table WHERE id=?;");
 	}
 
+	@Test
+	public void should_prepare_select_fields_ps() throws Exception {
+
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.type(PropertyType.LAZY_SIMPLE).build();
+
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(PropertyType.LAZY_LIST).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareSelectFieldsPS(session, meta, Arrays.asList(labelMeta, friendsMeta));
+
+		assertThat(actual).isSameAs(ps);
+
+		assertThat(queryCaptor.getValue()).isEqualTo("SELECT label,friends FROM table WHERE id=?;");
+	}
+
 	@Test
 	public void should_prepare_select_field_ps_for_clustered_id() throws Exception {
 
@@ -178,6 +223,26 @@ public class CQLPreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("UPDATE table SET name=?,age=? WHERE id=?;");
 	}
 
+	@Test
+	public void should_prepare_update_fields_ps_with_ttl() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareUpdateFieldsWithTtl(session, meta, Arrays.asList(nameMeta), 150);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(queryCaptor.getValue()).isEqualTo("UPDATE table USING TTL 150 SET name=? WHERE id=?;");
+	}
+
 	@Test
 	public void should_prepare_update_fields_with_clustered_id_ps() throws Exception {
 
@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.DataType;
+
+public class CQLRoutingKeyEncoderTest {
+
+	@Test
+	public void should_encode_single_partition_component() throws Exception {
+		CQLRoutingKeyEncoder encoder = new CQLRoutingKeyEncoder(Arrays.<Class<?>> asList(Long.class));
+
+		assertThat(encoder.encode(Arrays.<Object> asList(10L))).isEqualTo(DataType.bigint().serialize(10L));
+	}
+
+	@Test
+	public void should_encode_composite_partition_key() throws Exception {
+		UUID uuid = new UUID(10L, 11L);
+		CQLRoutingKeyEncoder encoder = new CQLRoutingKeyEncoder(Arrays.<Class<?>> asList(String.class, UUID.class));
+
+		ByteBuffer actual = encoder.encode(Arrays.<Object> asList("ab", uuid));
+
+		ByteBuffer expected = ByteBuffer.allocate(2 + 2 + 1 + 2 + 16 + 1);
+		expected.putShort((short) 2).put("ab".getBytes()).put((byte) 0);
+		expected.putShort((short) 16).putLong(10L).putLong(11L).put((byte) 0);
+		expected.flip();
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void should_encode_custom_type_as_text() throws Exception {
+		CQLRoutingKeyEncoder encoder = new CQLRoutingKeyEncoder(Arrays.<Class<?>> asList(PropertyMeta.class));
+
+		assertThat(encoder.encode(Arrays.<Object> asList("{json}"))).isEqualTo(DataType.text().serialize("{json}"));
+	}
+
+	@Test
+	public void should_return_null_when_a_component_is_missing() throws Exception {
+		CQLRoutingKeyEncoder encoder = new CQLRoutingKeyEncoder(Arrays.<Class<?>> asList(Long.class, String.class));
+
+		assertThat(encoder.encode(Arrays.<Object> asList(10L, null))).isNull();
+		assertThat(encoder.encode(Arrays.<Object> asList(10L))).isNull();
+	}
+
+	@Test
+	public void should_create_from_embedded_id_meta() throws Exception {
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(idMeta.getPartitionComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Long.class, Integer.class));
+
+		ByteBuffer actual = CQLRoutingKeyEncoder.forIdMeta(idMeta).encode(Arrays.<Object> asList(10L, 3));
+
+		assertThat(actual.remaining()).isEqualTo(2 + 8 + 1 + 2 + 4 + 1);
+	}
+}
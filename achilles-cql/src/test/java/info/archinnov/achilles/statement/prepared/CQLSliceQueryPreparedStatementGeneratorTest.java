@@ -65,22 +65,22 @@ public class CQLSliceQueryPreparedStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>? AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>? AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>? AND c<2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>? AND c<=2;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>? AND c<=?;");
 	}
 
 	@Test
@@ -93,22 +93,22 @@ public class CQLSliceQueryPreparedStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c>?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c>?;");
 	}
 
 	// /////////////////////// DESCENDING
@@ -122,22 +122,22 @@ public class CQLSliceQueryPreparedStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<? AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>=?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<? AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<? AND c>1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<? AND c>=1;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<? AND c>=?;");
 	}
 
 	@Test
@@ -150,22 +150,22 @@ public class CQLSliceQueryPreparedStatementGeneratorTest {
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_BOUNDS);
 		Statement statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(EXCLUSIVE_BOUNDS);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_START_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 
 		when(sliceQuery.getBounding()).thenReturn(INCLUSIVE_END_BOUND_ONLY);
 		statement = generator.generateWhereClauseForIteratorSliceQuery(sliceQuery, buildFakeSelect());
 		assertThat(statement.getQueryString()).isEqualTo(
-				"SELECT test FROM table WHERE id=11 AND a=" + uuid1 + " AND b='author' AND c<?;");
+				"SELECT test FROM table WHERE id=? AND a=? AND b=? AND c<?;");
 	}
 
 	private Select buildFakeSelect() {
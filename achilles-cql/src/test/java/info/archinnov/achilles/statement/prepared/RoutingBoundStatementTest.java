@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement.prepared;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RoutingBoundStatementTest {
+
+	@Mock
+	private PreparedStatement ps;
+
+	@Mock
+	private BoundStatement bs;
+
+	@Mock
+	private ColumnDefinitions variables;
+
+	private Object[] values = new Object[0];
+
+	private ByteBuffer routingKey = ByteBuffer.wrap(new byte[] { 1, 2 });
+
+	@Test
+	public void should_bind_without_routing_key() throws Exception {
+		when(ps.bind(values)).thenReturn(bs);
+
+		assertThat(RoutingBoundStatement.bind(ps, values, null)).isSameAs(bs);
+	}
+
+	@Test
+	public void should_keep_driver_routing_key() throws Exception {
+		when(ps.bind(values)).thenReturn(bs);
+		when(bs.getRoutingKey()).thenReturn(ByteBuffer.wrap(new byte[] { 3 }));
+
+		assertThat(RoutingBoundStatement.bind(ps, values, routingKey)).isSameAs(bs);
+		assertThat(RoutingBoundStatement.bind(ps, values, routingKey)).isSameAs(bs);
+
+		verify(ps, times(2)).bind(values);
+		verify(bs, times(1)).getRoutingKey();
+	}
+
+	@Test
+	public void should_bind_once_with_routing_key_when_not_routed_by_driver() throws Exception {
+		when(ps.bind(values)).thenReturn(bs);
+		when(ps.getVariables()).thenReturn(variables);
+
+		BoundStatement first = RoutingBoundStatement.bind(ps, values, routingKey);
+		BoundStatement second = RoutingBoundStatement.bind(ps, values, routingKey);
+
+		assertThat(first).isInstanceOf(RoutingBoundStatement.class);
+		assertThat(first.getRoutingKey()).isEqualTo(routingKey);
+		assertThat(second).isInstanceOf(RoutingBoundStatement.class);
+		assertThat(second.getRoutingKey()).isEqualTo(routingKey);
+		verify(ps, times(1)).bind(values);
+	}
+}
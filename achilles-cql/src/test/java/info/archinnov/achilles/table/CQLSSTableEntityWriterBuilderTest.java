@@ -0,0 +1,47 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.table;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CQLSSTableEntityWriterBuilderTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void should_exception_when_keyspace_blank() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("SSTable keyspace should not be blank");
+
+		CQLSSTableEntityWriterBuilder.builder(new File("target"), " ");
+	}
+
+	@Test
+	public void should_exception_when_buffer_size_not_positive() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("SSTable buffer size should be strictly positive");
+
+		CQLSSTableEntityWriterBuilder.builder(new File("target"), "keyspace").bufferSizeInMB(0);
+	}
+}
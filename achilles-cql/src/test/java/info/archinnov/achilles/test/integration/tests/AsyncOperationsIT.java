@@ -0,0 +1,109 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class AsyncOperationsIT {
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean",
+			ClusteredEntity.TABLE_NAME);
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_persist_and_find_async() throws Exception {
+		List<ListenableFuture<Void>> persistFutures = new ArrayList<ListenableFuture<Void>>();
+		List<CompleteBean> entities = new ArrayList<CompleteBean>();
+		for (int i = 0; i < 10; i++) {
+			CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name" + i).buid();
+			entities.add(entity);
+			persistFutures.add(manager.persistAsync(entity));
+		}
+		Futures.allAsList(persistFutures).get();
+
+		List<ListenableFuture<CompleteBean>> findFutures = new ArrayList<ListenableFuture<CompleteBean>>();
+		for (CompleteBean entity : entities) {
+			findFutures.add(manager.findAsync(CompleteBean.class, entity.getId()));
+		}
+		List<CompleteBean> found = Futures.allAsList(findFutures).get();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(found.get(i).getId()).isEqualTo(entities.get(i).getId());
+			assertThat(found.get(i).getName()).isEqualTo("name" + i);
+		}
+	}
+
+	@Test
+	public void should_return_null_when_not_found_async() throws Exception {
+		assertThat(manager.findAsync(CompleteBean.class, RandomUtils.nextLong()).get()).isNull();
+	}
+
+	@Test
+	public void should_merge_async() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		entity = manager.merge(entity);
+
+		entity.setName("new_name");
+		CompleteBean merged = manager.mergeAsync(entity).get();
+
+		assertThat(merged).isSameAs(entity);
+		assertThat(manager.find(CompleteBean.class, entity.getId()).getName()).isEqualTo("new_name");
+	}
+
+	@Test
+	public void should_remove_async() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		entity = manager.merge(entity);
+
+		manager.removeAsync(entity).get();
+
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNull();
+	}
+
+	@Test
+	public void should_get_slice_async() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 3; i++) {
+			manager.persist(new ClusteredEntity(new ClusteredKey(partitionKey, i, "name" + i), "value" + i));
+		}
+
+		List<ClusteredEntity> entities = manager.sliceQuery(ClusteredEntity.class).partitionComponents(partitionKey)
+				.getAsync(2).get();
+
+		assertThat(entities).hasSize(2);
+		assertThat(entities.get(0).getValue()).isEqualTo("value1");
+		assertThat(entities.get(1).getValue()).isEqualTo("value2");
+	}
+}
@@ -19,15 +19,17 @@ package info.archinnov.achilles.test.integration.tests;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.context.CQLBatchingFlushContext;
+import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.manager.CQLBatchingPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
-import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
 import info.archinnov.achilles.test.builders.TweetTestBuilder;
 import info.archinnov.achilles.test.builders.UserTestBuilder;
 import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
 import info.archinnov.achilles.test.integration.entity.CompleteBean;
 import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.integration.entity.Tweet;
@@ -35,6 +37,7 @@ import info.archinnov.achilles.test.integration.entity.User;
 import info.archinnov.achilles.test.integration.utils.CassandraLogAsserter;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang.math.RandomUtils;
@@ -55,7 +58,7 @@ public class BatchModeIT {
 
 	@Rule
 	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean",
-			"Tweet", "User");
+			"Tweet", "User", ClusteredEntity.TABLE_NAME);
 
 	private CQLPersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
 
@@ -154,6 +157,105 @@ public class BatchModeIT {
 		assertThatBatchContextHasBeenReset(batchEm);
 	}
 
+	@Test
+	public void should_batch_several_entities_in_unlogged_batch() throws Exception {
+		Tweet tweet1 = TweetTestBuilder.tweet().randomId().content("tweet1").buid();
+		Tweet tweet2 = TweetTestBuilder.tweet().randomId().content("tweet2").buid();
+
+		CQLBatchingPersistenceManager batchEm = pmf.createBatchingPersistenceManager();
+		batchEm.startUnloggedBatch();
+
+		batchEm.persist(tweet1);
+		batchEm.persist(tweet2);
+		batchEm.persist(user);
+
+		assertThat(batchEm.find(Tweet.class, tweet1.getId())).isNull();
+
+		batchEm.endBatch();
+
+		assertThat(batchEm.find(Tweet.class, tweet1.getId()).getContent()).isEqualTo("tweet1");
+		assertThat(batchEm.find(Tweet.class, tweet2.getId()).getContent()).isEqualTo("tweet2");
+		assertThat(batchEm.find(User.class, user.getId()).getFirstname()).isEqualTo("fn");
+
+		// Each entity has its own partition, unlogged batches are per partition
+		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
+		assertThat(flushContext.getSavedRoundTrips()).isEqualTo(0L);
+		assertThat(flushContext.isLogged()).isTrue();
+		assertThatBatchContextHasBeenReset(batchEm);
+	}
+
+	@Test
+	public void should_batch_same_partition_entities_in_unlogged_batch() throws Exception {
+		Long partitionKey = RandomUtils.nextLong();
+		ClusteredEntity entity1 = new ClusteredEntity(partitionKey, 1, "name1", "value1");
+		ClusteredEntity entity2 = new ClusteredEntity(partitionKey, 2, "name2", "value2");
+		ClusteredEntity entity3 = new ClusteredEntity(partitionKey, 3, "name3", "value3");
+
+		CQLBatchingPersistenceManager batchEm = pmf.createBatchingPersistenceManager();
+		batchEm.startUnloggedBatch();
+
+		batchEm.persist(entity1);
+		batchEm.persist(entity2);
+		batchEm.persist(entity3);
+
+		batchEm.endBatch();
+
+		List<ClusteredEntity> found = batchEm.sliceQuery(ClusteredEntity.class).partitionComponents(partitionKey)
+				.get(10);
+		assertThat(found).hasSize(3);
+		assertThat(found.get(2).getValue()).isEqualTo("value3");
+
+		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
+		assertThat(flushContext.getSavedRoundTrips()).isEqualTo(2L);
+		assertThatBatchContextHasBeenReset(batchEm);
+	}
+
+	@Test
+	public void should_prepare_repeated_batch_shape_only_once() throws Exception {
+		CQLDaoContext daoContext = Whitebox.getInternalState(pmf, CQLDaoContext.class);
+		long loadCount = daoContext.getBatchPSCacheStats().loadCount();
+		List<Long> partitionKeys = new ArrayList<Long>();
+
+		CQLBatchingPersistenceManager batchEm = pmf.createBatchingPersistenceManager();
+		for (int flush = 0; flush < 3; flush++) {
+			batchEm.startUnloggedBatch();
+			for (int partition = 0; partition < 2; partition++) {
+				Long partitionKey = RandomUtils.nextLong();
+				partitionKeys.add(partitionKey);
+				for (int count = 1; count <= 4; count++) {
+					batchEm.persist(new ClusteredEntity(partitionKey, count, "name" + count, "value" + count));
+				}
+			}
+			batchEm.endBatch();
+		}
+
+		assertThat(daoContext.getBatchPSCacheStats().loadCount() - loadCount).isLessThanOrEqualTo(1L);
+		for (Long partitionKey : partitionKeys) {
+			List<ClusteredEntity> found = manager.sliceQuery(ClusteredEntity.class).partitionComponents(partitionKey)
+					.get(10);
+			assertThat(found).hasSize(4);
+			assertThat(found.get(3).getValue()).isEqualTo("value4");
+		}
+	}
+
+	@Test
+	public void should_update_then_remove_same_entity_in_batch() throws Exception {
+		Tweet tweet = TweetTestBuilder.tweet().randomId().content("tweet").buid();
+		manager.persist(tweet);
+
+		CQLBatchingPersistenceManager batchEm = pmf.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		Tweet merged = batchEm.merge(tweet);
+		merged.setContent("modified");
+		batchEm.merge(merged);
+		batchEm.remove(merged);
+
+		batchEm.endBatch();
+
+		assertThat(batchEm.find(Tweet.class, tweet.getId())).isNull();
+	}
+
 	@Test
 	public void should_reinit_batch_context_after_exception() throws Exception {
 		User user = UserTestBuilder.user().id(123456494L).firstname("firstname").lastname("lastname").buid();
@@ -250,10 +352,10 @@ public class BatchModeIT {
 	private void assertThatBatchContextHasBeenReset(CQLBatchingPersistenceManager batchEm) {
 		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
 		Optional<ConsistencyLevel> consistencyLevel = Whitebox.getInternalState(flushContext, "consistencyLevel");
-		List<BoundStatementWrapper> boundStatementWrappers = Whitebox.getInternalState(flushContext,
-				"boundStatementWrappers");
+		List<AbstractStatementWrapper> statementWrappers = Whitebox.getInternalState(flushContext,
+				"statementWrappers");
 
 		assertThat(consistencyLevel).isNull();
-		assertThat(boundStatementWrappers).isEmpty();
+		assertThat(statementWrappers).isEmpty();
 	}
 }
@@ -0,0 +1,80 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.counter.AchillesCounter;
+import info.archinnov.achilles.entity.manager.CQLBulkWriteReport;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BulkWriteIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource("CompleteBean",
+			AchillesCounter.CQL_COUNTER_TABLE);
+
+	private CQLPersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_persist_all_entities() throws Exception {
+		List<CompleteBean> entities = new ArrayList<CompleteBean>();
+		for (int i = 0; i < 200; i++) {
+			entities.add(CompleteBeanTestBuilder.builder().randomId().name("name" + i).buid());
+		}
+
+		CQLBulkWriteReport report = pmf.persistAll(entities.iterator());
+
+		assertThat(report.getWrittenCount()).isEqualTo(200);
+		assertThat(report.getFailedCount()).isEqualTo(0);
+		assertThat(report.getThroughput()).isGreaterThan(0);
+		assertThat(report.getLatencyPercentile(0.99)).isGreaterThanOrEqualTo(report.getLatencyPercentile(0.5));
+
+		for (CompleteBean entity : entities) {
+			CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+			assertThat(found).isNotNull();
+			assertThat(found.getName()).isEqualTo(entity.getName());
+		}
+	}
+
+	@Test
+	public void should_report_managed_entity_as_failure() throws Exception {
+		CompleteBean managed = manager.merge(CompleteBeanTestBuilder.builder().randomId().name("managed").buid());
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("transient").buid();
+		List<CompleteBean> entities = new ArrayList<CompleteBean>();
+		entities.add(managed);
+		entities.add(entity);
+
+		CQLBulkWriteReport report = pmf.createBulkWriter().persistAll(entities.iterator());
+
+		assertThat(report.getWrittenCount()).isEqualTo(1);
+		assertThat(report.getFailedCount()).isEqualTo(1);
+		assertThat(report.getFailures().get(0).getEntity()).isSameAs(managed);
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNotNull();
+	}
+}
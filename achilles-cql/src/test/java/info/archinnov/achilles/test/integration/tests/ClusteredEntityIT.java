@@ -459,6 +459,21 @@ public class ClusteredEntityIT {
 		assertThat(iter.hasNext()).isFalse();
 	}
 
+	@Test
+	public void should_iterate_with_prefetch() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		String clusteredValuePrefix = insertValues(partitionKey, 1, 7);
+
+		Iterator<ClusteredEntity> iter = manager.sliceQuery(ClusteredEntity.class).partitionComponents(partitionKey)
+				.fromClusterings(1, "name1").toClusterings(1).prefetch(0.5f).iterator(3);
+
+		for (int i = 1; i <= 7; i++) {
+			assertThat(iter.hasNext()).isTrue();
+			assertThat(iter.next().getValue()).isEqualTo(clusteredValuePrefix + i);
+		}
+		assertThat(iter.hasNext()).isFalse();
+	}
+
 	@Test
 	public void should_remove_with_default_params() throws Exception {
 		long partitionKey = RandomUtils.nextLong();
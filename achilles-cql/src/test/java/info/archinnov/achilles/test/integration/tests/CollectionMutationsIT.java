@@ -0,0 +1,186 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.entity.manager.CQLBatchingPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+public class CollectionMutationsIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean");
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	private Session session = resource.getNativeSession();
+
+	private CompleteBean bean;
+
+	@Before
+	public void setUp() {
+		bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").addFriends("foo", "bar")
+				.addFollowers("George", "Paul").addPreference(1, "FR").addPreference(2, "Paris")
+				.addPreference(3, "75014").buid();
+
+		bean = manager.merge(bean);
+	}
+
+	@Test
+	public void should_keep_concurrent_set_additions() throws Exception {
+		CompleteBean otherProxy = manager.find(CompleteBean.class, bean.getId());
+
+		bean.getFollowers().add("John");
+		otherProxy.getFollowers().add("Ringo");
+
+		manager.merge(bean);
+		manager.merge(otherProxy);
+
+		Row row = session.execute("select followers from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row.getSet("followers", String.class)).containsOnly("George", "Paul", "John", "Ringo");
+	}
+
+	@Test
+	public void should_append_and_prepend_list_elements() throws Exception {
+		CompleteBean otherProxy = manager.find(CompleteBean.class, bean.getId());
+
+		bean.getFriends().add("qux");
+		bean.getFriends().add(0, "baz");
+		otherProxy.getFriends().add("quux");
+
+		manager.merge(bean);
+		manager.merge(otherProxy);
+
+		Row row = session.execute("select friends from CompleteBean where id=" + bean.getId()).one();
+		List<String> friends = row.getList("friends", String.class);
+		assertThat(friends).containsExactly("baz", "foo", "bar", "qux", "quux");
+	}
+
+	@Test
+	public void should_add_and_remove_set_elements() throws Exception {
+		Set<String> followers = bean.getFollowers();
+		followers.add("John");
+		followers.remove("George");
+		Iterator<String> iterator = followers.iterator();
+		while (iterator.hasNext()) {
+			if ("Paul".equals(iterator.next())) {
+				iterator.remove();
+			}
+		}
+
+		manager.merge(bean);
+
+		Row row = session.execute("select followers from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row.getSet("followers", String.class)).containsOnly("John");
+	}
+
+	@Test
+	public void should_put_and_remove_map_entries() throws Exception {
+		CompleteBean otherProxy = manager.find(CompleteBean.class, bean.getId());
+
+		Map<Integer, String> preferences = bean.getPreferences();
+		preferences.put(2, "Lyon");
+		preferences.remove(3);
+		otherProxy.getPreferences().put(4, "Rhone");
+
+		manager.merge(bean);
+		manager.merge(otherProxy);
+
+		Row row = session.execute("select preferences from CompleteBean where id=" + bean.getId()).one();
+		Map<Integer, String> found = row.getMap("preferences", Integer.class, String.class);
+		assertThat(found).hasSize(3);
+		assertThat(found.get(1)).isEqualTo("FR");
+		assertThat(found.get(2)).isEqualTo("Lyon");
+		assertThat(found.get(4)).isEqualTo("Rhone");
+	}
+
+	@Test
+	public void should_set_and_discard_list_elements() throws Exception {
+		bean.getFriends().set(1, "qux");
+		manager.merge(bean);
+
+		bean.getFriends().removeAll(Arrays.asList("foo"));
+		manager.merge(bean);
+
+		Row row = session.execute("select friends from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row.getList("friends", String.class)).containsExactly("qux");
+	}
+
+	@Test
+	public void should_overwrite_collection_after_setter() throws Exception {
+		bean.setFollowers(new HashSet<String>(Arrays.asList("John")));
+		bean.getFollowers().add("Ringo");
+
+		manager.merge(bean);
+
+		Row row = session.execute("select followers from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row.getSet("followers", String.class)).containsOnly("John", "Ringo");
+	}
+
+	@Test
+	public void should_remove_entity_after_list_append_in_batch() throws Exception {
+		CQLBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		CompleteBean proxy = batchEm.find(CompleteBean.class, bean.getId());
+		proxy.getFriends().add("qux");
+		batchEm.merge(proxy);
+		batchEm.remove(proxy);
+
+		batchEm.endBatch();
+
+		Row row = session.execute("select * from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row).isNull();
+	}
+
+	@Test
+	public void should_overwrite_list_append_with_setter_in_batch() throws Exception {
+		CQLBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		CompleteBean proxy = batchEm.find(CompleteBean.class, bean.getId());
+		proxy.getFriends().add("qux");
+		batchEm.merge(proxy);
+		proxy.setFriends(Arrays.asList("baz"));
+		batchEm.merge(proxy);
+
+		batchEm.endBatch();
+
+		Row row = session.execute("select friends from CompleteBean where id=" + bean.getId()).one();
+		assertThat(row.getList("friends", String.class)).containsExactly("baz");
+	}
+}
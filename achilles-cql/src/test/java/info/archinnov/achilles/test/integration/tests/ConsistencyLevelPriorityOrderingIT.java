@@ -25,7 +25,7 @@ import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
-import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.statement.AbstractStatementWrapper;
 import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
 import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
 import info.archinnov.achilles.test.integration.entity.EntityWithConsistencyLevelOnClassAndField;
@@ -190,11 +190,11 @@ public class ConsistencyLevelPriorityOrderingIT {
 	private void assertThatBatchContextHasBeenReset(CQLBatchingPersistenceManager batchEm) {
 		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
 		Optional<ConsistencyLevel> consistencyLevel = Whitebox.getInternalState(flushContext, "consistencyLevel");
-		List<BoundStatementWrapper> boundStatementWrappers = Whitebox.getInternalState(flushContext,
-				"boundStatementWrappers");
+		List<AbstractStatementWrapper> statementWrappers = Whitebox.getInternalState(flushContext,
+				"statementWrappers");
 
 		assertThat(consistencyLevel).isNull();
-		assertThat(boundStatementWrappers).isEmpty();
+		assertThat(statementWrappers).isEmpty();
 	}
 
 }
@@ -0,0 +1,137 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.*;
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCounter.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.context.CQLCounterWriteBehind;
+import info.archinnov.achilles.counter.AchillesCounter;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCounter;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCounter.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.CounterBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+public class CounterWriteBehindIT {
+
+	private static CQLPersistenceManagerFactory writeBehindFactory;
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource("CompleteBean",
+			AchillesCounter.CQL_COUNTER_TABLE, TABLE_NAME);
+
+	private CQLPersistenceManager manager = getWriteBehindFactory().createPersistenceManager();
+
+	private CQLCounterWriteBehind counterWriteBehind = getWriteBehindFactory().getCounterWriteBehind();
+
+	private Session session = resource.getNativeSession();
+
+	@Test
+	public void should_defer_counter_updates_until_flush() throws Exception {
+		CompleteBean bean = manager.merge(CompleteBeanTestBuilder.builder().randomId().name("test").buid());
+
+		bean.getVersion().incr();
+		bean.getVersion().incr(3L);
+		bean.getVersion().decr();
+
+		assertThat(readCounter(bean)).isNull();
+		assertThat(bean.getVersion().get()).isEqualTo(3L);
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(1L);
+
+		counterWriteBehind.flush();
+
+		assertThat(readCounter(bean).getLong("counter_value")).isEqualTo(3L);
+		assertThat(bean.getVersion().get()).isEqualTo(3L);
+		assertThat(counterWriteBehind.getPendingCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_defer_clustered_counter_updates_until_flush() throws Exception {
+		ClusteredKey compoundKey = new ClusteredKey(RandomUtils.nextLong(), "name");
+		manager.persist(new ClusteredEntityWithCounter(compoundKey, CounterBuilder.incr(10L)));
+
+		ClusteredEntityWithCounter found = manager.find(ClusteredEntityWithCounter.class, compoundKey);
+		found.getCounter().incr(5L);
+
+		assertThat(found.getCounter().get()).isEqualTo(15L);
+
+		counterWriteBehind.flush();
+
+		ClusteredEntityWithCounter reloaded = resource.getPersistenceManager().find(
+				ClusteredEntityWithCounter.class, compoundKey);
+		assertThat(reloaded.getCounter().get()).isEqualTo(15L);
+	}
+
+	@Test
+	public void should_write_immediately_with_explicit_consistency_level() throws Exception {
+		CompleteBean bean = manager.merge(CompleteBeanTestBuilder.builder().randomId().name("test").buid());
+
+		bean.getVersion().incr(2L, ConsistencyLevel.ONE);
+
+		assertThat(readCounter(bean).getLong("counter_value")).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_discard_pending_updates_of_removed_entity() throws Exception {
+		CompleteBean bean = manager.merge(CompleteBeanTestBuilder.builder().randomId().name("test").buid());
+		bean.getVersion().incr(5L);
+
+		manager.remove(bean);
+		counterWriteBehind.flush();
+
+		assertThat(readCounter(bean)).isNull();
+	}
+
+	private Row readCounter(CompleteBean bean) {
+		return session.execute(
+				"select counter_value from achilles_counter_table where fqcn='" + CompleteBean.class.getCanonicalName()
+						+ "' and primary_key='" + bean.getId() + "' and property_name='version'").one();
+	}
+
+	private static synchronized CQLPersistenceManagerFactory getWriteBehindFactory() {
+		if (writeBehindFactory == null) {
+			Map<String, Object> configMap = new HashMap<String, Object>();
+			configMap.put(CONNECTION_CONTACT_POINTS_PARAM, CASSANDRA_TEST_HOST);
+			configMap.put(CONNECTION_PORT_PARAM, CASSANDRA_CQL_TEST_PORT);
+			configMap.put(KEYSPACE_NAME_PARAM, CASSANDRA_TEST_KEYSPACE_NAME);
+			configMap.put(ENTITY_PACKAGES_PARAM, "info.archinnov.achilles.test.integration.entity");
+			configMap.put(COUNTER_WRITE_BEHIND_ENABLED, true);
+			// Flushes are triggered by the tests only
+			configMap.put(COUNTER_WRITE_BEHIND_FLUSH_INTERVAL, 3600000L);
+			configMap.put(COUNTER_WRITE_BEHIND_FLUSH_THRESHOLD, 10000);
+			writeBehindFactory = new CQLPersistenceManagerFactory(configMap);
+		}
+		return writeBehindFactory;
+	}
+}
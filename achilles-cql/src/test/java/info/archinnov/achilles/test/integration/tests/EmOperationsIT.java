@@ -29,6 +29,7 @@ import info.archinnov.achilles.test.integration.entity.Tweet;
 import info.archinnov.achilles.type.CounterBuilder;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -141,6 +142,24 @@ public class EmOperationsIT {
 		assertThat(found).isInstanceOf(Factory.class);
 	}
 
+	@Test
+	public void should_find_all() throws Exception {
+		CompleteBean first = CompleteBeanTestBuilder.builder().randomId().name("Jonathan").buid();
+		CompleteBean second = CompleteBeanTestBuilder.builder().randomId().name("Paul").buid();
+		Long missingId = RandomUtils.nextLong();
+
+		manager.persist(first);
+		manager.persist(second);
+
+		Map<Long, CompleteBean> found = manager.findAll(CompleteBean.class,
+				Arrays.asList(second.getId(), missingId, first.getId()));
+
+		assertThat(found.keySet()).containsExactly(second.getId(), first.getId());
+		assertThat(found.get(first.getId()).getName()).isEqualTo("Jonathan");
+		assertThat(found.get(second.getId()).getName()).isEqualTo("Paul");
+		assertThat(found.get(first.getId())).isInstanceOf(Factory.class);
+	}
+
 	@Test
 	public void should_find_lazy_simple() throws Exception {
 		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("Jonathan").label("label").buid();
@@ -0,0 +1,144 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CachedEntity;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Session;
+import com.google.common.cache.CacheStats;
+
+public class EntityCacheIT {
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CachedEntity");
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	private Session session = resource.getNativeSession();
+
+	private CachedEntity entity;
+
+	@Before
+	public void setUp() {
+		entity = new CachedEntity(RandomUtils.nextLong(), "name", Arrays.asList("a", "b"), "description");
+		manager.persist(entity);
+	}
+
+	@Test
+	public void should_serve_find_from_cache() throws Exception {
+		CacheStats before = manager.getEntityCacheStats(CachedEntity.class);
+
+		manager.find(CachedEntity.class, entity.getId());
+		updateNameBehindAchilles("changed");
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+
+		assertThat(found.getName()).isEqualTo("name");
+		assertThat(found.getTags()).containsExactly("a", "b");
+
+		CacheStats stats = manager.getEntityCacheStats(CachedEntity.class).minus(before);
+		assertThat(stats.missCount()).isEqualTo(1L);
+		assertThat(stats.hitCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_serve_get_reference_from_cache() throws Exception {
+		manager.find(CachedEntity.class, entity.getId());
+		updateNameBehindAchilles("changed");
+
+		CachedEntity reference = manager.getReference(CachedEntity.class, entity.getId());
+
+		assertThat(reference.getName()).isEqualTo("name");
+	}
+
+	@Test
+	public void should_load_lazy_property_of_cached_entity() throws Exception {
+		manager.find(CachedEntity.class, entity.getId());
+
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+
+		assertThat(found.getDescription()).isEqualTo("description");
+	}
+
+	@Test
+	public void should_not_alter_cache_when_modifying_found_entity() throws Exception {
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+		found.getTags().add("c");
+
+		assertThat(manager.find(CachedEntity.class, entity.getId()).getTags()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void should_invalidate_on_merge() throws Exception {
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+		found.setName("merged");
+		manager.merge(found);
+
+		assertThat(manager.find(CachedEntity.class, entity.getId()).getName()).isEqualTo("merged");
+	}
+
+	@Test
+	public void should_invalidate_on_persist() throws Exception {
+		manager.find(CachedEntity.class, entity.getId());
+
+		manager.persist(new CachedEntity(entity.getId(), "persisted", null, null));
+
+		assertThat(manager.find(CachedEntity.class, entity.getId()).getName()).isEqualTo("persisted");
+	}
+
+	@Test
+	public void should_invalidate_on_remove() throws Exception {
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+
+		manager.remove(found);
+
+		assertThat(manager.find(CachedEntity.class, entity.getId())).isNull();
+	}
+
+	@Test
+	public void should_invalidate_on_remove_by_id() throws Exception {
+		manager.find(CachedEntity.class, entity.getId());
+
+		manager.removeById(CachedEntity.class, entity.getId());
+
+		assertThat(manager.find(CachedEntity.class, entity.getId())).isNull();
+	}
+
+	@Test
+	public void should_reload_from_cassandra_on_refresh() throws Exception {
+		CachedEntity found = manager.find(CachedEntity.class, entity.getId());
+		updateNameBehindAchilles("changed");
+
+		manager.refresh(found);
+
+		assertThat(found.getName()).isEqualTo("changed");
+		assertThat(manager.find(CachedEntity.class, entity.getId()).getName()).isEqualTo("changed");
+	}
+
+	private void updateNameBehindAchilles(String name) {
+		session.execute("UPDATE CachedEntity SET name='" + name + "' WHERE id=" + entity.getId());
+	}
+}
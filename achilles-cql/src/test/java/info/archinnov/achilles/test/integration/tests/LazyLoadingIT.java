@@ -23,6 +23,9 @@ import info.archinnov.achilles.proxy.CQLEntityInterceptor;
 import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
 import info.archinnov.achilles.test.integration.entity.CompleteBean;
 import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.Arrays;
+
 import net.sf.cglib.proxy.Factory;
 
 import org.junit.Before;
@@ -64,6 +67,27 @@ public class LazyLoadingIT {
 		assertThat(trueBean.getFriends()).containsExactly("foo", "bar");
 	}
 
+	@Test
+	public void should_load_whole_fetch_group_at_first_access() throws Exception {
+		bean = manager.find(CompleteBean.class, bean.getId());
+
+		CompleteBean trueBean = manager.unwrap(bean);
+
+		assertThat(bean.getLabel()).isEqualTo("label");
+
+		assertThat(trueBean.getFriends()).containsExactly("foo", "bar");
+	}
+
+	@Test
+	public void should_not_overwrite_fetch_group_field_already_set() throws Exception {
+		bean = manager.find(CompleteBean.class, bean.getId());
+
+		bean.setFriends(Arrays.asList("qux"));
+
+		assertThat(bean.getLabel()).isEqualTo("label");
+		assertThat(bean.getFriends()).containsExactly("qux");
+	}
+
 	@Test
 	public void should_set_lazy_field() throws Exception {
 		bean = manager.find(CompleteBean.class, bean.getId());
@@ -36,6 +36,7 @@ import info.archinnov.achilles.type.IndexRelation;
 import info.archinnov.achilles.type.OptionsBuilder;
 
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -237,6 +238,33 @@ public class QueryIT {
 		}
 	}
 
+	@Test
+	public void should_iterate_on_rows_and_entities() throws Exception {
+		CompleteBean entity1 = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+		CompleteBean entity2 = CompleteBeanTestBuilder.builder().randomId().name("John DOO").buid();
+
+		manager.persist(entity1);
+		manager.persist(entity2);
+
+		String inClause = " WHERE id IN(" + entity1.getId() + "," + entity2.getId() + ")";
+
+		Iterator<Map<String, Object>> rows = manager.nativeQuery("SELECT name FROM CompleteBean" + inClause)
+				.iterator();
+		assertThat(rows.next().get("name")).isEqualTo("DuyHai");
+		assertThat(rows.next().get("name")).isEqualTo("John DOO");
+		assertThat(rows.hasNext()).isFalse();
+
+		Iterator<CompleteBean> entities = manager.typedQuery(CompleteBean.class,
+				"SELECT id,name FROM CompleteBean" + inClause).iterator();
+		CompleteBean found1 = entities.next();
+		CompleteBean found2 = entities.next();
+		assertThat(entities.hasNext()).isFalse();
+
+		assertThat(Factory.class.isAssignableFrom(found1.getClass())).isTrue();
+		assertThat(found1.getName()).isEqualTo("DuyHai");
+		assertThat(found2.getName()).isEqualTo("John DOO");
+	}
+
 	@Test
 	public void should_return_entities_for_indexed_query() throws Exception {
 		Counter counter1 = CounterBuilder.incr(15L);
@@ -0,0 +1,127 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.context.CQLDaoContext;
+import info.archinnov.achilles.counter.AchillesCounter;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.statement.BatchType;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementBinder;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCompositePartitionKey;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+
+public class RoutingKeyIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource("CompleteBean",
+			AchillesCounter.CQL_COUNTER_TABLE, ClusteredEntityWithCompositePartitionKey.TABLE_NAME);
+
+	private CQLPersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
+
+	private Session session = resource.getNativeSession();
+
+	private CQLDaoContext daoContext = Whitebox.getInternalState(pmf, CQLDaoContext.class);
+
+	private Map<Class<?>, EntityMeta> entityMetaMap = Whitebox.getInternalState(pmf, "entityMetaMap");
+
+	private CQLPreparedStatementBinder binder = new CQLPreparedStatementBinder();
+
+	private CQLPreparedStatementGenerator generator = new CQLPreparedStatementGenerator();
+
+	@Test
+	public void should_route_simple_id_statement_to_replica() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		EntityMeta meta = entityMetaMap.get(CompleteBean.class);
+		PreparedStatement ps = generator.prepareInsertPS(session, meta);
+
+		Query query = binder.bindForInsert(ps, meta, entity).getQuery();
+
+		assertThat(query.getRoutingKey()).isEqualTo(DataType.bigint().serialize(entity.getId()));
+		assertCoordinatorIsReplica(query);
+	}
+
+	@Test
+	public void should_route_composite_partition_key_statement_to_replica() throws Exception {
+		ClusteredEntityWithCompositePartitionKey entity = new ClusteredEntityWithCompositePartitionKey(
+				RandomUtils.nextLong(), "type", 1, "value");
+		EntityMeta meta = entityMetaMap.get(ClusteredEntityWithCompositePartitionKey.class);
+		PreparedStatement ps = generator.prepareInsertPS(session, meta);
+
+		Query query = binder.bindForInsert(ps, meta, entity).getQuery();
+
+		// Same serialization as the key derived by the driver from the table metadata
+		assertThat(binder.extractRoutingKey(meta, entity.getId())).isEqualTo(query.getRoutingKey());
+		assertCoordinatorIsReplica(query);
+	}
+
+	@Test
+	public void should_route_simple_counter_statement_to_replica() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
+		EntityMeta meta = entityMetaMap.get(CompleteBean.class);
+
+		BoundStatementWrapper wrapper = daoContext.bindForCounterIncrement(meta,
+				meta.getPropertyMetas().get("version"), entity.getId(), 2L);
+
+		assertThat(wrapper.getQuery().getRoutingKey()).isNotNull();
+		assertCoordinatorIsReplica(wrapper.getQuery());
+	}
+
+	@Test
+	public void should_route_single_partition_batch_to_replica() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityMeta meta = entityMetaMap.get(ClusteredEntityWithCompositePartitionKey.class);
+		PreparedStatement ps = generator.prepareInsertPS(session, meta);
+
+		BoundStatementWrapper wrapper1 = binder.bindForInsert(ps, meta, new ClusteredEntityWithCompositePartitionKey(
+				id, "type", 1, "value1"));
+		BoundStatementWrapper wrapper2 = binder.bindForInsert(ps, meta, new ClusteredEntityWithCompositePartitionKey(
+				id, "type", 2, "value2"));
+
+		ResultSet resultSet = daoContext.executeBatch(BatchType.UNLOGGED, Arrays.asList(wrapper1, wrapper2));
+
+		ByteBuffer routingKey = wrapper1.getQuery().getRoutingKey();
+		assertThat(session.getCluster().getMetadata().getReplicas(routingKey)).contains(
+				resultSet.getExecutionInfo().getQueriedHost());
+	}
+
+	private void assertCoordinatorIsReplica(Query query) {
+		ResultSet resultSet = session.execute(query);
+		assertThat(session.getCluster().getMetadata().getReplicas(query.getRoutingKey())).contains(
+				resultSet.getExecutionInfo().getQueriedHost());
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.CASSANDRA_TEST_KEYSPACE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.table.CQLSSTableEntityWriter;
+import info.archinnov.achilles.table.CQLSSTableEntityWriterBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.integration.entity.BulkLoadedEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.Tweet;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.cassandra.service.StorageService;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class SSTableEntityWriterIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource("BulkLoadedEntity",
+			ClusteredEntity.TABLE_NAME);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_write_sstables_loadable_in_cluster() throws Exception {
+		CQLSSTableEntityWriter writer = CQLSSTableEntityWriterBuilder
+				.builder(folder.getRoot(), CASSANDRA_TEST_KEYSPACE_NAME).bufferSizeInMB(1).build(BulkLoadedEntity.class);
+
+		List<BulkLoadedEntity> entities = new ArrayList<BulkLoadedEntity>();
+		for (int i = 0; i < 100; i++) {
+			BulkLoadedEntity entity = new BulkLoadedEntity(RandomUtils.nextLong(), "name" + i, 30L + i,
+					Arrays.asList("foo", "bar"), ImmutableSet.of("baz"), ImmutableMap.of(1, "FR"), new Tweet(
+							UUID.randomUUID(), "welcome" + i));
+			entities.add(entity);
+			writer.write(entity);
+		}
+		writer.close();
+
+		assertThat(writer.getWrittenCount()).isEqualTo(100);
+		File directory = writer.getDirectory();
+		assertThat(directory.getName()).isEqualTo("bulkloadedentity");
+		assertThat(directory.getParentFile().getName()).isEqualTo(CASSANDRA_TEST_KEYSPACE_NAME);
+
+		StorageService.instance.bulkLoad(directory.getAbsolutePath());
+
+		for (BulkLoadedEntity entity : entities) {
+			BulkLoadedEntity found = manager.find(BulkLoadedEntity.class, entity.getId());
+			assertThat(found).isNotNull();
+			assertThat(found.getName()).isEqualTo(entity.getName());
+			assertThat(found.getAge()).isEqualTo(entity.getAge());
+			assertThat(found.getFriends()).containsExactly("foo", "bar");
+			assertThat(found.getFollowers()).containsOnly("baz");
+			assertThat(found.getPreferences()).containsKey(1);
+			assertThat(found.getWelcomeTweet().getContent()).isEqualTo(entity.getWelcomeTweet().getContent());
+		}
+	}
+
+	@Test
+	public void should_write_clustered_entities_of_same_partition() throws Exception {
+		CQLSSTableEntityWriter writer = CQLSSTableEntityWriterBuilder.builder(folder.getRoot(),
+				CASSANDRA_TEST_KEYSPACE_NAME).build(ClusteredEntity.class);
+
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 0; i < 10; i++) {
+			writer.write(new ClusteredEntity(partitionKey, i, "name" + i, "value" + i));
+		}
+		writer.close();
+
+		StorageService.instance.bulkLoad(writer.getDirectory().getAbsolutePath());
+
+		List<ClusteredEntity> found = manager.sliceQuery(ClusteredEntity.class).partitionComponents(partitionKey)
+				.get(100);
+		assertThat(found).hasSize(10);
+		assertThat(found.get(0).getValue()).isEqualTo("value0");
+		assertThat(found.get(9).getValue()).isEqualTo("value9");
+	}
+
+	@Test
+	public void should_exception_when_entity_has_counter() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot write SSTables for the entity '" + CompleteBean.class.getCanonicalName()
+				+ "' with counter properties");
+
+		CQLSSTableEntityWriterBuilder.builder(folder.getRoot(), CASSANDRA_TEST_KEYSPACE_NAME).build(CompleteBean.class);
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.CASSANDRA_TEST_KEYSPACE_NAME;
+import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Iterator;
+
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.DecoratedKey;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.Table;
+import org.apache.cassandra.db.filter.QueryFilter;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.db.marshal.LongType;
+import org.apache.cassandra.service.StorageService;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SkipNullColumnsIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean");
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_write_tombstones_for_null_columns_by_default() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+		manager.persist(entity);
+
+		assertThat(countTombstones(entity.getId())).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_not_write_tombstones_when_skipping_null_columns() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+		manager.persist(entity, OptionsBuilder.skipNullColumns());
+
+		assertThat(countTombstones(entity.getId())).isEqualTo(0);
+
+		CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+		assertThat(found.getName()).isEqualTo("DuyHai");
+		assertThat(found.getAge()).isNull();
+	}
+
+	@Test
+	public void should_not_write_tombstones_when_skipping_null_columns_with_ttl() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+		manager.persist(entity, OptionsBuilder.skipNullColumns().withTtl(1000));
+
+		assertThat(countTombstones(entity.getId())).isEqualTo(0);
+		assertThat(manager.find(CompleteBean.class, entity.getId()).getName()).isEqualTo("DuyHai");
+	}
+
+	private int countTombstones(Long id) {
+		ColumnFamilyStore cfs = Table.open(CASSANDRA_TEST_KEYSPACE_NAME).getColumnFamilyStore("completebean");
+		DecoratedKey key = StorageService.getPartitioner().decorateKey(LongType.instance.decompose(id));
+		ColumnFamily cf = cfs.getColumnFamily(QueryFilter.getIdentityFilter(key, new QueryPath("completebean")));
+
+		int tombstones = 0;
+		for (IColumn column : cf) {
+			if (column.isMarkedForDelete()) {
+				tombstones++;
+			}
+		}
+		Iterator<?> rangeTombstones = cf.deletionInfo().rangeIterator();
+		while (rangeTombstones.hasNext()) {
+			rangeTombstones.next();
+			tombstones++;
+		}
+		return tombstones;
+	}
+}
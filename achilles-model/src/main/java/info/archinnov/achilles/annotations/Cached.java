@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Keep the eager properties of found entities in a local read cache. Further
+ * finds of the same primary key are served from the cache until the entry is
+ * evicted or invalidated by a write through the same PersistenceManagerFactory
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Cached {
+	/**
+	 * <p>
+	 * Maximum number of entities kept in the cache
+	 * </p>
+	 */
+	long maxSize() default 10000;
+
+	/**
+	 * <p>
+	 * Time to live of a cached entity, in seconds. 0 keeps the entities until
+	 * they are evicted by size or invalidated
+	 * </p>
+	 */
+	long ttl() default 0;
+}
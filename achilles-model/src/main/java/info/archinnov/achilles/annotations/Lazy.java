@@ -28,10 +28,19 @@ import java.lang.annotation.Target;
  * Lazy property. The property will be loaded at the first access, cached and
  * returned on subsequent invocation
  * </p>
+ * <p>
+ * Lazy properties sharing the same fetch group are loaded together, with a
+ * single query, at the first access to any of them
+ * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 @Documented
 public @interface Lazy {
 
+	/**
+	 * (Optional) Name of the fetch group of the property. Empty by default,
+	 * the property is then loaded alone
+	 */
+	String fetchGroup() default "";
 }
@@ -37,14 +37,14 @@ public class CompleteBean {
 	@Index
 	private String name;
 
-	@Lazy
+	@Lazy(fetchGroup = "details")
 	@Column
 	private String label;
 
 	@Column(name = "age_in_years")
 	private Long age;
 
-	@Lazy
+	@Lazy(fetchGroup = "details")
 	@Column
 	private List<String> friends;
 
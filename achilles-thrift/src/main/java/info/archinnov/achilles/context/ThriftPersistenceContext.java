@@ -30,6 +30,9 @@ import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
+
+import java.util.List;
+
 import me.prettyprint.hector.api.mutation.Mutator;
 
 import org.slf4j.Logger;
@@ -142,6 +145,28 @@ public class ThriftPersistenceContext extends PersistenceContext {
 		return entity;
 	}
 
+	/**
+	 * Find the entities of the given contexts with the read consistency level
+	 * of this context
+	 */
+	public <T> List<T> findAll(final Class<T> entityClass, final List<ThriftPersistenceContext> contexts) {
+		List<T> entities = flushContext.getConsistencyContext().executeWithReadConsistencyLevel(
+				new SafeExecutionContext<List<T>>() {
+					@Override
+					public List<T> execute() {
+						return loader.<T> loadAll(contexts, entityClass);
+					}
+				});
+
+		for (int i = 0; i < entities.size(); i++) {
+			T entity = entities.get(i);
+			if (entity != null) {
+				entities.set(i, proxifier.buildProxy(entity, contexts.get(i)));
+			}
+		}
+		return entities;
+	}
+
 	@Override
 	public <T> T getReference(Class<T> entityClass) {
 		setLoadEagerFields(false);
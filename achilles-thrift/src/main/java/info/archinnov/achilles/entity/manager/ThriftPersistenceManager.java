@@ -29,6 +29,7 @@ import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.validation.Validator;
 
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -77,6 +78,15 @@ public class ThriftPersistenceManager extends PersistenceManager<ThriftPersisten
 				entityClass, meta);
 	}
 
+	/**
+	 * Plain entities are fetched with a single multiget instead of one query
+	 * per primary key
+	 */
+	@Override
+	protected <T> List<T> findEntities(Class<T> entityClass, List<ThriftPersistenceContext> contexts) {
+		return contexts.get(0).findAll(entityClass, contexts);
+	}
+
 	@Override
 	protected ThriftPersistenceContext initPersistenceContext(Class<?> entityClass, Object primaryKey, Options options) {
 		return contextFactory.newContext(entityClass, primaryKey, options);
@@ -23,6 +23,9 @@ import info.archinnov.achilles.entity.operations.impl.ThriftLoaderImpl;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +63,28 @@ public class ThriftEntityLoader implements EntityLoader<ThriftPersistenceContext
 		return entity;
 	}
 
+	/**
+	 * Load the entities of the given contexts, all of the same type, with a
+	 * single multiget when they are plain entities eagerly fetched
+	 */
+	public <T> List<T> loadAll(List<ThriftPersistenceContext> contexts, Class<T> entityClass) {
+		EntityMeta entityMeta = contexts.get(0).getEntityMeta();
+		if (entityMeta.isClusteredEntity() || entityMeta.hasEmbeddedId() || !contexts.get(0).isLoadEagerFields()) {
+			List<T> entities = new ArrayList<T>(contexts.size());
+			for (ThriftPersistenceContext context : contexts) {
+				entities.add(load(context, entityClass));
+			}
+			return entities;
+		}
+
+		try {
+			return loaderImpl.loadAll(contexts, entityClass);
+		} catch (Exception e) {
+			throw new AchillesException("Error when loading entities of type '" + entityClass.getCanonicalName()
+					+ "'. Cause : " + e.getMessage(), e);
+		}
+	}
+
 	@Override
 	public <V> void loadPropertyIntoObject(ThriftPersistenceContext context, Object realObject,
 			PropertyMeta propertyMeta) {
@@ -90,6 +115,14 @@ public class ThriftEntityLoader implements EntityLoader<ThriftPersistenceContext
 		propertyMeta.setValueToField(realObject, value);
 	}
 
+	@Override
+	public void loadPropertiesIntoObject(ThriftPersistenceContext context, Object realObject,
+			List<PropertyMeta> propertyMetas) {
+		for (PropertyMeta propertyMeta : propertyMetas) {
+			loadPropertyIntoObject(context, realObject, propertyMeta);
+		}
+	}
+
 	protected Object loadPrimaryKey(ThriftPersistenceContext context, PropertyMeta propertyMeta) {
 		return loaderImpl.loadSimpleProperty(context, propertyMeta);
 	}
@@ -69,6 +69,32 @@ public class ThriftLoaderImpl {
 		return entity;
 	}
 
+	public <T> List<T> loadAll(List<ThriftPersistenceContext> contexts, Class<T> entityClass) {
+		ThriftPersistenceContext firstContext = contexts.get(0);
+		EntityMeta entityMeta = firstContext.getEntityMeta();
+		log.trace("Loading {} entities of class {} with a single multiget", contexts.size(),
+				entityClass.getCanonicalName());
+
+		List<Object> rowKeys = new ArrayList<Object>(contexts.size());
+		for (ThriftPersistenceContext context : contexts) {
+			rowKeys.add(buildRowKey(context));
+		}
+		Map<Object, List<Pair<Composite, String>>> columnsByRowKey = firstContext.getEntityDao().eagerFetchEntities(
+				rowKeys);
+
+		List<T> entities = new ArrayList<T>(contexts.size());
+		for (int i = 0; i < contexts.size(); i++) {
+			List<Pair<Composite, String>> columns = columnsByRowKey.get(rowKeys.get(i));
+			T entity = null;
+			if (columns != null && columns.size() > 0) {
+				entity = entityMeta.<T> instanciate();
+				mapper.setEagerPropertiesToEntity(contexts.get(i).getPrimaryKey(), columns, entityMeta, entity);
+			}
+			entities.add(entity);
+		}
+		return entities;
+	}
+
 	public Object loadSimpleProperty(ThriftPersistenceContext context, PropertyMeta propertyMeta) {
 		Object rowKey = buildRowKey(context);
 
@@ -21,6 +21,7 @@ import info.archinnov.achilles.context.ThriftPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.ThriftEntityPersister;
+import info.archinnov.achilles.proxy.wrapper.CollectionMutations;
 
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -35,7 +36,8 @@ public class ThriftMergerImpl implements Merger<ThriftPersistenceContext> {
 	private ThriftEntityPersister persister = new ThriftEntityPersister();
 
 	@Override
-	public void merge(ThriftPersistenceContext context, Map<Method, PropertyMeta> dirtyMap) {
+	public void merge(ThriftPersistenceContext context, Map<Method, PropertyMeta> dirtyMap,
+			Map<Method, CollectionMutations> mutationsMap) {
 		if (dirtyMap.size() > 0) {
 			EntityMeta meta = context.getEntityMeta();
 
@@ -28,14 +28,31 @@ import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import me.prettyprint.hector.api.beans.Composite;
 import me.prettyprint.hector.api.beans.HColumn;
 import me.prettyprint.hector.api.beans.HCounterColumn;
 import me.prettyprint.hector.api.mutation.Mutator;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 public class ThriftQueryExecutorImpl {
+	private static final int PREFETCH_THREADS = 16;
+
+	/**
+	 * Shared by all prefetching iterators. When every thread is busy the
+	 * prefetch runs in the calling thread, which bounds the read-ahead
+	 */
+	private static final ExecutorService PREFETCH_EXECUTOR = new ThreadPoolExecutor(0, PREFETCH_THREADS, 60L,
+			TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactoryBuilder().setDaemon(true)
+					.setNameFormat("achilles-thrift-prefetch-%d").build(), new ThreadPoolExecutor.CallerRunsPolicy());
+
 	private ThriftCompositeFactory compositeFactory = new ThriftCompositeFactory();
+	private ExecutorService prefetchExecutor = PREFETCH_EXECUTOR;
 
 	public <T> List<HColumn<Composite, Object>> findColumns(final SliceQuery<T> query, ThriftPersistenceContext context) {
 		EntityMeta meta = query.getMeta();
@@ -66,13 +83,18 @@ public class ThriftQueryExecutorImpl {
 		final Composite[] composites = compositeFactory.createForClusteredQuery(idMeta, query.getClusteringsFrom(),
 				query.getClusteringsTo(), query.getBounding(), query.getOrdering());
 
-		return context.executeWithReadConsistencyLevel(new SafeExecutionContext<ThriftSliceIterator<Object, Object>>() {
-			@Override
-			public ThriftSliceIterator<Object, Object> execute() {
-				return wideRowDao.getColumnsIterator(rowKey, composites[0], composites[1], query.getOrdering()
-						.isReverse(), query.getBatchSize());
-			}
-		}, query.getConsistencyLevel());
+		ThriftSliceIterator<Object, Object> iterator = context.executeWithReadConsistencyLevel(
+				new SafeExecutionContext<ThriftSliceIterator<Object, Object>>() {
+					@Override
+					public ThriftSliceIterator<Object, Object> execute() {
+						return wideRowDao.getColumnsIterator(rowKey, composites[0], composites[1], query
+								.getOrdering().isReverse(), query.getBatchSize());
+					}
+				}, query.getConsistencyLevel());
+		if (query.isPrefetch()) {
+			iterator.prefetch(prefetchExecutor, query.getPrefetchThreshold());
+		}
+		return iterator;
 	}
 
 	public void removeColumns(List<HColumn<Composite, Object>> columns, final ConsistencyLevel consistencyLevel,
@@ -124,13 +146,18 @@ public class ThriftQueryExecutorImpl {
 		final Composite[] composites = compositeFactory.createForClusteredQuery(idMeta, query.getClusteringsFrom(),
 				query.getClusteringsTo(), query.getBounding(), query.getOrdering());
 
-		return context.executeWithReadConsistencyLevel(new SafeExecutionContext<ThriftCounterSliceIterator<Object>>() {
-			@Override
-			public ThriftCounterSliceIterator<Object> execute() {
-				return wideRowDao.getCounterColumnsIterator(rowKey, composites[0], composites[1], query.getOrdering()
-						.isReverse(), query.getBatchSize());
-			}
-		}, query.getConsistencyLevel());
+		ThriftCounterSliceIterator<Object> iterator = context.executeWithReadConsistencyLevel(
+				new SafeExecutionContext<ThriftCounterSliceIterator<Object>>() {
+					@Override
+					public ThriftCounterSliceIterator<Object> execute() {
+						return wideRowDao.getCounterColumnsIterator(rowKey, composites[0], composites[1], query
+								.getOrdering().isReverse(), query.getBatchSize());
+					}
+				}, query.getConsistencyLevel());
+		if (query.isPrefetch()) {
+			iterator.prefetch(prefetchExecutor, query.getPrefetchThreshold());
+		}
+		return iterator;
 	}
 
 	public void removeCounterColumns(List<HCounterColumn<Composite>> counterColumns,
@@ -23,6 +23,11 @@ import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import me.prettyprint.hector.api.beans.AbstractComposite.ComponentEquality;
 import me.prettyprint.hector.api.beans.Composite;
@@ -30,6 +35,9 @@ import me.prettyprint.hector.api.beans.Composite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+
 public abstract class ThriftAbstractSliceIterator<HCOLUMN> implements Iterator<HCOLUMN> {
 	private static final Logger log = LoggerFactory.getLogger(ThriftAbstractSliceIterator.class);
 
@@ -43,6 +51,11 @@ public abstract class ThriftAbstractSliceIterator<HCOLUMN> implements Iterator<H
 	protected Composite start;
 	protected ColumnSliceFinish finish;
 
+	private ExecutorService prefetchExecutor;
+	private int prefetchCount;
+	private HCOLUMN lastColumnOfPage;
+	private Future<List<HCOLUMN>> nextPage;
+
 	protected ThriftAbstractSliceIterator(AchillesConsistencyLevelPolicy policy, String columnFamily, Composite start,
 			ColumnSliceFinish finish, boolean reversed, int count) {
 		this.policy = policy;
@@ -58,8 +71,20 @@ public abstract class ThriftAbstractSliceIterator<HCOLUMN> implements Iterator<H
 		Composite function();
 	}
 
+	/**
+	 * Load the next column slice on the given executor once prefetchThreshold
+	 * of the current one has been consumed. At most one slice is read ahead
+	 */
+	public void prefetch(ExecutorService executor, float prefetchThreshold) {
+		this.prefetchExecutor = executor;
+		this.prefetchCount = Math.max(1, (int) Math.ceil(count * prefetchThreshold));
+	}
+
 	@Override
 	public boolean hasNext() {
+		if (prefetchExecutor != null) {
+			return hasNextWithPrefetch();
+		}
 		if (iterator == null) {
 			iterator = executeSafely(new SafeExecutionContext<Iterator<HCOLUMN>>() {
 				@Override
@@ -102,6 +127,9 @@ public abstract class ThriftAbstractSliceIterator<HCOLUMN> implements Iterator<H
 		HCOLUMN column = iterator.next();
 		resetStartColumn(column);
 		columns++;
+		if (prefetchExecutor != null && columns == prefetchCount) {
+			prefetchNextPage();
+		}
 		return column;
 	}
 
@@ -110,6 +138,66 @@ public abstract class ThriftAbstractSliceIterator<HCOLUMN> implements Iterator<H
 		iterator.remove();
 	}
 
+	private boolean hasNextWithPrefetch() {
+		if (iterator == null) {
+			bufferPage(executeSafely(new SafeExecutionContext<List<HCOLUMN>>() {
+				@Override
+				public List<HCOLUMN> execute() {
+					return Lists.newArrayList(fetchData());
+				}
+			}));
+		} else if (!iterator.hasNext() && lastColumnOfPage != null) {
+			prefetchNextPage();
+			bufferPage(executeSafely(new SafeExecutionContext<List<HCOLUMN>>() {
+				@Override
+				public List<HCOLUMN> execute() {
+					try {
+						return Uninterruptibles.getUninterruptibly(nextPage);
+					} catch (ExecutionException e) {
+						throw new AchillesException(e.getCause());
+					}
+				}
+			}));
+		}
+		return iterator.hasNext();
+	}
+
+	private void bufferPage(List<HCOLUMN> page) {
+		iterator = page.iterator();
+		columns = 0;
+		nextPage = null;
+		lastColumnOfPage = page.size() == count ? page.get(page.size() - 1) : null;
+	}
+
+	private void prefetchNextPage() {
+		if (nextPage != null || lastColumnOfPage == null) {
+			return;
+		}
+		log.trace("Prefetch another batch of {} elements for {}", count, type());
+		resetStartColumn(lastColumnOfPage);
+		if (reversed) {
+			start.setEquality(ComponentEquality.LESS_THAN_EQUAL);
+		} else {
+			start.setEquality(ComponentEquality.GREATER_THAN_EQUAL);
+		}
+		changeQueryRange();
+		final Thread callingThread = Thread.currentThread();
+		nextPage = prefetchExecutor.submit(new Callable<List<HCOLUMN>>() {
+			@Override
+			public List<HCOLUMN> call() throws Exception {
+				try {
+					return Lists.newArrayList(fetchData());
+				} finally {
+					// Prefetch threads are pooled, do not leak consistency levels
+					if (Thread.currentThread() != callingThread) {
+						policy.reinitCurrentConsistencyLevels();
+						policy.reinitDefaultConsistencyLevels();
+					}
+				}
+			}
+		});
+	}
+
 	protected abstract Iterator<HCOLUMN> fetchData();
 
 	protected abstract void changeQueryRange();
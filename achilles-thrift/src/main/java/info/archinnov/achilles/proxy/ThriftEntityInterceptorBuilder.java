@@ -22,7 +22,6 @@ import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -76,12 +75,15 @@ public class ThriftEntityInterceptorBuilder<T> {
 		interceptor.setIdGetter(idMeta.getGetter());
 		interceptor.setIdSetter(idMeta.getSetter());
 
+		LoadedPropertySet loaded = new LoadedPropertySet(entityMeta.getGetterMetas());
+		loaded.addAll(alreadyLoaded);
 		if (context.isLoadEagerFields()) {
-			alreadyLoaded.addAll(entityMeta.getEagerGetters());
+			for (PropertyMeta eagerMeta : entityMeta.getEagerMetas()) {
+				loaded.add(eagerMeta);
+			}
 		}
-
-		interceptor.setAlreadyLoaded(alreadyLoaded);
-		interceptor.setDirtyMap(new HashMap<Method, PropertyMeta>());
+		interceptor.setAlreadyLoaded(loaded);
+		interceptor.setDirtyMap(new DirtyPropertyMap(entityMeta.getGetterMetas().size()));
 
 		interceptor.setPrimaryKey(context.getPrimaryKey());
 
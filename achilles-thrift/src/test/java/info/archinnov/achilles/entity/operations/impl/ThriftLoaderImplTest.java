@@ -32,6 +32,8 @@ import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.test.parser.entity.BeanWithClusteredId;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -113,6 +115,28 @@ public class ThriftLoaderImplTest {
 		verify(mapper).setEagerPropertiesToEntity(primaryKey, values, entityMeta, entity);
 	}
 
+	@Test
+	public void should_load_all_with_one_multiget() throws Exception {
+		ThriftPersistenceContext missingContext = mock(ThriftPersistenceContext.class);
+		Object missingRowKey = new Object();
+		when(compositeFactory.buildRowKey(missingContext)).thenReturn(missingRowKey);
+
+		List<Pair<Composite, String>> values = new ArrayList<Pair<Composite, String>>();
+		values.add(Pair.create(new Composite(), "value"));
+		Map<Object, List<Pair<Composite, String>>> columnsByRowKey = new HashMap<Object, List<Pair<Composite, String>>>();
+		columnsByRowKey.put(rowKey, values);
+		columnsByRowKey.put(missingRowKey, new ArrayList<Pair<Composite, String>>());
+
+		when(context.getEntityDao().eagerFetchEntities(Arrays.asList(rowKey, missingRowKey))).thenReturn(
+				columnsByRowKey);
+		when(entityMeta.instanciate()).thenReturn(entity);
+
+		List<CompleteBean> actual = loaderImpl.loadAll(Arrays.asList(context, missingContext), CompleteBean.class);
+
+		assertThat(actual).containsExactly(entity, null);
+		verify(mapper).setEagerPropertiesToEntity(primaryKey, values, entityMeta, entity);
+	}
+
 	@Test
 	public void should_load_clustered_entity() throws Exception {
 		Composite comp = new Composite();
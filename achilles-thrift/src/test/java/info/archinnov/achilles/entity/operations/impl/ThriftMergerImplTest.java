@@ -82,7 +82,7 @@ public class ThriftMergerImplTest {
 
 		when(invoker.getValueFromField(entity, pm.getGetter())).thenReturn("name");
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verify(persister).persistPropertyBatch(context, pm);
 	}
@@ -96,7 +96,7 @@ public class ThriftMergerImplTest {
 
 		when(invoker.getValueFromField(entity, pm.getGetter())).thenReturn(Arrays.asList("friends"));
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verify(persister).removePropertyBatch(context, pm);
 		verify(persister).persistPropertyBatch(context, pm);
@@ -111,7 +111,7 @@ public class ThriftMergerImplTest {
 
 		when(invoker.getValueFromField(entity, pm.getGetter())).thenReturn(null);
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verify(persister).removePropertyBatch(context, pm);
 		verify(persister, never()).persistPropertyBatch(context, pm);
@@ -126,7 +126,7 @@ public class ThriftMergerImplTest {
 		meta.setClusteredEntity(true);
 		when(invoker.getValueFromField(entity, pm.getGetter())).thenReturn(null);
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verify(persister).remove(context);
 	}
@@ -141,7 +141,7 @@ public class ThriftMergerImplTest {
 		meta.setClusteredEntity(true);
 		when(invoker.getValueFromField(entity, pm.getGetter())).thenReturn(clusteredValue);
 
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verify(persister).persistClusteredValue(context, clusteredValue);
 
@@ -149,7 +149,7 @@ public class ThriftMergerImplTest {
 
 	@Test
 	public void should_do_nothing_when_not_dirty() throws Exception {
-		mergerImpl.merge(context, dirtyMap);
+		mergerImpl.merge(context, dirtyMap, null);
 
 		verifyZeroInteractions(context, invoker, persister);
 	}
@@ -27,6 +27,7 @@ import info.archinnov.achilles.test.builders.HColumnTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -42,6 +43,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 @RunWith(MockitoJUnitRunner.class)
 public class ThriftSliceIteratorTest {
 
@@ -183,4 +186,41 @@ public class ThriftSliceIteratorTest {
 		verify(policy, never()).setCurrentReadLevel(any(ConsistencyLevel.class));
 
 	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_prefetch_next_batch_when_reaching_threshold() throws Exception {
+		Composite start = new Composite(), //
+		end = new Composite(), //
+		name1 = new Composite(), //
+		name2 = new Composite(), //
+		name3 = new Composite();
+		int count = 2;
+
+		name1.addComponent("name1", STRING_SRZ);
+		name2.addComponent("name2", STRING_SRZ);
+		name3.addComponent("name3", STRING_SRZ);
+
+		HColumn<Composite, String> hCol1 = HColumnTestBuilder.simple(name1, "val1", 10);
+		HColumn<Composite, String> hCol2 = HColumnTestBuilder.simple(name2, "val2", 10);
+		HColumn<Composite, String> hCol3 = HColumnTestBuilder.simple(name3, "val3", 10);
+
+		when(columnSlice.getColumns()).thenReturn(Arrays.asList(hCol1, hCol2), Arrays.asList(hCol3));
+
+		iterator = new ThriftSliceIterator<Long, String>(policy, columnFamily, query, start, end, false, count);
+		iterator.prefetch(MoreExecutors.sameThreadExecutor(), 0.5f);
+
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(hCol1);
+		verify(query, times(2)).execute();
+		verify(query).setRange(hCol2.getName(), end, false, count);
+
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(hCol2);
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(hCol3);
+		assertThat(iterator.hasNext()).isFalse();
+
+		verify(query, times(2)).execute();
+	}
 }
@@ -36,8 +36,6 @@ import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -98,15 +96,15 @@ public class ThriftEntityInterceptorBuilderTest {
 
 	@Test
 	public void should_build_entity() throws Exception {
-		List<Method> eagerMethods = new ArrayList<Method>();
 		Method nameGetter = CompleteBean.class.getDeclaredMethod("getName");
 		Method ageGetter = CompleteBean.class.getDeclaredMethod("getAge");
-		eagerMethods.add(nameGetter);
-		eagerMethods.add(ageGetter);
+		List<PropertyMeta> eagerMetas = new ArrayList<PropertyMeta>();
+		eagerMetas.add(eagerMeta(nameGetter, 0));
+		eagerMetas.add(eagerMeta(ageGetter, 1));
 
 		when(entityMeta.getGetterMetas()).thenReturn(getterMetas);
 		when(entityMeta.getSetterMetas()).thenReturn(setterMetas);
-		when(entityMeta.getEagerGetters()).thenReturn(eagerMethods);
+		when(entityMeta.getEagerMetas()).thenReturn(eagerMetas);
 
 		when(entityMeta.getIdMeta()).thenReturn(idMeta);
 
@@ -122,10 +120,10 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
 		assertThat(interceptor.getTarget()).isEqualTo(entity);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyPropertyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
-		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(HashSet.class);
+		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(LoadedPropertySet.class);
 		assertThat(interceptor.getAlreadyLoaded()).containsOnly(nameGetter, ageGetter);
 
 		assertThat(context.isClusteredEntity()).isFalse();
@@ -155,7 +153,7 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
 		assertThat(interceptor.getTarget()).isEqualTo(entity);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyPropertyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
 		assertThat(interceptor.getAlreadyLoaded()).isEmpty();
@@ -192,10 +190,10 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(embeddedKey);
 		assertThat(interceptor.getTarget()).isEqualTo(bean);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyPropertyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
-		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(HashSet.class);
+		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(LoadedPropertySet.class);
 
 		assertThat(context.isClusteredEntity()).isTrue();
 
@@ -204,4 +202,11 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(entityLoader).isNotNull();
 		assertThat(entityLoader).isInstanceOf(ThriftEntityLoader.class);
 	}
+
+	private PropertyMeta eagerMeta(Method getter, int ordinal) {
+		PropertyMeta propertyMeta = new PropertyMeta();
+		propertyMeta.setGetter(getter);
+		propertyMeta.setOrdinal(ordinal);
+		return propertyMeta;
+	}
 }
@@ -51,7 +51,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import me.prettyprint.hector.api.beans.Composite;
 import me.prettyprint.hector.api.mutation.Mutator;
@@ -84,10 +83,10 @@ public class ThriftEntityInterceptorTest {
 	private Map<Method, PropertyMeta> setterMetas;
 
 	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
+	private DirtyPropertyMap dirtyMap;
 
 	@Mock
-	private Set<Method> alreadyLoaded;
+	private LoadedPropertySet alreadyLoaded;
 
 	private List<Method> eagerGetters = new ArrayList<Method>();
 
@@ -145,6 +144,7 @@ public class ThriftEntityInterceptorTest {
 		entityMeta.setSetterMetas(setterMetas);
 		entityMeta.setClusteredEntity(false);
 		entityMeta.setEagerGetters(eagerGetters);
+		entityMeta.setEagerMetas(new ArrayList<PropertyMeta>());
 
 		when(flushContext.getConsistencyLevel()).thenReturn(ONE);
 
@@ -183,16 +183,15 @@ public class ThriftEntityInterceptorTest {
 
 		assertThat(name).isEqualTo("name");
 
-		verify(getterMetas).containsKey(nameMeta.getGetter());
-		verify(setterMetas).containsKey(nameMeta.getGetter());
+		verify(getterMetas).get(nameMeta.getGetter());
+		verify(setterMetas).get(nameMeta.getGetter());
 	}
 
 	@Test
 	public void should_load_lazy_property() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.LAZY_SIMPLE);
-		when(alreadyLoaded.contains(nameMeta.getGetter())).thenReturn(false);
+		when(alreadyLoaded.contains(propertyMeta)).thenReturn(false);
 		when(proxy.invoke(entity, (Object[]) null)).thenReturn("name");
 
 		Object name = this.interceptor.intercept(entity, nameMeta.getGetter(), (Object[]) null, proxy);
@@ -200,16 +199,15 @@ public class ThriftEntityInterceptorTest {
 		assertThat(name).isEqualTo("name");
 
 		verify(loader).loadPropertyIntoObject(context, entity, propertyMeta);
-		verify(alreadyLoaded).add(nameMeta.getGetter());
+		verify(alreadyLoaded).add(propertyMeta);
 	}
 
 	@Test
 	public void should_return_already_loaded_lazy_property() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.LAZY_SIMPLE);
 
-		when(alreadyLoaded.contains(nameMeta.getGetter())).thenReturn(true);
+		when(alreadyLoaded.contains(propertyMeta)).thenReturn(true);
 
 		when(proxy.invoke(entity, (Object[]) null)).thenReturn("name");
 
@@ -218,12 +216,11 @@ public class ThriftEntityInterceptorTest {
 		assertThat(name).isEqualTo("name");
 
 		verifyZeroInteractions(loader);
-		verify(alreadyLoaded, never()).add(nameMeta.getGetter());
+		verify(alreadyLoaded, never()).add(propertyMeta);
 	}
 
 	@Test
 	public void should_set_property() throws Throwable {
-		when(setterMetas.containsKey(nameMeta.getSetter())).thenReturn(true);
 		when(setterMetas.get(nameMeta.getSetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.SIMPLE);
 
@@ -240,7 +237,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_create_list_wrapper() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
 
@@ -253,7 +249,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_return_null_when_no_list() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
 
@@ -266,7 +261,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_create_set_wrapper() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.SET);
 
@@ -279,7 +273,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_return_null_when_no_set() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.SET);
 
@@ -292,7 +285,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_create_map_wrapper() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(LAZY_MAP);
 
@@ -305,7 +297,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test
 	public void should_return_null_when_no_map() throws Throwable {
-		when(getterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(getterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(LAZY_MAP);
 
@@ -324,7 +315,6 @@ public class ThriftEntityInterceptorTest {
 
 		Method countGetter = CompleteBean.class.getDeclaredMethod("getCount");
 
-		when(getterMetas.containsKey(countGetter)).thenReturn(true);
 		when(getterMetas.get(countGetter)).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(COUNTER);
 		CounterProperties counterProperties = new CounterProperties("fqcn");
@@ -360,7 +350,6 @@ public class ThriftEntityInterceptorTest {
 
 		entityMeta.setClusteredEntity(true);
 		Method countGetter = CompleteBean.class.getDeclaredMethod("getCount");
-		when(getterMetas.containsKey(countGetter)).thenReturn(true);
 		when(getterMetas.get(countGetter)).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(COUNTER);
 		CounterProperties counterProperties = new CounterProperties("fqcn");
@@ -382,7 +371,6 @@ public class ThriftEntityInterceptorTest {
 
 	@Test(expected = UnsupportedOperationException.class)
 	public void should_exception_when_call_setter_on_counter() throws Throwable {
-		when(setterMetas.containsKey(nameMeta.getGetter())).thenReturn(true);
 		when(setterMetas.get(nameMeta.getGetter())).thenReturn(propertyMeta);
 		when(propertyMeta.type()).thenReturn(PropertyType.COUNTER);
 